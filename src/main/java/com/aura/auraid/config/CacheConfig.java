@@ -17,7 +17,8 @@ public class CacheConfig {
     public Caffeine<Object, Object> caffeineConfig() {
         return Caffeine.newBuilder()
                 .expireAfterWrite(Duration.ofMinutes(5))
-                .maximumSize(1000);
+                .maximumSize(1000)
+                .recordStats(); // Hit/miss/eviction stats are bound to Micrometer per cache
     }
 
     @Bean
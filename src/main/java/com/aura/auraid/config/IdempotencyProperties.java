@@ -0,0 +1,29 @@
+package com.aura.auraid.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofMinutes(10); // How long a result is replayed for its key
+    private long maxEntries = 10_000;
+    private List<String> paths = new ArrayList<>(List.of( // POST routes that honour Idempotency-Key
+        "/api/v1/auth/register",
+        "/api/v1/access-requests",
+        "/api/v1/access-requests/bulk",
+        "/api/v1/access-requests/*/approve",
+        "/api/v1/access-requests/*/reject",
+        "/api/v1/workflows/steps/*/approve",
+        "/api/v1/workflows/steps/*/reject",
+        "/api/v1/workflows/steps/*/request-changes",
+        "/api/v1/workflows/steps/bulk"
+    ));
+}
@@ -1,7 +1,10 @@
 package com.aura.auraid.config;
 
+import com.aura.auraid.metrics.SqlStatementTracker;
 import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,4 +15,9 @@ public class MetricsConfig {
     public TimedAspect timedAspect(MeterRegistry registry) {
         return new TimedAspect(registry);
     }
-} 
\ No newline at end of file
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementTracker tracker) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, tracker);
+    }
+}
@@ -0,0 +1,15 @@
+package com.aura.auraid.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.metrics.history")
+public class MetricsHistoryProperties {
+    private boolean enabled = true;
+    private String directory = "data/metrics";
+    private int minuteBlockSize = 64 * 1024; // bytes per block of the 1-minute file
+    private int secondBlockSize = 16 * 1024; // bytes per block of the 1-second file
+}
@@ -89,14 +89,16 @@ public class SecurityConfig {
             "Sec-WebSocket-Key",
             "Sec-WebSocket-Version",
             "Sec-WebSocket-Extensions",
-            "Sec-WebSocket-Protocol"
+            "Sec-WebSocket-Protocol",
+            "Idempotency-Key"
         ));
         configuration.setExposedHeaders(Arrays.asList(
             "Authorization",
             "X-Total-Count",
             "X-Total-Pages",
             "Access-Control-Allow-Origin",
-            "Access-Control-Allow-Credentials"
+            "Access-Control-Allow-Credentials",
+            "Idempotent-Replayed"
         ));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
@@ -0,0 +1,19 @@
+package com.aura.auraid.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.sql-budget")
+public class SqlStatementBudgetProperties {
+    private boolean enabled = true;
+    private boolean failOnViolation = false; // Turned on in tests so budget regressions fail the build
+    private int repeatedStatementThreshold = 5; // Same statement shape this many times in one request
+    private int defaultBudget = 50;
+    private Map<String, Integer> budgets = new HashMap<>(); // Keyed by route pattern, e.g. /api/v1/workflows
+}
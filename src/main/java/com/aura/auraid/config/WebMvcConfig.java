@@ -30,8 +30,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                 .allowedHeaders("Authorization", "Content-Type", "X-Requested-With", 
                               "Accept", "Origin", "Access-Control-Request-Method", 
-                              "Access-Control-Request-Headers", "page", "size", "sort")
-                .exposedHeaders("Authorization", "X-Total-Count", "X-Total-Pages")
+                              "Access-Control-Request-Headers", "page", "size", "sort",
+                              "Idempotency-Key")
+                .exposedHeaders("Authorization", "X-Total-Count", "X-Total-Pages", "Idempotent-Replayed")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
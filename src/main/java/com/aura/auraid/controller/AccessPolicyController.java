@@ -0,0 +1,50 @@
+package com.aura.auraid.controller;
+
+import com.aura.auraid.dto.AccessPolicyDTO;
+import com.aura.auraid.service.AccessPolicyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/policies")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AccessPolicyController {
+
+    private final AccessPolicyService policyService;
+
+    @PostMapping
+    public ResponseEntity<AccessPolicyDTO> createPolicy(
+            @Valid @RequestBody AccessPolicyDTO policyDTO,
+            @RequestAttribute Long userId) {
+        return ResponseEntity.ok(policyService.createPolicy(policyDTO, userId));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<AccessPolicyDTO> updatePolicy(
+            @PathVariable Long id,
+            @Valid @RequestBody AccessPolicyDTO policyDTO) {
+        return ResponseEntity.ok(policyService.updatePolicy(id, policyDTO));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePolicy(@PathVariable Long id) {
+        policyService.deletePolicy(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AccessPolicyDTO> getPolicy(@PathVariable Long id) {
+        return ResponseEntity.ok(policyService.getPolicy(id));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AccessPolicyDTO>> getAllPolicies() {
+        return ResponseEntity.ok(policyService.getAllPolicies());
+    }
+}
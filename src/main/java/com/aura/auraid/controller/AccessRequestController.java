@@ -1,22 +1,33 @@
 package com.aura.auraid.controller;
 
 import com.aura.auraid.dto.AccessRequestDTO;
+import com.aura.auraid.dto.AccessRequestImportDTO;
+import com.aura.auraid.dto.BulkAccessRequestDTO;
+import com.aura.auraid.dto.BulkAccessRequestResultDTO;
 import com.aura.auraid.dto.PageResponseDTO;
 import com.aura.auraid.model.AccessRequestStatus;
+import com.aura.auraid.service.AccessRequestImportService;
 import com.aura.auraid.service.AccessRequestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import jakarta.validation.Valid;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/access-requests")
 @RequiredArgsConstructor
 public class AccessRequestController {
 
     private final AccessRequestService accessRequestService;
+    private final AccessRequestImportService accessRequestImportService;
 
     @PostMapping
     public ResponseEntity<AccessRequestDTO> createRequest(
@@ -25,6 +36,31 @@ public class AccessRequestController {
         return ResponseEntity.ok(accessRequestService.createRequest(requestDTO, userId));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkAccessRequestResultDTO> createRequests(
+            @Valid @RequestBody BulkAccessRequestDTO bulkRequest,
+            @RequestAttribute Long userId) {
+        List<AccessRequestService.Submission> submissions = new ArrayList<>();
+        for (int i = 0; i < bulkRequest.getRequests().size(); i++) {
+            submissions.add(new AccessRequestService.Submission(i + 1, userId, bulkRequest.getRequests().get(i)));
+        }
+        return ResponseEntity.ok(accessRequestService.submitRequests(submissions));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AccessRequestImportDTO> importRequests(
+            @RequestParam("file") MultipartFile file,
+            @RequestAttribute Long userId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(accessRequestImportService.startImport(file, userId));
+    }
+
+    @GetMapping("/import/{importId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AccessRequestImportDTO> getImport(@PathVariable String importId) {
+        return ResponseEntity.ok(accessRequestImportService.getImport(importId));
+    }
+
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasRole('ADMIN') or @accessRequestService.canApproveRequest(authentication.principal.id, #id)")
     public ResponseEntity<AccessRequestDTO> approveRequest(
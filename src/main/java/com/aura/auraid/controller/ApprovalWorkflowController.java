@@ -2,6 +2,8 @@ package com.aura.auraid.controller;
 
 import com.aura.auraid.dto.ApprovalWorkflowDTO;
 import com.aura.auraid.dto.ApprovalStepDTO;
+import com.aura.auraid.dto.BulkApprovalRequestDTO;
+import com.aura.auraid.dto.BulkApprovalResultDTO;
 import com.aura.auraid.dto.PageResponseDTO;
 import com.aura.auraid.model.ApprovalActionType;
 import com.aura.auraid.model.WorkflowType;
@@ -143,6 +145,14 @@ public class ApprovalWorkflowController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/steps/bulk")
+    public ResponseEntity<BulkApprovalResultDTO> bulkAction(
+            @Valid @RequestBody BulkApprovalRequestDTO request,
+            @RequestAttribute Long userId) {
+        return ResponseEntity.ok(workflowService.handleBulkApprovalAction(
+            request.getStepExecutionIds(), userId, request.getAction(), request.getComment()));
+    }
+
     @GetMapping("/steps/{stepExecutionId}/can-approve")
     public ResponseEntity<Boolean> canApprove(
             @PathVariable Long stepExecutionId,
@@ -0,0 +1,70 @@
+package com.aura.auraid.controller;
+
+import com.aura.auraid.dto.CertificationCampaignDTO;
+import com.aura.auraid.dto.CertificationDecisionDTO;
+import com.aura.auraid.dto.CertificationItemDTO;
+import com.aura.auraid.dto.CursorPageDTO;
+import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.model.CertificationDecision;
+import com.aura.auraid.service.CertificationCampaignService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/certifications")
+@RequiredArgsConstructor
+public class CertificationController {
+
+    private final CertificationCampaignService campaignService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CertificationCampaignDTO> startCampaign(
+            @Valid @RequestBody CertificationCampaignDTO campaignDTO,
+            @RequestAttribute Long userId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.startCampaign(campaignDTO, userId));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageResponseDTO<CertificationCampaignDTO>> getCampaigns(Pageable pageable) {
+        return ResponseEntity.ok(campaignService.getCampaigns(pageable));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CertificationCampaignDTO> getCampaign(@PathVariable Long id) {
+        return ResponseEntity.ok(campaignService.getCampaign(id));
+    }
+
+    @PostMapping("/{id}/close")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CertificationCampaignDTO> closeCampaign(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.closeCampaign(id));
+    }
+
+    @GetMapping("/{id}/inbox")
+    public ResponseEntity<CursorPageDTO<CertificationItemDTO>> getReviewerInbox(
+            @PathVariable Long id,
+            @RequestAttribute Long userId,
+            @RequestParam(defaultValue = "PENDING") CertificationDecision decision,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(campaignService.getReviewerInbox(id, userId, decision, afterId, size));
+    }
+
+    @PostMapping("/{id}/decisions")
+    public ResponseEntity<Map<String, Object>> decide(
+            @PathVariable Long id,
+            @Valid @RequestBody CertificationDecisionDTO decisionDTO,
+            @RequestAttribute Long userId) {
+        return ResponseEntity.ok(Map.of("updated", campaignService.decide(id, userId, decisionDTO)));
+    }
+}
@@ -8,6 +8,7 @@ import com.aura.auraid.model.AuditLog;
 import com.aura.auraid.service.AuditService;
 import com.aura.auraid.service.UserService;
 import com.aura.auraid.metrics.CustomMetrics;
+import com.aura.auraid.metrics.RequestLatencyRecorder;
 import com.aura.auraid.enums.SecurityEventType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -57,6 +58,7 @@ public class DashboardController {
     private final AuditService auditService;
     private final CustomMetrics customMetrics;
     private final SystemMetricsService systemMetricsService;
+    private final RequestLatencyRecorder latencyRecorder;
     private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
 
     @GetMapping("/stats")
@@ -468,21 +470,21 @@ public class DashboardController {
         @SuppressWarnings("unchecked")
         Map<String, Double> metrics = (Map<String, Double>) latestMetrics.getOrDefault("metrics", new HashMap<String, Double>());
         
-        Map<String, Object> responseMetrics = new HashMap<>();
-        responseMetrics.put("average", metrics.get("responseTime_avg"));
-        responseMetrics.put("max", metrics.get("responseTime_max"));
-        responseMetrics.put("min", metrics.get("responseTime_min"));
+        // Average, min, max and p50-p99.9 per endpoint from the request latency histograms
+        Map<String, Object> responseMetrics = latencyRecorder.getLatencySummary();
         
         // Add operation-specific metrics
         Map<String, Map<String, Object>> operationMetrics = new HashMap<>();
         metrics.entrySet().stream()
-            .filter(entry -> entry.getKey().contains("_mean") || 
-                           entry.getKey().contains("_max") || 
-                           entry.getKey().contains("_count"))
+            .filter(entry -> !entry.getKey().startsWith("responseTime_") &&
+                           !entry.getKey().startsWith("gc_"))
+            .filter(entry -> entry.getKey().endsWith("_mean") || 
+                           entry.getKey().endsWith("_max") || 
+                           entry.getKey().endsWith("_count"))
             .forEach(entry -> {
-                String[] parts = entry.getKey().split("_");
-                String operation = parts[0];
-                String metric = parts[1];
+                int separator = entry.getKey().lastIndexOf('_');
+                String operation = entry.getKey().substring(0, separator);
+                String metric = entry.getKey().substring(separator + 1);
                 
                 operationMetrics.computeIfAbsent(operation, k -> new HashMap<>())
                     .put(metric, entry.getValue());
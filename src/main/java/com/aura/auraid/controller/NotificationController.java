@@ -1,13 +1,16 @@
 package com.aura.auraid.controller;
 
+import com.aura.auraid.dto.CursorPageDTO;
 import com.aura.auraid.dto.NotificationDTO;
-import com.aura.auraid.dto.PageResponseDTO;
 import com.aura.auraid.service.NotificationService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/notifications")
 @RequiredArgsConstructor
@@ -16,17 +19,21 @@ public class NotificationController {
     private final NotificationService notificationService;
 
     @GetMapping
-    public ResponseEntity<PageResponseDTO<NotificationDTO>> getUserNotifications(
+    public ResponseEntity<CursorPageDTO<NotificationDTO>> getUserNotifications(
             @RequestAttribute Long userId,
-            Pageable pageable) {
-        return ResponseEntity.ok(notificationService.getUserNotifications(userId, pageable));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getUserNotifications(userId, beforeCreatedAt, beforeId, size));
     }
 
     @GetMapping("/unread")
-    public ResponseEntity<PageResponseDTO<NotificationDTO>> getUnreadNotifications(
+    public ResponseEntity<CursorPageDTO<NotificationDTO>> getUnreadNotifications(
             @RequestAttribute Long userId,
-            Pageable pageable) {
-        return ResponseEntity.ok(notificationService.getUnreadNotifications(userId, pageable));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getUnreadNotifications(userId, beforeCreatedAt, beforeId, size));
     }
 
     @GetMapping("/unread/count")
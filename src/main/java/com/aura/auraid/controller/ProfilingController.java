@@ -0,0 +1,66 @@
+package com.aura.auraid.controller;
+
+import com.aura.auraid.service.ProfilingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/dashboard/profiling")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ROLE_ADMIN')")
+@Tag(name = "Profiling", description = "On-demand JFR profiling endpoints")
+@SecurityRequirement(name = "bearerAuth")
+@Validated
+public class ProfilingController {
+
+    private final ProfilingService profilingService;
+
+    @PostMapping("/recordings")
+    @Operation(summary = "Start a JFR recording",
+              description = "Start a bounded Flight Recorder session that is aggregated into a hot-spot report")
+    public ResponseEntity<Map<String, Object>> startRecording(
+            @RequestParam(defaultValue = "30") @Min(1) @Max(300) int durationSeconds,
+            @RequestParam(defaultValue = "default") @Pattern(regexp = "^(default|profile)$") String profile,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int topN) {
+        return ResponseEntity.accepted().body(profilingService.startRecording(durationSeconds, profile, topN));
+    }
+
+    @GetMapping("/recordings")
+    @Operation(summary = "List JFR recordings", description = "List running and retained recordings")
+    public ResponseEntity<List<Map<String, Object>>> getRecordings() {
+        return ResponseEntity.ok(profilingService.getRecordings());
+    }
+
+    @GetMapping("/recordings/{id}")
+    @Operation(summary = "Get JFR recording report",
+              description = "Status of a recording, with its CPU, allocation, lock and GC report once completed")
+    public ResponseEntity<Map<String, Object>> getRecording(@PathVariable String id) {
+        return ResponseEntity.ok(profilingService.getRecording(id));
+    }
+
+    @GetMapping("/recordings/{id}/jfr")
+    @Operation(summary = "Download JFR file", description = "Download the raw .jfr file of a completed recording")
+    public ResponseEntity<FileSystemResource> downloadRecording(@PathVariable String id) {
+        Path file = profilingService.getRecordingFile(id);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"auraid-" + id + ".jfr\"")
+            .body(new FileSystemResource(file));
+    }
+}
@@ -1,9 +1,13 @@
 package com.aura.auraid.controller;
 
+import com.aura.auraid.dto.BatchAccessCheckRequestDTO;
+import com.aura.auraid.dto.BatchAccessCheckResultDTO;
 import com.aura.auraid.dto.ResourceDTO;
 import com.aura.auraid.dto.ResourcePermissionDTO;
 import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.model.PermissionType;
 import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.service.ResourceGrantService;
 import com.aura.auraid.service.ResourceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -20,6 +24,7 @@ import java.util.List;
 public class ResourceController {
 
     private final ResourceService resourceService;
+    private final ResourceGrantService resourceGrantService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -61,6 +66,15 @@ public class ResourceController {
         return ResponseEntity.ok(resourceService.getResourcesByType(type));
     }
 
+    @GetMapping("/accessible")
+    public ResponseEntity<PageResponseDTO<ResourceDTO>> getAccessibleResources(
+            @RequestParam(defaultValue = "READ") PermissionType permission,
+            @RequestParam(required = false) ResourceType type,
+            @RequestAttribute Long userId,
+            Pageable pageable) {
+        return ResponseEntity.ok(resourceService.getAccessibleResources(userId, permission, type, pageable));
+    }
+
     @GetMapping("/creator/{createdBy}")
     public ResponseEntity<List<ResourceDTO>> getResourcesByCreator(
             @PathVariable Long createdBy) {
@@ -74,4 +88,49 @@ public class ResourceController {
             @RequestAttribute Long userId) {
         return ResponseEntity.ok(resourceService.hasAccess(userId, resourceId, permissionName));
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/access/batch")
+    public ResponseEntity<BatchAccessCheckResultDTO> checkAccessBatch(
+            @Valid @RequestBody BatchAccessCheckRequestDTO request,
+            @RequestAttribute Long userId) {
+        return ResponseEntity.ok(resourceService.checkAccess(userId, request));
+    }
+
+    @PostMapping("/access/batch/users/{subjectId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BatchAccessCheckResultDTO> checkAccessBatchForUser(
+            @PathVariable Long subjectId,
+            @Valid @RequestBody BatchAccessCheckRequestDTO request) {
+        return ResponseEntity.ok(resourceService.checkAccess(subjectId, request));
+    }
+
+    @DeleteMapping("/{resourceId}/grants/{grantedUserId}/{permission}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokePermission(
+            @PathVariable Long resourceId,
+            @PathVariable Long grantedUserId,
+            @PathVariable PermissionType permission) {
+        resourceGrantService.revoke(grantedUserId, resourceId, permission);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/path-grants/{grantedUserId}/{permission}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> grantPathPermission(
+            @PathVariable Long grantedUserId,
+            @PathVariable PermissionType permission,
+            @RequestParam String path) {
+        resourceGrantService.grantPath(grantedUserId, path, permission);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/path-grants/{grantedUserId}/{permission}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokePathPermission(
+            @PathVariable Long grantedUserId,
+            @PathVariable PermissionType permission,
+            @RequestParam String path) {
+        resourceGrantService.revokePath(grantedUserId, path, permission);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,20 +1,32 @@
 package com.aura.auraid.controller;
 
+import com.aura.auraid.dto.ApproverInboxDTO;
+import com.aura.auraid.dto.LatencyStatsDTO;
 import com.aura.auraid.dto.WorkflowDashboardDTO;
 import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.model.LatencyDimension;
+import com.aura.auraid.service.AccessRequestCounterService;
+import com.aura.auraid.service.ApproverInboxService;
 import com.aura.auraid.service.WorkflowDashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/workflow-dashboard")
 @RequiredArgsConstructor
 public class WorkflowDashboardController {
 
     private final WorkflowDashboardService dashboardService;
+    private final ApproverInboxService approverInboxService;
+    private final AccessRequestCounterService accessRequestCounterService;
 
     // Admin dashboard endpoints
     @GetMapping("/admin")
@@ -68,6 +80,38 @@ public class WorkflowDashboardController {
         return ResponseEntity.ok(dashboardService.getUserPendingApprovals(userId, pageable));
     }
 
+    @GetMapping("/user/inbox")
+    public ResponseEntity<ApproverInboxDTO> getUserInbox(
+            @RequestAttribute Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(approverInboxService.getInbox(userId, beforeCreatedAt, beforeId, size));
+    }
+
+    @PostMapping("/user/inbox/read")
+    public ResponseEntity<Map<String, Object>> markInboxRead(
+            @RequestAttribute Long userId,
+            @RequestBody List<Long> pendingApprovalIds) {
+        int marked = approverInboxService.markRead(userId, pendingApprovalIds);
+        return ResponseEntity.ok(Map.of(
+            "marked", marked,
+            "unreadCount", approverInboxService.getUnreadCount(userId)
+        ));
+    }
+
+    @PostMapping("/admin/inbox/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildInbox() {
+        return ResponseEntity.ok(approverInboxService.rebuild());
+    }
+
+    @PostMapping("/admin/request-counts/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildRequestCounts() {
+        return ResponseEntity.ok(accessRequestCounterService.rebuild());
+    }
+
     @GetMapping("/user/activities")
     public ResponseEntity<PageResponseDTO<WorkflowDashboardDTO.WorkflowActivityDTO>> getUserActivities(
             @RequestAttribute Long userId,
@@ -98,6 +142,24 @@ public class WorkflowDashboardController {
         return ResponseEntity.ok(dashboardService.getAdminStats(period));
     }
 
+    @GetMapping("/admin/latency")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LatencyStatsDTO> getLatencyStats(
+            @RequestParam LatencyDimension dimension,
+            @RequestParam(defaultValue = "0") Long id,
+            @RequestParam(required = false) String period) {
+        return ResponseEntity.ok(dashboardService.getLatencyStats(dimension, id, period));
+    }
+
+    @GetMapping("/admin/bottlenecks")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<LatencyStatsDTO>> getBottlenecks(
+            @RequestParam(defaultValue = "STEP") LatencyDimension dimension,
+            @RequestParam(required = false) String period,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(dashboardService.getBottlenecks(dimension, period, Math.min(Math.max(limit, 1), 100)));
+    }
+
     @GetMapping("/user/stats")
     public ResponseEntity<WorkflowDashboardDTO.DashboardStatsDTO> getUserStats(
             @RequestAttribute Long userId,
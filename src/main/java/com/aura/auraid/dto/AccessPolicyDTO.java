@@ -0,0 +1,38 @@
+package com.aura.auraid.dto;
+
+import com.aura.auraid.model.PolicyAction;
+import com.aura.auraid.model.PolicyEffect;
+import lombok.Data;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+@Data
+public class AccessPolicyDTO {
+    private Long id;
+
+    @NotBlank(message = "Policy name is required")
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    private String description;
+
+    @NotNull(message = "Policy action is required")
+    private PolicyAction action;
+
+    @NotNull(message = "Policy effect is required")
+    private PolicyEffect effect;
+
+    @NotBlank(message = "Policy condition is required")
+    @Size(max = 4000, message = "Condition must not exceed 4000 characters")
+    private String condition;
+
+    private boolean enabled = true;
+
+    // Additional fields for response
+    private Long createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,12 +1,19 @@
 package com.aura.auraid.dto;
 
 import com.aura.auraid.model.AccessRequestStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
+// The all-args constructor is the listing projection in AccessRequestRepository; keep field order in sync
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AccessRequestDTO {
     private Long id;
     
@@ -18,6 +25,11 @@ public class AccessRequestDTO {
     
     @Size(max = 500, message = "Justification must not exceed 500 characters")
     private String justification;
+
+    // Time-boxed access, e.g. 480 for a working day; permanent when omitted
+    @Positive(message = "Access duration must be positive")
+    @Max(value = 43200, message = "Access duration must not exceed 30 days")
+    private Integer accessDurationMinutes;
     
     private AccessRequestStatus status;
     private String approverComment;
@@ -0,0 +1,20 @@
+package com.aura.auraid.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class AccessRequestImportDTO {
+    private String importId;
+    private String fileName;
+    private String status;        // RUNNING, COMPLETED or FAILED
+    private long rowsRead;
+    private long submitted;
+    private long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;         // why the import stopped, when it FAILED
+    private List<BulkAccessRequestResultDTO.ItemResultDTO> rowErrors;
+    private boolean rowErrorsTruncated;
+}
@@ -1,8 +1,10 @@
 package com.aura.auraid.dto;
 
+import com.aura.auraid.model.SlaBreachAction;
 import lombok.Data;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import java.util.Set;
 
@@ -22,6 +24,14 @@ public class ApprovalStepDTO {
 
     private Integer approvalThreshold;
 
+    @Positive(message = "SLA must be a positive number of minutes")
+    private Integer slaMinutes;
+
+    @Positive(message = "Reminder must be a positive number of minutes")
+    private Integer reminderMinutes;
+
+    private SlaBreachAction slaBreachAction;
+
     @NotNull(message = "At least one approver is required")
     private Set<Long> approverIds;
 
@@ -0,0 +1,16 @@
+package com.aura.auraid.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApproverInboxDTO {
+    // Serialized inline so the inbox keeps the same items/hasMore/nextCursor shape as other keyset pages
+    @JsonUnwrapped
+    private CursorPageDTO<PendingApprovalDTO> page;
+    private long unreadCount;
+}
@@ -0,0 +1,42 @@
+package com.aura.auraid.dto;
+
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class BatchAccessCheckRequestDTO {
+    @Size(max = 10000, message = "At most 10000 checks can be made at once")
+    private List<@NotNull @Valid CheckDTO> checks;
+
+    // Alternative to checks: every resource of this type the user can access
+    private ResourceType resourceType;
+
+    // With resourceType, keep only the resources carrying this permission
+    private PermissionType permission;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either checks or a resourceType is required, not both")
+    public boolean isSingleSelectionGiven() {
+        return (checks != null && !checks.isEmpty()) != (resourceType != null);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckDTO {
+        @NotNull(message = "Resource id is required")
+        private Long resourceId;
+
+        @NotNull(message = "Permission is required")
+        private PermissionType permission;
+    }
+}
@@ -0,0 +1,17 @@
+package com.aura.auraid.dto;
+
+import lombok.Data;
+import java.util.Map;
+
+@Data
+public class BatchAccessCheckResultDTO {
+    private Long userId;
+    private int checked;
+    private int allowed;
+
+    // For checks: base64 of a little-endian bitset, bit i set when checks[i] is allowed
+    private String results;
+
+    // For a resource type: resource id -> mask of PermissionType bits (READ=1, WRITE=2, DELETE=4, ADMIN=8)
+    private Map<Long, Integer> permissions;
+}
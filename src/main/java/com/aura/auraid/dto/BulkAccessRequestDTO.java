@@ -0,0 +1,15 @@
+package com.aura.auraid.dto;
+
+import lombok.Data;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class BulkAccessRequestDTO {
+    @NotEmpty(message = "At least one access request is required")
+    @Size(max = 500, message = "At most 500 access requests can be submitted at once")
+    private List<@Valid @NotNull AccessRequestDTO> requests;
+}
@@ -0,0 +1,32 @@
+package com.aura.auraid.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+public class BulkAccessRequestResultDTO {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<ItemResultDTO> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResultDTO {
+        private long row;          // position in the submission, or line number in an imported file
+        private boolean success;
+        private Long requestId;    // id of the created request, when it was submitted
+        private String error;
+
+        public static ItemResultDTO submitted(long row, Long requestId) {
+            return new ItemResultDTO(row, true, requestId, null);
+        }
+
+        public static ItemResultDTO failed(long row, String error) {
+            return new ItemResultDTO(row, false, null, error);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.aura.auraid.dto;
+
+import com.aura.auraid.model.ApprovalActionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class BulkApprovalRequestDTO {
+    @NotEmpty(message = "At least one step execution is required")
+    @Size(max = 500, message = "At most 500 step executions can be processed at once")
+    private List<@NotNull Long> stepExecutionIds;
+
+    @NotNull(message = "Action is required")
+    private ApprovalActionType action;
+
+    @Size(max = 1000, message = "Comment must not exceed 1000 characters")
+    private String comment;
+
+    // Matches the single-step reject endpoint, where the comment is mandatory
+    @JsonIgnore
+    @AssertTrue(message = "A comment is required when rejecting")
+    public boolean isCommentPresentForRejection() {
+        return action != ApprovalActionType.REJECT || (comment != null && !comment.isBlank());
+    }
+}
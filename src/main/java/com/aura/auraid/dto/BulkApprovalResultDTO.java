@@ -0,0 +1,33 @@
+package com.aura.auraid.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+public class BulkApprovalResultDTO {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<ItemResultDTO> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResultDTO {
+        private Long stepExecutionId;
+        private boolean success;
+        private String stepStatus;   // step status after the action, when it was applied
+        private String requestStatus;
+        private String error;
+
+        public static ItemResultDTO applied(Long stepExecutionId, String stepStatus, String requestStatus) {
+            return new ItemResultDTO(stepExecutionId, true, stepStatus, requestStatus, null);
+        }
+
+        public static ItemResultDTO failed(Long stepExecutionId, String error) {
+            return new ItemResultDTO(stepExecutionId, false, null, null, error);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.aura.auraid.dto;
+
+import com.aura.auraid.model.CampaignStatus;
+import com.aura.auraid.model.ResourceType;
+import lombok.Data;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+@Data
+public class CertificationCampaignDTO {
+    private Long id;
+
+    @NotBlank(message = "Campaign name is required")
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    private String description;
+
+    // Review only grants on resources of this type; all grants when empty
+    private ResourceType resourceType;
+
+    @Future(message = "Due date must be in the future")
+    private LocalDateTime dueAt;
+
+    // Additional fields for response
+    private CampaignStatus status;
+    private long itemCount;           // items generated so far while GENERATING
+    private long pendingCount;
+    private long certifiedCount;
+    private long revokedCount;
+    private long appliedRevocations;  // set once the campaign is CLOSED
+    private String error;
+    private Long createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime generatedAt;
+    private LocalDateTime closedAt;
+}
@@ -0,0 +1,21 @@
+package com.aura.auraid.dto;
+
+import com.aura.auraid.model.CertificationDecision;
+import lombok.Data;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class CertificationDecisionDTO {
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 1000, message = "At most 1000 items can be decided at once")
+    private List<@NotNull Long> itemIds;
+
+    @NotNull(message = "Decision is required")
+    private CertificationDecision decision;
+
+    @Size(max = 500, message = "Comment must not exceed 500 characters")
+    private String comment;
+}
@@ -0,0 +1,40 @@
+package com.aura.auraid.dto;
+
+import com.aura.auraid.model.CertificationDecision;
+import com.aura.auraid.model.PermissionType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class CertificationItemDTO {
+    private Long id;
+    private Long userId;
+    private String username;
+    private Long resourceId;
+    private String resourceName;
+    private Long permissionId;
+    private String permissionName;
+    private LocalDateTime expiresAt;   // set when the permission was time-boxed
+    private CertificationDecision decision;
+    private LocalDateTime decidedAt;
+    private String comment;
+
+    public CertificationItemDTO(Long id, Long userId, String username, Long resourceId, String resourceName,
+                                short permissionId, LocalDateTime expiresAt, CertificationDecision decision,
+                                LocalDateTime decidedAt, String comment) {
+        this.id = id;
+        this.userId = userId;
+        this.username = username;
+        this.resourceId = resourceId;
+        this.resourceName = resourceName;
+        this.permissionId = (long) permissionId;
+        this.permissionName = PermissionType.fromPermissionId(this.permissionId).name();
+        this.expiresAt = expiresAt;
+        this.decision = decision;
+        this.decidedAt = decidedAt;
+        this.comment = comment;
+    }
+}
@@ -0,0 +1,28 @@
+package com.aura.auraid.dto;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Data
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private boolean hasMore;
+    // Query parameters for the next page; null on the last page
+    private Map<String, Object> nextCursor;
+
+    /**
+     * Builds a page from a keyset query that fetched one row beyond {@code pageSize}; the extra row
+     * only signals that another page exists and is dropped from the items.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int pageSize, Function<T, Map<String, Object>> cursorOf) {
+        CursorPageDTO<T> page = new CursorPageDTO<>();
+        page.setHasMore(rows.size() > pageSize);
+        page.setItems(page.isHasMore() ? rows.subList(0, pageSize) : rows);
+        if (page.isHasMore()) {
+            page.setNextCursor(cursorOf.apply(page.getItems().get(pageSize - 1)));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,20 @@
+package com.aura.auraid.dto;
+
+import com.aura.auraid.model.LatencyDimension;
+import lombok.Data;
+
+/**
+ * Latency percentiles for one dimension value over a period, in hours.
+ */
+@Data
+public class LatencyStatsDTO {
+    private LatencyDimension dimension;
+    private Long dimensionId;
+    private String name;
+    private long count;
+    private double mean;
+    private double p50;
+    private double p90;
+    private double p99;
+    private double max;
+}
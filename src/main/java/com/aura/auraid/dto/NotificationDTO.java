@@ -2,9 +2,11 @@ package com.aura.auraid.dto;
 
 import com.aura.auraid.model.NotificationType;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class NotificationDTO {
     private Long id;
     private String title;
@@ -19,4 +21,18 @@ public class NotificationDTO {
     // Additional fields for UI display
     private String timeAgo;  // Formatted time string (e.g., "2 hours ago")
     private String icon;     // Icon identifier for the notification type
-} 
\ No newline at end of file
+
+    // Query projection; the display fields are filled in by the service
+    public NotificationDTO(Long id, String title, String message, NotificationType type, boolean read,
+                           LocalDateTime readAt, LocalDateTime createdAt, String referenceType, Long referenceId) {
+        this.id = id;
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.read = read;
+        this.readAt = readAt;
+        this.createdAt = createdAt;
+        this.referenceType = referenceType;
+        this.referenceId = referenceId;
+    }
+}
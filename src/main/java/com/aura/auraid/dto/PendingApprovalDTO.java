@@ -0,0 +1,20 @@
+package com.aura.auraid.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingApprovalDTO {
+    private Long id;
+    private Long accessRequestId;
+    private Long stepExecutionId;
+    private String resourceName;
+    private String requesterName;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.aura.auraid.dto;
+
+import com.aura.auraid.model.AccessRequestStatus;
+import com.aura.auraid.model.ResourceType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of a dashboard request summary, read by projection; the step
+ * and action details are loaded for a whole page at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestSummaryRowDTO {
+    private Long requestId;
+    private String resourceName;
+    private ResourceType resourceType;
+    private String requesterName;
+    private String workflowName;
+    private AccessRequestStatus status;
+    private Integer currentStepOrder;
+    private LocalDateTime createdAt;
+}
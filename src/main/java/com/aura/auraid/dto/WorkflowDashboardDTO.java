@@ -16,6 +16,9 @@ public class WorkflowDashboardDTO {
         private long rejectedRequests;
         private long totalRequests;
         private double averageApprovalTime; // in hours
+        private double approvalTimeP50; // in hours
+        private double approvalTimeP90;
+        private double approvalTimeP99;
     }
     
     @Data
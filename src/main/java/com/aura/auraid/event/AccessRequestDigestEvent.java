@@ -0,0 +1,16 @@
+package com.aura.auraid.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Access requests submitted together for resources one owner created,
+ * delivered as a single notification.
+ */
+@Value
+public class AccessRequestDigestEvent {
+    Long recipientId;
+    List<Long> accessRequestIds;
+    List<String> resourceNames;
+}
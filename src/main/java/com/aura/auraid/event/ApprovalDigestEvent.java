@@ -0,0 +1,15 @@
+package com.aura.auraid.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Steps activated by one bulk operation that one recipient has to approve,
+ * delivered as a single notification.
+ */
+@Value
+public class ApprovalDigestEvent {
+    Long recipientId;
+    List<ApprovalRequiredEvent> approvals;
+}
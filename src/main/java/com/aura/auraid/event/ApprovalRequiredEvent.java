@@ -0,0 +1,14 @@
+package com.aura.auraid.event;
+
+import lombok.Value;
+
+/**
+ * Published when a workflow step becomes active and its approvers have to act.
+ */
+@Value
+public class ApprovalRequiredEvent {
+    Long stepExecutionId;
+    long[] approverIds;
+    String resourceName;
+    String requesterName;
+}
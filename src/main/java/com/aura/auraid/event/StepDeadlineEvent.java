@@ -0,0 +1,20 @@
+package com.aura.auraid.event;
+
+import lombok.Value;
+
+/**
+ * Published by the deadline scheduler when a step's reminder time or SLA
+ * deadline comes up. It may be stale: the step can have closed in the meantime.
+ */
+@Value
+public class StepDeadlineEvent {
+
+    public enum Type {
+        REMINDER,
+        DUE
+    }
+
+    Long stepExecutionId;
+    Long accessRequestId;
+    Type type;
+}
@@ -0,0 +1,22 @@
+package com.aura.auraid.event;
+
+import lombok.Value;
+
+/**
+ * Published when a step deadline has been acted on and the people involved need to hear about it.
+ */
+@Value
+public class StepDeadlineNotificationEvent {
+
+    public enum Kind {
+        REMINDER,
+        ESCALATED,
+        AUTO_REJECTED
+    }
+
+    Kind kind;
+    Long stepExecutionId;
+    long[] recipientIds;
+    String resourceName;
+    String requesterName;
+}
@@ -0,0 +1,132 @@
+package com.aura.auraid.event;
+
+import com.aura.auraid.model.NotificationType;
+import com.aura.auraid.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Sends workflow notifications once the state transition that caused them has
+ * committed, so approvers are never told about a step that was rolled back.
+ * The committed transaction is still bound at this point, so notifications are
+ * written in a transaction of their own.
+ */
+@Slf4j
+@Component
+public class WorkflowNotificationListener {
+
+    private static final int MAX_NAMED_RESOURCES = 3;
+
+    private final NotificationService notificationService;
+    private final TransactionTemplate requiresNew;
+
+    public WorkflowNotificationListener(NotificationService notificationService,
+                                        PlatformTransactionManager transactionManager) {
+        this.notificationService = notificationService;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onApprovalRequired(ApprovalRequiredEvent event) {
+        String message = String.format("Access request for %s by %s requires your approval",
+            event.getResourceName(), event.getRequesterName());
+        notify(event.getApproverIds(), "Approval Required", message,
+            NotificationType.ACCESS_REQUEST_SUBMITTED, event.getStepExecutionId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStepDeadline(StepDeadlineNotificationEvent event) {
+        switch (event.getKind()) {
+            case REMINDER -> notify(event.getRecipientIds(), "Approval Reminder",
+                String.format("Access request for %s by %s is still waiting for your approval",
+                    event.getResourceName(), event.getRequesterName()),
+                NotificationType.ACCESS_REQUEST_SUBMITTED, event.getStepExecutionId());
+            case ESCALATED -> notify(event.getRecipientIds(), "Approval Escalated",
+                String.format("Access request for %s by %s has passed its approval deadline",
+                    event.getResourceName(), event.getRequesterName()),
+                NotificationType.ACCESS_REQUEST_SUBMITTED, event.getStepExecutionId());
+            case AUTO_REJECTED -> notify(event.getRecipientIds(), "Access Request Rejected",
+                String.format("Your access request for %s was rejected because its approval deadline passed",
+                    event.getResourceName()),
+                NotificationType.ACCESS_REQUEST_REJECTED, event.getStepExecutionId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onApprovalDigest(ApprovalDigestEvent event) {
+        List<ApprovalRequiredEvent> approvals = event.getApprovals();
+        boolean single = approvals.size() == 1;
+        String message = single
+            ? String.format("Access request for %s by %s requires your approval",
+                approvals.get(0).getResourceName(), approvals.get(0).getRequesterName())
+            : String.format("%d access requests require your approval", approvals.size());
+
+        try {
+            requiresNew.executeWithoutResult(status -> notificationService.createNotification(
+                event.getRecipientId(),
+                "Approval Required",
+                message,
+                NotificationType.ACCESS_REQUEST_SUBMITTED,
+                single ? "STEP_EXECUTION" : null,
+                single ? approvals.get(0).getStepExecutionId() : null
+            ));
+        } catch (RuntimeException e) {
+            log.warn("Failed to send approval digest to user {}", event.getRecipientId(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccessRequestDigest(AccessRequestDigestEvent event) {
+        List<Long> requestIds = event.getAccessRequestIds();
+        List<String> names = event.getResourceNames();
+        boolean single = requestIds.size() == 1;
+        String resources = names.size() <= MAX_NAMED_RESOURCES
+            ? String.join(", ", names)
+            : String.join(", ", names.subList(0, MAX_NAMED_RESOURCES))
+                + " and " + (names.size() - MAX_NAMED_RESOURCES) + " other resources";
+        String message = single
+            ? "A new access request has been submitted for " + resources
+            : String.format("%d new access requests have been submitted for %s", requestIds.size(), resources);
+
+        try {
+            requiresNew.executeWithoutResult(status -> notificationService.createNotification(
+                event.getRecipientId(),
+                single ? "New Access Request" : "New Access Requests",
+                message,
+                NotificationType.ACCESS_REQUEST_SUBMITTED,
+                single ? "ACCESS_REQUEST" : null,
+                single ? requestIds.get(0) : null
+            ));
+        } catch (RuntimeException e) {
+            log.warn("Failed to send access request digest to user {}", event.getRecipientId(), e);
+        }
+    }
+
+    private void notify(long[] recipientIds, String title, String message, NotificationType type, Long stepExecutionId) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                for (long recipientId : recipientIds) {
+                    notificationService.createNotification(
+                        recipientId,
+                        title,
+                        message,
+                        type,
+                        "STEP_EXECUTION",
+                        stepExecutionId
+                    );
+                }
+            });
+        } catch (RuntimeException e) {
+            // The workflow transition is already committed; a lost notification must not fail it
+            log.warn("Failed to send '{}' notifications for step execution {}", title, stepExecutionId, e);
+        }
+    }
+}
\ No newline at end of file
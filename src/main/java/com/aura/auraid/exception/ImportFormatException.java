@@ -0,0 +1,7 @@
+package com.aura.auraid.exception;
+
+public class ImportFormatException extends AuraIdException {
+    public ImportFormatException(String message) {
+        super(message);
+    }
+}
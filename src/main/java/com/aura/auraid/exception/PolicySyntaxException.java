@@ -0,0 +1,7 @@
+package com.aura.auraid.exception;
+
+public class PolicySyntaxException extends AuraIdException {
+    public PolicySyntaxException(String message) {
+        super(message);
+    }
+}
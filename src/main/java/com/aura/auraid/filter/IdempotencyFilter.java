@@ -0,0 +1,258 @@
+package com.aura.auraid.filter;
+
+import com.aura.auraid.config.IdempotencyProperties;
+import com.aura.auraid.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Honours the {@code Idempotency-Key} header on the configured POST routes.
+ *
+ * The first request with a key runs normally and its response is kept for the
+ * configured time; a retry with the same key gets that response back instead of
+ * running the action again. A retry that arrives while the first is still running
+ * gets 409, and reusing a key for a different request gets 422. Server errors are
+ * not kept, so the client can retry them with the same key. Keys are scoped to
+ * the caller (the user, or the client address before login) and the route.
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter implements Filter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, StoredResponse> responses;
+    private final Counter replays;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTtl())
+            .maximumSize(properties.getMaxEntries())
+            .recordStats()
+            .build();
+        this.replays = Counter.builder("http.idempotency.replays")
+            .description("Requests answered from the result of an earlier request with the same Idempotency-Key")
+            .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotencyResponses");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String idempotencyKey = httpRequest.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (!properties.isEnabled() || idempotencyKey == null || !"POST".equals(httpRequest.getMethod())
+                || !isIdempotentRoute(httpRequest.getRequestURI())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(httpRequest, httpResponse, HttpStatus.BAD_REQUEST,
+                IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // Form parameters are parsed by the container from the raw stream, so those requests keep it untouched
+        byte[] body = isFormPost(httpRequest) ? null : httpRequest.getInputStream().readAllBytes();
+        HttpServletRequest replayable = body != null ? new CachedBodyRequest(httpRequest, body) : httpRequest;
+        String fingerprint = fingerprint(replayable, body);
+        String cacheKey = scopeOf(httpRequest) + " " + httpRequest.getRequestURI() + " " + idempotencyKey;
+
+        StoredResponse inFlight = StoredResponse.inFlight(fingerprint);
+        StoredResponse previous = responses.asMap().putIfAbsent(cacheKey, inFlight);
+        if (previous != null) {
+            replay(httpRequest, httpResponse, previous, fingerprint);
+            return;
+        }
+
+        ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(httpResponse);
+        boolean stored = false;
+        try {
+            chain.doFilter(replayable, recorder);
+            if (recorder.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                responses.put(cacheKey, StoredResponse.completed(fingerprint, recorder.getStatus(),
+                    recorder.getContentType(), recorder.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                responses.asMap().remove(cacheKey, inFlight);
+            }
+            recorder.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, StoredResponse previous,
+                        String fingerprint) throws IOException {
+        if (!previous.fingerprint().equals(fingerprint)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            return;
+        }
+        if (previous.inFlight()) {
+            writeError(request, response, HttpStatus.CONFLICT,
+                "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+            return;
+        }
+
+        replays.increment();
+        log.debug("Replaying response for {} {} with {} {}", request.getMethod(), request.getRequestURI(),
+            IDEMPOTENCY_KEY_HEADER, request.getHeader(IDEMPOTENCY_KEY_HEADER));
+        response.setStatus(previous.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (previous.contentType() != null) {
+            response.setContentType(previous.contentType());
+        }
+        response.setContentLength(previous.body().length);
+        response.getOutputStream().write(previous.body());
+    }
+
+    private boolean isIdempotentRoute(String uri) {
+        return properties.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, uri));
+    }
+
+    private String scopeOf(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            return "client:" + forwardedFor.split(",")[0].trim();
+        }
+        return "client:" + request.getRemoteAddr();
+    }
+
+    private String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        if (body != null) {
+            if (request.getQueryString() != null) {
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+            digest.update(body);
+        } else {
+            for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+                digest.update((parameter.getKey() + "=" + Arrays.toString(parameter.getValue()))
+                    .getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private boolean isFormPost(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+            new ErrorResponse(status.value(), status.getReasonPhrase(), message, "uri=" + request.getRequestURI()));
+    }
+
+    private record StoredResponse(String fingerprint, boolean inFlight, int status, String contentType, byte[] body) {
+
+        static StoredResponse inFlight(String fingerprint) {
+            return new StoredResponse(fingerprint, true, 0, null, null);
+        }
+
+        static StoredResponse completed(String fingerprint, int status, String contentType, byte[] body) {
+            return new StoredResponse(fingerprint, false, status, contentType, body);
+        }
+    }
+
+    /**
+     * Serves a body that was read up front, so it can be fingerprinted and still reach the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
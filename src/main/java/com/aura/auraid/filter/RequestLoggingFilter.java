@@ -1,19 +1,25 @@
 package com.aura.auraid.filter;
 
+import com.aura.auraid.metrics.RequestLatencyRecorder;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class RequestLoggingFilter implements Filter {
 
+    private final RequestLatencyRecorder latencyRecorder;
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -30,9 +36,20 @@ public class RequestLoggingFilter implements Filter {
             logRequest(httpRequest, requestId);
         }
 
-        long startTime = System.currentTimeMillis();
-        chain.doFilter(request, response);
-        long duration = System.currentTimeMillis() - startTime;
+        long startTime = System.nanoTime();
+        long durationNanos;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            durationNanos = System.nanoTime() - startTime;
+            // Route pattern is only known once the dispatcher has matched a handler
+            Object pattern = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            latencyRecorder.record(httpRequest.getMethod(),
+                pattern != null ? pattern.toString() : null,
+                httpResponse.getStatus(),
+                durationNanos);
+        }
+        long duration = TimeUnit.NANOSECONDS.toMillis(durationNanos);
 
         // Always log availability checks, otherwise only log slow public endpoints
         if (isAvailabilityCheck || !isPublicEndpoint || duration > 200) {
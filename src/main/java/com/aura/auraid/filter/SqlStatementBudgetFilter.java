@@ -0,0 +1,89 @@
+package com.aura.auraid.filter;
+
+import com.aura.auraid.config.SqlStatementBudgetProperties;
+import com.aura.auraid.metrics.RequestLatencyRecorder;
+import com.aura.auraid.metrics.SqlStatementTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts SQL statements per request, flags repeated statement shapes (N+1) and
+ * checks the count against the configured per-endpoint budget.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementBudgetFilter implements Filter {
+
+    public static final String STATEMENT_COUNT_ATTRIBUTE = "sqlStatementCount";
+    public static final String REPEATED_STATEMENT_ATTRIBUTE = "sqlRepeatedStatementCount";
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final SqlStatementTracker tracker;
+    private final SqlStatementBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!properties.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        SqlStatementTracker.RequestStatements statements;
+        tracker.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            statements = tracker.end();
+        }
+
+        Object pattern = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNMAPPED;
+        String method = RequestLatencyRecorder.methodTag(httpRequest.getMethod());
+        String repeatedShape = statements.mostRepeatedShape();
+        int repeated = statements.repeatCount(repeatedShape);
+
+        httpRequest.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements.total());
+        httpRequest.setAttribute(REPEATED_STATEMENT_ATTRIBUTE, repeated);
+
+        DistributionSummary.builder("http.request.sql.statements")
+            .description("SQL statements executed per request")
+            .tags("method", method, "uri", route)
+            .register(meterRegistry)
+            .record(statements.total());
+
+        boolean nPlusOne = repeated >= properties.getRepeatedStatementThreshold();
+        if (nPlusOne) {
+            Counter.builder("http.request.sql.n_plus_one")
+                .description("Requests that repeated the same SQL statement shape")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .increment();
+        }
+
+        int budget = properties.getBudgets().getOrDefault(route, properties.getDefaultBudget());
+        if (statements.total() <= budget && !nPlusOne) {
+            return;
+        }
+
+        String message = String.format(
+            "%s %s executed %d SQL statements (budget %d); most repeated statement ran %d times: %s",
+            method, route, statements.total(), budget, repeated, repeatedShape);
+        if (properties.isFailOnViolation()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+}
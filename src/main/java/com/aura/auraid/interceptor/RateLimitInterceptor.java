@@ -2,6 +2,9 @@ package com.aura.auraid.interceptor;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.aura.auraid.metrics.CustomMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
@@ -15,13 +18,20 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class RateLimitInterceptor implements HandlerInterceptor {
     private final Cache<String, AtomicInteger> requestCounts = Caffeine.newBuilder()
             .expireAfterWrite(Duration.ofMinutes(1))
+            .recordStats()
             .build();
+    private final CustomMetrics customMetrics;
 
     private static final int DEFAULT_LIMIT = 100; // 100 requests per minute
     private static final int CHECK_ENDPOINT_LIMIT = 50; // 50 requests per minute for check endpoints
     private static final int DASHBOARD_LIMIT = 200; // 200 requests per minute for dashboard endpoints
     private static final int AUDIT_ENDPOINT_LIMIT = 300; // 300 requests per minute for audit endpoints
 
+    public RateLimitInterceptor(MeterRegistry meterRegistry, CustomMetrics customMetrics) {
+        this.customMetrics = customMetrics;
+        CaffeineCacheMetrics.monitor(meterRegistry, requestCounts, "rateLimitCounters");
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         String clientIp = getClientIp(request);
@@ -33,6 +43,7 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         
         AtomicInteger count = requestCounts.get(cacheKey, k -> new AtomicInteger(0));
         if (count.incrementAndGet() > limit) {
+            customMetrics.getRateLimitRejections().increment();
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             return false;
         }
@@ -15,6 +15,7 @@ public class CustomMetrics {
     private final Counter registrationAttempts;
     private final Counter registrationSuccess;
     private final Counter registrationFailure;
+    private final Counter rateLimitRejections;
 
     public CustomMetrics(MeterRegistry registry) {
         this.loginAttempts = Counter.builder("auth.login.attempts")
@@ -40,5 +41,9 @@ public class CustomMetrics {
         this.registrationFailure = Counter.builder("auth.registration.failure")
                 .description("Number of failed registrations")
                 .register(registry);
+
+        this.rateLimitRejections = Counter.builder("http.rate_limit.rejections")
+                .description("Number of requests rejected by the rate limiter")
+                .register(registry);
     }
 } 
\ No newline at end of file
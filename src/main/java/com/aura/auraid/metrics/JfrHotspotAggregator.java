@@ -0,0 +1,200 @@
+package com.aura.auraid.metrics;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds streamed JFR events into hot-spot tables as they arrive, so a
+ * recording never has to be parsed again to build its report.
+ *
+ * Allocation and lock sites are attributed to the first application frame,
+ * then the first non-JDK frame, since the top frame is usually JDK code.
+ */
+public class JfrHotspotAggregator {
+
+    private static final String APPLICATION_PACKAGE = "com.aura.";
+    private static final String UNKNOWN = "<unknown>";
+
+    private final Map<String, Site> cpuFrames = new HashMap<>();
+    private final Map<String, Site> allocationSites = new HashMap<>();
+    private final Map<String, Site> lockSites = new HashMap<>();
+    private final List<Map<String, Object>> gcPauses = new ArrayList<>();
+    private long cpuSamples;
+    private long allocatedBytes;
+    private long lockEvents;
+    private long lockNanos;
+    private long gcCount;
+    private long gcPauseNanos;
+    private long gcMaxPauseNanos;
+
+    public synchronized void onExecutionSample(RecordedEvent event) {
+        cpuSamples++;
+        site(cpuFrames, topFrame(event.getStackTrace()), null).add(1, 0);
+    }
+
+    public synchronized void onAllocationSample(RecordedEvent event) {
+        long weight = event.getLong("weight");
+        allocatedBytes += weight;
+        site(allocationSites, applicationFrame(event.getStackTrace()), className(event.getClass("objectClass")))
+            .add(1, weight);
+    }
+
+    /**
+     * Handles both {@code jdk.JavaMonitorEnter} (synchronized) and {@code jdk.ThreadPark} (j.u.c locks).
+     */
+    public synchronized void onLockEvent(RecordedEvent event, String classField) {
+        long nanos = event.getDuration().toNanos();
+        lockEvents++;
+        lockNanos += nanos;
+        site(lockSites, applicationFrame(event.getStackTrace()), className(event.getClass(classField)))
+            .add(1, nanos);
+    }
+
+    public synchronized void onGarbageCollection(RecordedEvent event) {
+        long pause = event.getDuration("sumOfPauses").toNanos();
+        gcCount++;
+        gcPauseNanos += pause;
+        gcMaxPauseNanos = Math.max(gcMaxPauseNanos, pause);
+
+        Map<String, Object> collection = new HashMap<>();
+        collection.put("name", event.getString("name"));
+        collection.put("cause", event.getString("cause"));
+        collection.put("startTime", event.getStartTime().toString());
+        collection.put("pauseMillis", toMillis(pause));
+        gcPauses.add(collection);
+    }
+
+    public synchronized Map<String, Object> report(int topN) {
+        Map<String, Object> report = new HashMap<>();
+
+        Map<String, Object> cpu = new HashMap<>();
+        cpu.put("samples", cpuSamples);
+        cpu.put("topFrames", top(cpuFrames, topN, cpuSamples, false));
+        report.put("cpu", cpu);
+
+        Map<String, Object> allocations = new HashMap<>();
+        allocations.put("sampledBytes", allocatedBytes);
+        allocations.put("topSites", top(allocationSites, topN, allocatedBytes, true));
+        report.put("allocations", allocations);
+
+        Map<String, Object> locks = new HashMap<>();
+        locks.put("events", lockEvents);
+        locks.put("totalBlockedMillis", toMillis(lockNanos));
+        locks.put("topSites", top(lockSites, topN, lockNanos, true));
+        report.put("locks", locks);
+
+        Map<String, Object> gc = new HashMap<>();
+        gc.put("collections", gcCount);
+        gc.put("totalPauseMillis", toMillis(gcPauseNanos));
+        gc.put("maxPauseMillis", toMillis(gcMaxPauseNanos));
+        gc.put("longestPauses", gcPauses.stream()
+            .sorted(Comparator.comparingDouble((Map<String, Object> p) -> (double) p.get("pauseMillis")).reversed())
+            .limit(topN)
+            .toList());
+        report.put("gc", gc);
+
+        return report;
+    }
+
+    private List<Map<String, Object>> top(Map<String, Site> sites, int topN, long total, boolean byWeight) {
+        return sites.values().stream()
+            .sorted(Comparator.comparingLong((Site s) -> byWeight ? s.weight : s.count).reversed())
+            .limit(topN)
+            .map(site -> {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("frame", site.frame);
+                if (site.type != null) {
+                    entry.put("class", site.type);
+                }
+                entry.put("count", site.count);
+                long value = byWeight ? site.weight : site.count;
+                if (byWeight) {
+                    entry.put("weight", value);
+                }
+                entry.put("percent", total > 0 ? value * 100.0 / total : 0.0);
+                return entry;
+            })
+            .toList();
+    }
+
+    private static Site site(Map<String, Site> sites, String frame, String type) {
+        String key = type != null ? frame + "|" + type : frame;
+        return sites.computeIfAbsent(key, k -> new Site(frame, type));
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return UNKNOWN;
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return UNKNOWN;
+        }
+        RecordedFrame firstNonJdk = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            RecordedMethod method = frame.getMethod();
+            if (method == null) {
+                continue;
+            }
+            String type = method.getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+            if (firstNonJdk == null && !isJdkType(type)) {
+                firstNonJdk = frame;
+            }
+        }
+        return describe(firstNonJdk != null ? firstNonJdk : stackTrace.getFrames().get(0));
+    }
+
+    private static boolean isJdkType(String type) {
+        return type.startsWith("java.") || type.startsWith("javax.") || type.startsWith("jdk.")
+            || type.startsWith("sun.") || type.startsWith("com.sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        RecordedMethod method = frame.getMethod();
+        if (method == null) {
+            return UNKNOWN;
+        }
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass != null ? recordedClass.getName() : null;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) Duration.ofMillis(1).toNanos();
+    }
+
+    private static final class Site {
+        private final String frame;
+        private final String type;
+        private long count;
+        private long weight;
+
+        private Site(String frame, String type) {
+            this.frame = frame;
+            this.type = type;
+        }
+
+        private void add(long events, long amount) {
+            count += events;
+            weight += amount;
+        }
+    }
+}
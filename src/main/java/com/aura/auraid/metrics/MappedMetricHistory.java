@@ -0,0 +1,434 @@
+package com.aura.auraid.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Metric history persisted in a fixed-size, memory-mapped file.
+ *
+ * The file is a ring of equally sized blocks. Each block is compressed the way
+ * Gorilla (Facebook's TSDB) does it: timestamps as delta-of-delta, values as the
+ * XOR against the previous value of the same metric. A block is closed when the
+ * worst-case encoding of one more sample would not fit, and the oldest block is
+ * recycled, so disk usage is constant and the block count is sized to hold
+ * {@code retentionSamples} even if nothing compresses.
+ *
+ * Nothing is mapped or decoded until the first append or read. Reads decode
+ * straight from the mapped region and hand each sample to a visitor.
+ */
+public class MappedMetricHistory implements AutoCloseable {
+
+    private static final int MAGIC = 0x41555254; // "AURT"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 64;
+    private static final int BLOCK_HEADER_SIZE = 24;
+
+    // File header offsets
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_SCHEMA = 8;
+    private static final int H_METRICS = 12;
+    private static final int H_BLOCK_SIZE = 16;
+    private static final int H_BLOCK_COUNT = 20;
+    private static final int H_HEAD = 24;
+
+    // Block header offsets
+    private static final int B_COUNT = 0;
+    private static final int B_BITS = 4;
+    private static final int B_FIRST = 8;
+    private static final int B_LAST = 16;
+
+    // Worst case: '1111' + 64-bit timestamp delta, and '11' + 5 + 6 + 64 bits per value
+    private static final int MAX_TIMESTAMP_BITS = 4 + 64;
+    private static final int MAX_VALUE_BITS = 2 + 5 + 6 + 64;
+
+    @FunctionalInterface
+    public interface SampleVisitor {
+        /**
+         * @param values decoded values in metric order; the array is reused between calls
+         */
+        void visit(long timestampMillis, double[] values);
+    }
+
+    private final Path file;
+    private final String[] names;
+    private final int blockSize;
+    private final int blockCount;
+    private final int maxSampleBits;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile MappedByteBuffer buffer;
+    private int head;
+    private final Codec writer;
+
+    public MappedMetricHistory(Path file, String[] names, int retentionSamples, int blockSize) {
+        this.file = file;
+        this.names = names.clone();
+        this.blockSize = blockSize;
+        this.maxSampleBits = MAX_TIMESTAMP_BITS + MAX_VALUE_BITS * names.length;
+
+        int samplesPerBlock = ((blockSize - BLOCK_HEADER_SIZE) * 8) / maxSampleBits;
+        if (samplesPerBlock < 2) {
+            throw new IllegalArgumentException("Block size too small for " + names.length + " metrics");
+        }
+        // One extra block because the head block is only partially filled
+        this.blockCount = (retentionSamples + samplesPerBlock - 1) / samplesPerBlock + 1;
+        this.writer = new Codec(names.length);
+    }
+
+    public String[] names() {
+        return names.clone();
+    }
+
+    public long fileSize() {
+        return FILE_HEADER_SIZE + (long) blockSize * blockCount;
+    }
+
+    public void append(long timestampMillis, double[] values) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            int base = blockOffset(head);
+            int bits = buffer.getInt(base + B_BITS);
+            if (bits + maxSampleBits > (blockSize - BLOCK_HEADER_SIZE) * 8) {
+                head = (head + 1) % blockCount;
+                base = blockOffset(head);
+                resetBlock(base);
+                buffer.putInt(H_HEAD, head);
+                writer.reset();
+                bits = 0;
+            }
+
+            int count = buffer.getInt(base + B_COUNT);
+            int end = writer.encode(buffer, base + BLOCK_HEADER_SIZE, bits, timestampMillis, values);
+
+            // Publish the sample only after its bits are in place
+            if (count == 0) {
+                buffer.putLong(base + B_FIRST, timestampMillis);
+            }
+            buffer.putLong(base + B_LAST, timestampMillis);
+            buffer.putInt(base + B_BITS, end);
+            buffer.putInt(base + B_COUNT, count + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Visits every retained sample with a timestamp strictly after {@code afterMillis}, oldest first.
+     */
+    public void read(long afterMillis, SampleVisitor visitor) {
+        if (buffer == null) {
+            lock.writeLock().lock();
+            try {
+                ensureOpen();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            Codec reader = new Codec(names.length);
+            double[] values = new double[names.length];
+            for (int i = 1; i <= blockCount; i++) {
+                int base = blockOffset((head + i) % blockCount);
+                int count = buffer.getInt(base + B_COUNT);
+                if (count == 0 || buffer.getLong(base + B_LAST) <= afterMillis) {
+                    continue;
+                }
+
+                reader.reset();
+                int position = 0;
+                for (int sample = 0; sample < count; sample++) {
+                    position = reader.decode(buffer, base + BLOCK_HEADER_SIZE, position);
+                    if (reader.timestamp > afterMillis) {
+                        for (int metric = 0; metric < values.length; metric++) {
+                            values[metric] = Double.longBitsToDouble(reader.previousBits[metric]);
+                        }
+                        visitor.visit(reader.timestamp, values);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (buffer != null) {
+                buffer.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (buffer != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() != fileSize()) {
+                    channel.truncate(0);
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map metrics history file " + file, e);
+        }
+
+        if (!hasCompatibleHeader()) {
+            initialize();
+            return;
+        }
+
+        // Replay the head block so appends continue its compression state
+        head = buffer.getInt(H_HEAD);
+        int base = blockOffset(head);
+        int count = buffer.getInt(base + B_COUNT);
+        writer.reset();
+        int position = 0;
+        for (int sample = 0; sample < count; sample++) {
+            position = writer.decode(buffer, base + BLOCK_HEADER_SIZE, position);
+        }
+    }
+
+    private boolean hasCompatibleHeader() {
+        int storedHead = buffer.getInt(H_HEAD);
+        return buffer.getInt(H_MAGIC) == MAGIC
+            && buffer.getInt(H_VERSION) == VERSION
+            && buffer.getInt(H_SCHEMA) == schemaHash()
+            && buffer.getInt(H_METRICS) == names.length
+            && buffer.getInt(H_BLOCK_SIZE) == blockSize
+            && buffer.getInt(H_BLOCK_COUNT) == blockCount
+            && storedHead >= 0 && storedHead < blockCount;
+    }
+
+    private void initialize() {
+        for (int block = 0; block < blockCount; block++) {
+            resetBlock(blockOffset(block));
+        }
+        head = 0;
+        writer.reset();
+        buffer.putInt(H_VERSION, VERSION);
+        buffer.putInt(H_SCHEMA, schemaHash());
+        buffer.putInt(H_METRICS, names.length);
+        buffer.putInt(H_BLOCK_SIZE, blockSize);
+        buffer.putInt(H_BLOCK_COUNT, blockCount);
+        buffer.putInt(H_HEAD, head);
+        buffer.putInt(H_MAGIC, MAGIC);
+    }
+
+    private void resetBlock(int base) {
+        buffer.putInt(base + B_COUNT, 0);
+        buffer.putInt(base + B_BITS, 0);
+        buffer.putLong(base + B_FIRST, 0);
+        buffer.putLong(base + B_LAST, 0);
+    }
+
+    private int blockOffset(int block) {
+        return FILE_HEADER_SIZE + block * blockSize;
+    }
+
+    private int schemaHash() {
+        return Arrays.hashCode(names);
+    }
+
+    /**
+     * Gorilla encoder/decoder state for one block. Encoding and decoding share the
+     * same state transitions, which is what lets a reopened file resume appending.
+     */
+    private static final class Codec {
+        private final long[] previousBits;
+        private final int[] previousLeading;
+        private final int[] previousTrailing;
+        private long timestamp;
+        private long delta;
+        private int samples;
+
+        private Codec(int metrics) {
+            previousBits = new long[metrics];
+            previousLeading = new int[metrics];
+            previousTrailing = new int[metrics];
+        }
+
+        private void reset() {
+            Arrays.fill(previousBits, 0);
+            Arrays.fill(previousLeading, -1);
+            Arrays.fill(previousTrailing, 0);
+            timestamp = 0;
+            delta = 0;
+            samples = 0;
+        }
+
+        private int encode(MappedByteBuffer buf, int base, int position, long newTimestamp, double[] values) {
+            if (samples == 0) {
+                position = writeBits(buf, base, position, newTimestamp, 64);
+                for (int metric = 0; metric < values.length; metric++) {
+                    long bits = Double.doubleToRawLongBits(values[metric]);
+                    position = writeBits(buf, base, position, bits, 64);
+                    previousBits[metric] = bits;
+                }
+            } else {
+                long newDelta = newTimestamp - timestamp;
+                long deltaOfDelta = newDelta - delta;
+                if (deltaOfDelta == 0) {
+                    position = writeBits(buf, base, position, 0b0, 1);
+                } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+                    position = writeBits(buf, base, position, 0b10, 2);
+                    position = writeBits(buf, base, position, deltaOfDelta, 7);
+                } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+                    position = writeBits(buf, base, position, 0b110, 3);
+                    position = writeBits(buf, base, position, deltaOfDelta, 9);
+                } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+                    position = writeBits(buf, base, position, 0b1110, 4);
+                    position = writeBits(buf, base, position, deltaOfDelta, 12);
+                } else {
+                    position = writeBits(buf, base, position, 0b1111, 4);
+                    position = writeBits(buf, base, position, deltaOfDelta, 64);
+                }
+                delta = newDelta;
+
+                for (int metric = 0; metric < values.length; metric++) {
+                    long bits = Double.doubleToRawLongBits(values[metric]);
+                    long xor = bits ^ previousBits[metric];
+                    previousBits[metric] = bits;
+                    if (xor == 0) {
+                        position = writeBits(buf, base, position, 0b0, 1);
+                        continue;
+                    }
+
+                    int leading = Math.min(31, Long.numberOfLeadingZeros(xor));
+                    int trailing = Long.numberOfTrailingZeros(xor);
+                    if (previousLeading[metric] >= 0
+                            && leading >= previousLeading[metric]
+                            && trailing >= previousTrailing[metric]) {
+                        // Meaningful bits fit in the previous window
+                        int length = 64 - previousLeading[metric] - previousTrailing[metric];
+                        position = writeBits(buf, base, position, 0b10, 2);
+                        position = writeBits(buf, base, position, xor >>> previousTrailing[metric], length);
+                    } else {
+                        int length = 64 - leading - trailing;
+                        position = writeBits(buf, base, position, 0b11, 2);
+                        position = writeBits(buf, base, position, leading, 5);
+                        position = writeBits(buf, base, position, length - 1, 6);
+                        position = writeBits(buf, base, position, xor >>> trailing, length);
+                        previousLeading[metric] = leading;
+                        previousTrailing[metric] = trailing;
+                    }
+                }
+            }
+            timestamp = newTimestamp;
+            samples++;
+            return position;
+        }
+
+        private int decode(MappedByteBuffer buf, int base, int position) {
+            if (samples == 0) {
+                timestamp = readBits(buf, base, position, 64);
+                position += 64;
+                for (int metric = 0; metric < previousBits.length; metric++) {
+                    previousBits[metric] = readBits(buf, base, position, 64);
+                    position += 64;
+                }
+                samples++;
+                return position;
+            }
+
+            int prefix = 0;
+            while (prefix < 4 && readBits(buf, base, position, 1) == 1) {
+                prefix++;
+                position++;
+            }
+            if (prefix < 4) {
+                position++; // terminating zero
+            }
+            int width = switch (prefix) {
+                case 0 -> 0;
+                case 1 -> 7;
+                case 2 -> 9;
+                case 3 -> 12;
+                default -> 64;
+            };
+            long deltaOfDelta = 0;
+            if (width > 0) {
+                deltaOfDelta = signExtend(readBits(buf, base, position, width), width);
+                position += width;
+            }
+            delta += deltaOfDelta;
+            timestamp += delta;
+
+            for (int metric = 0; metric < previousBits.length; metric++) {
+                if (readBits(buf, base, position++, 1) == 0) {
+                    continue;
+                }
+                if (readBits(buf, base, position++, 1) == 0) {
+                    int length = 64 - previousLeading[metric] - previousTrailing[metric];
+                    long meaningful = readBits(buf, base, position, length);
+                    position += length;
+                    previousBits[metric] ^= meaningful << previousTrailing[metric];
+                } else {
+                    int leading = (int) readBits(buf, base, position, 5);
+                    position += 5;
+                    int length = (int) readBits(buf, base, position, 6) + 1;
+                    position += 6;
+                    int trailing = 64 - leading - length;
+                    long meaningful = readBits(buf, base, position, length);
+                    position += length;
+                    previousBits[metric] ^= meaningful << trailing;
+                    previousLeading[metric] = leading;
+                    previousTrailing[metric] = trailing;
+                }
+            }
+            samples++;
+            return position;
+        }
+
+        private static long signExtend(long value, int width) {
+            int shift = 64 - width;
+            return (value << shift) >> shift;
+        }
+
+        /**
+         * Writes the low {@code count} bits of {@code value}, most significant first.
+         */
+        private static int writeBits(MappedByteBuffer buf, int base, int position, long value, int count) {
+            for (int i = count - 1; i >= 0; i--) {
+                int index = base + (position >>> 3);
+                int mask = 0x80 >>> (position & 7);
+                byte current = buf.get(index);
+                if (((value >>> i) & 1L) != 0) {
+                    buf.put(index, (byte) (current | mask));
+                } else {
+                    buf.put(index, (byte) (current & ~mask));
+                }
+                position++;
+            }
+            return position;
+        }
+
+        private static long readBits(MappedByteBuffer buf, int base, int position, int count) {
+            long result = 0;
+            for (int i = 0; i < count; i++) {
+                int index = base + ((position + i) >>> 3);
+                int bit = (buf.get(index) >>> (7 - ((position + i) & 7))) & 1;
+                result = (result << 1) | bit;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.aura.auraid.metrics;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed-capacity, column-oriented ring of metric samples.
+ *
+ * Each metric owns one primitive {@code double[]} column, so appending a sample
+ * never allocates. The ring supports a single writer and any number of lock-free
+ * readers: the writer claims a sequence, fills its slot and then publishes it,
+ * readers copy the window and discard slots the writer had claimed by the time
+ * they finished copying.
+ */
+public class MetricRing {
+
+    private final String[] names;
+    private final Map<String, Integer> indexes;
+    private final int capacity;
+    private final long[] timestamps;
+    private final double[][] columns;
+
+    // Total number of samples ever published; slot = sequence % capacity
+    private volatile long written;
+    // Sequences the writer has started; one ahead of written while a slot is being filled
+    private volatile long claimed;
+
+    public MetricRing(String[] names, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring capacity must be positive");
+        }
+        this.names = names.clone();
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.columns = new double[names.length][capacity];
+
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            map.put(names[i], i);
+        }
+        this.indexes = Collections.unmodifiableMap(map);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int metricCount() {
+        return names.length;
+    }
+
+    public String name(int metric) {
+        return names[metric];
+    }
+
+    /**
+     * @return column index of the metric, or -1 if the ring does not track it
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index != null ? index : -1;
+    }
+
+    public boolean isEmpty() {
+        return written == 0;
+    }
+
+    /**
+     * Appends one sample. Must only be called from a single writer thread at a time.
+     * Values are copied out of {@code sample}, so callers may reuse the array.
+     */
+    public void append(long timestampMillis, double[] sample) {
+        long sequence = written;
+        int slot = (int) (sequence % capacity);
+        claimed = sequence + 1;
+        // Keeps the slot writes below from becoming visible before the claim
+        VarHandle.storeStoreFence();
+        timestamps[slot] = timestampMillis;
+        for (int metric = 0; metric < columns.length; metric++) {
+            columns[metric][slot] = sample[metric];
+        }
+        written = sequence + 1;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot(Long.MIN_VALUE);
+    }
+
+    /**
+     * Copies all retained samples with a timestamp strictly after {@code afterMillis},
+     * oldest first.
+     */
+    public Snapshot snapshot(long afterMillis) {
+        long end = written;
+        long start = Math.max(0, end - capacity);
+        int size = (int) (end - start);
+
+        long[] copiedTimestamps = new long[size];
+        double[][] copiedColumns = new double[columns.length][size];
+        for (int i = 0; i < size; i++) {
+            int slot = (int) ((start + i) % capacity);
+            copiedTimestamps[i] = timestamps[slot];
+            for (int metric = 0; metric < columns.length; metric++) {
+                copiedColumns[metric][i] = columns[metric][slot];
+            }
+        }
+
+        // Slots claimed since the copy started may have been overwritten; the fence
+        // keeps the copy's reads from being reordered after this check
+        VarHandle.acquireFence();
+        long firstValid = Math.max(start, claimed - capacity);
+        int from = (int) Math.min(size, firstValid - start);
+        while (from < size && copiedTimestamps[from] <= afterMillis) {
+            from++;
+        }
+
+        if (from > 0) {
+            copiedTimestamps = Arrays.copyOfRange(copiedTimestamps, from, size);
+            for (int metric = 0; metric < copiedColumns.length; metric++) {
+                copiedColumns[metric] = Arrays.copyOfRange(copiedColumns[metric], from, size);
+            }
+        }
+        return new Snapshot(names, copiedTimestamps, copiedColumns);
+    }
+
+    /**
+     * Immutable copy of a window of the ring.
+     */
+    public static final class Snapshot {
+        private final String[] names;
+        private final long[] timestamps;
+        private final double[][] columns;
+
+        private Snapshot(String[] names, long[] timestamps, double[][] columns) {
+            this.names = names;
+            this.timestamps = timestamps;
+            this.columns = columns;
+        }
+
+        public int size() {
+            return timestamps.length;
+        }
+
+        public int metricCount() {
+            return names.length;
+        }
+
+        public String name(int metric) {
+            return names[metric];
+        }
+
+        public long timestamp(int sample) {
+            return timestamps[sample];
+        }
+
+        public double value(int metric, int sample) {
+            return columns[metric][sample];
+        }
+
+        /**
+         * @return the backing column for the metric; callers must not modify it
+         */
+        public double[] column(int metric) {
+            return columns[metric];
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.aura.auraid.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-endpoint, per-status-class request latency histograms.
+ *
+ * Request threads record into HdrHistogram {@link Recorder}s, which are wait-free
+ * for writers. Once per interval the scheduler swaps every recorder's active
+ * histogram out, so readers (dashboard, Prometheus) only ever look at the last
+ * completed interval and never block the request path.
+ */
+@Component
+public class RequestLatencyRecorder {
+
+    private static final long LOWEST_DISCERNIBLE_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] QUANTILES = {0.5, 0.75, 0.9, 0.95, 0.99, 0.999};
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final String UNMAPPED = "UNMAPPED";
+    private static final Set<String> STANDARD_METHODS =
+        Set.of("GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS");
+    private static final String OTHER_METHOD = "OTHER";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicReferenceArray<LatencySeries>> series = new ConcurrentHashMap<>();
+    private volatile Histogram aggregate = newHistogram();
+
+    public RequestLatencyRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records one request. {@code endpoint} should be the matched route pattern
+     * (not the raw URI) to keep the number of series bounded; the method is
+     * bounded by {@link #methodTag}.
+     */
+    public void record(String method, String endpoint, int status, long durationNanos) {
+        method = methodTag(method);
+        int statusIndex = Math.max(0, Math.min(STATUS_CLASSES.length - 1, status / 100 - 1));
+        String route = endpoint != null ? endpoint : UNMAPPED;
+
+        AtomicReferenceArray<LatencySeries> byStatus = series.computeIfAbsent(method + " " + route,
+            key -> new AtomicReferenceArray<>(STATUS_CLASSES.length));
+        LatencySeries target = byStatus.get(statusIndex);
+        if (target == null) {
+            target = register(byStatus, statusIndex, method, route);
+        }
+        target.record(durationNanos);
+    }
+
+    /**
+     * The method as a meter tag. Clients choose the method, so anything outside
+     * the standard set becomes {@code OTHER} to keep the number of series bounded.
+     */
+    public static String methodTag(String method) {
+        return STANDARD_METHODS.contains(method) ? method : OTHER_METHOD;
+    }
+
+    private LatencySeries register(AtomicReferenceArray<LatencySeries> byStatus, int statusIndex,
+                                   String method, String route) {
+        // Meters are registered at most once per series, so creation is serialized per endpoint
+        synchronized (byStatus) {
+            LatencySeries existing = byStatus.get(statusIndex);
+            if (existing != null) {
+                return existing;
+            }
+
+            LatencySeries created = new LatencySeries(method, route, STATUS_CLASSES[statusIndex]);
+            Tags tags = Tags.of("method", method, "uri", route, "status", created.statusClass);
+            for (double quantile : QUANTILES) {
+                Gauge.builder("http.request.latency", created, s -> s.valueAtQuantileMillis(quantile))
+                    .description("Request latency percentile over the last interval")
+                    .baseUnit("milliseconds")
+                    .tags(tags.and("quantile", String.valueOf(quantile)))
+                    .register(meterRegistry);
+            }
+            FunctionCounter.builder("http.request.latency.count", created, LatencySeries::totalCount)
+                .description("Number of requests recorded")
+                .tags(tags)
+                .register(meterRegistry);
+
+            byStatus.set(statusIndex, created);
+            return created;
+        }
+    }
+
+    @Scheduled(fixedRate = 60000) // Rotate interval histograms every minute
+    public void rotate() {
+        Histogram merged = newHistogram();
+        for (AtomicReferenceArray<LatencySeries> byStatus : series.values()) {
+            for (int i = 0; i < byStatus.length(); i++) {
+                LatencySeries s = byStatus.get(i);
+                if (s != null) {
+                    merged.add(s.rotate());
+                }
+            }
+        }
+        aggregate = merged;
+    }
+
+    /**
+     * @return all requests recorded during the last completed interval; callers must not modify it
+     */
+    public Histogram getIntervalHistogram() {
+        return aggregate;
+    }
+
+    public Map<String, Object> getLatencySummary() {
+        Map<String, Object> summary = describe(aggregate);
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (AtomicReferenceArray<LatencySeries> byStatus : series.values()) {
+            for (int i = 0; i < byStatus.length(); i++) {
+                LatencySeries s = byStatus.get(i);
+                if (s == null || s.interval.getTotalCount() == 0) {
+                    continue;
+                }
+                Map<String, Object> endpoint = describe(s.interval);
+                endpoint.put("method", s.method);
+                endpoint.put("endpoint", s.endpoint);
+                endpoint.put("status", s.statusClass);
+                endpoints.add(endpoint);
+            }
+        }
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    private static Map<String, Object> describe(Histogram histogram) {
+        Map<String, Object> stats = new HashMap<>();
+        long count = histogram.getTotalCount();
+        stats.put("count", count);
+        if (count == 0) {
+            return stats;
+        }
+        stats.put("average", histogram.getMean() / 1_000_000.0);
+        stats.put("min", toMillis(histogram.getMinValue()));
+        stats.put("max", toMillis(histogram.getMaxValue()));
+        stats.put("p50", toMillis(histogram.getValueAtPercentile(50)));
+        stats.put("p75", toMillis(histogram.getValueAtPercentile(75)));
+        stats.put("p90", toMillis(histogram.getValueAtPercentile(90)));
+        stats.put("p95", toMillis(histogram.getValueAtPercentile(95)));
+        stats.put("p99", toMillis(histogram.getValueAtPercentile(99)));
+        stats.put("p999", toMillis(histogram.getValueAtPercentile(99.9)));
+        return stats;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(LOWEST_DISCERNIBLE_NANOS, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    }
+
+    private static final class LatencySeries {
+        private final String method;
+        private final String endpoint;
+        private final String statusClass;
+        private final Recorder recorder =
+            new Recorder(LOWEST_DISCERNIBLE_NANOS, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private final AtomicLong totalCount = new AtomicLong();
+        private volatile Histogram interval = newHistogram();
+
+        private LatencySeries(String method, String endpoint, String statusClass) {
+            this.method = method;
+            this.endpoint = endpoint;
+            this.statusClass = statusClass;
+        }
+
+        private void record(long durationNanos) {
+            recorder.recordValue(Math.max(0, Math.min(durationNanos, HIGHEST_TRACKABLE_NANOS)));
+            totalCount.incrementAndGet();
+        }
+
+        private Histogram rotate() {
+            Histogram next = recorder.getIntervalHistogram();
+            interval = next;
+            return next;
+        }
+
+        private double valueAtQuantileMillis(double quantile) {
+            Histogram current = interval;
+            return current.getTotalCount() == 0 ? 0.0 : toMillis(current.getValueAtPercentile(quantile * 100));
+        }
+
+        private double totalCount() {
+            return totalCount.get();
+        }
+    }
+}
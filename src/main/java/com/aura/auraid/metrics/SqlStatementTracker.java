@@ -0,0 +1,86 @@
+package com.aura.auraid.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #begin()} and {@link #end()}, grouped by statement shape.
+ *
+ * Hibernate already renders bind parameters as {@code ?}, so the shape is the
+ * SQL text with whitespace and IN lists collapsed. The same shape showing up
+ * many times in one request is the signature of an N+1 load.
+ */
+@Component
+public class SqlStatementTracker implements StatementInspector {
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = current.get();
+        if (statements != null) {
+            statements.add(shapeOf(sql));
+        }
+        return sql;
+    }
+
+    public void begin() {
+        current.set(new RequestStatements());
+    }
+
+    public RequestStatements end() {
+        RequestStatements statements = current.get();
+        current.remove();
+        return statements != null ? statements : new RequestStatements();
+    }
+
+    static String shapeOf(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("(?)");
+    }
+
+    public static final class RequestStatements {
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int total;
+
+        private void add(String shape) {
+            shapes.merge(shape, 1, Integer::sum);
+            total++;
+        }
+
+        public int total() {
+            return total;
+        }
+
+        public int distinctShapes() {
+            return shapes.size();
+        }
+
+        /**
+         * @return the most repeated statement shape, or null if nothing ran
+         */
+        public String mostRepeatedShape() {
+            String shape = null;
+            int max = 0;
+            for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+                if (entry.getValue() > max) {
+                    max = entry.getValue();
+                    shape = entry.getKey();
+                }
+            }
+            return shape;
+        }
+
+        public int repeatCount(String shape) {
+            return shape != null ? shapes.getOrDefault(shape, 0) : 0;
+        }
+    }
+}
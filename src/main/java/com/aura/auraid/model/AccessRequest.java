@@ -36,6 +36,10 @@ public class AccessRequest {
     @Column
     private String justification;
 
+    // Just-in-time access: the grant expires this long after approval; permanent when null
+    @Column(name = "access_duration_minutes")
+    private Integer accessDurationMinutes;
+
     @ManyToOne
     @JoinColumn(name = "approver_id")
     private User approver;
@@ -53,6 +57,17 @@ public class AccessRequest {
     @Column(name = "current_step_order")
     private Integer currentStepOrder;
 
+    // Workflow definition the request started with
+    @Column(name = "workflow_id")
+    private Long workflowId;
+
+    @Column(name = "workflow_version")
+    private Long workflowVersion;
+
+    // Optimistic lock for workflow state transitions
+    @Version
+    private Long version;
+
     // Audit fields
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -60,6 +75,10 @@ public class AccessRequest {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    public LocalDateTime accessExpiresAt() {
+        return accessDurationMinutes != null && approvedAt != null ? approvedAt.plusMinutes(accessDurationMinutes) : null;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
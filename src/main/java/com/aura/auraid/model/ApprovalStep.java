@@ -32,6 +32,16 @@ public class ApprovalStep {
     @Column(name = "approval_threshold")
     private Integer approvalThreshold; // Percentage needed for PERCENTAGE_APPROVAL type
 
+    @Column(name = "sla_minutes")
+    private Integer slaMinutes; // Time allowed once the step starts; null for no deadline
+
+    @Column(name = "reminder_minutes")
+    private Integer reminderMinutes; // Remind pending approvers this long before the deadline
+
+    @Column(name = "sla_breach_action")
+    @Enumerated(EnumType.STRING)
+    private SlaBreachAction slaBreachAction;
+
     @ManyToMany
     @JoinTable(
         name = "approval_step_approvers",
@@ -2,8 +2,10 @@ package com.aura.auraid.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDateTime;
 import java.util.Set;
 
@@ -29,15 +31,32 @@ public class ApprovalStepExecution {
     @Enumerated(EnumType.STRING)
     private ApprovalStatus status = ApprovalStatus.PENDING;
 
+    // Actions hash their step execution, so hashing them back would recurse into a collection still loading
     @OneToMany(mappedBy = "stepExecution", cascade = CascadeType.ALL)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<ApprovalAction> approvalActions;
 
     @Column(name = "started_at")
     private LocalDateTime startedAt;
 
+    // Steps are created up front; this is when the step started waiting on its approvers
+    @Column(name = "activated_at")
+    private LocalDateTime activatedAt;
+
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Set when the step starts, from the step's SLA
+    @Column(name = "reminder_at")
+    private LocalDateTime reminderAt;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         startedAt = LocalDateTime.now();
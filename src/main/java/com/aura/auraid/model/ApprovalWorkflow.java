@@ -34,6 +34,14 @@ public class ApprovalWorkflow {
     @Column(nullable = false)
     private boolean active = true;
 
+    // Bumped on every change to the definition (workflow or steps)
+    @Column(name = "definition_version", nullable = false)
+    private long definitionVersion = 1;
+
+    // Optimistic lock so concurrent edits cannot overwrite each other or reuse a definition version
+    @Version
+    private Long version;
+
     // Audit fields
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -0,0 +1,9 @@
+package com.aura.auraid.model;
+
+public enum CampaignStatus {
+    GENERATING,
+    ACTIVE,
+    CLOSING,
+    CLOSED,
+    FAILED
+}
@@ -0,0 +1,69 @@
+package com.aura.auraid.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A review of who holds which permission. Starting a campaign snapshots the
+ * direct grants, optionally of one resource type, into {@link CertificationItem}s
+ * for the resources' owners to certify or revoke; revocations are applied when
+ * the campaign closes.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "certification_campaigns")
+public class CertificationCampaign {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(length = 500)
+    private String description;
+
+    // Only grants on resources of this type are reviewed; all of them when null
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", length = 50)
+    private ResourceType resourceType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CampaignStatus status;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "revoked_count", nullable = false)
+    private long revokedCount;
+
+    // Why generation failed, when FAILED
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "created_by", nullable = false)
+    private Long createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "generated_at")
+    private LocalDateTime generatedAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
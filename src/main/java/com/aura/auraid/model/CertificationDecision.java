@@ -0,0 +1,7 @@
+package com.aura.auraid.model;
+
+public enum CertificationDecision {
+    PENDING,
+    CERTIFIED,
+    REVOKED
+}
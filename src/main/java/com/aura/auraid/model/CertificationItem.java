@@ -0,0 +1,60 @@
+package com.aura.auraid.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One permission a user held on a resource when the campaign started, for the
+ * reviewer to certify or revoke. Written in JDBC batches when the campaign is
+ * generated; ids only, so reviewing never touches the grant tables.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "certification_items")
+public class CertificationItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    // 1-based PermissionType ordinal, as for access requests
+    @Column(name = "permission_id", nullable = false)
+    private short permissionId;
+
+    // Set when the permission was time-boxed
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "reviewer_id", nullable = false)
+    private Long reviewerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CertificationDecision decision = CertificationDecision.PENDING;
+
+    @Column(name = "decided_by")
+    private Long decidedBy;
+
+    @Column(name = "decided_at")
+    private LocalDateTime decidedAt;
+
+    @Column(length = 500)
+    private String comment;
+
+    // When a revocation was applied to the grant
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+}
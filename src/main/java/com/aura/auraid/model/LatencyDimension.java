@@ -0,0 +1,17 @@
+package com.aura.auraid.model;
+
+/**
+ * What a latency sketch measures and what its dimension id refers to.
+ */
+public enum LatencyDimension {
+    // Request creation to approval; dimension id is always 0
+    REQUEST,
+    // Request creation to approval, per requester user id
+    REQUESTER,
+    // Time in step across all steps of a workflow, per workflow id
+    WORKFLOW,
+    // Time in step, per approval step id
+    STEP,
+    // Step activation to the approver's action, per approver user id
+    APPROVER
+}
@@ -9,5 +9,6 @@ public enum NotificationType {
     RESOURCE_UPDATED,
     RESOURCE_DELETED,
     PERMISSION_GRANTED,
-    PERMISSION_REVOKED
+    PERMISSION_REVOKED,
+    ACCESS_REVIEW_ASSIGNED
 } 
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.aura.auraid.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Permissions a user holds on every resource at or below a path, as a bitmask of
+ * {@link PermissionType#mask()}s. The prefix is stored normalized (see
+ * {@code ResourcePathTrie#normalize}), so {@code /prod/db} covers
+ * {@code /prod/db/billing} but not {@code /prod/dbx}.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "path_grants")
+public class PathGrant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "path_prefix", nullable = false, length = 1024)
+    private String pathPrefix;
+
+    @Column(name = "permission_mask", nullable = false)
+    private int permissionMask;
+
+    @Column(name = "granted_at", nullable = false)
+    private LocalDateTime grantedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.aura.auraid.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Approver inbox row: one per approver of an in-progress step who has not acted yet.
+ * Kept in step with workflow transitions; ids only, so inbox reads never touch the
+ * workflow tables.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "pending_approvals")
+public class PendingApproval {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "access_request_id", nullable = false)
+    private Long accessRequestId;
+
+    @Column(name = "step_execution_id", nullable = false)
+    private Long stepExecutionId;
+
+    @Column(nullable = false)
+    private boolean read = false;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
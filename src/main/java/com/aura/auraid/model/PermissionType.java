@@ -4,5 +4,19 @@ public enum PermissionType {
     READ,
     WRITE,
     DELETE,
-    ADMIN
-} 
\ No newline at end of file
+    ADMIN;
+
+    // Permission ids are the 1-based ordinal (see PermissionController)
+    public static PermissionType fromPermissionId(Long permissionId) {
+        return values()[permissionId.intValue() - 1];
+    }
+
+    // Bit of this permission in a grant's permission mask
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static int allMask() {
+        return (1 << values().length) - 1;
+    }
+}
@@ -0,0 +1,7 @@
+package com.aura.auraid.model;
+
+// The decision points access policies can apply to
+public enum PolicyAction {
+    SUBMIT_REQUEST,
+    APPROVE_REQUEST
+}
@@ -0,0 +1,6 @@
+package com.aura.auraid.model;
+
+public enum PolicyEffect {
+    PERMIT,
+    DENY
+}
@@ -0,0 +1,56 @@
+package com.aura.auraid.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * What a user may do on a resource, as a bitmask of {@link PermissionType#mask()}s.
+ * One row per (user, resource); written when an access request is approved.
+ *
+ * Time-boxed permissions sit in {@code expiringMask} until {@code expiresAt},
+ * apart from the permanent {@code permissionMask}; the two masks never share a
+ * bit. Expiring permissions on a grant share the latest expiry they were given.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "resource_grants")
+public class ResourceGrant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @Column(name = "permission_mask", nullable = false)
+    private int permissionMask;
+
+    @Column(name = "expiring_mask", nullable = false)
+    private int expiringMask;
+
+    // Set while expiringMask is non-zero; cleared by the expiry sweeper
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    // Request that last added a permission, if any
+    @Column(name = "access_request_id")
+    private Long accessRequestId;
+
+    @Column(name = "granted_at", nullable = false)
+    private LocalDateTime grantedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public int effectiveMask(LocalDateTime now) {
+        return expiresAt != null && expiresAt.isAfter(now) ? permissionMask | expiringMask : permissionMask;
+    }
+}
@@ -0,0 +1,6 @@
+package com.aura.auraid.model;
+
+public enum SlaBreachAction {
+    ESCALATE,       // Notify the resource owner and the approvers still pending
+    AUTO_REJECT     // Reject the step, and with it the request
+}
@@ -0,0 +1,84 @@
+package com.aura.auraid.policy;
+
+import com.aura.auraid.enums.ERole;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+
+import java.time.DayOfWeek;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The attributes a policy condition can refer to, by the name used in the
+ * policy language. Each has a fixed slot in a {@link PolicyContext}.
+ */
+public enum PolicyAttribute {
+    RESOURCE_ID("resource.id", Type.NUMBER),
+    RESOURCE_TYPE("resource.type", Type.STRING, ResourceType.class),
+    RESOURCE_PATH("resource.path", Type.STRING),
+    PERMISSION("permission", Type.STRING, PermissionType.class),
+    REQUESTER_ID("requester.id", Type.NUMBER),
+    REQUESTER_COUNTRY("requester.country", Type.STRING),
+    REQUESTER_ROLES("requester.roles", Type.STRING_SET, ERole.class),
+    APPROVER_ID("approver.id", Type.NUMBER),
+    APPROVER_COUNTRY("approver.country", Type.STRING),
+    APPROVER_ROLES("approver.roles", Type.STRING_SET, ERole.class),
+    REQUEST_JUSTIFICATION_LENGTH("request.justificationLength", Type.NUMBER),
+    TIME_HOUR("time.hour", Type.NUMBER),
+    TIME_DAY_OF_WEEK("time.dayOfWeek", Type.STRING, DayOfWeek.class);
+
+    public enum Type {
+        STRING,
+        NUMBER,
+        STRING_SET
+    }
+
+    private static final Map<String, PolicyAttribute> BY_NAME = new HashMap<>();
+
+    static {
+        for (PolicyAttribute attribute : values()) {
+            BY_NAME.put(attribute.attributeName, attribute);
+        }
+    }
+
+    private final String attributeName;
+    private final Type type;
+    private final Class<? extends Enum<?>> values;
+
+    PolicyAttribute(String attributeName, Type type) {
+        this(attributeName, type, null);
+    }
+
+    PolicyAttribute(String attributeName, Type type, Class<? extends Enum<?>> values) {
+        this.attributeName = attributeName;
+        this.type = type;
+        this.values = values;
+    }
+
+    public String attributeName() {
+        return attributeName;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * Whether the literal is a value this attribute can take.
+     */
+    public boolean accepts(String literal) {
+        if (values == null) {
+            return true;
+        }
+        for (Enum<?> constant : values.getEnumConstants()) {
+            if (constant.name().equals(literal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static PolicyAttribute byName(String name) {
+        return BY_NAME.get(name);
+    }
+}
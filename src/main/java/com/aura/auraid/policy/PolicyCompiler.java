@@ -0,0 +1,356 @@
+package com.aura.auraid.policy;
+
+import com.aura.auraid.exception.PolicySyntaxException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles policy conditions into predicates over a {@link PolicyContext}.
+ *
+ * <pre>
+ * condition  := and ('or' and)*
+ * and        := unary ('and' unary)*
+ * unary      := 'not' unary | '(' condition ')' | 'true' | 'false' | comparison
+ * comparison := attribute operator operand
+ * operand    := 'text' | number | attribute | '[' literal (',' literal)* ']'
+ * </pre>
+ *
+ * Strings take {@code == != in startsWith}, numbers {@code == != < <= > >= in}
+ * and role sets {@code contains}. The right-hand side of {@code ==}, {@code !=}
+ * and the number comparisons may be another attribute of the same type, as in
+ * {@code requester.id != approver.id}. For example:
+ *
+ * <pre>
+ * resource.type == 'DATABASE' and not requester.roles contains 'ADMIN'
+ *     and (time.hour &lt; 8 or time.hour &gt;= 18)
+ * </pre>
+ *
+ * Conditions are parsed and type-checked once, into nested lambdas that read
+ * context slots directly. A comparison involving a missing attribute is false
+ * whatever the operator.
+ */
+public final class PolicyCompiler {
+
+    private static final int MAX_NESTING = 64;
+
+    private PolicyCompiler() {
+    }
+
+    public record Condition(Predicate<PolicyContext> predicate, Set<PolicyAttribute> attributes) {
+        public boolean test(PolicyContext context) {
+            return predicate.test(context);
+        }
+    }
+
+    /**
+     * @throws PolicySyntaxException if the condition does not parse or compares values of the wrong type
+     */
+    public static Condition compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new PolicySyntaxException("Policy condition is empty");
+        }
+        Parser parser = new Parser(tokenize(source));
+        Predicate<PolicyContext> predicate = parser.parseOr(0);
+        parser.expectEnd();
+        return new Condition(predicate, parser.attributes);
+    }
+
+    private enum Kind { WORD, TEXT, NUMBER, SYMBOL, END }
+
+    private record Token(Kind kind, String text, int position) {
+        boolean is(Kind kind, String text) {
+            return this.kind == kind && this.text.equals(text);
+        }
+    }
+
+    private static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = source.length();
+        while (i < length) {
+            char c = source.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                while (i < length && (Character.isLetterOrDigit(source.charAt(i))
+                        || source.charAt(i) == '_' || source.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.WORD, source.substring(start, i), start));
+            } else if (Character.isDigit(c) || (c == '-' && i + 1 < length && Character.isDigit(source.charAt(i + 1)))) {
+                i++;
+                while (i < length && Character.isDigit(source.charAt(i))) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.NUMBER, source.substring(start, i), start));
+            } else if (c == '\'') {
+                // '' inside a literal stands for one quote
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw error("Unterminated string", start);
+                    }
+                    char ch = source.charAt(i++);
+                    if (ch == '\'') {
+                        if (i < length && source.charAt(i) == '\'') {
+                            text.append('\'');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        text.append(ch);
+                    }
+                }
+                tokens.add(new Token(Kind.TEXT, text.toString(), start));
+            } else if (i + 1 < length && Set.of("==", "!=", "<=", ">=").contains(source.substring(i, i + 2))) {
+                tokens.add(new Token(Kind.SYMBOL, source.substring(i, i + 2), start));
+                i += 2;
+            } else if ("()[],<>".indexOf(c) >= 0) {
+                tokens.add(new Token(Kind.SYMBOL, String.valueOf(c), start));
+                i++;
+            } else {
+                throw error("Unexpected character '" + c + "'", start);
+            }
+        }
+        tokens.add(new Token(Kind.END, "", length));
+        return tokens;
+    }
+
+    private static PolicySyntaxException error(String message, int position) {
+        return new PolicySyntaxException(message + " at position " + position);
+    }
+
+    private static final class Parser {
+        private final List<Token> tokens;
+        private final Set<PolicyAttribute> attributes = EnumSet.noneOf(PolicyAttribute.class);
+        private int next;
+
+        Parser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        Predicate<PolicyContext> parseOr(int depth) {
+            Predicate<PolicyContext> left = parseAnd(depth);
+            while (acceptWord("or")) {
+                Predicate<PolicyContext> first = left;
+                Predicate<PolicyContext> second = parseAnd(depth);
+                left = context -> first.test(context) || second.test(context);
+            }
+            return left;
+        }
+
+        Predicate<PolicyContext> parseAnd(int depth) {
+            Predicate<PolicyContext> left = parseUnary(depth);
+            while (acceptWord("and")) {
+                Predicate<PolicyContext> first = left;
+                Predicate<PolicyContext> second = parseUnary(depth);
+                left = context -> first.test(context) && second.test(context);
+            }
+            return left;
+        }
+
+        Predicate<PolicyContext> parseUnary(int depth) {
+            if (depth > MAX_NESTING) {
+                throw error("Condition is nested too deeply", peek().position());
+            }
+            if (acceptWord("not")) {
+                Predicate<PolicyContext> operand = parseUnary(depth + 1);
+                return context -> !operand.test(context);
+            }
+            if (accept(Kind.SYMBOL, "(")) {
+                Predicate<PolicyContext> inner = parseOr(depth + 1);
+                expect(Kind.SYMBOL, ")");
+                return inner;
+            }
+            if (acceptWord("true")) {
+                return context -> true;
+            }
+            if (acceptWord("false")) {
+                return context -> false;
+            }
+            return parseComparison();
+        }
+
+        Predicate<PolicyContext> parseComparison() {
+            PolicyAttribute attribute = parseAttribute();
+            Token operator = advance();
+            int slot = attribute.ordinal();
+            String op = operator.text();
+
+            if (operator.kind() == Kind.WORD && op.equals("in")) {
+                if (attribute.type() == PolicyAttribute.Type.STRING_SET) {
+                    throw typeError(attribute, operator);
+                }
+                Set<Object> members = parseList(attribute);
+                return context -> {
+                    Object value = context.values[slot];
+                    return value != null && members.contains(value);
+                };
+            }
+
+            switch (attribute.type()) {
+                case STRING -> {
+                    if (operator.is(Kind.WORD, "startsWith")) {
+                        String prefix = parseText(attribute);
+                        return context -> context.values[slot] instanceof String value && value.startsWith(prefix);
+                    }
+                    if (!operator.is(Kind.SYMBOL, "==") && !operator.is(Kind.SYMBOL, "!=")) {
+                        throw typeError(attribute, operator);
+                    }
+                    boolean equal = op.equals("==");
+                    if (peek().kind() == Kind.WORD) {
+                        int other = parseAttribute(attribute.type()).ordinal();
+                        return context -> context.values[slot] instanceof String value
+                            && context.values[other] instanceof String otherValue
+                            && value.equals(otherValue) == equal;
+                    }
+                    String literal = parseText(attribute);
+                    return context -> context.values[slot] instanceof String value && literal.equals(value) == equal;
+                }
+                case NUMBER -> {
+                    IntPredicate test = switch (op) {
+                        case "==" -> comparison -> comparison == 0;
+                        case "!=" -> comparison -> comparison != 0;
+                        case "<" -> comparison -> comparison < 0;
+                        case "<=" -> comparison -> comparison <= 0;
+                        case ">" -> comparison -> comparison > 0;
+                        case ">=" -> comparison -> comparison >= 0;
+                        default -> throw typeError(attribute, operator);
+                    };
+                    if (peek().kind() == Kind.WORD) {
+                        int other = parseAttribute(attribute.type()).ordinal();
+                        return context -> context.values[slot] instanceof Long value
+                            && context.values[other] instanceof Long otherValue
+                            && test.test(Long.compare(value, otherValue));
+                    }
+                    long literal = parseNumber();
+                    return context -> context.values[slot] instanceof Long value
+                        && test.test(Long.compare(value, literal));
+                }
+                default -> {
+                    if (!operator.is(Kind.WORD, "contains")) {
+                        throw typeError(attribute, operator);
+                    }
+                    String member = parseText(attribute);
+                    return context -> context.values[slot] instanceof Set<?> value && value.contains(member);
+                }
+            }
+        }
+
+        PolicyAttribute parseAttribute() {
+            Token token = advance();
+            if (token.kind() != Kind.WORD) {
+                throw error("Expected an attribute but found '" + token.text() + "'", token.position());
+            }
+            PolicyAttribute attribute = PolicyAttribute.byName(token.text());
+            if (attribute == null) {
+                throw error("Unknown attribute '" + token.text() + "'", token.position());
+            }
+            attributes.add(attribute);
+            return attribute;
+        }
+
+        PolicyAttribute parseAttribute(PolicyAttribute.Type type) {
+            int position = peek().position();
+            PolicyAttribute attribute = parseAttribute();
+            if (attribute.type() != type) {
+                throw error("Cannot compare " + type + " with " + attribute.type() + " attribute '"
+                    + attribute.attributeName() + "'", position);
+            }
+            return attribute;
+        }
+
+        Set<Object> parseList(PolicyAttribute attribute) {
+            expect(Kind.SYMBOL, "[");
+            Set<Object> members = new HashSet<>();
+            do {
+                members.add(attribute.type() == PolicyAttribute.Type.NUMBER
+                    ? (Object) parseNumber()
+                    : parseText(attribute));
+            } while (accept(Kind.SYMBOL, ","));
+            expect(Kind.SYMBOL, "]");
+            return Set.copyOf(members);
+        }
+
+        String parseText(PolicyAttribute attribute) {
+            Token token = advance();
+            if (token.kind() != Kind.TEXT) {
+                throw error("Expected a quoted string for '" + attribute.attributeName() + "'", token.position());
+            }
+            if (!attribute.accepts(token.text())) {
+                throw error("'" + token.text() + "' is not a value of '" + attribute.attributeName() + "'",
+                    token.position());
+            }
+            return token.text();
+        }
+
+        long parseNumber() {
+            Token token = advance();
+            if (token.kind() != Kind.NUMBER) {
+                throw error("Expected a number but found '" + token.text() + "'", token.position());
+            }
+            try {
+                return Long.parseLong(token.text());
+            } catch (NumberFormatException e) {
+                throw error("Number out of range", token.position());
+            }
+        }
+
+        void expectEnd() {
+            Token token = peek();
+            if (token.kind() != Kind.END) {
+                throw error("Unexpected '" + token.text() + "'", token.position());
+            }
+        }
+
+        private PolicySyntaxException typeError(PolicyAttribute attribute, Token operator) {
+            if (operator.kind() == Kind.END) {
+                return error("Expected an operator after '" + attribute.attributeName() + "'", operator.position());
+            }
+            return error("Operator '" + operator.text() + "' does not apply to " + attribute.type() + " attribute '"
+                + attribute.attributeName() + "'", operator.position());
+        }
+
+        private Token peek() {
+            return tokens.get(next);
+        }
+
+        private Token advance() {
+            Token token = tokens.get(next);
+            if (token.kind() != Kind.END) {
+                next++;
+            }
+            return token;
+        }
+
+        private boolean acceptWord(String word) {
+            return accept(Kind.WORD, word);
+        }
+
+        private boolean accept(Kind kind, String text) {
+            if (peek().is(kind, text)) {
+                next++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(Kind kind, String text) {
+            Token token = peek();
+            if (!token.is(kind, text)) {
+                String found = token.kind() == Kind.END ? "end of condition" : "'" + token.text() + "'";
+                throw error("Expected '" + text + "' but found " + found, token.position());
+            }
+            next++;
+        }
+    }
+}
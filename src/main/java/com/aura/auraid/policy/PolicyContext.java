@@ -0,0 +1,39 @@
+package com.aura.auraid.policy;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The attribute values one decision is made on, in a flat array indexed by
+ * {@link PolicyAttribute} ordinal so compiled conditions read them without a
+ * map lookup. Numbers are held as {@code Long}, enums by name and role sets as
+ * a {@code Set<String>}; an attribute that was never set is missing.
+ */
+public final class PolicyContext {
+
+    private static final int SIZE = PolicyAttribute.values().length;
+
+    final Object[] values = new Object[SIZE];
+
+    public PolicyContext set(PolicyAttribute attribute, Object value) {
+        values[attribute.ordinal()] = value == null ? null : switch (attribute.type()) {
+            case NUMBER -> ((Number) value).longValue();
+            case STRING -> value instanceof Enum<?> e ? e.name() : value.toString();
+            case STRING_SET -> toNames((Collection<?>) value);
+        };
+        return this;
+    }
+
+    public Object get(PolicyAttribute attribute) {
+        return values[attribute.ordinal()];
+    }
+
+    private static Set<String> toNames(Collection<?> values) {
+        Set<String> names = new HashSet<>(values.size() * 2);
+        for (Object value : values) {
+            names.add(value instanceof Enum<?> e ? e.name() : value.toString());
+        }
+        return names;
+    }
+}
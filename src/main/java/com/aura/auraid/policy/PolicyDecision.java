@@ -0,0 +1,21 @@
+package com.aura.auraid.policy;
+
+import com.aura.auraid.model.PolicyEffect;
+
+/**
+ * The outcome of evaluating the policies for an action: the effect and the
+ * policy that decided it, or {@link #NOT_APPLICABLE} when no enabled policy
+ * matched and the caller's own rules apply.
+ */
+public record PolicyDecision(PolicyEffect effect, Long policyId, String policyName) {
+
+    public static final PolicyDecision NOT_APPLICABLE = new PolicyDecision(null, null, null);
+
+    public boolean isDenied() {
+        return effect == PolicyEffect.DENY;
+    }
+
+    public boolean isPermitted() {
+        return effect == PolicyEffect.PERMIT;
+    }
+}
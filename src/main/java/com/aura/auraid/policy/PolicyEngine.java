@@ -0,0 +1,233 @@
+package com.aura.auraid.policy;
+
+import com.aura.auraid.exception.PolicySyntaxException;
+import com.aura.auraid.model.AccessPolicy;
+import com.aura.auraid.model.PolicyAction;
+import com.aura.auraid.model.PolicyEffect;
+import com.aura.auraid.repository.AccessPolicyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Evaluates the enabled {@link AccessPolicy} rows for an action.
+ *
+ * Policies are compiled once when loaded, so a decision runs lambdas over a
+ * flat {@link PolicyContext} instead of interpreting conditions. DENY policies
+ * override PERMIT ones; when none matches the decision is
+ * {@link PolicyDecision#NOT_APPLICABLE} and callers fall back to their own rules.
+ *
+ * Decisions are memoized per action on the values of just the attributes that
+ * action's policies refer to, so requests that differ only in attributes no
+ * policy reads share an entry. Keys carry the version of the loaded policy
+ * set, which makes a reload invalidate everything at once. Policies load on
+ * first use, again after a change made here commits, and whenever the
+ * scheduled check finds the table changed, which is how other instances pick
+ * up changes. A stored condition that no longer compiles is logged and skipped.
+ */
+@Slf4j
+@Component
+public class PolicyEngine {
+
+    private final AccessPolicyRepository policyRepository;
+    private final Cache<DecisionKey, PolicyDecision> decisions;
+    private volatile PolicySet policies;
+
+    public PolicyEngine(AccessPolicyRepository policyRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.policy.cache.max-entries:100000}") long maxEntries) {
+        this.policyRepository = policyRepository;
+        this.decisions = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, "policyDecisions");
+        Gauge.builder("policy.engine.policies", this, engine -> engine.policies != null ? engine.policies.size : 0)
+            .description("Enabled access policies compiled into the policy engine")
+            .register(meterRegistry);
+    }
+
+    /**
+     * The decision for the action, from the cache when an earlier context had
+     * the same values for every attribute the action's policies read.
+     */
+    public PolicyDecision decide(PolicyAction action, PolicyContext context) {
+        PolicySet set = current();
+        Rules rules = set.byAction.get(action);
+        if (rules == null) {
+            return PolicyDecision.NOT_APPLICABLE;
+        }
+        return decisions.get(rules.keyFor(set.version, action, context), key -> rules.evaluate(context));
+    }
+
+    /**
+     * The decision for the action, evaluated without the cache.
+     */
+    public PolicyDecision evaluate(PolicyAction action, PolicyContext context) {
+        Rules rules = current().byAction.get(action);
+        return rules != null ? rules.evaluate(context) : PolicyDecision.NOT_APPLICABLE;
+    }
+
+    /**
+     * Whether any enabled policy for the action reads the attribute, so callers
+     * can skip loading what no policy needs.
+     */
+    public boolean uses(PolicyAction action, PolicyAttribute attribute) {
+        Rules rules = current().byAction.get(action);
+        return rules != null && rules.attributes.contains(attribute);
+    }
+
+    /**
+     * Reloads once the current transaction commits, or now outside one.
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.policy.reload-millis:30000}",
+               initialDelayString = "${app.policy.reload-millis:30000}")
+    public void reloadIfChanged() {
+        PolicySet set = policies;
+        if (set == null || set.count != policyRepository.count()
+                || !Objects.equals(set.latestUpdate, policyRepository.findLatestUpdate().orElse(null))) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        // Read before the policies, so a change landing in between is seen again by the next check
+        long count = policyRepository.count();
+        LocalDateTime latestUpdate = policyRepository.findLatestUpdate().orElse(null);
+        List<AccessPolicy> enabled = policyRepository.findByEnabledTrueOrderById();
+
+        long version = policies != null ? policies.version + 1 : 1;
+        policies = new PolicySet(version, count, latestUpdate, enabled);
+        decisions.invalidateAll();
+        log.info("Loaded {} access policies (version {})", policies.size, version);
+    }
+
+    private PolicySet current() {
+        PolicySet set = policies;
+        if (set == null) {
+            synchronized (this) {
+                if (policies == null) {
+                    reload();
+                }
+                set = policies;
+            }
+        }
+        return set;
+    }
+
+    private record Rule(long policyId, String name, PolicyCompiler.Condition condition) {
+    }
+
+    private record DecisionKey(long version, PolicyAction action, List<Object> values) {
+    }
+
+    private static final class PolicySet {
+        final long version;
+        final long count;
+        final LocalDateTime latestUpdate;
+        final Map<PolicyAction, Rules> byAction = new EnumMap<>(PolicyAction.class);
+        int size;
+
+        PolicySet(long version, long count, LocalDateTime latestUpdate, List<AccessPolicy> enabled) {
+            this.version = version;
+            this.count = count;
+            this.latestUpdate = latestUpdate;
+
+            Map<PolicyAction, List<Rule>> deny = new EnumMap<>(PolicyAction.class);
+            Map<PolicyAction, List<Rule>> permit = new EnumMap<>(PolicyAction.class);
+            for (AccessPolicy policy : enabled) {
+                PolicyCompiler.Condition condition;
+                try {
+                    condition = PolicyCompiler.compile(policy.getCondition());
+                } catch (PolicySyntaxException e) {
+                    log.error("Skipping access policy {} ({}): {}", policy.getId(), policy.getName(), e.getMessage());
+                    continue;
+                }
+                Rule rule = new Rule(policy.getId(), policy.getName(), condition);
+                (policy.getEffect() == PolicyEffect.DENY ? deny : permit)
+                    .computeIfAbsent(policy.getAction(), action -> new ArrayList<>())
+                    .add(rule);
+                size++;
+            }
+            for (PolicyAction action : PolicyAction.values()) {
+                List<Rule> denies = deny.getOrDefault(action, List.of());
+                List<Rule> permits = permit.getOrDefault(action, List.of());
+                if (!denies.isEmpty() || !permits.isEmpty()) {
+                    byAction.put(action, new Rules(denies.toArray(Rule[]::new), permits.toArray(Rule[]::new)));
+                }
+            }
+        }
+    }
+
+    private static final class Rules {
+        final Rule[] deny;
+        final Rule[] permit;
+        final Set<PolicyAttribute> attributes = EnumSet.noneOf(PolicyAttribute.class);
+        final int[] slots;
+
+        Rules(Rule[] deny, Rule[] permit) {
+            this.deny = deny;
+            this.permit = permit;
+            for (Rule rule : deny) {
+                attributes.addAll(rule.condition().attributes());
+            }
+            for (Rule rule : permit) {
+                attributes.addAll(rule.condition().attributes());
+            }
+            this.slots = attributes.stream().mapToInt(Enum::ordinal).toArray();
+        }
+
+        PolicyDecision evaluate(PolicyContext context) {
+            for (Rule rule : deny) {
+                if (rule.condition().test(context)) {
+                    return new PolicyDecision(PolicyEffect.DENY, rule.policyId(), rule.name());
+                }
+            }
+            for (Rule rule : permit) {
+                if (rule.condition().test(context)) {
+                    return new PolicyDecision(PolicyEffect.PERMIT, rule.policyId(), rule.name());
+                }
+            }
+            return PolicyDecision.NOT_APPLICABLE;
+        }
+
+        DecisionKey keyFor(long version, PolicyAction action, PolicyContext context) {
+            Object[] values = new Object[slots.length];
+            for (int i = 0; i < slots.length; i++) {
+                values[i] = context.values[slots[i]];
+            }
+            return new DecisionKey(version, action, Arrays.asList(values));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.model.AccessPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccessPolicyRepository extends JpaRepository<AccessPolicy, Long> {
+
+    List<AccessPolicy> findByEnabledTrueOrderById();
+
+    boolean existsByName(String name);
+
+    boolean existsByNameAndIdNot(String name, Long id);
+
+    // With count(), tells the policy engine whether the table changed since it loaded
+    @Query("SELECT MAX(p.updatedAt) FROM AccessPolicy p")
+    Optional<LocalDateTime> findLatestUpdate();
+}
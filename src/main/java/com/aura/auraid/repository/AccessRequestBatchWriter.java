@@ -0,0 +1,107 @@
+package com.aura.auraid.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts submitted access requests, and the step executions of their
+ * workflows, as JDBC batches. Hibernate cannot batch inserts for IDENTITY ids,
+ * so bulk submissions write the rows here instead of through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccessRequestBatchWriter {
+
+    private static final String INSERT_REQUEST_SQL =
+        "INSERT INTO access_requests (resource_id, permission_id, requester_id, status, justification, " +
+        "access_duration_minutes, workflow_id, workflow_version, current_step_order, version, created_at, updated_at) " +
+        "VALUES (?, ?, ?, 'PENDING', ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String INSERT_STEP_EXECUTION_SQL =
+        "INSERT INTO approval_step_executions (access_request_id, step_id, status, started_at, version) " +
+        "VALUES (?, ?, 'PENDING', ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A pending request; the workflow columns are null for resources without an approval workflow.
+     */
+    public record NewRequest(Long resourceId, Long permissionId, Long requesterId, String justification,
+                             Integer accessDurationMinutes, Long workflowId, Long workflowVersion) {
+    }
+
+    /**
+     * @return the generated ids, in the order of the rows
+     */
+    public List<Long> insertRequests(List<NewRequest> rows, LocalDateTime createdAt) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Timestamp time = Timestamp.valueOf(createdAt);
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_REQUEST_SQL, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    NewRequest row = rows.get(i);
+                    ps.setLong(1, row.resourceId());
+                    ps.setLong(2, row.permissionId());
+                    ps.setLong(3, row.requesterId());
+                    ps.setString(4, row.justification());
+                    setNullable(ps, 5, row.accessDurationMinutes(), Types.INTEGER);
+                    setNullable(ps, 6, row.workflowId(), Types.BIGINT);
+                    setNullable(ps, 7, row.workflowVersion(), Types.BIGINT);
+                    setNullable(ps, 8, row.workflowId() != null ? 1 : null, Types.INTEGER);
+                    ps.setTimestamp(9, time);
+                    ps.setTimestamp(10, time);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            },
+            keys);
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.get("id")).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * @param steps one [access request id, step id] pair per step execution
+     */
+    public void insertStepExecutions(List<long[]> steps, LocalDateTime startedAt) {
+        if (steps.isEmpty()) {
+            return;
+        }
+        Timestamp time = Timestamp.valueOf(startedAt);
+        jdbcTemplate.batchUpdate(INSERT_STEP_EXECUTION_SQL, steps, steps.size(), (ps, step) -> {
+            ps.setLong(1, step[0]);
+            ps.setLong(2, step[1]);
+            ps.setTimestamp(3, time);
+        });
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+}
@@ -1,52 +1,153 @@
 package com.aura.auraid.repository;
 
+import com.aura.auraid.dto.AccessRequestDTO;
+import com.aura.auraid.dto.RequestSummaryRowDTO;
 import com.aura.auraid.model.AccessRequest;
 import com.aura.auraid.model.AccessRequestStatus;
 import com.aura.auraid.model.ResourceType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AccessRequestRepository extends JpaRepository<AccessRequest, Long> {
+
+    // Listing projections: scalar columns only, so no entity (or its eager associations) is loaded
+
+    String LIST_ITEM = "SELECT new com.aura.auraid.dto.AccessRequestDTO(" +
+        "ar.id, r.id, p.id, ar.justification, ar.accessDurationMinutes, ar.status, ar.approverComment, ar.approvedAt, ar.createdAt, " +
+        "r.name, p.name, u.username, a.username) " +
+        "FROM AccessRequest ar " +
+        "JOIN ar.resource r " +
+        "JOIN ar.permission p " +
+        "JOIN ar.requester u " +
+        "LEFT JOIN ar.approver a ";
+
+    String SUMMARY_ROW = "SELECT new com.aura.auraid.dto.RequestSummaryRowDTO(" +
+        "ar.id, r.name, r.type, u.username, w.name, ar.status, ar.currentStepOrder, ar.createdAt) " +
+        "FROM AccessRequest ar " +
+        "JOIN ar.resource r " +
+        "JOIN ar.requester u " +
+        "LEFT JOIN r.approvalWorkflow w ";
+
+    @Query(value = LIST_ITEM + "WHERE ar.status = :status",
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar WHERE ar.status = :status")
+    Page<AccessRequestDTO> findListItemsByStatus(@Param("status") AccessRequestStatus status, Pageable pageable);
+
+    @Query(value = LIST_ITEM + "WHERE u.id = :requesterId",
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar WHERE ar.requester.id = :requesterId")
+    Page<AccessRequestDTO> findListItemsByRequesterId(@Param("requesterId") Long requesterId, Pageable pageable);
+
+    @Query(value = LIST_ITEM + "WHERE r.id = :resourceId",
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar WHERE ar.resource.id = :resourceId")
+    Page<AccessRequestDTO> findListItemsByResourceId(@Param("resourceId") Long resourceId, Pageable pageable);
+
+    @Query(value = SUMMARY_ROW,
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar")
+    Page<RequestSummaryRowDTO> findSummaryRows(Pageable pageable);
+
+    @Query(value = SUMMARY_ROW + "WHERE ar.status = :status",
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar WHERE ar.status = :status")
+    Page<RequestSummaryRowDTO> findSummaryRowsByStatus(@Param("status") AccessRequestStatus status, Pageable pageable);
+
+    @Query(value = SUMMARY_ROW + "WHERE r.type = :type",
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar WHERE ar.resource.type = :type")
+    Page<RequestSummaryRowDTO> findSummaryRowsByResourceType(@Param("type") ResourceType type, Pageable pageable);
+
+    @Query(value = SUMMARY_ROW + "WHERE ar.status = :status AND r.type = :type",
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar WHERE ar.status = :status AND ar.resource.type = :type")
+    Page<RequestSummaryRowDTO> findSummaryRowsByStatusAndResourceType(@Param("status") AccessRequestStatus status,
+                                                                     @Param("type") ResourceType type,
+                                                                     Pageable pageable);
+
+    @Query(value = SUMMARY_ROW + "WHERE u.id = :requesterId",
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar WHERE ar.requester.id = :requesterId")
+    Page<RequestSummaryRowDTO> findSummaryRowsByRequesterId(@Param("requesterId") Long requesterId, Pageable pageable);
+
+    @Query(value = SUMMARY_ROW + "WHERE u.id = :requesterId AND ar.status = :status",
+           countQuery = "SELECT COUNT(ar) FROM AccessRequest ar WHERE ar.requester.id = :requesterId AND ar.status = :status")
+    Page<RequestSummaryRowDTO> findSummaryRowsByRequesterIdAndStatus(@Param("requesterId") Long requesterId,
+                                                                    @Param("status") AccessRequestStatus status,
+                                                                    Pageable pageable);
+
+    @Query(SUMMARY_ROW + "WHERE ar.id IN :ids")
+    List<RequestSummaryRowDTO> findSummaryRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_ROW + "ORDER BY ar.createdAt DESC, ar.id DESC")
+    List<RequestSummaryRowDTO> findRecentSummaryRows(Pageable pageable);
+
+    @Query(SUMMARY_ROW + "WHERE u.id = :requesterId ORDER BY ar.createdAt DESC, ar.id DESC")
+    List<RequestSummaryRowDTO> findRecentSummaryRowsByRequesterId(@Param("requesterId") Long requesterId, Pageable pageable);
+
     List<AccessRequest> findByRequesterId(Long requesterId);
     List<AccessRequest> findByStatus(AccessRequestStatus status);
     List<AccessRequest> findByRequesterIdAndStatus(Long requesterId, AccessRequestStatus status);
     List<AccessRequest> findByResourceId(Long resourceId);
 
-    Page<AccessRequest> findByRequesterId(Long requesterId, Pageable pageable);
-    Page<AccessRequest> findByStatus(AccessRequestStatus status, Pageable pageable);
-    Page<AccessRequest> findByRequesterIdAndStatus(Long requesterId, AccessRequestStatus status, Pageable pageable);
-    Page<AccessRequest> findByResourceId(Long resourceId, Pageable pageable);
+    List<AccessRequest> findByStatusAndCreatedAtAfter(AccessRequestStatus status, LocalDateTime after);
+    List<AccessRequest> findByRequesterIdAndStatusAndCreatedAtAfter(Long requesterId, AccessRequestStatus status, LocalDateTime after);
+
+    // Status counters: one access_request_counts row per requester, status and day the request was created
 
-    Page<AccessRequest> findByStatusAndResourceType(AccessRequestStatus status, ResourceType type, Pageable pageable);
-    Page<AccessRequest> findByResourceType(ResourceType type, Pageable pageable);
+    @Modifying
+    @Query(value = "INSERT INTO access_request_counts (requester_id, status, created_on, request_count) " +
+                   "VALUES (:requesterId, :status, :createdOn, GREATEST(:delta, 0)) " +
+                   "ON CONFLICT (requester_id, status, created_on) DO UPDATE " +
+                   "SET request_count = GREATEST(access_request_counts.request_count + :delta, 0)",
+           nativeQuery = true)
+    void adjustStatusCount(@Param("requesterId") Long requesterId, @Param("status") String status,
+                           @Param("createdOn") LocalDate createdOn, @Param("delta") int delta);
 
-    long countByStatus(AccessRequestStatus status);
-    long countByStatusAndCreatedAtAfter(AccessRequestStatus status, LocalDateTime after);
-    long countByCreatedAtAfter(LocalDateTime after);
-    long countByRequesterIdAndStatus(Long requesterId, AccessRequestStatus status);
-    long countByRequesterIdAndStatusAndCreatedAtAfter(Long requesterId, AccessRequestStatus status, LocalDateTime after);
-    long countByRequesterIdAndCreatedAtAfter(Long requesterId, LocalDateTime after);
+    @Query(value = "SELECT COALESCE(SUM(request_count), 0) FROM access_request_counts WHERE status = :status",
+           nativeQuery = true)
+    long sumStatusCount(@Param("status") String status);
 
-    List<AccessRequest> findTop10ByOrderByCreatedAtDesc();
-    List<AccessRequest> findTop10ByRequesterIdOrderByCreatedAtDesc(Long requesterId);
+    // [status, requests created since the day, all requests]; pending requests count whatever their day
+    @Query(value = "SELECT status, SUM(CASE WHEN created_on >= :since THEN request_count ELSE 0 END), SUM(request_count) " +
+                   "FROM access_request_counts " +
+                   "WHERE created_on >= :since OR status = 'PENDING' " +
+                   "GROUP BY status",
+           nativeQuery = true)
+    List<Object[]> sumStatusCounts(@Param("since") LocalDate since);
 
-    List<AccessRequest> findByStatusAndCreatedAtAfter(AccessRequestStatus status, LocalDateTime after);
-    List<AccessRequest> findByRequesterIdAndStatusAndCreatedAtAfter(Long requesterId, AccessRequestStatus status, LocalDateTime after);
+    @Query(value = "SELECT status, SUM(CASE WHEN created_on >= :since THEN request_count ELSE 0 END), SUM(request_count) " +
+                   "FROM access_request_counts " +
+                   "WHERE requester_id = :requesterId AND (created_on >= :since OR status = 'PENDING') " +
+                   "GROUP BY status",
+           nativeQuery = true)
+    List<Object[]> sumStatusCountsByRequester(@Param("requesterId") Long requesterId, @Param("since") LocalDate since);
+
+    // Drift repair: the source of truth is the access_requests table itself
+
+    // Blocks counter adjustments until the repair commits, so none lands between the recount's snapshot and its upsert
+    @Modifying
+    @Query(value = "LOCK TABLE access_request_counts IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockStatusCounts();
+
+    @Modifying
+    @Query(value = "INSERT INTO access_request_counts (requester_id, status, created_on, request_count) " +
+                   "SELECT requester_id, status, CAST(created_at AS DATE), COUNT(*) FROM access_requests " +
+                   "WHERE created_at IS NOT NULL " +
+                   "GROUP BY requester_id, status, CAST(created_at AS DATE) " +
+                   "ON CONFLICT (requester_id, status, created_on) DO UPDATE " +
+                   "SET request_count = EXCLUDED.request_count " +
+                   "WHERE access_request_counts.request_count <> EXCLUDED.request_count",
+           nativeQuery = true)
+    int recountStatuses();
 
-    @Query("SELECT ar FROM AccessRequest ar " +
-           "JOIN ar.approvalSteps step " +
-           "JOIN step.step s " +
-           "JOIN s.approvers approver " +
-           "WHERE approver.id = :userId " +
-           "AND step.status = 'PENDING' " +
-           "AND ar.status = 'PENDING'")
-    Page<AccessRequest> findPendingApprovalsByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Modifying
+    @Query(value = "DELETE FROM access_request_counts c WHERE NOT EXISTS (" +
+                   "SELECT 1 FROM access_requests ar WHERE ar.requester_id = c.requester_id " +
+                   "AND ar.status = c.status AND CAST(ar.created_at AS DATE) = c.created_on)",
+           nativeQuery = true)
+    int deleteStaleStatusCounts();
 } 
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.model.ApprovalActionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts approval actions as one JDBC batch. Hibernate cannot batch inserts for
+ * IDENTITY ids, so bulk approvals write the rows here instead of through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApprovalActionBatchWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO approval_actions (step_execution_id, approver_id, action, comment, action_time) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<Long> stepExecutionIds, Long approverId, ApprovalActionType action,
+                       String comment, LocalDateTime actionTime) {
+        if (stepExecutionIds.isEmpty()) {
+            return;
+        }
+        Timestamp time = Timestamp.valueOf(actionTime);
+        jdbcTemplate.batchUpdate(INSERT_SQL, stepExecutionIds, stepExecutionIds.size(), (ps, stepExecutionId) -> {
+            ps.setLong(1, stepExecutionId);
+            ps.setLong(2, approverId);
+            ps.setString(3, action.name());
+            ps.setString(4, comment);
+            ps.setTimestamp(5, time);
+        });
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +17,12 @@ public interface ApprovalActionRepository extends JpaRepository<ApprovalAction,
     List<ApprovalAction> findByStepExecutionId(Long stepExecutionId);
     List<ApprovalAction> findByStepExecutionIdAndAction(Long stepExecutionId, ApprovalActionType action);
     List<ApprovalAction> findByApproverId(Long approverId);
+    List<ApprovalAction> findByStepExecutionIdIn(Collection<Long> stepExecutionIds);
+
+    @Query("SELECT a.stepExecution.id FROM ApprovalAction a " +
+           "WHERE a.stepExecution.id IN :stepExecutionIds AND a.approver.id = :approverId")
+    List<Long> findStepExecutionIdsActedOnBy(@Param("stepExecutionIds") Collection<Long> stepExecutionIds,
+                                             @Param("approverId") Long approverId);
     
     // Basic queries
     Page<ApprovalAction> findByApproverId(Long approverId, Pageable pageable);
@@ -29,6 +36,14 @@ public interface ApprovalActionRepository extends JpaRepository<ApprovalAction,
            "WHERE a.stepExecution.accessRequest.id = :requestId " +
            "ORDER BY a.actionTime DESC")
     Page<ApprovalAction> findByAccessRequestId(@Param("requestId") Long requestId, Pageable pageable);
+
+    // Summary rows for a page of requests, newest first:
+    // [access request id, step execution id, approver id, approver username, action, comment, action time]
+    @Query("SELECT e.accessRequest.id, e.id, u.id, u.username, a.action, a.comment, a.actionTime " +
+           "FROM ApprovalAction a JOIN a.stepExecution e JOIN a.approver u " +
+           "WHERE e.accessRequest.id IN :requestIds " +
+           "ORDER BY a.actionTime DESC")
+    List<Object[]> findSummaryRowsByAccessRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
     
     // Statistics queries
     @Query("SELECT COUNT(a) FROM ApprovalAction a " +
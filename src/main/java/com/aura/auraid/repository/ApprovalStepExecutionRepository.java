@@ -2,14 +2,47 @@ package com.aura.auraid.repository;
 
 import com.aura.auraid.model.ApprovalStepExecution;
 import com.aura.auraid.model.ApprovalStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ApprovalStepExecutionRepository extends JpaRepository<ApprovalStepExecution, Long> {
     List<ApprovalStepExecution> findByAccessRequestId(Long accessRequestId);
     List<ApprovalStepExecution> findByAccessRequestIdAndStatus(Long accessRequestId, ApprovalStatus status);
     List<ApprovalStepExecution> findByStepIdAndStatus(Long stepId, ApprovalStatus status);
+
+    @Query("SELECT e.accessRequest.id FROM ApprovalStepExecution e WHERE e.id = :id")
+    Optional<Long> findAccessRequestIdById(@Param("id") Long id);
+
+    // Bulk validation: [id, access request id, step id, step status, request status, workflow id, workflow version]
+    @Query("SELECT e.id, ar.id, e.step.id, e.status, ar.status, ar.workflowId, ar.workflowVersion " +
+           "FROM ApprovalStepExecution e JOIN e.accessRequest ar " +
+           "WHERE e.id IN :ids")
+    List<Object[]> findApprovalContextByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Step rows for a page of requests: [access request id, step execution id, step id, step name, step order]
+    @Query("SELECT e.accessRequest.id, e.id, s.id, s.name, s.stepOrder " +
+           "FROM ApprovalStepExecution e JOIN e.step s " +
+           "WHERE e.accessRequest.id IN :requestIds")
+    List<Object[]> findSummaryRowsByAccessRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    // Deadline rebuild, keyset-paged over the due_at index: [id, access request id, reminder at, due at]
+    @Query("SELECT e.id, e.accessRequest.id, e.reminderAt, e.dueAt FROM ApprovalStepExecution e " +
+           "WHERE e.status = com.aura.auraid.model.ApprovalStatus.IN_PROGRESS AND e.dueAt IS NOT NULL " +
+           "ORDER BY e.dueAt, e.id")
+    List<Object[]> findDeadlinesFirstPage(Pageable pageable);
+
+    @Query("SELECT e.id, e.accessRequest.id, e.reminderAt, e.dueAt FROM ApprovalStepExecution e " +
+           "WHERE e.status = com.aura.auraid.model.ApprovalStatus.IN_PROGRESS AND e.dueAt IS NOT NULL " +
+           "AND (e.dueAt > :dueAt OR (e.dueAt = :dueAt AND e.id > :id)) " +
+           "ORDER BY e.dueAt, e.id")
+    List<Object[]> findDeadlinesAfter(@Param("dueAt") LocalDateTime dueAt, @Param("id") Long id, Pageable pageable);
 } 
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.aura.auraid.repository;
 
 import com.aura.auraid.model.ApprovalStep;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +16,11 @@ public interface ApprovalStepRepository extends JpaRepository<ApprovalStep, Long
     Optional<ApprovalStep> findByWorkflowIdAndId(Long workflowId, Long id);
     List<ApprovalStep> findByWorkflowIdAndIdIn(Long workflowId, List<Long> ids);
     List<ApprovalStep> findByWorkflowIdOrderByStepOrder(Long workflowId);
+
+    @Query("SELECT s.id, a.id FROM ApprovalStep s JOIN s.approvers a WHERE s.workflow.id = :workflowId")
+    List<Object[]> findApproverIdsByWorkflowId(@Param("workflowId") Long workflowId);
+
+    // [step id, approver user id, approver username]
+    @Query("SELECT s.id, a.id, a.username FROM ApprovalStep s JOIN s.approvers a WHERE s.id IN :stepIds")
+    List<Object[]> findApproverNamesByStepIdIn(@Param("stepIds") Collection<Long> stepIds);
 } 
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.model.ResourceType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads grants for certification campaigns as a stream and writes review items
+ * as JDBC batches. The read holds one row at a time: with a fetch size inside a
+ * transaction the PostgreSQL driver uses a cursor instead of buffering the
+ * whole result.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CertificationBatchWriter {
+
+    private static final String GRANT_BOUNDS_SQL =
+        "SELECT MIN(g.resource_id), MAX(g.resource_id) FROM resource_grants g";
+
+    private static final String GRANT_BOUNDS_OF_TYPE_SQL =
+        "SELECT MIN(g.resource_id), MAX(g.resource_id) FROM resource_grants g " +
+        "JOIN resources r ON r.id = g.resource_id WHERE r.type = ?";
+
+    private static final String STREAM_GRANTS_SQL =
+        "SELECT g.user_id, g.resource_id, g.permission_mask, g.expiring_mask, g.expires_at, r.created_by " +
+        "FROM resource_grants g JOIN resources r ON r.id = g.resource_id " +
+        "WHERE g.resource_id BETWEEN ? AND ? AND (CAST(? AS VARCHAR) IS NULL OR r.type = ?)";
+
+    private static final String INSERT_ITEM_SQL =
+        "INSERT INTO certification_items (campaign_id, user_id, resource_id, permission_id, expires_at, reviewer_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Lowest and highest resource id, or null when there is no grant
+    private static final ResultSetExtractor<long[]> BOUNDS = rs -> {
+        if (!rs.next()) {
+            return null;
+        }
+        long min = rs.getLong(1);
+        return rs.wasNull() ? null : new long[] {min, rs.getLong(2)};
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A grant with its resource's owner; the masks are as stored, expired permissions included.
+     */
+    public record GrantRow(long userId, long resourceId, int permissionMask, int expiringMask,
+                           LocalDateTime expiresAt, Long ownerId) {
+    }
+
+    public record NewItem(long userId, long resourceId, int permissionId, LocalDateTime expiresAt, long reviewerId) {
+    }
+
+    /**
+     * @return the lowest and highest resource id with a grant, or null when there are none
+     */
+    public long[] grantedResourceBounds(ResourceType type) {
+        return type == null
+            ? jdbcTemplate.query(GRANT_BOUNDS_SQL, BOUNDS)
+            : jdbcTemplate.query(GRANT_BOUNDS_OF_TYPE_SQL, BOUNDS, type.name());
+    }
+
+    /**
+     * Passes each grant on resources {@code fromResourceId..toResourceId} to the
+     * consumer as it is read. Must run inside a transaction for the cursor to be used.
+     */
+    public void streamGrants(long fromResourceId, long toResourceId, ResourceType type, int fetchSize,
+                             Consumer<GrantRow> consumer) {
+        String typeName = type != null ? type.name() : null;
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAM_GRANTS_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, fromResourceId);
+            ps.setLong(2, toResourceId);
+            ps.setString(3, typeName);
+            ps.setString(4, typeName);
+            return ps;
+        }, rs -> {
+            Timestamp expiresAt = rs.getTimestamp(5);
+            long ownerId = rs.getLong(6);
+            consumer.accept(new GrantRow(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getInt(4),
+                expiresAt != null ? expiresAt.toLocalDateTime() : null, rs.wasNull() ? null : ownerId));
+        });
+    }
+
+    public void insertItems(long campaignId, List<NewItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, items, items.size(), (ps, item) -> {
+            ps.setLong(1, campaignId);
+            ps.setLong(2, item.userId());
+            ps.setLong(3, item.resourceId());
+            ps.setShort(4, (short) item.permissionId());
+            if (item.expiresAt() != null) {
+                ps.setTimestamp(5, Timestamp.valueOf(item.expiresAt()));
+            } else {
+                ps.setNull(5, Types.TIMESTAMP);
+            }
+            ps.setLong(6, item.reviewerId());
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.model.CampaignStatus;
+import com.aura.auraid.model.CertificationCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CertificationCampaignRepository extends JpaRepository<CertificationCampaign, Long> {
+
+    // Moves the campaign on only from the expected status, so two callers cannot both start the same step
+    @Modifying
+    @Query("UPDATE CertificationCampaign c SET c.status = :to WHERE c.id = :id AND c.status = :from")
+    int transition(@Param("id") Long id, @Param("from") CampaignStatus from, @Param("to") CampaignStatus to);
+}
@@ -0,0 +1,73 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.dto.CertificationItemDTO;
+import com.aura.auraid.model.CertificationDecision;
+import com.aura.auraid.model.CertificationItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CertificationItemRepository extends JpaRepository<CertificationItem, Long> {
+
+    // Keyset pages of a reviewer's items, through the (campaign, reviewer, decision, id) index
+    @Query("SELECT new com.aura.auraid.dto.CertificationItemDTO(" +
+           "i.id, i.userId, u.username, i.resourceId, r.name, i.permissionId, i.expiresAt, i.decision, " +
+           "i.decidedAt, i.comment) " +
+           "FROM CertificationItem i " +
+           "LEFT JOIN User u ON u.id = i.userId " +
+           "LEFT JOIN Resource r ON r.id = i.resourceId " +
+           "WHERE i.campaignId = :campaignId AND i.reviewerId = :reviewerId AND i.decision = :decision " +
+           "AND i.id > :afterId " +
+           "ORDER BY i.id")
+    List<CertificationItemDTO> findInboxAfter(@Param("campaignId") Long campaignId,
+                                              @Param("reviewerId") Long reviewerId,
+                                              @Param("decision") CertificationDecision decision,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    // Reviewers may change their mind until the revocation has been applied
+    @Modifying
+    @Query("UPDATE CertificationItem i SET i.decision = :decision, i.decidedBy = :reviewerId, " +
+           "i.decidedAt = :decidedAt, i.comment = :comment " +
+           "WHERE i.campaignId = :campaignId AND i.reviewerId = :reviewerId AND i.id IN :ids " +
+           "AND i.appliedAt IS NULL")
+    int decide(@Param("campaignId") Long campaignId,
+               @Param("reviewerId") Long reviewerId,
+               @Param("ids") Collection<Long> ids,
+               @Param("decision") CertificationDecision decision,
+               @Param("comment") String comment,
+               @Param("decidedAt") LocalDateTime decidedAt);
+
+    // Decision and item count
+    @Query("SELECT i.decision, COUNT(i) FROM CertificationItem i WHERE i.campaignId = :campaignId GROUP BY i.decision")
+    List<Object[]> countByDecision(@Param("campaignId") Long campaignId);
+
+    // Reviewer and item count
+    @Query("SELECT i.reviewerId, COUNT(i) FROM CertificationItem i WHERE i.campaignId = :campaignId GROUP BY i.reviewerId")
+    List<Object[]> countByReviewer(@Param("campaignId") Long campaignId);
+
+    // Keyset pages of id, user, resource and permission id for the revocations not yet applied (partial index)
+    @Query(value = "SELECT id, user_id, resource_id, permission_id FROM certification_items " +
+                   "WHERE campaign_id = :campaignId AND decision = 'REVOKED' AND applied_at IS NULL AND id > :afterId " +
+                   "ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findUnappliedRevocations(@Param("campaignId") Long campaignId,
+                                            @Param("afterId") Long afterId,
+                                            @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE CertificationItem i SET i.appliedAt = :appliedAt WHERE i.id IN :ids")
+    int markApplied(@Param("ids") Collection<Long> ids, @Param("appliedAt") LocalDateTime appliedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM certification_items WHERE campaign_id = :campaignId", nativeQuery = true)
+    int deleteByCampaignId(@Param("campaignId") Long campaignId);
+}
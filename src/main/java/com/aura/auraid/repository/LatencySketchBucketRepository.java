@@ -0,0 +1,31 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.model.LatencyDimension;
+import com.aura.auraid.model.LatencySketchBucket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LatencySketchBucketRepository extends JpaRepository<LatencySketchBucket, Long> {
+
+    // Locked so instances flushing into the same bucket merge one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM LatencySketchBucket b " +
+           "WHERE b.dimension = :dimension AND b.dimensionId = :dimensionId AND b.bucketDate = :bucketDate")
+    Optional<LatencySketchBucket> findForUpdate(@Param("dimension") LatencyDimension dimension,
+                                                @Param("dimensionId") Long dimensionId,
+                                                @Param("bucketDate") LocalDate bucketDate);
+
+    List<LatencySketchBucket> findByDimensionAndDimensionIdAndBucketDateGreaterThanEqual(
+        LatencyDimension dimension, Long dimensionId, LocalDate since);
+
+    List<LatencySketchBucket> findByDimensionAndBucketDateGreaterThanEqual(LatencyDimension dimension, LocalDate since);
+}
@@ -1,7 +1,11 @@
 package com.aura.auraid.repository;
 
+import com.aura.auraid.dto.NotificationDTO;
 import com.aura.auraid.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -9,8 +13,46 @@ import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    String NOTIFICATION_ITEM = "SELECT new com.aura.auraid.dto.NotificationDTO(" +
+        "n.id, n.title, n.message, n.type, n.read, n.readAt, n.createdAt, n.referenceType, n.referenceId) " +
+        "FROM Notification n ";
+
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<Notification> findByUserIdAndReadOrderByCreatedAtDesc(Long userId, boolean read);
     long countByUserIdAndRead(Long userId, boolean read);
     List<Notification> findByReadTrueAndCreatedAtBefore(LocalDateTime dateTime);
-} 
\ No newline at end of file
+
+    // Keyset pages, newest first, through the (user_id, created_at DESC, id DESC) index
+    @Query(NOTIFICATION_ITEM +
+           "WHERE n.user.id = :userId " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(NOTIFICATION_ITEM +
+           "WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findPageAfter(@Param("userId") Long userId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    // Same for one read state, through the (user_id, read, created_at DESC, id DESC) index
+    @Query(NOTIFICATION_ITEM +
+           "WHERE n.user.id = :userId AND n.read = :read " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findFirstPageByRead(@Param("userId") Long userId,
+                                              @Param("read") boolean read,
+                                              Pageable pageable);
+
+    @Query(NOTIFICATION_ITEM +
+           "WHERE n.user.id = :userId AND n.read = :read " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findPageAfterByRead(@Param("userId") Long userId,
+                                              @Param("read") boolean read,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+}
@@ -0,0 +1,47 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.model.PathGrant;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PathGrantRepository extends JpaRepository<PathGrant, Long> {
+
+    List<PathGrant> findByUserId(Long userId);
+
+    Optional<PathGrant> findByUserIdAndPathPrefix(Long userId, String pathPrefix);
+
+    // Keyset pages of user, prefix and mask, for building the path trie
+    @Query("SELECT g.id, g.userId, g.pathPrefix, g.permissionMask FROM PathGrant g " +
+           "WHERE g.id > :afterId ORDER BY g.id")
+    List<Object[]> findTrieRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO path_grants (user_id, path_prefix, permission_mask, granted_at, updated_at) " +
+                   "VALUES (:userId, :pathPrefix, :mask, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (user_id, path_prefix) DO UPDATE " +
+                   "SET permission_mask = path_grants.permission_mask | EXCLUDED.permission_mask, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void addPermissions(@Param("userId") Long userId, @Param("pathPrefix") String pathPrefix, @Param("mask") int mask);
+
+    @Modifying
+    @Query(value = "UPDATE path_grants SET permission_mask = permission_mask & ~CAST(:mask AS INTEGER), " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE user_id = :userId AND path_prefix = :pathPrefix",
+           nativeQuery = true)
+    int removePermissions(@Param("userId") Long userId, @Param("pathPrefix") String pathPrefix, @Param("mask") int mask);
+
+    @Modifying
+    @Query(value = "DELETE FROM path_grants WHERE user_id = :userId AND path_prefix = :pathPrefix " +
+                   "AND permission_mask = 0",
+           nativeQuery = true)
+    int deleteIfEmpty(@Param("userId") Long userId, @Param("pathPrefix") String pathPrefix);
+}
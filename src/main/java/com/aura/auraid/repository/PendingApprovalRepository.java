@@ -0,0 +1,102 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.dto.PendingApprovalDTO;
+import com.aura.auraid.model.PendingApproval;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PendingApprovalRepository extends JpaRepository<PendingApproval, Long> {
+
+    String INBOX_ITEM = "SELECT new com.aura.auraid.dto.PendingApprovalDTO(" +
+        "p.id, p.accessRequestId, p.stepExecutionId, r.name, u.username, p.read, p.createdAt) " +
+        "FROM PendingApproval p " +
+        "JOIN AccessRequest ar ON ar.id = p.accessRequestId " +
+        "JOIN ar.resource r " +
+        "JOIN ar.requester u ";
+
+    @Query(INBOX_ITEM +
+           "WHERE p.userId = :userId " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PendingApprovalDTO> findInboxFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(INBOX_ITEM +
+           "WHERE p.userId = :userId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PendingApprovalDTO> findInboxAfter(@Param("userId") Long userId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    Page<PendingApproval> findByUserId(Long userId, Pageable pageable);
+
+    List<PendingApproval> findByStepExecutionId(Long stepExecutionId);
+
+    List<PendingApproval> findByAccessRequestId(Long accessRequestId);
+
+    Optional<PendingApproval> findByStepExecutionIdAndUserId(Long stepExecutionId, Long userId);
+
+    List<PendingApproval> findByUserIdAndIdInAndReadFalse(Long userId, Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO pending_approval_counters (user_id, unread_count) VALUES (:userId, GREATEST(:delta, 0)) " +
+                   "ON CONFLICT (user_id) DO UPDATE " +
+                   "SET unread_count = GREATEST(pending_approval_counters.unread_count + :delta, 0)",
+           nativeQuery = true)
+    void adjustUnreadCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Query(value = "SELECT unread_count FROM pending_approval_counters WHERE user_id = :userId", nativeQuery = true)
+    Optional<Integer> findUnreadCount(@Param("userId") Long userId);
+
+    // Drift repair: the source of truth is every in-progress step of a pending request
+    // whose approver has not acted on it yet
+
+    @Modifying
+    @Query(value = "DELETE FROM pending_approvals p WHERE NOT EXISTS (" +
+                   "SELECT 1 FROM approval_step_executions e " +
+                   "JOIN access_requests ar ON ar.id = e.access_request_id " +
+                   "JOIN approval_step_approvers sa ON sa.step_id = e.step_id " +
+                   "WHERE e.id = p.step_execution_id AND sa.user_id = p.user_id " +
+                   "AND e.status = 'IN_PROGRESS' AND ar.status = 'PENDING' " +
+                   "AND NOT EXISTS (SELECT 1 FROM approval_actions a " +
+                   "WHERE a.step_execution_id = e.id AND a.approver_id = sa.user_id))",
+           nativeQuery = true)
+    int deleteStale();
+
+    @Modifying
+    @Query(value = "INSERT INTO pending_approvals (user_id, access_request_id, step_execution_id, read, created_at) " +
+                   "SELECT sa.user_id, e.access_request_id, e.id, false, COALESCE(e.started_at, CURRENT_TIMESTAMP) " +
+                   "FROM approval_step_executions e " +
+                   "JOIN access_requests ar ON ar.id = e.access_request_id " +
+                   "JOIN approval_step_approvers sa ON sa.step_id = e.step_id " +
+                   "WHERE e.status = 'IN_PROGRESS' AND ar.status = 'PENDING' " +
+                   "AND NOT EXISTS (SELECT 1 FROM approval_actions a " +
+                   "WHERE a.step_execution_id = e.id AND a.approver_id = sa.user_id) " +
+                   "ON CONFLICT (user_id, step_execution_id) DO NOTHING",
+           nativeQuery = true)
+    int insertMissing();
+
+    @Modifying
+    @Query(value = "INSERT INTO pending_approval_counters (user_id, unread_count) " +
+                   "SELECT user_id, COUNT(*) FROM pending_approvals WHERE read = false GROUP BY user_id " +
+                   "ON CONFLICT (user_id) DO UPDATE SET unread_count = EXCLUDED.unread_count",
+           nativeQuery = true)
+    int recountUnread();
+
+    @Modifying
+    @Query(value = "UPDATE pending_approval_counters c SET unread_count = 0 WHERE c.unread_count <> 0 " +
+                   "AND NOT EXISTS (SELECT 1 FROM pending_approvals p WHERE p.user_id = c.user_id AND p.read = false)",
+           nativeQuery = true)
+    int resetEmptyUnreadCounts();
+}
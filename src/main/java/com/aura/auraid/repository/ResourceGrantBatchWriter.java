@@ -0,0 +1,50 @@
+package com.aura.auraid.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Removes permissions from many grants as JDBC batches, with the same statements
+ * {@link ResourceGrantRepository} runs for a single revoke.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResourceGrantBatchWriter {
+
+    private static final String REMOVE_PERMISSIONS_SQL =
+        "UPDATE resource_grants SET permission_mask = permission_mask & ~CAST(? AS INTEGER), " +
+        "expiring_mask = expiring_mask & ~CAST(? AS INTEGER), " +
+        "expires_at = CASE WHEN (expiring_mask & ~CAST(? AS INTEGER)) = 0 THEN NULL ELSE expires_at END, " +
+        "updated_at = CURRENT_TIMESTAMP " +
+        "WHERE user_id = ? AND resource_id = ?";
+
+    private static final String DELETE_IF_EMPTY_SQL =
+        "DELETE FROM resource_grants WHERE user_id = ? AND resource_id = ? " +
+        "AND permission_mask = 0 AND expiring_mask = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param revocations one [user id, resource id, permission mask] triple per grant
+     */
+    public void removePermissions(List<long[]> revocations) {
+        if (revocations.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(REMOVE_PERMISSIONS_SQL, revocations, revocations.size(), (ps, revocation) -> {
+            int mask = (int) revocation[2];
+            ps.setInt(1, mask);
+            ps.setInt(2, mask);
+            ps.setInt(3, mask);
+            ps.setLong(4, revocation[0]);
+            ps.setLong(5, revocation[1]);
+        });
+        jdbcTemplate.batchUpdate(DELETE_IF_EMPTY_SQL, revocations, revocations.size(), (ps, revocation) -> {
+            ps.setLong(1, revocation[0]);
+            ps.setLong(2, revocation[1]);
+        });
+    }
+}
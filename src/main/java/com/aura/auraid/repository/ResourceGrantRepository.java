@@ -0,0 +1,117 @@
+package com.aura.auraid.repository;
+
+import com.aura.auraid.model.ResourceGrant;
+import com.aura.auraid.model.ResourceType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResourceGrantRepository extends JpaRepository<ResourceGrant, Long> {
+
+    List<ResourceGrant> findByUserId(Long userId);
+
+    // Keyset pages of user, resource and the mask in effect now, for building the accessible resource index
+    @Query("SELECT g.id, g.userId, g.resourceId, " +
+           "g.permissionMask + CASE WHEN g.expiresAt > CURRENT_TIMESTAMP THEN g.expiringMask ELSE 0 END " +
+           "FROM ResourceGrant g " +
+           "WHERE g.id > :afterId ORDER BY g.id")
+    List<Object[]> findIndexRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Resource creator and the user's grant masks and expiry (null without a grant); no row if the resource does not exist
+    @Query("SELECT r.createdBy, g.permissionMask, g.expiringMask, g.expiresAt FROM Resource r " +
+           "LEFT JOIN ResourceGrant g ON g.resourceId = r.id AND g.userId = :userId " +
+           "WHERE r.id = :resourceId")
+    List<Object[]> findDecisionInputs(@Param("userId") Long userId, @Param("resourceId") Long resourceId);
+
+    // Same as above for many resources at once: resource id, creator, grant masks, expiry
+    @Query("SELECT r.id, r.createdBy, g.permissionMask, g.expiringMask, g.expiresAt FROM Resource r " +
+           "LEFT JOIN ResourceGrant g ON g.resourceId = r.id AND g.userId = :userId " +
+           "WHERE r.id IN :resourceIds")
+    List<Object[]> findDecisionInputsIn(@Param("userId") Long userId,
+                                        @Param("resourceIds") Collection<Long> resourceIds);
+
+    // Resources of a type the user created or holds a non-empty grant on: resource id, creator, grant masks, expiry
+    @Query("SELECT r.id, r.createdBy, g.permissionMask, g.expiringMask, g.expiresAt FROM Resource r " +
+           "LEFT JOIN ResourceGrant g ON g.resourceId = r.id AND g.userId = :userId " +
+           "WHERE r.type = :type AND (r.createdBy = :userId OR g.permissionMask > 0 " +
+           "OR (g.expiringMask > 0 AND g.expiresAt > CURRENT_TIMESTAMP))")
+    List<Object[]> findAccessibleByType(@Param("userId") Long userId, @Param("type") ResourceType type);
+
+    // Permanent permissions; they stop expiring if they were time-boxed
+    @Modifying
+    @Query(value = "INSERT INTO resource_grants (user_id, resource_id, permission_mask, access_request_id, granted_at, updated_at) " +
+                   "VALUES (:userId, :resourceId, :mask, :accessRequestId, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (user_id, resource_id) DO UPDATE " +
+                   "SET permission_mask = resource_grants.permission_mask | EXCLUDED.permission_mask, " +
+                   "expiring_mask = resource_grants.expiring_mask & ~EXCLUDED.permission_mask, " +
+                   "expires_at = CASE WHEN (resource_grants.expiring_mask & ~EXCLUDED.permission_mask) = 0 " +
+                   "THEN NULL ELSE resource_grants.expires_at END, " +
+                   "access_request_id = COALESCE(EXCLUDED.access_request_id, resource_grants.access_request_id), " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void addPermissions(@Param("userId") Long userId, @Param("resourceId") Long resourceId,
+                        @Param("mask") int mask, @Param("accessRequestId") Long accessRequestId);
+
+    // Time-boxed permissions, skipping any held permanently. Ones already past their expiry are replaced
+    // rather than revived, and the rest move to the later of the two expiries.
+    @Modifying
+    @Query(value = "INSERT INTO resource_grants (user_id, resource_id, permission_mask, expiring_mask, expires_at, " +
+                   "access_request_id, granted_at, updated_at) " +
+                   "VALUES (:userId, :resourceId, 0, :mask, :expiresAt, :accessRequestId, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (user_id, resource_id) DO UPDATE " +
+                   "SET expiring_mask = CASE WHEN resource_grants.expires_at > CURRENT_TIMESTAMP " +
+                   "THEN resource_grants.expiring_mask ELSE 0 END " +
+                   "| (EXCLUDED.expiring_mask & ~resource_grants.permission_mask), " +
+                   "expires_at = CASE WHEN (EXCLUDED.expiring_mask & ~resource_grants.permission_mask) = 0 " +
+                   "THEN resource_grants.expires_at " +
+                   "WHEN resource_grants.expires_at > CURRENT_TIMESTAMP " +
+                   "THEN GREATEST(resource_grants.expires_at, EXCLUDED.expires_at) " +
+                   "ELSE EXCLUDED.expires_at END, " +
+                   "access_request_id = COALESCE(EXCLUDED.access_request_id, resource_grants.access_request_id), " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void addExpiringPermissions(@Param("userId") Long userId, @Param("resourceId") Long resourceId,
+                                @Param("mask") int mask, @Param("accessRequestId") Long accessRequestId,
+                                @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = "UPDATE resource_grants SET permission_mask = permission_mask & ~CAST(:mask AS INTEGER), " +
+                   "expiring_mask = expiring_mask & ~CAST(:mask AS INTEGER), " +
+                   "expires_at = CASE WHEN (expiring_mask & ~CAST(:mask AS INTEGER)) = 0 THEN NULL ELSE expires_at END, " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE user_id = :userId AND resource_id = :resourceId",
+           nativeQuery = true)
+    int removePermissions(@Param("userId") Long userId, @Param("resourceId") Long resourceId, @Param("mask") int mask);
+
+    @Modifying
+    @Query(value = "DELETE FROM resource_grants WHERE user_id = :userId AND resource_id = :resourceId " +
+                   "AND permission_mask = 0 AND expiring_mask = 0",
+           nativeQuery = true)
+    int deleteIfEmpty(@Param("userId") Long userId, @Param("resourceId") Long resourceId);
+
+    // Grants whose expiry has passed, oldest first, through the partial index on expires_at: id, user,
+    // resource, expiring mask, request. Locked rows are skipped, so instances sweeping at once split the work.
+    @Query(value = "SELECT id, user_id, resource_id, expiring_mask, access_request_id FROM resource_grants " +
+                   "WHERE expires_at <= :now ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Object[]> lockDueExpiries(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE resource_grants SET expiring_mask = 0, expires_at = NULL, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id IN (:ids)",
+           nativeQuery = true)
+    int clearExpiry(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM resource_grants WHERE id IN (:ids) AND permission_mask = 0 AND expiring_mask = 0",
+           nativeQuery = true)
+    int deleteEmpty(@Param("ids") Collection<Long> ids);
+}
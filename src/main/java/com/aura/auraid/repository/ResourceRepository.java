@@ -2,7 +2,11 @@ package com.aura.auraid.repository;
 
 import com.aura.auraid.model.Resource;
 import com.aura.auraid.model.ResourceType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +15,30 @@ import java.util.List;
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
     List<Resource> findByType(ResourceType type);
     List<Resource> findByCreatedBy(Long userId);
+
+    @Query("SELECT r.id FROM Resource r WHERE r.createdBy = :userId")
+    List<Long> findIdsByCreatedBy(@Param("userId") Long userId);
+
+    // Keyset pages of id, type and creator, for building the accessible resource index
+    @Query("SELECT r.id, r.type, r.createdBy FROM Resource r WHERE r.id > :afterId ORDER BY r.id")
+    List<Object[]> findIndexRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset pages of id, path and type, for building the path trie
+    @Query("SELECT r.id, r.path, r.type FROM Resource r WHERE r.id > :afterId ORDER BY r.id")
+    List<Object[]> findPathRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Resources the user created or holds any of the mask's permissions on, by id; used while the index is not built
+    @Query(value = "SELECT r.* FROM resources r " +
+                   "LEFT JOIN resource_grants g ON g.resource_id = r.id AND g.user_id = :userId " +
+                   "WHERE (r.created_by = :userId OR (g.permission_mask & :mask) <> 0) " +
+                   "AND (CAST(:type AS VARCHAR) IS NULL OR r.type = CAST(:type AS VARCHAR)) " +
+                   "ORDER BY r.id",
+           countQuery = "SELECT COUNT(*) FROM resources r " +
+                   "LEFT JOIN resource_grants g ON g.resource_id = r.id AND g.user_id = :userId " +
+                   "WHERE (r.created_by = :userId OR (g.permission_mask & :mask) <> 0) " +
+                   "AND (CAST(:type AS VARCHAR) IS NULL OR r.type = CAST(:type AS VARCHAR))",
+           nativeQuery = true)
+    Page<Resource> findAccessible(@Param("userId") Long userId, @Param("mask") int mask,
+                                  @Param("type") String type, Pageable pageable);
     boolean existsByApprovalWorkflowId(Long workflowId);
 } 
\ No newline at end of file
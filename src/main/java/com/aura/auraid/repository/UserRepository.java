@@ -5,7 +5,9 @@ import com.aura.auraid.model.Role;
 import com.aura.auraid.enums.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.time.LocalDateTime;
@@ -39,4 +41,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByStatus(UserStatus status);
 
     List<User> findByRolesContaining(Role role);
+
+    /**
+     * @return [lower-cased username, id] rows for the given lower-cased usernames
+     */
+    @Query("SELECT LOWER(u.username), u.id FROM User u WHERE LOWER(u.username) IN :usernames")
+    List<Object[]> findIdsByLowerUsernameIn(@Param("usernames") Collection<String> usernames);
 } 
\ No newline at end of file
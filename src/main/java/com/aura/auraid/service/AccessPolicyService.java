@@ -0,0 +1,13 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.AccessPolicyDTO;
+
+import java.util.List;
+
+public interface AccessPolicyService {
+    AccessPolicyDTO createPolicy(AccessPolicyDTO policyDTO, Long createdBy);
+    AccessPolicyDTO updatePolicy(Long id, AccessPolicyDTO policyDTO);
+    void deletePolicy(Long id);
+    AccessPolicyDTO getPolicy(Long id);
+    List<AccessPolicyDTO> getAllPolicies();
+}
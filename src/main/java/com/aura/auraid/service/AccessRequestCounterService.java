@@ -0,0 +1,29 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.AccessRequest;
+import com.aura.auraid.model.AccessRequestStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface AccessRequestCounterService {
+    // Maintenance, called inside the transaction that saves the request
+    void requestCreated(AccessRequest request);
+    void requestsCreated(Long requesterId, LocalDateTime createdAt, int count);
+    void statusChanged(AccessRequest request, AccessRequestStatus previous);
+
+    // Reads
+    long countPending();
+    RequestCounts getCounts(LocalDateTime since);
+    RequestCounts getCounts(Long requesterId, LocalDateTime since);
+
+    // Drift repair
+    Map<String, Object> rebuild();
+
+    /**
+     * Pending counts every pending request; the others count requests created
+     * from the start of the day of {@code since}.
+     */
+    record RequestCounts(long pending, long approved, long rejected, long total) {
+    }
+}
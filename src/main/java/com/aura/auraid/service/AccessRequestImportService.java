@@ -0,0 +1,15 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.AccessRequestImportDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface AccessRequestImportService {
+    /**
+     * Checks the header of the CSV file and starts importing it in the background.
+     *
+     * @throws com.aura.auraid.exception.ImportFormatException if the file has no usable header
+     */
+    AccessRequestImportDTO startImport(MultipartFile file, Long importedBy);
+
+    AccessRequestImportDTO getImport(String importId);
+}
@@ -1,16 +1,22 @@
 package com.aura.auraid.service;
 
 import com.aura.auraid.dto.AccessRequestDTO;
+import com.aura.auraid.dto.BulkAccessRequestResultDTO;
 import com.aura.auraid.dto.PageResponseDTO;
 import com.aura.auraid.model.AccessRequestStatus;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface AccessRequestService {
     AccessRequestDTO createRequest(AccessRequestDTO requestDTO, Long requesterId);
     AccessRequestDTO approveRequest(Long id, String comment, Long approverId);
     AccessRequestDTO rejectRequest(Long id, String comment, Long approverId);
     AccessRequestDTO cancelRequest(Long id, Long requesterId);
     AccessRequestDTO getRequest(Long id);
+
+    // Bulk submission; each item is filed for its own requester
+    BulkAccessRequestResultDTO submitRequests(List<Submission> submissions);
     
     PageResponseDTO<AccessRequestDTO> getPendingRequests(Pageable pageable);
     PageResponseDTO<AccessRequestDTO> getRequestsByStatus(AccessRequestStatus status, Pageable pageable);
@@ -19,4 +25,10 @@ public interface AccessRequestService {
     
     long countPendingRequests();
     boolean canApproveRequest(Long userId, Long requestId);
+
+    /**
+     * One item of a bulk submission; {@code row} identifies it in the result.
+     */
+    record Submission(long row, Long requesterId, AccessRequestDTO request) {
+    }
 } 
\ No newline at end of file
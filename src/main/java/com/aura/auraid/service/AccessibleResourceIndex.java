@@ -0,0 +1,427 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceGrant;
+import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.repository.ResourceGrantRepository;
+import com.aura.auraid.repository.ResourceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Compressed bitmaps of resource ids for "resources I can access" listings.
+ *
+ * Each resource type has a bitmap of its resource ids, and each user has one
+ * bitmap per {@link PermissionType} holding the resources they created or were
+ * granted it on, directly or through a path grant in the {@link ResourcePathTrie}. A filtered listing is an intersection of two or three bitmaps
+ * followed by a fetch of one page of ids.
+ *
+ * The type bitmaps cover every resource and are built at startup and on a
+ * schedule, keyset-paged over resources and grants. User bitmaps live in a cache
+ * bounded by their size in bytes; the build warms it, and a user evicted from it
+ * is loaded again on the next listing. Changes made here are applied once their
+ * transaction commits; changes made on other instances show up after the user
+ * entry expires or the next rebuild. Time-boxed permissions leave the bitmaps
+ * when the expiry sweeper clears them. Entries are replaced rather than changed in
+ * place, so readers never need a lock. Until the first build finishes, or if a
+ * resource id ever exceeds the int range of the bitmaps, {@link #accessible}
+ * returns empty and callers query the database instead.
+ */
+@Slf4j
+@Component
+public class AccessibleResourceIndex {
+
+    private static final int BUILD_PAGE_SIZE = 10_000;
+    private static final int BUILD_ATTEMPTS = 3;
+    private static final int PERMISSIONS = PermissionType.values().length;
+
+    private final ResourceRepository resourceRepository;
+    private final ResourceGrantRepository grantRepository;
+    private final ResourcePathTrie pathTrie;
+    private final boolean enabled;
+    private final Cache<Long, UserAccess> users;
+
+    private final Object typeLock = new Object();
+    // Null until built; replaced, never changed in place
+    private volatile Map<ResourceType, RoaringBitmap> byType;
+    private volatile RoaringBitmap allResources;
+    private volatile boolean idOverflow;
+    private long resourceChanges;
+    private final AtomicLong userChanges = new AtomicLong();
+
+    public AccessibleResourceIndex(ResourceRepository resourceRepository,
+                                   ResourceGrantRepository grantRepository,
+                                   ResourcePathTrie pathTrie,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.authorization.index.enabled:true}") boolean enabled,
+                                   @Value("${app.authorization.index.max-bytes:67108864}") long maxBytes,
+                                   @Value("${app.authorization.cache.ttl:PT10M}") Duration ttl) {
+        this.resourceRepository = resourceRepository;
+        this.grantRepository = grantRepository;
+        this.pathTrie = pathTrie;
+        this.enabled = enabled;
+        this.users = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Long userId, UserAccess access) -> access.sizeInBytes())
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "accessibleResourceIndex");
+        Gauge.builder("authorization.index.user.bytes", users,
+                cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+            .description("Bytes held by the per-user bitmaps of the accessible resource index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("authorization.index.type.bytes", this, AccessibleResourceIndex::typeSizeInBytes)
+            .description("Bytes held by the per-type bitmaps of the accessible resource index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("authorization.index.resources", this, index -> index.allResources != null ? index.allResources.getCardinality() : 0)
+            .description("Resources in the accessible resource index")
+            .register(meterRegistry);
+        Gauge.builder("authorization.index.ready", this, index -> index.isReady() ? 1 : 0)
+            .description("Whether listings are answered from the accessible resource index")
+            .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return enabled && !idOverflow && byType != null;
+    }
+
+    /**
+     * Ids of the resources the user holds the permission on, optionally of one type,
+     * or empty when the index cannot answer. The bitmap is the caller's to keep.
+     */
+    public Optional<RoaringBitmap> accessible(Long userId, PermissionType permission, ResourceType type) {
+        Map<ResourceType, RoaringBitmap> types = byType;
+        RoaringBitmap all = allResources;
+        if (!isReady() || types == null || all == null) {
+            return Optional.empty();
+        }
+        RoaringBitmap scope = type != null ? types.getOrDefault(type, new RoaringBitmap()) : all;
+        UserAccess access = users.get(userId, this::load);
+        if (idOverflow) {
+            return Optional.empty();
+        }
+        // The type bitmaps are exact, so a deleted resource still in a stale user entry drops out here
+        return Optional.of(RoaringBitmap.and(access.permission(permission), scope));
+    }
+
+    public void resourceSavedAfterCommit(Long resourceId, ResourceType type, Long createdBy) {
+        afterCommit(() -> resourceSaved(resourceId, type, createdBy));
+    }
+
+    public void resourceDeletedAfterCommit(Long resourceId) {
+        afterCommit(() -> resourceDeleted(resourceId));
+    }
+
+    /**
+     * Re-reads the user's mask on the resource and updates their entry, if cached.
+     * Call once the change has committed; the read happens under the entry's lock,
+     * so updates to one user land in the order their reads saw the database.
+     */
+    public void grantChanged(Long userId, Long resourceId, IntSupplier currentMask) {
+        if (!enabled) {
+            return;
+        }
+        userChanges.incrementAndGet();
+        users.asMap().computeIfPresent(userId, (id, access) -> access.withMask(index(resourceId), currentMask.getAsInt()));
+    }
+
+    /**
+     * Drops the users' entries, for changes such as path grants that reach too many resources to patch.
+     */
+    public void usersChanged(Collection<Long> userIds) {
+        if (!enabled) {
+            return;
+        }
+        userChanges.incrementAndGet();
+        users.invalidateAll(userIds);
+    }
+
+    // Runs after the path trie's build, which it reads
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        for (int attempt = 1; attempt <= BUILD_ATTEMPTS; attempt++) {
+            if (tryBuild()) {
+                return;
+            }
+            log.debug("Resources changed while building the accessible resource index, attempt {}", attempt);
+        }
+        log.warn("Resources kept changing while building the accessible resource index; keeping the previous build");
+    }
+
+    @Scheduled(fixedDelayString = "${app.authorization.index.rebuild-millis:900000}",
+               initialDelayString = "${app.authorization.index.rebuild-millis:900000}")
+    public void rebuild() {
+        build();
+    }
+
+    private boolean tryBuild() {
+        long resourceGeneration;
+        synchronized (typeLock) {
+            resourceGeneration = resourceChanges;
+        }
+        long userGeneration = userChanges.get();
+        long started = System.currentTimeMillis();
+
+        Map<ResourceType, RoaringBitmap> types = new EnumMap<>(ResourceType.class);
+        RoaringBitmap all = new RoaringBitmap();
+        Map<Long, RoaringBitmap[]> access = new HashMap<>();
+        Pageable page = PageRequest.of(0, BUILD_PAGE_SIZE);
+
+        List<Object[]> rows = resourceRepository.findIndexRowsAfter(0L, page);
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                int id = index((Long) row[0]);
+                all.add(id);
+                types.computeIfAbsent((ResourceType) row[1], type -> new RoaringBitmap()).add(id);
+                if (row[2] != null) {
+                    addMask(access.computeIfAbsent((Long) row[2], user -> emptyBitmaps()), id, PermissionType.allMask());
+                }
+            }
+            if (rows.size() < BUILD_PAGE_SIZE) {
+                break;
+            }
+            rows = resourceRepository.findIndexRowsAfter((Long) rows.get(rows.size() - 1)[0], page);
+        }
+
+        rows = grantRepository.findIndexRowsAfter(0L, page);
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                addMask(access.computeIfAbsent((Long) row[1], user -> emptyBitmaps()), index((Long) row[2]), (Integer) row[3]);
+            }
+            if (rows.size() < BUILD_PAGE_SIZE) {
+                break;
+            }
+            rows = grantRepository.findIndexRowsAfter((Long) rows.get(rows.size() - 1)[0], page);
+        }
+        pathTrie.forEachGrant((userId, prefix, mask) -> {
+            RoaringBitmap[] bitmaps = access.computeIfAbsent(userId, user -> emptyBitmaps());
+            pathTrie.forEachResourceUnder(prefix, (resourceId, type) -> addMask(bitmaps, index(resourceId), mask));
+        });
+        if (idOverflow) {
+            log.warn("Resource ids exceed the int range; listings will query the database");
+            return true;
+        }
+
+        synchronized (typeLock) {
+            if (resourceChanges != resourceGeneration) {
+                return false;
+            }
+            types.values().forEach(RoaringBitmap::runOptimize);
+            all.runOptimize();
+            byType = types;
+            allResources = all;
+        }
+
+        access.forEach((userId, bitmaps) -> users.put(userId, new UserAccess(optimized(bitmaps))));
+        // A grant change read before the build finished may have been overwritten above
+        if (userChanges.get() != userGeneration) {
+            users.invalidateAll();
+        }
+        log.info("Built accessible resource index: {} resources, {} users in {} ms",
+            all.getCardinality(), access.size(), System.currentTimeMillis() - started);
+        return true;
+    }
+
+    private UserAccess load(Long userId) {
+        RoaringBitmap[] bitmaps = emptyBitmaps();
+        for (Long resourceId : resourceRepository.findIdsByCreatedBy(userId)) {
+            addMask(bitmaps, index(resourceId), PermissionType.allMask());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (ResourceGrant grant : grantRepository.findByUserId(userId)) {
+            addMask(bitmaps, index(grant.getResourceId()), grant.effectiveMask(now));
+        }
+        pathTrie.grantsOf(userId).forEach((prefix, mask) ->
+            pathTrie.forEachResourceUnder(prefix, (resourceId, type) -> addMask(bitmaps, index(resourceId), mask)));
+        return new UserAccess(optimized(bitmaps));
+    }
+
+    private void resourceSaved(Long resourceId, ResourceType type, Long createdBy) {
+        if (!enabled) {
+            return;
+        }
+        int id = index(resourceId);
+        synchronized (typeLock) {
+            resourceChanges++;
+            if (byType != null) {
+                Map<ResourceType, RoaringBitmap> types = new EnumMap<>(ResourceType.class);
+                byType.forEach((existing, ids) -> {
+                    if (existing != type && ids.contains(id)) {
+                        ids = ids.clone();
+                        ids.remove(id);
+                    }
+                    types.put(existing, ids);
+                });
+                types.compute(type, (key, ids) -> withId(ids, id));
+                allResources = withId(allResources, id);
+                byType = types;
+            }
+        }
+        if (createdBy != null) {
+            userChanges.incrementAndGet();
+            users.asMap().computeIfPresent(createdBy, (user, access) -> access.withMask(id, PermissionType.allMask()));
+        }
+    }
+
+    private void resourceDeleted(Long resourceId) {
+        if (!enabled) {
+            return;
+        }
+        int id = index(resourceId);
+        synchronized (typeLock) {
+            resourceChanges++;
+            if (byType != null) {
+                Map<ResourceType, RoaringBitmap> types = new EnumMap<>(ResourceType.class);
+                byType.forEach((type, ids) -> types.put(type, withoutId(ids, id)));
+                allResources = withoutId(allResources, id);
+                byType = types;
+            }
+        }
+        // Deletes are rare; user entries still holding the id are filtered by the type bitmaps anyway
+        userChanges.incrementAndGet();
+        for (Long userId : users.asMap().keySet()) {
+            users.asMap().computeIfPresent(userId, (user, access) -> access.withMask(id, 0));
+        }
+    }
+
+    private int index(Long resourceId) {
+        if (resourceId > Integer.MAX_VALUE) {
+            idOverflow = true;
+            return 0;
+        }
+        return resourceId.intValue();
+    }
+
+    private long typeSizeInBytes() {
+        Map<ResourceType, RoaringBitmap> types = byType;
+        RoaringBitmap all = allResources;
+        if (types == null || all == null) {
+            return 0;
+        }
+        return all.getLongSizeInBytes() + types.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum();
+    }
+
+    private static RoaringBitmap withId(RoaringBitmap ids, int id) {
+        if (ids != null && ids.contains(id)) {
+            return ids;
+        }
+        RoaringBitmap copy = ids != null ? ids.clone() : new RoaringBitmap();
+        copy.add(id);
+        return copy;
+    }
+
+    private static RoaringBitmap withoutId(RoaringBitmap ids, int id) {
+        if (!ids.contains(id)) {
+            return ids;
+        }
+        RoaringBitmap copy = ids.clone();
+        copy.remove(id);
+        return copy;
+    }
+
+    private static RoaringBitmap[] emptyBitmaps() {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[PERMISSIONS];
+        for (int i = 0; i < PERMISSIONS; i++) {
+            bitmaps[i] = new RoaringBitmap();
+        }
+        return bitmaps;
+    }
+
+    private static void addMask(RoaringBitmap[] bitmaps, int id, int mask) {
+        for (int i = 0; i < PERMISSIONS; i++) {
+            if ((mask & (1 << i)) != 0) {
+                bitmaps[i].add(id);
+            }
+        }
+    }
+
+    private static RoaringBitmap[] optimized(RoaringBitmap[] bitmaps) {
+        for (RoaringBitmap bitmap : bitmaps) {
+            bitmap.runOptimize();
+        }
+        return bitmaps;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * One user's bitmaps, indexed by permission ordinal. Never modified once built.
+     */
+    private record UserAccess(RoaringBitmap[] byPermission) {
+
+        RoaringBitmap permission(PermissionType permission) {
+            return byPermission[permission.ordinal()];
+        }
+
+        // Sets the resource's bits to exactly the mask, sharing the bitmaps that do not change
+        UserAccess withMask(int id, int mask) {
+            RoaringBitmap[] updated = null;
+            for (int i = 0; i < PERMISSIONS; i++) {
+                boolean granted = (mask & (1 << i)) != 0;
+                if (granted != byPermission[i].contains(id)) {
+                    if (updated == null) {
+                        updated = byPermission.clone();
+                    }
+                    updated[i] = updated[i].clone();
+                    if (granted) {
+                        updated[i].add(id);
+                    } else {
+                        updated[i].remove(id);
+                    }
+                }
+            }
+            return updated != null ? new UserAccess(updated) : this;
+        }
+
+        int sizeInBytes() {
+            long bytes = 64;
+            for (RoaringBitmap bitmap : byPermission) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return (int) Math.min(bytes, Integer.MAX_VALUE);
+        }
+    }
+}
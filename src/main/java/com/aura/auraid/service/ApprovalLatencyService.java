@@ -0,0 +1,20 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.LatencyStatsDTO;
+import com.aura.auraid.model.LatencyDimension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface ApprovalLatencyService {
+    // Recording, called inside the workflow transition's transaction; the sample counts once it commits
+    void record(LatencyDimension dimension, Long dimensionId, LocalDateTime start, LocalDateTime end);
+
+    // Reads, over the day buckets from since's day onwards
+    LatencyStatsDTO getStats(LatencyDimension dimension, Long dimensionId, LocalDateTime since);
+    List<LatencyStatsDTO> getSlowest(LatencyDimension dimension, LocalDateTime since, int limit);
+
+    // Persists samples recorded since the last flush
+    Map<String, Object> flush();
+}
@@ -2,12 +2,14 @@ package com.aura.auraid.service;
 
 import com.aura.auraid.dto.ApprovalWorkflowDTO;
 import com.aura.auraid.dto.ApprovalStepDTO;
+import com.aura.auraid.dto.BulkApprovalResultDTO;
 import com.aura.auraid.model.ApprovalActionType;
 import com.aura.auraid.model.WorkflowType;
 import org.springframework.data.domain.Pageable;
 import com.aura.auraid.dto.PageResponseDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ApprovalWorkflowService {
     // Workflow management
@@ -26,7 +28,11 @@ public interface ApprovalWorkflowService {
 
     // Workflow execution
     void processAccessRequest(Long accessRequestId);
+    // Returns the error of each request whose workflow could not be started
+    Map<Long, String> startWorkflows(List<Long> accessRequestIds);
     void handleApprovalAction(Long stepExecutionId, Long approverId, ApprovalActionType action, String comment);
+    BulkApprovalResultDTO handleBulkApprovalAction(List<Long> stepExecutionIds, Long approverId,
+                                                   ApprovalActionType action, String comment);
     boolean canUserApprove(Long userId, Long stepExecutionId);
     
     // Workflow assignment
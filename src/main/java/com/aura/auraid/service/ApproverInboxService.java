@@ -0,0 +1,28 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.ApproverInboxDTO;
+import com.aura.auraid.model.ApprovalStepExecution;
+import com.aura.auraid.model.PendingApproval;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface ApproverInboxService {
+    // Maintenance, called inside the workflow transition's transaction
+    void stepActivated(ApprovalStepExecution stepExecution, long[] approverIds);
+    void approverActed(Long stepExecutionId, Long approverId);
+    void stepClosed(Long stepExecutionId);
+    void requestClosed(Long accessRequestId);
+
+    // Reads
+    ApproverInboxDTO getInbox(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int size);
+    Page<PendingApproval> getPendingApprovals(Long userId, Pageable pageable);
+    long getUnreadCount(Long userId);
+    int markRead(Long userId, List<Long> pendingApprovalIds);
+
+    // Drift repair
+    Map<String, Object> rebuild();
+}
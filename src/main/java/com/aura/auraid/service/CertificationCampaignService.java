@@ -0,0 +1,25 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.CertificationCampaignDTO;
+import com.aura.auraid.dto.CertificationDecisionDTO;
+import com.aura.auraid.dto.CertificationItemDTO;
+import com.aura.auraid.dto.CursorPageDTO;
+import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.model.CertificationDecision;
+import org.springframework.data.domain.Pageable;
+
+
+public interface CertificationCampaignService {
+    // Creates the campaign and generates its review items in the background
+    CertificationCampaignDTO startCampaign(CertificationCampaignDTO campaignDTO, Long createdBy);
+    CertificationCampaignDTO getCampaign(Long id);
+    PageResponseDTO<CertificationCampaignDTO> getCampaigns(Pageable pageable);
+
+    // Reviewers
+    CursorPageDTO<CertificationItemDTO> getReviewerInbox(Long campaignId, Long reviewerId,
+                                                         CertificationDecision decision, Long afterId, int size);
+    int decide(Long campaignId, Long reviewerId, CertificationDecisionDTO decisionDTO);
+
+    // Stops reviews and applies the revocations in the background; also resumes a close that did not finish
+    CertificationCampaignDTO closeCampaign(Long id);
+}
@@ -0,0 +1,126 @@
+package com.aura.auraid.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revokes time-boxed permissions once they expire.
+ *
+ * Checks already stop allowing an expired permission by comparing its cached
+ * expiry with the clock, so sweeping is housekeeping: it clears the permission
+ * from the table and the accessible resource index and tells the user. Due
+ * grants are found through the partial index on {@code expires_at} and cleared
+ * in batches, one transaction each. Grants handed out together tend to expire
+ * together, so work is spread out: each instance starts at a random point of
+ * the interval, batches skip rows another instance has locked, there is a
+ * pause between batches, and a run stops after {@code max-batches}, leaving
+ * the rest of a backlog to the next runs.
+ */
+@Slf4j
+@Component
+public class GrantExpirySweeper {
+
+    private final ResourceGrantService grantService;
+    private final NotificationService notificationService;
+    private final Counter expiredGrants;
+    private final boolean enabled;
+    private final long sweepMillis;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long batchPauseMillis;
+    private final ScheduledExecutorService sweeper;
+
+    public GrantExpirySweeper(ResourceGrantService grantService,
+                              NotificationService notificationService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.grants.expiry.enabled:true}") boolean enabled,
+                              @Value("${app.grants.expiry.sweep-millis:60000}") long sweepMillis,
+                              @Value("${app.grants.expiry.batch-size:500}") int batchSize,
+                              @Value("${app.grants.expiry.max-batches:20}") int maxBatches,
+                              @Value("${app.grants.expiry.batch-pause-millis:200}") long batchPauseMillis) {
+        this.grantService = grantService;
+        this.notificationService = notificationService;
+        this.enabled = enabled;
+        this.sweepMillis = sweepMillis;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPauseMillis = batchPauseMillis;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grant-expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.expiredGrants = Counter.builder("authorization.grants.expired")
+            .description("Time-boxed grants cleared by the expiry sweeper")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        long initialDelay = ThreadLocalRandom.current().nextLong(sweepMillis);
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, initialDelay, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the number of grants cleared
+     */
+    public int sweep() throws InterruptedException {
+        int swept = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            if (batch > 0 && batchPauseMillis > 0) {
+                Thread.sleep(batchPauseMillis);
+            }
+            List<ResourceGrantService.ExpiredGrant> expired = grantService.expireDueGrants(batchSize);
+            expired.forEach(this::notifyUser);
+            swept += expired.size();
+            expiredGrants.increment(expired.size());
+            if (expired.size() < batchSize) {
+                return swept;
+            }
+        }
+        log.info("Grant expiry backlog remains after {} grants; continuing next run", swept);
+        return swept;
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweepQuietly() {
+        try {
+            int swept = sweep();
+            if (swept > 0) {
+                log.debug("Cleared {} expired grants", swept);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Grant expiry sweep failed", e);
+        }
+    }
+
+    // The grant is already cleared; a failed notification must not hold up the rest of the batch
+    private void notifyUser(ResourceGrantService.ExpiredGrant grant) {
+        try {
+            notificationService.notifyPermissionExpired(grant.userId(), grant.resourceId(), grant.permissionMask());
+        } catch (RuntimeException e) {
+            log.warn("Could not notify user {} of expired access to resource {}", grant.userId(), grant.resourceId(), e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.aura.auraid.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical hashed timing wheel.
+ *
+ * Level 0 has {@code wheelSize} slots of {@code tickMillis}; each level above has
+ * slots {@code wheelSize} times wider. A deadline goes into the lowest level whose
+ * span reaches it, and is moved down a level when its slot on the higher level
+ * comes up. Add and cancel are O(1) (a doubly linked slot list per bucket); each
+ * tick costs one bucket plus the occasional cascade. Levels are added on demand,
+ * so any deadline fits.
+ *
+ * Deadlines fire on the first tick at or after them, so up to one tick late and
+ * never early. Not thread-safe on its own; callers serialize access.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Bucket<T>[]> levels = new ArrayList<>();
+    private final List<Long> levelTicks = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        addLevel();
+    }
+
+    /**
+     * @return the timeout handle, or null if the deadline has already passed and
+     *         the caller should fire it now
+     */
+    public Timeout<T> schedule(long deadlineMillis, T payload) {
+        if (deadlineMillis < currentTime) {
+            return null;
+        }
+        Timeout<T> timeout = new Timeout<>(this, deadlineMillis, payload);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMillis}, handing every deadline that
+     * passed to {@code expired}.
+     */
+    public void advanceTo(long nowMillis, Consumer<T> expired) {
+        while (currentTime + tickMillis <= nowMillis) {
+            // Everything in the slot that just ended is due
+            Bucket<T> due = levels.get(0)[slot(currentTime, 0)];
+            currentTime += tickMillis;
+            for (Timeout<T> timeout = due.drain(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                size--;
+                expired.accept(timeout.payload);
+                timeout = next;
+            }
+            cascade();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    private void cascade() {
+        for (int level = 1; level < levels.size(); level++) {
+            long levelTick = levelTicks.get(level);
+            if (currentTime % levelTick != 0) {
+                return;
+            }
+            // The slot starting now on this level holds deadlines for the next levelTick; spread them lower
+            Bucket<T> starting = levels.get(level)[slot(currentTime, level)];
+            for (Timeout<T> timeout = starting.drain(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        int level = 0;
+        while (true) {
+            if (level == levels.size()) {
+                addLevel();
+            }
+            long levelTick = levelTicks.get(level);
+            if (Math.floorDiv(timeout.deadline, levelTick) - Math.floorDiv(currentTime, levelTick) < wheelSize) {
+                break;
+            }
+            level++;
+        }
+        // Deadlines already inside the current level-0 slot land in it and fire at the next tick
+        long deadline = Math.max(timeout.deadline, currentTime);
+        levels.get(level)[slot(deadline, level)].add(timeout);
+    }
+
+    private int slot(long time, int level) {
+        return (int) Math.floorMod(Math.floorDiv(time, levelTicks.get(level)), (long) wheelSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        long levelTick = levelTicks.isEmpty()
+            ? tickMillis
+            : Math.multiplyExact(levelTicks.get(levelTicks.size() - 1), (long) wheelSize);
+        Bucket<T>[] buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        levels.add(buckets);
+        levelTicks.add(levelTick);
+    }
+
+    public static final class Timeout<T> {
+        private final HierarchicalTimingWheel<T> wheel;
+        private final long deadline;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, long deadline, T payload) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        /**
+         * @return true if the timeout was pending and will no longer fire
+         */
+        public boolean cancel() {
+            if (bucket == null) {
+                return false;
+            }
+            bucket.remove(this);
+            wheel.size--;
+            return true;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Detaches the whole list; the returned chain is linked through {@code next}.
+         */
+        Timeout<T> drain() {
+            Timeout<T> chain = head;
+            head = null;
+            for (Timeout<T> timeout = chain; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+                timeout.prev = null;
+            }
+            return chain;
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.aura.auraid.service;
 
+import com.aura.auraid.dto.CursorPageDTO;
 import com.aura.auraid.dto.NotificationDTO;
-import com.aura.auraid.dto.PageResponseDTO;
 import com.aura.auraid.model.NotificationType;
-import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
 
 public interface NotificationService {
     NotificationDTO createNotification(Long userId, String title, String message, 
@@ -12,8 +13,11 @@ public interface NotificationService {
     void markAsRead(Long notificationId);
     void markAllAsRead(Long userId);
     
-    PageResponseDTO<NotificationDTO> getUserNotifications(Long userId, Pageable pageable);
-    PageResponseDTO<NotificationDTO> getUnreadNotifications(Long userId, Pageable pageable);
+    // Keyset pages, newest first; pass the previous page's nextCursor to continue
+    CursorPageDTO<NotificationDTO> getUserNotifications(Long userId, LocalDateTime beforeCreatedAt, Long beforeId,
+                                                        int size);
+    CursorPageDTO<NotificationDTO> getUnreadNotifications(Long userId, LocalDateTime beforeCreatedAt, Long beforeId,
+                                                          int size);
     
     long countUnreadNotifications(Long userId);
     
@@ -21,4 +25,5 @@ public interface NotificationService {
     void notifyAccessRequestSubmitted(Long requestId, Long requesterId, Long resourceId);
     void notifyAccessRequestApproved(Long requestId, Long requesterId, Long approverId);
     void notifyAccessRequestRejected(Long requestId, Long requesterId, Long approverId);
+    void notifyPermissionExpired(Long userId, Long resourceId, int permissionMask);
 } 
\ No newline at end of file
@@ -0,0 +1,229 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.exception.DuplicateResourceException;
+import com.aura.auraid.exception.ResourceNotFoundException;
+import com.aura.auraid.metrics.JfrHotspotAggregator;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs on-demand JDK Flight Recorder sessions and aggregates them into hot-spot reports.
+ *
+ * Recordings are bounded in duration and size, only a few may run at once, and
+ * only the most recent ones (report plus .jfr file) are retained.
+ */
+@Service
+public class ProfilingService {
+    private static final Logger log = LoggerFactory.getLogger(ProfilingService.class);
+
+    public static final Set<String> PROFILES = Set.of("default", "profile");
+    private static final long MAX_RECORDING_BYTES = 64L * 1024 * 1024;
+    private static final Duration LOCK_THRESHOLD = Duration.ofMillis(10);
+
+    private final int maxDurationSeconds;
+    private final int retainedRecordings;
+    private final Semaphore recordingSlots;
+    private final Map<String, ProfilingRecording> recordings = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService stopExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-profiling");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProfilingService(
+            @Value("${app.profiling.max-concurrent-recordings:1}") int maxConcurrentRecordings,
+            @Value("${app.profiling.max-duration-seconds:300}") int maxDurationSeconds,
+            @Value("${app.profiling.retained-recordings:5}") int retainedRecordings) {
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.retainedRecordings = retainedRecordings;
+        this.recordingSlots = new Semaphore(maxConcurrentRecordings);
+    }
+
+    public Map<String, Object> startRecording(int durationSeconds, String profile, int topN) {
+        if (!PROFILES.contains(profile)) {
+            throw new IllegalArgumentException("Unknown JFR settings profile: " + profile);
+        }
+        int duration = Math.max(1, Math.min(durationSeconds, maxDurationSeconds));
+        if (!recordingSlots.tryAcquire()) {
+            throw new DuplicateResourceException("Maximum number of concurrent recordings is already running");
+        }
+
+        ProfilingRecording recording = new ProfilingRecording(UUID.randomUUID().toString(), profile, duration, topN);
+        try {
+            recording.jfrFile = Files.createTempFile("auraid-profile-", ".jfr");
+            recording.stream = openStream(profile, duration, recording.aggregator);
+            recording.stream.startAsync();
+        } catch (Exception e) {
+            if (recording.stream != null) {
+                recording.stream.close();
+            }
+            deleteQuietly(recording.jfrFile);
+            recordingSlots.release();
+            throw new IllegalStateException("Unable to start JFR recording: " + e.getMessage(), e);
+        }
+
+        recordings.put(recording.id, recording);
+        stopExecutor.schedule(() -> finish(recording), duration, TimeUnit.SECONDS);
+        evictOldRecordings();
+
+        log.info("Started JFR recording {} ({} profile, {}s)", recording.id, profile, duration);
+        return recording.describe(false);
+    }
+
+    public List<Map<String, Object>> getRecordings() {
+        return recordings.values().stream()
+            .sorted(Comparator.comparing((ProfilingRecording r) -> r.startedAt).reversed())
+            .map(recording -> recording.describe(false))
+            .toList();
+    }
+
+    public Map<String, Object> getRecording(String id) {
+        return findRecording(id).describe(true);
+    }
+
+    public Path getRecordingFile(String id) {
+        ProfilingRecording recording = findRecording(id);
+        if (recording.status != RecordingStatus.COMPLETED) {
+            throw new IllegalStateException("Recording " + id + " is " + recording.status);
+        }
+        return recording.jfrFile;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopExecutor.shutdownNow();
+        for (ProfilingRecording recording : recordings.values()) {
+            if (recording.stream != null) {
+                recording.stream.close();
+            }
+            deleteQuietly(recording.jfrFile);
+        }
+    }
+
+    private RecordingStream openStream(String profile, int duration, JfrHotspotAggregator aggregator)
+            throws IOException, java.text.ParseException {
+        RecordingStream stream = new RecordingStream(Configuration.getConfiguration(profile));
+        stream.setMaxAge(Duration.ofSeconds(duration).plusMinutes(1));
+        stream.setMaxSize(MAX_RECORDING_BYTES);
+
+        // The settings profile controls sampling rates; make sure the events we aggregate are on
+        stream.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis("profile".equals(profile) ? 10 : 20));
+        stream.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+        stream.enable("jdk.JavaMonitorEnter").withThreshold(LOCK_THRESHOLD).withStackTrace();
+        stream.enable("jdk.ThreadPark").withThreshold(LOCK_THRESHOLD).withStackTrace();
+        stream.enable("jdk.GarbageCollection");
+
+        stream.onEvent("jdk.ExecutionSample", aggregator::onExecutionSample);
+        stream.onEvent("jdk.ObjectAllocationSample", aggregator::onAllocationSample);
+        stream.onEvent("jdk.JavaMonitorEnter", event -> aggregator.onLockEvent(event, "monitorClass"));
+        stream.onEvent("jdk.ThreadPark", event -> aggregator.onLockEvent(event, "parkedClass"));
+        stream.onEvent("jdk.GarbageCollection", aggregator::onGarbageCollection);
+        return stream;
+    }
+
+    private void finish(ProfilingRecording recording) {
+        try {
+            recording.stream.dump(recording.jfrFile);
+            recording.stream.close();
+            recording.report = recording.aggregator.report(recording.topN);
+            recording.status = RecordingStatus.COMPLETED;
+            log.info("Completed JFR recording {}", recording.id);
+        } catch (Exception e) {
+            recording.stream.close();
+            recording.error = e.getMessage();
+            recording.status = RecordingStatus.FAILED;
+            log.error("JFR recording {} failed: {}", recording.id, e.getMessage(), e);
+        } finally {
+            recording.completedAt = LocalDateTime.now();
+            recordingSlots.release();
+        }
+    }
+
+    private void evictOldRecordings() {
+        List<ProfilingRecording> finished = recordings.values().stream()
+            .filter(recording -> recording.status != RecordingStatus.RUNNING)
+            .sorted(Comparator.comparing((ProfilingRecording r) -> r.startedAt).reversed())
+            .toList();
+        for (ProfilingRecording recording : finished.subList(Math.min(retainedRecordings, finished.size()), finished.size())) {
+            recordings.remove(recording.id);
+            deleteQuietly(recording.jfrFile);
+        }
+    }
+
+    private ProfilingRecording findRecording(String id) {
+        ProfilingRecording recording = recordings.get(id);
+        if (recording == null) {
+            throw new ResourceNotFoundException("Recording not found: " + id);
+        }
+        return recording;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete JFR file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private enum RecordingStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private static final class ProfilingRecording {
+        private final String id;
+        private final String profile;
+        private final int durationSeconds;
+        private final int topN;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final JfrHotspotAggregator aggregator = new JfrHotspotAggregator();
+        private RecordingStream stream;
+        private Path jfrFile;
+        private volatile RecordingStatus status = RecordingStatus.RUNNING;
+        private volatile LocalDateTime completedAt;
+        private volatile Map<String, Object> report;
+        private volatile String error;
+
+        private ProfilingRecording(String id, String profile, int durationSeconds, int topN) {
+            this.id = id;
+            this.profile = profile;
+            this.durationSeconds = durationSeconds;
+            this.topN = topN;
+        }
+
+        private Map<String, Object> describe(boolean includeReport) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("id", id);
+            result.put("profile", profile);
+            result.put("durationSeconds", durationSeconds);
+            result.put("status", status.name());
+            result.put("startedAt", startedAt);
+            if (completedAt != null) {
+                result.put("completedAt", completedAt);
+            }
+            if (error != null) {
+                result.put("error", error);
+            }
+            if (includeReport && report != null) {
+                result.put("report", report);
+            }
+            return result;
+        }
+    }
+}
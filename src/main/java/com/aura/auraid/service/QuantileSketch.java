@@ -0,0 +1,235 @@
+package com.aura.auraid.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Mergeable quantile sketch (a merging t-digest).
+ *
+ * Values are summarized as weighted centroids that are kept small near the
+ * tails and allowed to grow in the middle, so p99 stays accurate while the
+ * sketch holds at most about {@code compression} centroids no matter how many
+ * values went in. Two sketches merge into one that answers as if it had seen
+ * both streams, which is what lets per-day sketches be combined at read time.
+ *
+ * Not thread-safe; callers serialize access.
+ */
+public final class QuantileSketch {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+    private double totalWeight;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public QuantileSketch(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("compression must be at least 10");
+        }
+        this.compression = compression;
+        this.means = new double[(int) Math.ceil(compression) + 1];
+        this.weights = new double[means.length];
+        this.bufferMeans = new double[(int) (5 * compression)];
+        this.bufferWeights = new double[bufferMeans.length];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, double weight) {
+        if (Double.isNaN(value) || weight <= 0) {
+            return;
+        }
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        sum += value * weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(QuantileSketch other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            if (buffered == bufferMeans.length) {
+                compress();
+            }
+            bufferMeans[buffered] = other.means[i];
+            bufferWeights[buffered] = other.weights[i];
+            buffered++;
+        }
+        totalWeight += other.totalWeight;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return Math.round(totalWeight);
+    }
+
+    public double mean() {
+        return totalWeight == 0 ? Double.NaN : sum / totalWeight;
+    }
+
+    public double min() {
+        return totalWeight == 0 ? Double.NaN : min;
+    }
+
+    public double max() {
+        return totalWeight == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * @param q quantile between 0 and 1
+     * @return the estimated value at {@code q}, or NaN if the sketch is empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be between 0 and 1");
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+
+        // Centroid i covers the weight around its centre; interpolate between neighbouring centres
+        double index = q * totalWeight;
+        double firstHalf = weights[0] / 2;
+        if (index < firstHalf) {
+            return min + (means[0] - min) * (index / firstHalf);
+        }
+        double weightSoFar = firstHalf;
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (weightSoFar + step > index) {
+                double left = index - weightSoFar;
+                return means[i] + (means[i + 1] - means[i]) * (left / step);
+            }
+            weightSoFar += step;
+        }
+        double lastHalf = weights[centroids - 1] / 2;
+        double left = Math.min(index - weightSoFar, lastHalf);
+        return means[centroids - 1] + (max - means[centroids - 1]) * (left / lastHalf);
+    }
+
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 5 + 4 + centroids * 16);
+        buffer.putDouble(compression);
+        buffer.putDouble(totalWeight);
+        buffer.putDouble(sum);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        buffer.putInt(centroids);
+        for (int i = 0; i < centroids; i++) {
+            buffer.putDouble(means[i]);
+            buffer.putDouble(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        QuantileSketch sketch = new QuantileSketch(buffer.getDouble());
+        sketch.totalWeight = buffer.getDouble();
+        sketch.sum = buffer.getDouble();
+        sketch.min = buffer.getDouble();
+        sketch.max = buffer.getDouble();
+        int centroids = buffer.getInt();
+        sketch.ensureCapacity(centroids);
+        for (int i = 0; i < centroids; i++) {
+            sketch.means[i] = buffer.getDouble();
+            sketch.weights[i] = buffer.getDouble();
+        }
+        sketch.centroids = centroids;
+        return sketch;
+    }
+
+    /**
+     * Folds the buffer into the centroids: sort everything by mean, then merge
+     * neighbours for as long as the merged centroid stays within one unit of
+     * the scale function, which is steep at the tails and flat in the middle.
+     */
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = centroids + buffered;
+        double[][] all = new double[n][];
+        for (int i = 0; i < centroids; i++) {
+            all[i] = new double[] {means[i], weights[i]};
+        }
+        for (int i = 0; i < buffered; i++) {
+            all[centroids + i] = new double[] {bufferMeans[i], bufferWeights[i]};
+        }
+        Arrays.sort(all, Comparator.comparingDouble(centroid -> centroid[0]));
+
+        double total = 0;
+        for (double[] centroid : all) {
+            total += centroid[1];
+        }
+
+        int out = 0;
+        double[] mergedMeans = new double[n];
+        double[] mergedWeights = new double[n];
+        double currentMean = all[0][0];
+        double currentWeight = all[0][1];
+        double weightBefore = 0;
+        for (int i = 1; i < n; i++) {
+            double proposed = currentWeight + all[i][1];
+            if (scale((weightBefore + proposed) / total) - scale(weightBefore / total) <= 1) {
+                currentMean += (all[i][0] - currentMean) * all[i][1] / proposed;
+                currentWeight = proposed;
+            } else {
+                mergedMeans[out] = currentMean;
+                mergedWeights[out] = currentWeight;
+                out++;
+                weightBefore += currentWeight;
+                currentMean = all[i][0];
+                currentWeight = all[i][1];
+            }
+        }
+        mergedMeans[out] = currentMean;
+        mergedWeights[out] = currentWeight;
+        out++;
+
+        ensureCapacity(out);
+        System.arraycopy(mergedMeans, 0, means, 0, out);
+        System.arraycopy(mergedWeights, 0, weights, 0, out);
+        centroids = out;
+        buffered = 0;
+    }
+
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+    }
+
+    private void ensureCapacity(int size) {
+        if (means.length < size) {
+            means = Arrays.copyOf(means, size);
+            weights = Arrays.copyOf(weights, size);
+        }
+    }
+}
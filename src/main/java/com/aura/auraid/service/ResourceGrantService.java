@@ -0,0 +1,39 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ResourceGrantService {
+    // Checks, answered from the decision cache
+    boolean hasPermission(Long userId, Long resourceId, PermissionType permission);
+    int getPermissionMask(Long userId, Long resourceId);
+    Map<Long, Integer> getPermissionMasks(Long userId, Collection<Long> resourceIds);
+    // Only resources the user holds at least one permission on
+    Map<Long, Integer> getPermissionMasksForType(Long userId, ResourceType type);
+
+    // Maintenance, joins the caller's transaction; cached decisions are dropped once it commits
+    void grant(Long userId, Long resourceId, PermissionType permission, Long accessRequestId);
+    // Time-boxed when expiresAt is set; checks stop allowing it at expiresAt, before it is swept
+    void grant(Long userId, Long resourceId, PermissionType permission, Long accessRequestId, LocalDateTime expiresAt);
+    void revoke(Long userId, Long resourceId, PermissionType permission);
+    // Many grants at once, as JDBC batches
+    void revokeAll(List<Revocation> revocations);
+    void grantPath(Long userId, String pathPrefix, PermissionType permission);
+    void revokePath(Long userId, String pathPrefix, PermissionType permission);
+    void resourceSaved(Long resourceId, String path, ResourceType type);
+    void resourceDeleted(Long resourceId);
+
+    // Clears up to limit grants past their expiry in one transaction, skipping rows locked by another sweeper
+    List<ExpiredGrant> expireDueGrants(int limit);
+
+    record Revocation(Long userId, Long resourceId, int permissionMask) {
+    }
+
+    record ExpiredGrant(Long userId, Long resourceId, int permissionMask, Long accessRequestId) {
+    }
+}
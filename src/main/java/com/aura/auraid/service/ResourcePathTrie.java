@@ -0,0 +1,417 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.repository.PathGrantRepository;
+import com.aura.auraid.repository.ResourceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Resource paths held as a trie of path segments, with path grants attached to
+ * the nodes they name.
+ *
+ * A grant on {@code /prod/db} sits on the {@code db} node and covers every
+ * resource at or below it; matching is by whole segment, so it does not cover
+ * {@code /prod/dbx}. Each resource points at its node, so a check walks from
+ * there to the root and ORs the masks the user holds on the way: at most
+ * path-depth map lookups, and no string handling.
+ *
+ * Built at startup (before the other indexes, which read it) and on a schedule,
+ * keyset-paged over resources and path grants; changes made here are applied as
+ * they commit, changes made on other instances at the next rebuild. Reads share
+ * a read lock; changes are rare and take the write lock.
+ */
+@Slf4j
+@Component
+public class ResourcePathTrie {
+
+    private static final int BUILD_PAGE_SIZE = 10_000;
+    private static final int BUILD_ATTEMPTS = 3;
+
+    private final ResourceRepository resourceRepository;
+    private final PathGrantRepository pathGrantRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Orders re-reads of a grant with applying them, without holding the write lock across the query
+    private final Object grantRefreshLock = new Object();
+    private State state = new State();
+    private long changes;
+    private volatile boolean ready;
+
+    public ResourcePathTrie(ResourceRepository resourceRepository, PathGrantRepository pathGrantRepository) {
+        this.resourceRepository = resourceRepository;
+        this.pathGrantRepository = pathGrantRepository;
+    }
+
+    /**
+     * {@code /a/b} for any of {@code a/b}, {@code /a//b/} or {@code /a/b/}; {@code /} for the root.
+     */
+    public static String normalize(String path) {
+        return "/" + String.join("/", segments(path));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Permissions the user holds on the resource through path grants; 0 for a resource not in the trie.
+     */
+    public int maskFor(long userId, long resourceId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = state.resources.get(resourceId);
+            if (entry == null) {
+                return 0;
+            }
+            int mask = 0;
+            for (Node node = entry.node(); node != null; node = node.parent) {
+                if (node.grants != null) {
+                    mask |= node.grants.getOrDefault(userId, 0);
+                }
+            }
+            return mask;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Places a new resource or moves it to a new path.
+     *
+     * @return the users whose path grants cover its old or new node, whose
+     *         permissions on it may have changed; empty if it did not move
+     */
+    public Set<Long> put(long resourceId, String path, ResourceType type) {
+        lock.writeLock().lock();
+        try {
+            changes++;
+            Entry previous = state.resources.get(resourceId);
+            Node target = state.nodeFor(segments(path), true);
+            if (previous != null && previous.node() == target) {
+                state.resources.put(resourceId, new Entry(target, type));
+                return Set.of();
+            }
+
+            // Added to the target first, so pruning the old node cannot take an ancestor target with it
+            Set<Long> affected = new HashSet<>();
+            target.addResource(resourceId);
+            state.resources.put(resourceId, new Entry(target, type));
+            collectGrantees(target, affected);
+            if (previous != null) {
+                collectGrantees(previous.node(), affected);
+                previous.node().resources.remove(resourceId);
+                prune(previous.node());
+            }
+            return affected;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the users whose path grants covered the resource
+     */
+    public Set<Long> remove(long resourceId) {
+        lock.writeLock().lock();
+        try {
+            changes++;
+            Entry previous = state.resources.remove(resourceId);
+            if (previous == null) {
+                return Set.of();
+            }
+            Set<Long> affected = new HashSet<>();
+            collectGrantees(previous.node(), affected);
+            previous.node().resources.remove(resourceId);
+            prune(previous.node());
+            return affected;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the user's mask on the prefix exactly; 0 removes the grant.
+     */
+    public void setGrant(long userId, String pathPrefix, int mask) {
+        lock.writeLock().lock();
+        try {
+            changes++;
+            state.setGrant(userId, segments(pathPrefix), mask);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads a grant that has just changed and applies it. Refreshes of grants
+     * are applied in the order they read the database, so a slow refresh cannot
+     * overwrite a newer one.
+     */
+    public void refreshGrant(long userId, String pathPrefix, IntSupplier currentMask) {
+        synchronized (grantRefreshLock) {
+            setGrant(userId, pathPrefix, currentMask.getAsInt());
+        }
+    }
+
+    /**
+     * Path grants the user holds, by normalized prefix.
+     */
+    public Map<String, Integer> grantsOf(long userId) {
+        lock.readLock().lock();
+        try {
+            return new HashMap<>(state.grantsByUser.getOrDefault(userId, Map.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void forEachGrant(GrantConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            state.grantsByUser.forEach((userId, grants) ->
+                grants.forEach((prefix, mask) -> consumer.accept(userId, prefix, mask)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calls back with every resource at or below the prefix, under the read lock.
+     */
+    public void forEachResourceUnder(String pathPrefix, BiConsumer<Long, ResourceType> consumer) {
+        lock.readLock().lock();
+        try {
+            Node start = state.nodeFor(segments(pathPrefix), false);
+            if (start == null) {
+                return;
+            }
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(start);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                if (node.resources != null) {
+                    for (Long resourceId : node.resources) {
+                        consumer.accept(resourceId, state.resources.get(resourceId).type());
+                    }
+                }
+                if (node.children != null) {
+                    node.children.values().forEach(pending::push);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        for (int attempt = 1; attempt <= BUILD_ATTEMPTS; attempt++) {
+            if (tryBuild()) {
+                ready = true;
+                return;
+            }
+            log.debug("Paths changed while building the resource path trie, attempt {}", attempt);
+        }
+        log.warn("Paths kept changing while building the resource path trie; keeping the previous build");
+    }
+
+    @Scheduled(fixedDelayString = "${app.authorization.index.rebuild-millis:900000}",
+               initialDelayString = "${app.authorization.index.rebuild-millis:900000}")
+    public void rebuild() {
+        build();
+    }
+
+    private boolean tryBuild() {
+        long generation;
+        lock.readLock().lock();
+        try {
+            generation = changes;
+        } finally {
+            lock.readLock().unlock();
+        }
+        long started = System.currentTimeMillis();
+
+        State built = new State();
+        Pageable page = PageRequest.of(0, BUILD_PAGE_SIZE);
+        List<Object[]> rows = resourceRepository.findPathRowsAfter(0L, page);
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                Node node = built.nodeFor(segments((String) row[1]), true);
+                node.addResource((Long) row[0]);
+                built.resources.put((Long) row[0], new Entry(node, (ResourceType) row[2]));
+            }
+            if (rows.size() < BUILD_PAGE_SIZE) {
+                break;
+            }
+            rows = resourceRepository.findPathRowsAfter((Long) rows.get(rows.size() - 1)[0], page);
+        }
+
+        int grants = 0;
+        rows = pathGrantRepository.findTrieRowsAfter(0L, page);
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                built.setGrant((Long) row[1], segments((String) row[2]), (Integer) row[3]);
+            }
+            grants += rows.size();
+            if (rows.size() < BUILD_PAGE_SIZE) {
+                break;
+            }
+            rows = pathGrantRepository.findTrieRowsAfter((Long) rows.get(rows.size() - 1)[0], page);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (changes != generation) {
+                return false;
+            }
+            state = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built resource path trie: {} resources, {} path grants in {} ms",
+            built.resources.size(), grants, System.currentTimeMillis() - started);
+        return true;
+    }
+
+    private static void collectGrantees(Node node, Set<Long> users) {
+        for (; node != null; node = node.parent) {
+            if (node.grants != null) {
+                users.addAll(node.grants.keySet());
+            }
+        }
+    }
+
+    // Drops nodes left with nothing on them or below them
+    private static void prune(Node node) {
+        while (node.parent != null && node.isEmpty()) {
+            node.parent.children.remove(node.segment);
+            if (node.parent.children.isEmpty()) {
+                node.parent.children = null;
+            }
+            node = node.parent;
+        }
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        if (path == null) {
+            return segments;
+        }
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    @FunctionalInterface
+    public interface GrantConsumer {
+        void accept(long userId, String pathPrefix, int mask);
+    }
+
+    private record Entry(Node node, ResourceType type) {
+    }
+
+    private static class State {
+        final Node root = new Node(null, "");
+        final Map<Long, Entry> resources = new HashMap<>();
+        final Map<Long, Map<String, Integer>> grantsByUser = new HashMap<>();
+
+        Node nodeFor(List<String> segments, boolean create) {
+            Node node = root;
+            for (String segment : segments) {
+                Node child = node.children != null ? node.children.get(segment) : null;
+                if (child == null) {
+                    if (!create) {
+                        return null;
+                    }
+                    child = new Node(node, segment);
+                    if (node.children == null) {
+                        node.children = new HashMap<>(4);
+                    }
+                    node.children.put(segment, child);
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        void setGrant(long userId, List<String> segments, int mask) {
+            String prefix = "/" + String.join("/", segments);
+            if (mask == 0) {
+                Node node = nodeFor(segments, false);
+                if (node != null && node.grants != null) {
+                    node.grants.remove(userId);
+                    if (node.grants.isEmpty()) {
+                        node.grants = null;
+                    }
+                    prune(node);
+                }
+                Map<String, Integer> grants = grantsByUser.get(userId);
+                if (grants != null) {
+                    grants.remove(prefix);
+                    if (grants.isEmpty()) {
+                        grantsByUser.remove(userId);
+                    }
+                }
+                return;
+            }
+            Node node = nodeFor(segments, true);
+            if (node.grants == null) {
+                node.grants = new HashMap<>(4);
+            }
+            node.grants.put(userId, mask);
+            grantsByUser.computeIfAbsent(userId, id -> new HashMap<>()).put(prefix, mask);
+        }
+    }
+
+    private static class Node {
+        final Node parent;
+        final String segment;
+        // Created on first use; most nodes are leaves with one resource and no grants
+        Map<String, Node> children;
+        Map<Long, Integer> grants;
+        Set<Long> resources;
+
+        Node(Node parent, String segment) {
+            this.parent = parent;
+            this.segment = segment;
+        }
+
+        void addResource(long resourceId) {
+            if (resources == null) {
+                resources = new HashSet<>(2);
+            }
+            resources.add(resourceId);
+        }
+
+        boolean isEmpty() {
+            return (children == null || children.isEmpty())
+                && (grants == null || grants.isEmpty())
+                && (resources == null || resources.isEmpty());
+        }
+    }
+}
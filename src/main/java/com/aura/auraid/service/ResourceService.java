@@ -1,7 +1,10 @@
 package com.aura.auraid.service;
 
+import com.aura.auraid.dto.BatchAccessCheckRequestDTO;
+import com.aura.auraid.dto.BatchAccessCheckResultDTO;
 import com.aura.auraid.dto.ResourceDTO;
 import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.model.PermissionType;
 import com.aura.auraid.model.ResourceType;
 import org.springframework.data.domain.Pageable;
 
@@ -15,5 +18,7 @@ public interface ResourceService {
     PageResponseDTO<ResourceDTO> getAllResources(Pageable pageable);
     List<ResourceDTO> getResourcesByType(ResourceType type);
     List<ResourceDTO> getResourcesByCreator(Long createdBy);
+    PageResponseDTO<ResourceDTO> getAccessibleResources(Long userId, PermissionType permission, ResourceType type, Pageable pageable);
     boolean hasAccess(Long userId, Long resourceId, String permissionName);
+    BatchAccessCheckResultDTO checkAccess(Long userId, BatchAccessCheckRequestDTO request);
 } 
\ No newline at end of file
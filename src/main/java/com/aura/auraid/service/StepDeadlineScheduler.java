@@ -0,0 +1,201 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.event.StepDeadlineEvent;
+import com.aura.auraid.repository.ApprovalStepExecutionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires step reminder and SLA deadlines from an in-memory timing wheel.
+ *
+ * Steps are put on the wheel when they activate and taken off when they close,
+ * so pending deadlines cost nothing until they come up and there is no polling
+ * of the database. The wheel is rebuilt from the in-flight steps at startup.
+ * Deadlines are published as {@link StepDeadlineEvent}s from the ticker thread;
+ * listeners must hand real work off and re-check the step, as an event can
+ * arrive after the step has closed.
+ */
+@Slf4j
+@Component
+public class StepDeadlineScheduler {
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final ApprovalStepExecutionRepository stepExecutionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HierarchicalTimingWheel<StepDeadlineEvent> wheel;
+    private final Map<Long, HierarchicalTimingWheel.Timeout<StepDeadlineEvent>> reminders = new HashMap<>();
+    private final Map<Long, HierarchicalTimingWheel.Timeout<StepDeadlineEvent>> deadlines = new HashMap<>();
+    private final Object lock = new Object();
+    private final ScheduledExecutorService ticker;
+
+    public StepDeadlineScheduler(ApprovalStepExecutionRepository stepExecutionRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.workflow.sla.tick-millis:1000}") long tickMillis,
+                                 @Value("${app.workflow.sla.wheel-size:512}") int wheelSize) {
+        this.stepExecutionRepository = stepExecutionRepository;
+        this.eventPublisher = eventPublisher;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "workflow-sla-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("workflow.sla.pending", this, StepDeadlineScheduler::size)
+            .description("Step reminders and deadlines waiting to fire")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Puts a step's reminder and deadline on the wheel, replacing any it already had.
+     * Either time may be null.
+     */
+    public void schedule(Long stepExecutionId, Long accessRequestId, LocalDateTime reminderAt, LocalDateTime dueAt) {
+        List<StepDeadlineEvent> overdue = new ArrayList<>(2);
+        synchronized (lock) {
+            cancelLocked(stepExecutionId);
+            add(reminders, reminderAt, new StepDeadlineEvent(stepExecutionId, accessRequestId, StepDeadlineEvent.Type.REMINDER), overdue);
+            add(deadlines, dueAt, new StepDeadlineEvent(stepExecutionId, accessRequestId, StepDeadlineEvent.Type.DUE), overdue);
+        }
+        if (!overdue.isEmpty()) {
+            ticker.execute(() -> overdue.forEach(this::publish));
+        }
+    }
+
+    /**
+     * Schedules once the current transaction commits, so a rolled back activation leaves nothing behind.
+     */
+    public void scheduleAfterCommit(Long stepExecutionId, Long accessRequestId,
+                                    LocalDateTime reminderAt, LocalDateTime dueAt) {
+        afterCommit(() -> schedule(stepExecutionId, accessRequestId, reminderAt, dueAt));
+    }
+
+    public void cancel(Long stepExecutionId) {
+        synchronized (lock) {
+            cancelLocked(stepExecutionId);
+        }
+    }
+
+    public void cancelAfterCommit(Long stepExecutionId) {
+        afterCommit(() -> cancel(stepExecutionId));
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Loads the deadlines of every in-flight step, keyset-paged over the due date index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Pageable page = PageRequest.of(0, REBUILD_PAGE_SIZE);
+        List<Object[]> rows = stepExecutionRepository.findDeadlinesFirstPage(page);
+        int loaded = 0;
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                schedule((Long) row[0], (Long) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3]);
+            }
+            loaded += rows.size();
+            if (rows.size() < REBUILD_PAGE_SIZE) {
+                break;
+            }
+            Object[] last = rows.get(rows.size() - 1);
+            rows = stepExecutionRepository.findDeadlinesAfter((LocalDateTime) last[3], (Long) last[0], page);
+        }
+        log.info("Loaded deadlines for {} in-flight workflow steps", loaded);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    void tick() {
+        List<StepDeadlineEvent> expired = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advanceTo(System.currentTimeMillis(), event -> {
+                pendingFor(event.getType()).remove(event.getStepExecutionId());
+                expired.add(event);
+            });
+        }
+        expired.forEach(this::publish);
+    }
+
+    private void add(Map<Long, HierarchicalTimingWheel.Timeout<StepDeadlineEvent>> pending, LocalDateTime at,
+                     StepDeadlineEvent event, List<StepDeadlineEvent> overdue) {
+        if (at == null) {
+            return;
+        }
+        long deadline = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        HierarchicalTimingWheel.Timeout<StepDeadlineEvent> timeout = wheel.schedule(deadline, event);
+        if (timeout == null) {
+            overdue.add(event);
+        } else {
+            pending.put(event.getStepExecutionId(), timeout);
+        }
+    }
+
+    private void cancelLocked(Long stepExecutionId) {
+        HierarchicalTimingWheel.Timeout<StepDeadlineEvent> reminder = reminders.remove(stepExecutionId);
+        if (reminder != null) {
+            reminder.cancel();
+        }
+        HierarchicalTimingWheel.Timeout<StepDeadlineEvent> deadline = deadlines.remove(stepExecutionId);
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    private Map<Long, HierarchicalTimingWheel.Timeout<StepDeadlineEvent>> pendingFor(StepDeadlineEvent.Type type) {
+        return type == StepDeadlineEvent.Type.REMINDER ? reminders : deadlines;
+    }
+
+    private void publish(StepDeadlineEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            // Keep the ticker alive for the other deadlines
+            log.error("Failed to dispatch {} for step execution {}", event.getType(), event.getStepExecutionId(), e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,13 +1,22 @@
 package com.aura.auraid.service;
 
+import com.aura.auraid.config.MetricsHistoryProperties;
+import com.aura.auraid.metrics.MappedMetricHistory;
+import com.aura.auraid.metrics.MetricRing;
+import com.aura.auraid.metrics.RequestLatencyRecorder;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import java.lang.management.*;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.*;
 import java.time.Duration;
@@ -17,50 +26,122 @@ import org.slf4j.LoggerFactory;
 @Service
 public class SystemMetricsService {
     private static final Logger log = LoggerFactory.getLogger(SystemMetricsService.class);
-    private final MeterRegistry meterRegistry;
-    
+    private final RequestLatencyRecorder latencyRecorder;
+
     // Store last 24 hours of metrics with 1-minute resolution
     private static final int RETENTION_MINUTES = 24 * 60;
-    private final Map<LocalDateTime, Map<String, Double>> historicalMetrics = new ConcurrentHashMap<>();
-    private final Queue<LocalDateTime> timeQueue = new LinkedList<>();
-    
+    private final MetricRing minuteRing;
+    private final double[] minuteSample;
+
+    // Last completed minute sample, read by the "system.*" gauges
+    private volatile double[] publishedSample;
+
     // Store high-resolution metrics for the last hour (1-second resolution)
     private static final int HIGH_RES_RETENTION_SECONDS = 3600;
-    private final Map<LocalDateTime, Map<String, Double>> highResMetrics = new ConcurrentHashMap<>();
-    private final Queue<LocalDateTime> highResTimeQueue = new LinkedList<>();
-    
-    // Sliding window statistics for response times
-    private final ConcurrentLinkedQueue<Double> responseTimesWindow = new ConcurrentLinkedQueue<>();
-    private static final int RESPONSE_TIME_WINDOW_SIZE = 1000; // Keep last 1000 response times
-    
+    private static final String[] HIGH_RES_METRICS = {"systemCpuLoad", "processCpuLoad"};
+    private final MetricRing highResRing = new MetricRing(HIGH_RES_METRICS, HIGH_RES_RETENTION_SECONDS);
+    private final double[] highResSample = new double[HIGH_RES_METRICS.length];
+    private long lastRollupMillis = Long.MIN_VALUE;
+
+    // Persisted copies of both resolutions so history survives restarts; null when disabled
+    private final MappedMetricHistory minuteHistory;
+    private final MappedMetricHistory highResHistory;
+
     // Timers for different types of operations
     private final Map<String, Timer> operationTimers;
-    
+
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+
     @Autowired
-    public SystemMetricsService(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
-        
+    public SystemMetricsService(MeterRegistry meterRegistry, RequestLatencyRecorder latencyRecorder,
+                                MetricsHistoryProperties historyProperties) {
+        this.latencyRecorder = latencyRecorder;
+
         // Initialize timers for different operation types
         this.operationTimers = new ConcurrentHashMap<>();
         operationTimers.put("http_request", Timer.builder("http.request.duration")
             .description("HTTP request duration")
+            .publishPercentileHistogram()
             .register(meterRegistry));
         operationTimers.put("db_query", Timer.builder("db.query.duration")
             .description("Database query duration")
+            .publishPercentileHistogram()
             .register(meterRegistry));
         operationTimers.put("auth", Timer.builder("auth.operation.duration")
             .description("Authentication operation duration")
+            .publishPercentileHistogram()
             .register(meterRegistry));
+
+        String[] minuteMetrics = minuteMetricNames();
+        this.minuteRing = new MetricRing(minuteMetrics, RETENTION_MINUTES);
+        this.minuteSample = new double[minuteMetrics.length];
+        this.publishedSample = new double[minuteMetrics.length];
+        Arrays.fill(publishedSample, Double.NaN);
+        registerSystemGauges(meterRegistry, minuteMetrics);
+
+        // Files are only mapped on first use, so startup does not pay for decoding history
+        if (historyProperties.isEnabled()) {
+            Path directory = Path.of(historyProperties.getDirectory());
+            this.minuteHistory = new MappedMetricHistory(directory.resolve("metrics-1m.dat"),
+                minuteMetrics, RETENTION_MINUTES, historyProperties.getMinuteBlockSize());
+            this.highResHistory = new MappedMetricHistory(directory.resolve("metrics-1s.dat"),
+                HIGH_RES_METRICS, HIGH_RES_RETENTION_SECONDS, historyProperties.getSecondBlockSize());
+        } else {
+            this.minuteHistory = null;
+            this.highResHistory = null;
+        }
+    }
+
+    @PreDestroy
+    public void closeHistory() {
+        if (minuteHistory != null) {
+            minuteHistory.close();
+            highResHistory.close();
+        }
+    }
+
+    /**
+     * The set of minute-level metrics is fixed at startup: GC beans and operation
+     * timers do not change while the JVM is running.
+     */
+    private String[] minuteMetricNames() {
+        List<String> names = new ArrayList<>(List.of(
+            "heapUsed", "heapCommitted", "heapMax", "heapUtilization", "nonHeapUsed", "nonHeapCommitted",
+            "threadCount", "peakThreadCount", "daemonThreadCount", "totalStartedThreadCount", "deadlockedThreads",
+            "systemCpuLoad", "processCpuLoad", "freePhysicalMemory", "totalPhysicalMemory",
+            "committedVirtualMemory", "processCpuTime",
+            "responseTime_avg", "responseTime_max", "responseTime_min"));
+
+        // Per-minute min/max/avg downsampled from the 1-second ring
+        for (String metric : HIGH_RES_METRICS) {
+            names.add(metric + "Min");
+            names.add(metric + "Max");
+            names.add(metric + "Avg");
+        }
+
+        for (GarbageCollectorMXBean gcBean : gcBeans) {
+            String name = gcName(gcBean);
+            names.add("gc_" + name + "_count");
+            names.add("gc_" + name + "_time");
+        }
+
+        operationTimers.keySet().stream().sorted().forEach(operation -> {
+            names.add(operation + "_mean");
+            names.add(operation + "_max");
+            names.add(operation + "_count");
+        });
+
+        return names.toArray(new String[0]);
     }
 
     @Scheduled(fixedRate = 60000) // Collect metrics every minute
     public void collectMetrics() {
-        LocalDateTime now = LocalDateTime.now();
-        Map<String, Double> currentMetrics = new HashMap<>();
+        long now = System.currentTimeMillis();
+        double[] sample = minuteSample;
+        Arrays.fill(sample, Double.NaN);
 
         try {
             // Collect JVM metrics
-            RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
             OperatingSystemMXBean osMXBean = ManagementFactory.getOperatingSystemMXBean();
             MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
             ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
@@ -68,70 +149,63 @@ public class SystemMetricsService {
             // Memory metrics with more detail
             MemoryUsage heapMemory = memoryMXBean.getHeapMemoryUsage();
             MemoryUsage nonHeapMemory = memoryMXBean.getNonHeapMemoryUsage();
-            
-            currentMetrics.put("heapUsed", (double) heapMemory.getUsed());
-            currentMetrics.put("heapCommitted", (double) heapMemory.getCommitted());
-            currentMetrics.put("heapMax", (double) heapMemory.getMax());
-            currentMetrics.put("heapUtilization", (double) heapMemory.getUsed() / heapMemory.getMax() * 100);
-            currentMetrics.put("nonHeapUsed", (double) nonHeapMemory.getUsed());
-            currentMetrics.put("nonHeapCommitted", (double) nonHeapMemory.getCommitted());
+
+            put(sample, "heapUsed", heapMemory.getUsed());
+            put(sample, "heapCommitted", heapMemory.getCommitted());
+            put(sample, "heapMax", heapMemory.getMax());
+            put(sample, "heapUtilization", (double) heapMemory.getUsed() / heapMemory.getMax() * 100);
+            put(sample, "nonHeapUsed", nonHeapMemory.getUsed());
+            put(sample, "nonHeapCommitted", nonHeapMemory.getCommitted());
 
             // Thread metrics with more detail
-            currentMetrics.put("threadCount", (double) threadMXBean.getThreadCount());
-            currentMetrics.put("peakThreadCount", (double) threadMXBean.getPeakThreadCount());
-            currentMetrics.put("daemonThreadCount", (double) threadMXBean.getDaemonThreadCount());
-            currentMetrics.put("totalStartedThreadCount", (double) threadMXBean.getTotalStartedThreadCount());
-            currentMetrics.put("deadlockedThreads", (double) (threadMXBean.findDeadlockedThreads() != null ? 
-                threadMXBean.findDeadlockedThreads().length : 0));
+            long[] deadlocked = threadMXBean.findDeadlockedThreads();
+            put(sample, "threadCount", threadMXBean.getThreadCount());
+            put(sample, "peakThreadCount", threadMXBean.getPeakThreadCount());
+            put(sample, "daemonThreadCount", threadMXBean.getDaemonThreadCount());
+            put(sample, "totalStartedThreadCount", threadMXBean.getTotalStartedThreadCount());
+            put(sample, "deadlockedThreads", deadlocked != null ? deadlocked.length : 0);
 
             // System metrics with more detail
-            if (osMXBean instanceof com.sun.management.OperatingSystemMXBean) {
-                com.sun.management.OperatingSystemMXBean sunOsMXBean = 
-                    (com.sun.management.OperatingSystemMXBean) osMXBean;
-                currentMetrics.put("systemCpuLoad", sunOsMXBean.getCpuLoad() * 100);
-                currentMetrics.put("processCpuLoad", sunOsMXBean.getProcessCpuLoad() * 100);
-                currentMetrics.put("freePhysicalMemory", (double) sunOsMXBean.getFreeMemorySize());
-                currentMetrics.put("totalPhysicalMemory", (double) sunOsMXBean.getTotalMemorySize());
-                currentMetrics.put("committedVirtualMemory", (double) sunOsMXBean.getCommittedVirtualMemorySize());
-                currentMetrics.put("processCpuTime", (double) sunOsMXBean.getProcessCpuTime());
+            if (osMXBean instanceof com.sun.management.OperatingSystemMXBean sunOsMXBean) {
+                put(sample, "systemCpuLoad", sunOsMXBean.getCpuLoad() * 100);
+                put(sample, "processCpuLoad", sunOsMXBean.getProcessCpuLoad() * 100);
+                put(sample, "freePhysicalMemory", sunOsMXBean.getFreeMemorySize());
+                put(sample, "totalPhysicalMemory", sunOsMXBean.getTotalMemorySize());
+                put(sample, "committedVirtualMemory", sunOsMXBean.getCommittedVirtualMemorySize());
+                put(sample, "processCpuTime", sunOsMXBean.getProcessCpuTime());
             }
 
+            // Downsample the last minute of 1-second samples into min/max/avg buckets
+            rollupHighResolution(sample, now);
+
             // Garbage collection metrics
-            List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
             for (GarbageCollectorMXBean gcBean : gcBeans) {
-                String name = gcBean.getName().replace(" ", "_").toLowerCase();
-                currentMetrics.put("gc_" + name + "_count", (double) gcBean.getCollectionCount());
-                currentMetrics.put("gc_" + name + "_time", (double) gcBean.getCollectionTime());
+                String name = gcName(gcBean);
+                put(sample, "gc_" + name + "_count", gcBean.getCollectionCount());
+                put(sample, "gc_" + name + "_time", gcBean.getCollectionTime());
             }
 
-            // Response time statistics
-            DoubleSummaryStatistics responseTimeStats = responseTimesWindow.stream()
-                .mapToDouble(Double::doubleValue)
-                .summaryStatistics();
-            
-            currentMetrics.put("responseTime_avg", responseTimeStats.getAverage());
-            currentMetrics.put("responseTime_max", responseTimeStats.getMax());
-            currentMetrics.put("responseTime_min", responseTimeStats.getMin());
+            // Response time statistics from the last completed latency interval
+            Histogram responseTimes = latencyRecorder.getIntervalHistogram();
+            if (responseTimes.getTotalCount() > 0) {
+                put(sample, "responseTime_avg", responseTimes.getMean() / 1_000_000.0);
+                put(sample, "responseTime_max", responseTimes.getMaxValue() / 1_000_000.0);
+                put(sample, "responseTime_min", responseTimes.getMinValue() / 1_000_000.0);
+            }
 
             // Operation timers statistics
             operationTimers.forEach((operation, timer) -> {
-                currentMetrics.put(operation + "_mean", timer.mean(TimeUnit.MILLISECONDS));
-                currentMetrics.put(operation + "_max", timer.max(TimeUnit.MILLISECONDS));
-                currentMetrics.put(operation + "_count", (double) timer.count());
+                put(sample, operation + "_mean", timer.mean(TimeUnit.MILLISECONDS));
+                put(sample, operation + "_max", timer.max(TimeUnit.MILLISECONDS));
+                put(sample, operation + "_count", timer.count());
             });
 
-            // Store metrics
-            historicalMetrics.put(now, currentMetrics);
-            timeQueue.offer(now);
-
-            // Cleanup old metrics
-            while (timeQueue.size() > RETENTION_MINUTES) {
-                LocalDateTime oldestTime = timeQueue.poll();
-                historicalMetrics.remove(oldestTime);
-            }
+            // Store metrics; the ring overwrites the oldest minute once full
+            minuteRing.append(now, sample);
+            persist(minuteHistory, now, sample);
 
-            // Update Micrometer metrics
-            updateMicrometerMetrics(currentMetrics);
+            // Publish to the "system.*" gauges
+            publishedSample = sample.clone();
 
             log.debug("Metrics collected successfully at {}", now);
         } catch (Exception e) {
@@ -141,39 +215,20 @@ public class SystemMetricsService {
 
     @Scheduled(fixedRate = 1000) // Collect high-resolution metrics every second
     public void collectHighResolutionMetrics() {
-        LocalDateTime now = LocalDateTime.now();
-        Map<String, Double> currentMetrics = new HashMap<>();
-
         try {
             OperatingSystemMXBean osMXBean = ManagementFactory.getOperatingSystemMXBean();
-            if (osMXBean instanceof com.sun.management.OperatingSystemMXBean) {
-                com.sun.management.OperatingSystemMXBean sunOsMXBean = 
-                    (com.sun.management.OperatingSystemMXBean) osMXBean;
-                currentMetrics.put("systemCpuLoad", sunOsMXBean.getCpuLoad() * 100);
-                currentMetrics.put("processCpuLoad", sunOsMXBean.getProcessCpuLoad() * 100);
-            }
-
-            // Store high-resolution metrics
-            highResMetrics.put(now, currentMetrics);
-            highResTimeQueue.offer(now);
-
-            // Cleanup old high-resolution metrics
-            while (highResTimeQueue.size() > HIGH_RES_RETENTION_SECONDS) {
-                LocalDateTime oldestTime = highResTimeQueue.poll();
-                highResMetrics.remove(oldestTime);
+            if (osMXBean instanceof com.sun.management.OperatingSystemMXBean sunOsMXBean) {
+                highResSample[0] = sunOsMXBean.getCpuLoad() * 100;
+                highResSample[1] = sunOsMXBean.getProcessCpuLoad() * 100;
+                long now = System.currentTimeMillis();
+                highResRing.append(now, highResSample);
+                persist(highResHistory, now, highResSample);
             }
         } catch (Exception e) {
             log.error("Error collecting high-resolution metrics: {}", e.getMessage(), e);
         }
     }
 
-    public void recordResponseTime(double responseTimeMs) {
-        responseTimesWindow.offer(responseTimeMs);
-        while (responseTimesWindow.size() > RESPONSE_TIME_WINDOW_SIZE) {
-            responseTimesWindow.poll();
-        }
-    }
-
     public void recordOperationTime(String operation, long durationMs) {
         Timer timer = operationTimers.get(operation);
         if (timer != null) {
@@ -181,46 +236,90 @@ public class SystemMetricsService {
         }
     }
 
-    private void updateMicrometerMetrics(Map<String, Double> metrics) {
-        metrics.forEach((key, value) -> {
-            if (!Double.isInfinite(value) && !Double.isNaN(value)) {
-                meterRegistry.gauge("system." + key, value);
+    private void persist(MappedMetricHistory history, long timestampMillis, double[] sample) {
+        if (history == null) {
+            return;
+        }
+        try {
+            history.append(timestampMillis, sample);
+        } catch (RuntimeException e) {
+            // The in-memory ring still has the sample; only persistence is lost
+            log.warn("Failed to persist metrics sample: {}", e.getMessage());
+        }
+    }
+
+    private void rollupHighResolution(double[] sample, long now) {
+        MetricRing.Snapshot window = highResRing.snapshot(lastRollupMillis);
+        lastRollupMillis = now;
+        if (window.size() == 0) {
+            return;
+        }
+
+        for (int metric = 0; metric < window.metricCount(); metric++) {
+            double[] values = window.column(metric);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+            int count = 0;
+            for (double value : values) {
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+                count++;
             }
-        });
+            if (count > 0) {
+                String name = window.name(metric);
+                put(sample, name + "Min", min);
+                put(sample, name + "Max", max);
+                put(sample, name + "Avg", sum / count);
+            }
+        }
+    }
+
+    private void put(double[] sample, String metric, double value) {
+        int index = minuteRing.indexOf(metric);
+        if (index >= 0) {
+            sample[index] = value;
+        }
+    }
+
+    /**
+     * Registers one gauge per minute metric up front. The gauges read the last
+     * published sample, so nothing is registered (or boxed) on the collection path.
+     */
+    private void registerSystemGauges(MeterRegistry meterRegistry, String[] names) {
+        for (int metric = 0; metric < names.length; metric++) {
+            int index = metric;
+            Gauge.builder("system." + names[metric], this, service -> service.publishedSample[index])
+                .strongReference(true)
+                .register(meterRegistry);
+        }
     }
 
     public Map<String, Object> getLatestMetrics() {
-        if (historicalMetrics.isEmpty()) {
+        MetricRing.Snapshot snapshot = minuteRing.snapshot();
+        if (snapshot.size() == 0) {
             return Collections.emptyMap();
         }
 
-        LocalDateTime latest = timeQueue.peek();
-        Map<String, Double> latestMetrics = historicalMetrics.get(latest);
-        
+        int latest = snapshot.size() - 1;
         Map<String, Object> result = new HashMap<>();
-        result.put("timestamp", latest);
-        result.put("metrics", latestMetrics);
+        result.put("timestamp", toLocalDateTime(snapshot.timestamp(latest)));
+        result.put("metrics", toMetricsMap(snapshot, latest));
         return result;
     }
 
     public Map<String, Object> getHighResolutionMetrics(int seconds) {
         int lookback = Math.min(seconds, HIGH_RES_RETENTION_SECONDS);
-        List<Map<String, Object>> history = new ArrayList<>();
-        
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime cutoff = now.minusSeconds(lookback);
-        
-        highResMetrics.entrySet().stream()
-            .filter(entry -> entry.getKey().isAfter(cutoff))
-            .sorted(Map.Entry.comparingByKey())
-            .forEach(entry -> {
-                Map<String, Object> point = new HashMap<>();
-                point.put("timestamp", entry.getKey());
-                point.put("metrics", entry.getValue());
-                history.add(point);
-            });
+        long cutoff = System.currentTimeMillis() - lookback * 1000L;
 
         Map<String, Object> result = new HashMap<>();
+        List<Map<String, Object>> history = highResHistory != null
+            ? readHistory(highResHistory, cutoff)
+            : toHistory(highResRing.snapshot(cutoff));
         result.put("history", history);
         result.put("resolution", "1 second");
         result.put("dataPoints", history.size());
@@ -229,22 +328,12 @@ public class SystemMetricsService {
 
     public Map<String, Object> getMetricsHistory(int minutes) {
         int lookback = Math.min(minutes, RETENTION_MINUTES);
-        List<Map<String, Object>> history = new ArrayList<>();
-        
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime cutoff = now.minusMinutes(lookback);
-        
-        historicalMetrics.entrySet().stream()
-            .filter(entry -> entry.getKey().isAfter(cutoff))
-            .sorted(Map.Entry.comparingByKey())
-            .forEach(entry -> {
-                Map<String, Object> point = new HashMap<>();
-                point.put("timestamp", entry.getKey());
-                point.put("metrics", entry.getValue());
-                history.add(point);
-            });
+        long cutoff = System.currentTimeMillis() - lookback * 60_000L;
 
         Map<String, Object> result = new HashMap<>();
+        List<Map<String, Object>> history = minuteHistory != null
+            ? readHistory(minuteHistory, cutoff)
+            : toHistory(minuteRing.snapshot(cutoff));
         result.put("history", history);
         result.put("resolution", "1 minute");
         result.put("dataPoints", history.size());
@@ -252,62 +341,118 @@ public class SystemMetricsService {
     }
 
     public Map<String, Object> getMetricsSummary() {
-        if (historicalMetrics.isEmpty()) {
+        MetricRing.Snapshot snapshot = minuteRing.snapshot();
+        if (snapshot.size() == 0) {
             return Collections.emptyMap();
         }
 
-        Map<String, List<Double>> metricValues = new HashMap<>();
-        
-        // Collect all values for each metric
-        historicalMetrics.values().forEach(metrics -> {
-            metrics.forEach((key, value) -> {
-                metricValues.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
-            });
-        });
-
-        // Calculate detailed statistics for each metric
+        // Calculate detailed statistics for each metric straight from the primitive columns
         Map<String, Object> summary = new HashMap<>();
-        metricValues.forEach((metric, values) -> {
-            DoubleSummaryStatistics stats = values.stream()
-                .mapToDouble(Double::doubleValue)
-                .summaryStatistics();
-            
-            // Calculate percentiles
-            double[] sortedValues = values.stream()
-                .mapToDouble(Double::doubleValue)
-                .sorted()
-                .toArray();
-            
+        double[] sortedValues = new double[snapshot.size()];
+        for (int metric = 0; metric < snapshot.metricCount(); metric++) {
+            double[] column = snapshot.column(metric);
+
+            int count = 0;
+            double sum = 0;
+            double current = Double.NaN;
+            for (double value : column) {
+                if (!Double.isNaN(value)) {
+                    sortedValues[count++] = value;
+                    sum += value;
+                    current = value;
+                }
+            }
+            if (count == 0) {
+                continue;
+            }
+
+            double avg = sum / count;
+            double squares = 0;
+            for (int i = 0; i < count; i++) {
+                squares += (sortedValues[i] - avg) * (sortedValues[i] - avg);
+            }
+            Arrays.sort(sortedValues, 0, count);
+
             Map<String, Object> metricStats = new HashMap<>();
-            metricStats.put("min", stats.getMin());
-            metricStats.put("max", stats.getMax());
-            metricStats.put("avg", stats.getAverage());
-            metricStats.put("current", values.get(values.size() - 1));
-            metricStats.put("count", stats.getCount());
-            metricStats.put("stdDev", calculateStdDev(values, stats.getAverage()));
-            metricStats.put("p50", calculatePercentile(sortedValues, 50));
-            metricStats.put("p75", calculatePercentile(sortedValues, 75));
-            metricStats.put("p90", calculatePercentile(sortedValues, 90));
-            metricStats.put("p95", calculatePercentile(sortedValues, 95));
-            metricStats.put("p99", calculatePercentile(sortedValues, 99));
-            
-            summary.put(metric, metricStats);
-        });
+            metricStats.put("min", sortedValues[0]);
+            metricStats.put("max", sortedValues[count - 1]);
+            metricStats.put("avg", avg);
+            metricStats.put("current", current);
+            metricStats.put("count", (long) count);
+            metricStats.put("stdDev", Math.sqrt(squares / count));
+            metricStats.put("p50", calculatePercentile(sortedValues, count, 50));
+            metricStats.put("p75", calculatePercentile(sortedValues, count, 75));
+            metricStats.put("p90", calculatePercentile(sortedValues, count, 90));
+            metricStats.put("p95", calculatePercentile(sortedValues, count, 95));
+            metricStats.put("p99", calculatePercentile(sortedValues, count, 99));
+
+            summary.put(snapshot.name(metric), metricStats);
+        }
 
         return summary;
     }
 
-    private double calculateStdDev(List<Double> values, double mean) {
-        return Math.sqrt(values.stream()
-            .mapToDouble(v -> Math.pow(v - mean, 2))
-            .average()
-            .orElse(0.0));
+    /**
+     * Decodes history straight from the mapped file, which also covers samples
+     * collected before the last restart. Falls back to the in-memory ring on I/O errors.
+     */
+    private List<Map<String, Object>> readHistory(MappedMetricHistory store, long cutoff) {
+        String[] names = store.names();
+        List<Map<String, Object>> history = new ArrayList<>();
+        try {
+            store.read(cutoff, (timestamp, values) -> {
+                Map<String, Double> metrics = new HashMap<>();
+                for (int metric = 0; metric < values.length; metric++) {
+                    if (!Double.isNaN(values[metric])) {
+                        metrics.put(names[metric], values[metric]);
+                    }
+                }
+                Map<String, Object> point = new HashMap<>();
+                point.put("timestamp", toLocalDateTime(timestamp));
+                point.put("metrics", metrics);
+                history.add(point);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to read persisted metrics history: {}", e.getMessage());
+            return toHistory(store == minuteHistory ? minuteRing.snapshot(cutoff) : highResRing.snapshot(cutoff));
+        }
+        return history;
     }
 
-    private double calculatePercentile(double[] sortedValues, double percentile) {
-        if (sortedValues.length == 0) return 0.0;
-        
-        int index = (int) Math.ceil(percentile / 100.0 * sortedValues.length) - 1;
-        return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, index))];
+    private List<Map<String, Object>> toHistory(MetricRing.Snapshot snapshot) {
+        List<Map<String, Object>> history = new ArrayList<>(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            Map<String, Object> point = new HashMap<>();
+            point.put("timestamp", toLocalDateTime(snapshot.timestamp(i)));
+            point.put("metrics", toMetricsMap(snapshot, i));
+            history.add(point);
+        }
+        return history;
+    }
+
+    private Map<String, Double> toMetricsMap(MetricRing.Snapshot snapshot, int sample) {
+        Map<String, Double> metrics = new HashMap<>();
+        for (int metric = 0; metric < snapshot.metricCount(); metric++) {
+            double value = snapshot.value(metric, sample);
+            if (!Double.isNaN(value)) {
+                metrics.put(snapshot.name(metric), value);
+            }
+        }
+        return metrics;
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static String gcName(GarbageCollectorMXBean gcBean) {
+        return gcBean.getName().replace(" ", "_").toLowerCase();
+    }
+
+    private double calculatePercentile(double[] sortedValues, int length, double percentile) {
+        if (length == 0) return 0.0;
+
+        int index = (int) Math.ceil(percentile / 100.0 * length) - 1;
+        return sortedValues[Math.max(0, Math.min(length - 1, index))];
     }
-} 
\ No newline at end of file
+}
@@ -1,5 +1,8 @@
 package com.aura.auraid.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.stereotype.Service;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -13,7 +16,13 @@ import jakarta.annotation.PreDestroy;
 @Slf4j
 public class TokenBlacklistService {
     private final ConcurrentHashMap<String, Long> blacklistedTokens = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService cleanupExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService cleanupExecutor;
+
+    public TokenBlacklistService(MeterRegistry meterRegistry) {
+        this.cleanupExecutor = ExecutorServiceMetrics.monitor(meterRegistry,
+            Executors.newSingleThreadScheduledExecutor(), "tokenBlacklistCleanup");
+        meterRegistry.gaugeMapSize("auth.token.blacklist.size", Tags.empty(), blacklistedTokens);
+    }
 
     @PostConstruct
     public void init() {
@@ -1,9 +1,13 @@
 package com.aura.auraid.service;
 
+import com.aura.auraid.dto.LatencyStatsDTO;
 import com.aura.auraid.dto.WorkflowDashboardDTO;
 import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.model.LatencyDimension;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface WorkflowDashboardService {
     // Admin dashboard methods
     WorkflowDashboardDTO getAdminDashboard();
@@ -11,6 +15,8 @@ public interface WorkflowDashboardService {
     PageResponseDTO<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> getAllRequests(String status, String resourceType, Pageable pageable);
     PageResponseDTO<WorkflowDashboardDTO.WorkflowActivityDTO> getAdminActivities(Pageable pageable);
     WorkflowDashboardDTO.DashboardStatsDTO getAdminStats(String period);
+    LatencyStatsDTO getLatencyStats(LatencyDimension dimension, Long dimensionId, String period);
+    List<LatencyStatsDTO> getBottlenecks(LatencyDimension dimension, String period, int limit);
 
     // User dashboard methods
     WorkflowDashboardDTO getUserDashboard(Long userId);
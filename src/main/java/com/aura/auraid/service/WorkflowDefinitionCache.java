@@ -0,0 +1,127 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.ApprovalStep;
+import com.aura.auraid.model.ApprovalWorkflow;
+import com.aura.auraid.repository.ApprovalStepRepository;
+import com.aura.auraid.repository.ApprovalWorkflowRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled workflow definitions.
+ *
+ * The current snapshot of each workflow is built on first use and dropped once a
+ * transaction that changed the definition commits. Every version built is also
+ * kept under its version number, so requests that started on an older version
+ * keep deciding against it. After a restart only the current definition exists
+ * in the database, so an unknown old version falls back to the current one.
+ */
+@Slf4j
+@Component
+public class WorkflowDefinitionCache {
+
+    private final ApprovalWorkflowRepository workflowRepository;
+    private final ApprovalStepRepository stepRepository;
+
+    private final Cache<Long, WorkflowSnapshot> current = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .recordStats()
+            .build();
+
+    private final Cache<String, WorkflowSnapshot> versions = Caffeine.newBuilder()
+            .maximumSize(5000)
+            .expireAfterAccess(Duration.ofDays(7))
+            .build();
+
+    public WorkflowDefinitionCache(ApprovalWorkflowRepository workflowRepository,
+                                   ApprovalStepRepository stepRepository,
+                                   MeterRegistry meterRegistry) {
+        this.workflowRepository = workflowRepository;
+        this.stepRepository = stepRepository;
+        CaffeineCacheMetrics.monitor(meterRegistry, current, "workflowDefinitions");
+    }
+
+    public WorkflowSnapshot getCurrent(Long workflowId) {
+        return current.get(workflowId, this::load);
+    }
+
+    /**
+     * @param version the version the caller started with, or null for the current one
+     */
+    public WorkflowSnapshot get(Long workflowId, Long version) {
+        if (version == null) {
+            return getCurrent(workflowId);
+        }
+        WorkflowSnapshot pinned = versions.getIfPresent(versionKey(workflowId, version));
+        if (pinned != null) {
+            return pinned;
+        }
+
+        WorkflowSnapshot latest = getCurrent(workflowId);
+        if (latest.getVersion() != version) {
+            log.debug("Workflow {} version {} is no longer cached, using version {}",
+                workflowId, version, latest.getVersion());
+        }
+        return latest;
+    }
+
+    /**
+     * Drops the current snapshot once the surrounding transaction commits, or
+     * immediately when there is no transaction.
+     */
+    public void invalidateAfterCommit(Long workflowId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            current.invalidate(workflowId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                current.invalidate(workflowId);
+            }
+        });
+    }
+
+    private WorkflowSnapshot load(Long workflowId) {
+        ApprovalWorkflow workflow = workflowRepository.findById(workflowId)
+            .orElseThrow(() -> new EntityNotFoundException("Workflow not found"));
+
+        // Approver ids come from the join table directly instead of loading the users
+        Map<Long, List<Long>> approversByStep = new HashMap<>();
+        for (Object[] row : stepRepository.findApproverIdsByWorkflowId(workflowId)) {
+            approversByStep.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+
+        List<WorkflowSnapshot.Step> steps = new ArrayList<>();
+        for (ApprovalStep step : stepRepository.findByWorkflowIdOrderByStepOrder(workflowId)) {
+            long[] approverIds = approversByStep.getOrDefault(step.getId(), List.of()).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+            steps.add(new WorkflowSnapshot.Step(
+                step.getId(), step.getStepOrder(), step.getName(), step.getApprovalThreshold(), approverIds,
+                step.getSlaMinutes(), step.getReminderMinutes(), step.getSlaBreachAction()));
+        }
+
+        WorkflowSnapshot snapshot = new WorkflowSnapshot(
+            workflow.getId(), workflow.getDefinitionVersion(), workflow.getType(), workflow.isActive(), steps);
+        versions.put(versionKey(workflowId, snapshot.getVersion()), snapshot);
+        return snapshot;
+    }
+
+    private static String versionKey(Long workflowId, long version) {
+        return workflowId + ":" + version;
+    }
+}
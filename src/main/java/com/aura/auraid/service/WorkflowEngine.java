@@ -0,0 +1,133 @@
+package com.aura.auraid.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs workflow events on striped, single-threaded lanes keyed by access request id.
+ *
+ * All events for one request land on the same lane and are handled in submission
+ * order, so they never race each other; different requests spread over the lanes
+ * and run in parallel. Events that lose an optimistic-lock race (another instance,
+ * or a direct update outside the engine) are retried on the lane.
+ */
+@Slf4j
+@Component
+public class WorkflowEngine {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ThreadPoolExecutor[] lanes;
+    private final Thread[] laneThreads;
+    private final Counter retries;
+
+    public WorkflowEngine(@Value("${app.workflow.lanes:8}") int laneCount,
+                          @Value("${app.workflow.lane-capacity:10000}") int laneCapacity,
+                          MeterRegistry meterRegistry) {
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        this.laneThreads = new Thread[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(laneCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "workflow-lane-" + lane);
+                    thread.setDaemon(true);
+                    laneThreads[lane] = thread;
+                    return thread;
+                });
+            lanes[i].prestartCoreThread();
+
+            Gauge.builder("workflow.engine.queue.depth", lanes[i], executor -> executor.getQueue().size())
+                .description("Workflow events waiting on a lane")
+                .tag("lane", String.valueOf(lane))
+                .register(meterRegistry);
+        }
+        this.retries = Counter.builder("workflow.engine.retries")
+            .description("Workflow events retried after an optimistic lock conflict")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queues an event for the request's lane.
+     */
+    public <T> CompletableFuture<T> submit(Long accessRequestId, Supplier<T> event) {
+        int lane = laneOf(accessRequestId);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            lanes[lane].execute(() -> {
+                try {
+                    result.complete(runWithRetry(accessRequestId, event));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Workflow engine is overloaded, try again later", e);
+        }
+        return result;
+    }
+
+    /**
+     * Runs an event on the request's lane and waits for it, rethrowing its exception.
+     * Calls made from the lane itself run inline so nested events cannot deadlock.
+     */
+    public <T> T execute(Long accessRequestId, Supplier<T> event) {
+        if (Thread.currentThread() == laneThreads[laneOf(accessRequestId)]) {
+            return runWithRetry(accessRequestId, event);
+        }
+        try {
+            return submit(accessRequestId, event).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lane that handles the request's events; requests on the same lane can share one batch.
+     */
+    public int laneOf(Long accessRequestId) {
+        return Math.floorMod(Long.hashCode(accessRequestId), lanes.length);
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private <T> T runWithRetry(Long accessRequestId, Supplier<T> event) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return event.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                retries.increment();
+                log.debug("Retrying workflow event for access request {} after conflict (attempt {})",
+                    accessRequestId, attempt);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.SlaBreachAction;
+import com.aura.auraid.model.WorkflowType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of an {@link com.aura.auraid.model.ApprovalWorkflow}
+ * definition. Approval decisions are made against a snapshot so they never touch
+ * the workflow, step or approver associations.
+ */
+public final class WorkflowSnapshot {
+
+    private final long workflowId;
+    private final long version;
+    private final WorkflowType type;
+    private final boolean active;
+    private final List<Step> steps;
+    private final Map<Long, Step> stepsById;
+
+    public WorkflowSnapshot(long workflowId, long version, WorkflowType type, boolean active, List<Step> steps) {
+        this.workflowId = workflowId;
+        this.version = version;
+        this.type = type;
+        this.active = active;
+        this.steps = List.copyOf(steps);
+        Map<Long, Step> byId = new HashMap<>();
+        for (Step step : this.steps) {
+            byId.put(step.getStepId(), step);
+        }
+        this.stepsById = Collections.unmodifiableMap(byId);
+    }
+
+    public long getWorkflowId() {
+        return workflowId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public WorkflowType getType() {
+        return type;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return steps ordered by step order
+     */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public Step getStep(long stepId) {
+        return stepsById.get(stepId);
+    }
+
+    public Step getStepAt(int stepOrder) {
+        for (Step step : steps) {
+            if (step.getStepOrder() == stepOrder) {
+                return step;
+            }
+        }
+        return null;
+    }
+
+    public static final class Step {
+        private final long stepId;
+        private final int stepOrder;
+        private final String name;
+        private final int approvalThreshold;
+        private final long[] approverIds;
+        private final int slaMinutes;
+        private final int reminderMinutes;
+        private final SlaBreachAction slaBreachAction;
+
+        public Step(long stepId, int stepOrder, String name, Integer approvalThreshold, long[] approverIds) {
+            this(stepId, stepOrder, name, approvalThreshold, approverIds, null, null, null);
+        }
+
+        public Step(long stepId, int stepOrder, String name, Integer approvalThreshold, long[] approverIds,
+                    Integer slaMinutes, Integer reminderMinutes, SlaBreachAction slaBreachAction) {
+            this.stepId = stepId;
+            this.stepOrder = stepOrder;
+            this.name = name;
+            this.approvalThreshold = approvalThreshold != null ? approvalThreshold : 0;
+            this.approverIds = approverIds.clone();
+            Arrays.sort(this.approverIds);
+            this.slaMinutes = slaMinutes != null ? slaMinutes : 0;
+            // A reminder only makes sense ahead of a deadline
+            this.reminderMinutes = reminderMinutes != null && reminderMinutes < this.slaMinutes ? reminderMinutes : 0;
+            this.slaBreachAction = slaBreachAction != null ? slaBreachAction : SlaBreachAction.ESCALATE;
+        }
+
+        public long getStepId() {
+            return stepId;
+        }
+
+        public int getStepOrder() {
+            return stepOrder;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getApprovalThreshold() {
+            return approvalThreshold;
+        }
+
+        /**
+         * @return minutes allowed once the step starts, 0 when it has no deadline
+         */
+        public int getSlaMinutes() {
+            return slaMinutes;
+        }
+
+        /**
+         * @return minutes before the deadline to remind pending approvers, 0 for no reminder
+         */
+        public int getReminderMinutes() {
+            return reminderMinutes;
+        }
+
+        public SlaBreachAction getSlaBreachAction() {
+            return slaBreachAction;
+        }
+
+        public boolean isApprover(long userId) {
+            return Arrays.binarySearch(approverIds, userId) >= 0;
+        }
+
+        public int getApproverCount() {
+            return approverIds.length;
+        }
+
+        /**
+         * @return sorted approver ids; a copy, callers may modify it
+         */
+        public long[] getApproverIds() {
+            return approverIds.clone();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.aura.auraid.service.impl;
+
+import com.aura.auraid.dto.AccessPolicyDTO;
+import com.aura.auraid.exception.DuplicateResourceException;
+import com.aura.auraid.exception.ResourceNotFoundException;
+import com.aura.auraid.model.AccessPolicy;
+import com.aura.auraid.policy.PolicyCompiler;
+import com.aura.auraid.policy.PolicyEngine;
+import com.aura.auraid.repository.AccessPolicyRepository;
+import com.aura.auraid.service.AccessPolicyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Access policy administration. Conditions are compiled before they are
+ * stored, so a policy that would not load is rejected with its syntax error,
+ * and the {@link PolicyEngine} reloads once the change commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccessPolicyServiceImpl implements AccessPolicyService {
+
+    private final AccessPolicyRepository policyRepository;
+    private final PolicyEngine policyEngine;
+
+    @Override
+    @Transactional
+    public AccessPolicyDTO createPolicy(AccessPolicyDTO policyDTO, Long createdBy) {
+        if (policyRepository.existsByName(policyDTO.getName())) {
+            throw new DuplicateResourceException("Access policy name already exists");
+        }
+        PolicyCompiler.compile(policyDTO.getCondition());
+
+        AccessPolicy policy = new AccessPolicy();
+        applyChanges(policy, policyDTO);
+        policy.setCreatedBy(createdBy);
+
+        AccessPolicy savedPolicy = policyRepository.save(policy);
+        policyEngine.reloadAfterCommit();
+        log.info("Access policy {} created by user {}", savedPolicy.getName(), createdBy);
+        return mapToDTO(savedPolicy);
+    }
+
+    @Override
+    @Transactional
+    public AccessPolicyDTO updatePolicy(Long id, AccessPolicyDTO policyDTO) {
+        AccessPolicy policy = findPolicy(id);
+        if (policyRepository.existsByNameAndIdNot(policyDTO.getName(), id)) {
+            throw new DuplicateResourceException("Access policy name already exists");
+        }
+        PolicyCompiler.compile(policyDTO.getCondition());
+
+        applyChanges(policy, policyDTO);
+        AccessPolicy savedPolicy = policyRepository.save(policy);
+        policyEngine.reloadAfterCommit();
+        return mapToDTO(savedPolicy);
+    }
+
+    @Override
+    @Transactional
+    public void deletePolicy(Long id) {
+        policyRepository.delete(findPolicy(id));
+        policyEngine.reloadAfterCommit();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccessPolicyDTO getPolicy(Long id) {
+        return mapToDTO(findPolicy(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccessPolicyDTO> getAllPolicies() {
+        return policyRepository.findAll(Sort.by("id")).stream()
+            .map(this::mapToDTO)
+            .collect(Collectors.toList());
+    }
+
+    private AccessPolicy findPolicy(Long id) {
+        return policyRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Access policy not found"));
+    }
+
+    private void applyChanges(AccessPolicy policy, AccessPolicyDTO policyDTO) {
+        policy.setName(policyDTO.getName());
+        policy.setDescription(policyDTO.getDescription());
+        policy.setAction(policyDTO.getAction());
+        policy.setEffect(policyDTO.getEffect());
+        policy.setCondition(policyDTO.getCondition());
+        policy.setEnabled(policyDTO.isEnabled());
+    }
+
+    private AccessPolicyDTO mapToDTO(AccessPolicy policy) {
+        AccessPolicyDTO dto = new AccessPolicyDTO();
+        dto.setId(policy.getId());
+        dto.setName(policy.getName());
+        dto.setDescription(policy.getDescription());
+        dto.setAction(policy.getAction());
+        dto.setEffect(policy.getEffect());
+        dto.setCondition(policy.getCondition());
+        dto.setEnabled(policy.isEnabled());
+        dto.setCreatedBy(policy.getCreatedBy());
+        dto.setCreatedAt(policy.getCreatedAt());
+        dto.setUpdatedAt(policy.getUpdatedAt());
+        return dto;
+    }
+}
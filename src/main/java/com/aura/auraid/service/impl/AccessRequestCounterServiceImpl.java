@@ -0,0 +1,124 @@
+package com.aura.auraid.service.impl;
+
+import com.aura.auraid.model.AccessRequest;
+import com.aura.auraid.model.AccessRequestStatus;
+import com.aura.auraid.repository.AccessRequestRepository;
+import com.aura.auraid.service.AccessRequestCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access request counts kept per requester, status and creation day.
+ *
+ * Counter rows are adjusted in the transaction that creates a request or
+ * changes its status, so dashboards sum a few counter rows instead of counting
+ * access requests. Keying by requester and day keeps concurrent updates on
+ * different rows, and periods are answered by summing the days they cover.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccessRequestCounterServiceImpl implements AccessRequestCounterService {
+
+    private final AccessRequestRepository accessRequestRepository;
+
+    @Override
+    @Transactional
+    public void requestCreated(AccessRequest request) {
+        adjust(request, request.getStatus(), 1);
+    }
+
+    @Override
+    @Transactional
+    public void requestsCreated(Long requesterId, LocalDateTime createdAt, int count) {
+        accessRequestRepository.adjustStatusCount(requesterId, AccessRequestStatus.PENDING.name(),
+            createdAt.toLocalDate(), count);
+    }
+
+    @Override
+    @Transactional
+    public void statusChanged(AccessRequest request, AccessRequestStatus previous) {
+        if (previous == request.getStatus()) {
+            return;
+        }
+        // Counter rows are locked in status order, so concurrent changes for one requester and day cannot deadlock
+        if (previous.compareTo(request.getStatus()) < 0) {
+            adjust(request, previous, -1);
+            adjust(request, request.getStatus(), 1);
+        } else {
+            adjust(request, request.getStatus(), 1);
+            adjust(request, previous, -1);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return accessRequestRepository.sumStatusCount(AccessRequestStatus.PENDING.name());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RequestCounts getCounts(LocalDateTime since) {
+        return toCounts(accessRequestRepository.sumStatusCounts(since.toLocalDate()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RequestCounts getCounts(Long requesterId, LocalDateTime since) {
+        return toCounts(accessRequestRepository.sumStatusCountsByRequester(requesterId, since.toLocalDate()));
+    }
+
+    @Override
+    @Scheduled(cron = "${app.requests.counts.rebuild-cron:0 45 2 * * ?}")
+    @Transactional
+    public Map<String, Object> rebuild() {
+        accessRequestRepository.lockStatusCounts();
+        int recounted = accessRequestRepository.recountStatuses();
+        int removed = accessRequestRepository.deleteStaleStatusCounts();
+
+        if (recounted > 0 || removed > 0) {
+            log.warn("Access request counter drift repaired: {} counters recounted, {} stale counters removed",
+                recounted, removed);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("recounted", recounted);
+        result.put("removed", removed);
+        return result;
+    }
+
+    private void adjust(AccessRequest request, AccessRequestStatus status, int delta) {
+        LocalDate createdOn = (request.getCreatedAt() != null ? request.getCreatedAt() : LocalDateTime.now()).toLocalDate();
+        accessRequestRepository.adjustStatusCount(request.getRequester().getId(), status.name(), createdOn, delta);
+    }
+
+    // Rows are [status, count since the day, count overall]
+    private RequestCounts toCounts(List<Object[]> rows) {
+        long pending = 0;
+        long approved = 0;
+        long rejected = 0;
+        long total = 0;
+        for (Object[] row : rows) {
+            long sinceDay = ((Number) row[1]).longValue();
+            switch (AccessRequestStatus.valueOf((String) row[0])) {
+                case PENDING -> pending = ((Number) row[2]).longValue();
+                case APPROVED -> approved = sinceDay;
+                case REJECTED -> rejected = sinceDay;
+                default -> {
+                }
+            }
+            total += sinceDay;
+        }
+        return new RequestCounts(pending, approved, rejected, total);
+    }
+}
@@ -0,0 +1,432 @@
+package com.aura.auraid.service.impl;
+
+import com.aura.auraid.dto.AccessRequestDTO;
+import com.aura.auraid.dto.AccessRequestImportDTO;
+import com.aura.auraid.dto.BulkAccessRequestResultDTO;
+import com.aura.auraid.exception.ImportFormatException;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.repository.UserRepository;
+import com.aura.auraid.service.AccessRequestImportService;
+import com.aura.auraid.service.AccessRequestService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Imports access requests from a CSV file with the columns {@code username},
+ * {@code resource_id}, {@code permission} (name or id) and, optionally,
+ * {@code justification} and {@code access_duration_minutes}.
+ *
+ * The upload is copied to a temporary file and its header checked before the
+ * call returns; the rows are then read one chunk at a time on a background
+ * thread, so the file is never held in memory. Each chunk resolves its
+ * usernames in one query and goes through
+ * {@link AccessRequestService#submitRequests}. Progress is kept for a while
+ * after the import finishes, with row errors capped at {@code max-row-errors}.
+ */
+@Slf4j
+@Service
+public class AccessRequestImportServiceImpl implements AccessRequestImportService {
+
+    private static final String USERNAME = "username";
+    private static final String RESOURCE_ID = "resource_id";
+    private static final String PERMISSION = "permission";
+    private static final String JUSTIFICATION = "justification";
+    private static final String ACCESS_DURATION = "access_duration_minutes";
+    private static final List<String> REQUIRED_COLUMNS = List.of(USERNAME, RESOURCE_ID, PERMISSION);
+
+    private final AccessRequestService accessRequestService;
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxRowErrors;
+    private final Cache<String, ImportJob> imports;
+    private final ExecutorService importer;
+
+    public AccessRequestImportServiceImpl(AccessRequestService accessRequestService,
+                                          UserRepository userRepository,
+                                          Validator validator,
+                                          @Value("${app.requests.import.batch-size:500}") int batchSize,
+                                          @Value("${app.requests.import.max-row-errors:1000}") int maxRowErrors,
+                                          @Value("${app.requests.import.retention:24h}") Duration retention) {
+        this.accessRequestService = accessRequestService;
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxRowErrors = maxRowErrors;
+        this.imports = Caffeine.newBuilder()
+            .expireAfterAccess(retention)
+            .build();
+        this.importer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "access-request-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public AccessRequestImportDTO startImport(MultipartFile file, Long importedBy) {
+        if (file == null || file.isEmpty()) {
+            throw new ImportFormatException("The import file is empty");
+        }
+        Path copy;
+        Map<String, Integer> columns;
+        try {
+            copy = Files.createTempFile("access-request-import-", ".csv");
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not store the import file", e);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(copy, StandardCharsets.UTF_8)) {
+            columns = readHeader(new CsvReader(reader));
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(copy);
+            if (e instanceof ImportFormatException formatError) {
+                throw formatError;
+            }
+            throw new ImportFormatException("Could not read the import file: " + e.getMessage());
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        imports.put(job.importId, job);
+        log.info("User {} started import {} of {}", importedBy, job.importId, job.fileName);
+        importer.execute(() -> {
+            try {
+                run(job, copy, columns);
+            } finally {
+                deleteQuietly(copy);
+            }
+        });
+        return job.snapshot();
+    }
+
+    @Override
+    public AccessRequestImportDTO getImport(String importId) {
+        ImportJob job = imports.getIfPresent(importId);
+        if (job == null) {
+            throw new EntityNotFoundException("Import not found");
+        }
+        return job.snapshot();
+    }
+
+    @PreDestroy
+    public void stop() {
+        importer.shutdownNow();
+    }
+
+    void run(ImportJob job, Path file, Map<String, Integer> columns) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            readHeader(csv);
+            List<Row> chunk = new ArrayList<>(batchSize);
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                chunk.add(new Row(csv.recordLine(), fields));
+                if (chunk.size() == batchSize) {
+                    importChunk(job, chunk, columns);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, columns);
+            }
+            job.finish(null);
+            log.info("Import {} finished: {} rows, {} submitted, {} failed",
+                job.importId, job.rowsRead, job.submitted, job.failed);
+        } catch (IOException | RuntimeException e) {
+            log.error("Import {} stopped after {} rows", job.importId, job.rowsRead, e);
+            job.finish(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void importChunk(ImportJob job, List<Row> chunk, Map<String, Integer> columns) {
+        Set<String> usernames = chunk.stream()
+            .map(row -> field(row, columns, USERNAME))
+            .filter(username -> username != null && !username.isEmpty())
+            .map(username -> username.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+        Map<String, Long> userIds = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            for (Object[] user : userRepository.findIdsByLowerUsernameIn(usernames)) {
+                userIds.put((String) user[0], (Long) user[1]);
+            }
+        }
+
+        List<BulkAccessRequestResultDTO.ItemResultDTO> errors = new ArrayList<>();
+        List<AccessRequestService.Submission> submissions = new ArrayList<>();
+        for (Row row : chunk) {
+            String error = null;
+            Long requesterId = null;
+            AccessRequestDTO request = null;
+            try {
+                String username = field(row, columns, USERNAME);
+                requesterId = username != null ? userIds.get(username.toLowerCase(Locale.ROOT)) : null;
+                if (requesterId == null) {
+                    error = "Unknown user: " + username;
+                } else {
+                    request = toRequest(row, columns);
+                    error = validate(request);
+                }
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+            if (error != null) {
+                errors.add(BulkAccessRequestResultDTO.ItemResultDTO.failed(row.line(), error));
+            } else {
+                submissions.add(new AccessRequestService.Submission(row.line(), requesterId, request));
+            }
+        }
+
+        if (!submissions.isEmpty()) {
+            BulkAccessRequestResultDTO result = accessRequestService.submitRequests(submissions);
+            result.getItems().stream().filter(item -> !item.isSuccess()).forEach(errors::add);
+        }
+        job.record(chunk.size(), errors, maxRowErrors);
+    }
+
+    private AccessRequestDTO toRequest(Row row, Map<String, Integer> columns) {
+        AccessRequestDTO request = new AccessRequestDTO();
+        request.setResourceId(parseLong(field(row, columns, RESOURCE_ID), RESOURCE_ID));
+        request.setPermissionId(parsePermission(field(row, columns, PERMISSION)));
+        String justification = field(row, columns, JUSTIFICATION);
+        request.setJustification(justification != null && !justification.isEmpty() ? justification : null);
+        String duration = field(row, columns, ACCESS_DURATION);
+        if (duration != null && !duration.isEmpty()) {
+            request.setAccessDurationMinutes(parseLong(duration, ACCESS_DURATION).intValue());
+        }
+        return request;
+    }
+
+    private String validate(AccessRequestDTO request) {
+        Set<ConstraintViolation<AccessRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private static Map<String, Integer> readHeader(CsvReader csv) throws IOException {
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new ImportFormatException("The import file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            // A byte order mark is common in spreadsheet exports
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            if (columns.putIfAbsent(name, i) != null) {
+                throw new ImportFormatException("Duplicate column: " + name);
+            }
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new ImportFormatException("Missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static String field(Row row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.fields().size()) {
+            return null;
+        }
+        return row.fields().get(index).trim();
+    }
+
+    private static Long parseLong(String value, String column) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Long parsePermission(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        if (Character.isDigit(value.charAt(0))) {
+            return parseLong(value, PERMISSION);
+        }
+        try {
+            return (long) PermissionType.valueOf(value.toUpperCase(Locale.ROOT)).ordinal() + 1;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown permission: " + value);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private record Row(long line, List<String> fields) {
+    }
+
+    /**
+     * Reads RFC 4180 records: fields may be quoted, and quoted fields may hold
+     * commas, doubled quotes and line breaks.
+     */
+    static final class CsvReader {
+        private final BufferedReader reader;
+        private long line;
+        private long recordLine;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return the fields of the next record, or null at the end of the file
+         */
+        List<String> next() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    text = reader.readLine();
+                    if (text == null) {
+                        throw new ImportFormatException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    line++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+    }
+
+    static final class ImportJob {
+        final String importId;
+        final String fileName;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final List<BulkAccessRequestResultDTO.ItemResultDTO> rowErrors = new ArrayList<>();
+        String status = "RUNNING";
+        long rowsRead;
+        long submitted;
+        long failed;
+        boolean rowErrorsTruncated;
+        LocalDateTime finishedAt;
+        String error;
+
+        ImportJob(String importId, String fileName) {
+            this.importId = importId;
+            this.fileName = fileName;
+        }
+
+        synchronized void record(int rows, List<BulkAccessRequestResultDTO.ItemResultDTO> errors, int maxRowErrors) {
+            rowsRead += rows;
+            failed += errors.size();
+            submitted += rows - errors.size();
+            for (BulkAccessRequestResultDTO.ItemResultDTO rowError : errors) {
+                if (rowErrors.size() < maxRowErrors) {
+                    rowErrors.add(rowError);
+                } else {
+                    rowErrorsTruncated = true;
+                }
+            }
+        }
+
+        synchronized void finish(String error) {
+            this.status = error == null ? "COMPLETED" : "FAILED";
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        synchronized AccessRequestImportDTO snapshot() {
+            AccessRequestImportDTO dto = new AccessRequestImportDTO();
+            dto.setImportId(importId);
+            dto.setFileName(fileName);
+            dto.setStatus(status);
+            dto.setRowsRead(rowsRead);
+            dto.setSubmitted(submitted);
+            dto.setFailed(failed);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            dto.setRowErrors(List.copyOf(rowErrors));
+            dto.setRowErrorsTruncated(rowErrorsTruncated);
+            return dto;
+        }
+    }
+}
@@ -1,28 +1,56 @@
 package com.aura.auraid.service.impl;
 
 import com.aura.auraid.dto.AccessRequestDTO;
+import com.aura.auraid.dto.BulkAccessRequestResultDTO;
 import com.aura.auraid.dto.PageResponseDTO;
 import com.aura.auraid.model.AccessRequest;
 import com.aura.auraid.model.AccessRequestStatus;
+import com.aura.auraid.model.LatencyDimension;
 import com.aura.auraid.model.Resource;
 import com.aura.auraid.model.ResourcePermission;
 import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.PolicyAction;
+import com.aura.auraid.model.Role;
 import com.aura.auraid.model.User;
+import com.aura.auraid.policy.PolicyAttribute;
+import com.aura.auraid.policy.PolicyContext;
+import com.aura.auraid.policy.PolicyDecision;
+import com.aura.auraid.policy.PolicyEngine;
+import com.aura.auraid.event.AccessRequestDigestEvent;
+import com.aura.auraid.repository.AccessRequestBatchWriter;
 import com.aura.auraid.repository.AccessRequestRepository;
 import com.aura.auraid.repository.ResourceRepository;
+import com.aura.auraid.repository.UserRepository;
+import com.aura.auraid.service.AccessRequestCounterService;
 import com.aura.auraid.service.AccessRequestService;
+import com.aura.auraid.service.ApprovalLatencyService;
+import com.aura.auraid.service.ApprovalWorkflowService;
+import com.aura.auraid.service.ApproverInboxService;
 import com.aura.auraid.service.NotificationService;
+import com.aura.auraid.service.ResourceGrantService;
+import com.aura.auraid.service.WorkflowDefinitionCache;
+import com.aura.auraid.service.WorkflowSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import lombok.extern.slf4j.Slf4j;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Service; 
 
@@ -34,6 +62,17 @@ public class AccessRequestServiceImpl implements AccessRequestService {
     private final AccessRequestRepository accessRequestRepository;
     private final ResourceRepository resourceRepository;
     private final NotificationService notificationService;
+    private final ApproverInboxService approverInboxService;
+    private final AccessRequestCounterService accessRequestCounterService;
+    private final ApprovalLatencyService approvalLatencyService;
+    private final ResourceGrantService resourceGrantService;
+    private final PolicyEngine policyEngine;
+    private final UserRepository userRepository;
+    private final AccessRequestBatchWriter accessRequestBatchWriter;
+    private final WorkflowDefinitionCache workflowDefinitionCache;
+    private final ApprovalWorkflowService approvalWorkflowService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger log = LoggerFactory.getLogger(AccessRequestServiceImpl.class);
 
     @Override
@@ -43,10 +82,19 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         Resource resource = resourceRepository.findById(requestDTO.getResourceId())
             .orElseThrow(() -> new EntityNotFoundException("Resource not found"));
 
+        PermissionType permissionType = PermissionType.fromPermissionId(requestDTO.getPermissionId());
+        PolicyContext context = policyContext(resource, permissionType, requesterId, requestDTO.getJustification());
+        addUserAttributes(context, PolicyAction.SUBMIT_REQUEST, PolicyAttribute.REQUESTER_COUNTRY,
+            PolicyAttribute.REQUESTER_ROLES, () -> userRepository.findById(requesterId).orElse(null));
+        PolicyDecision decision = policyEngine.decide(PolicyAction.SUBMIT_REQUEST, context);
+        if (decision.isDenied()) {
+            throw new IllegalStateException("Access request denied by policy: " + decision.policyName());
+        }
+
         // Create a temporary permission based on the enum type
         ResourcePermission permission = new ResourcePermission();
         permission.setId(requestDTO.getPermissionId());
-        permission.setName(PermissionType.values()[requestDTO.getPermissionId().intValue() - 1].name());
+        permission.setName(permissionType.name());
         permission.setEnabled(true);
 
         AccessRequest request = new AccessRequest();
@@ -55,8 +103,10 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         request.setRequester(getUserReference(requesterId));
         request.setStatus(AccessRequestStatus.PENDING);
         request.setJustification(requestDTO.getJustification());
+        request.setAccessDurationMinutes(requestDTO.getAccessDurationMinutes());
 
         AccessRequest savedRequest = accessRequestRepository.save(request);
+        accessRequestCounterService.requestCreated(savedRequest);
         
         // Notify resource owner about the new request
         notificationService.notifyAccessRequestSubmitted(
@@ -79,6 +129,14 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         request.setApprovedAt(LocalDateTime.now());
 
         AccessRequest updatedRequest = accessRequestRepository.save(request);
+        accessRequestCounterService.statusChanged(updatedRequest, AccessRequestStatus.PENDING);
+        approverInboxService.requestClosed(updatedRequest.getId());
+        resourceGrantService.grant(request.getRequester().getId(), request.getResource().getId(),
+            PermissionType.fromPermissionId(request.getPermission().getId()), request.getId(),
+            request.accessExpiresAt());
+        approvalLatencyService.record(LatencyDimension.REQUEST, 0L, request.getCreatedAt(), request.getApprovedAt());
+        approvalLatencyService.record(LatencyDimension.REQUESTER, request.getRequester().getId(),
+            request.getCreatedAt(), request.getApprovedAt());
         
         // Notify requester about approval
         notificationService.notifyAccessRequestApproved(
@@ -101,6 +159,8 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         request.setApprovedAt(LocalDateTime.now());
 
         AccessRequest updatedRequest = accessRequestRepository.save(request);
+        accessRequestCounterService.statusChanged(updatedRequest, AccessRequestStatus.PENDING);
+        approverInboxService.requestClosed(updatedRequest.getId());
         
         // Notify requester about rejection
         notificationService.notifyAccessRequestRejected(
@@ -123,7 +183,10 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         }
 
         request.setStatus(AccessRequestStatus.CANCELLED);
-        return mapToDTO(accessRequestRepository.save(request));
+        AccessRequest cancelledRequest = accessRequestRepository.save(request);
+        accessRequestCounterService.statusChanged(cancelledRequest, AccessRequestStatus.PENDING);
+        approverInboxService.requestClosed(cancelledRequest.getId());
+        return mapToDTO(cancelledRequest);
     }
 
     @Override
@@ -133,6 +196,75 @@ public class AccessRequestServiceImpl implements AccessRequestService {
             .orElseThrow(() -> new EntityNotFoundException("Access request not found")));
     }
 
+    /**
+     * Validates the items against one query for their resources, then inserts
+     * the valid ones, and the step executions of their workflows, as JDBC
+     * batches in one transaction. Each resource owner gets one notification for
+     * all of their new requests. If the transaction fails, items are retried one
+     * by one so each gets its own outcome. Workflows start once the requests
+     * are committed; an item whose workflow did not start is reported as failed
+     * with the id of its request.
+     */
+    @Override
+    public BulkAccessRequestResultDTO submitRequests(List<Submission> submissions) {
+        Map<Long, BulkAccessRequestResultDTO.ItemResultDTO> results = new HashMap<>();
+        List<Long> workflowRequestIds = new ArrayList<>();
+        try {
+            Map<Long, BulkAccessRequestResultDTO.ItemResultDTO> batchResults = new HashMap<>();
+            List<Long> batchWorkflows = new ArrayList<>();
+            transactionTemplate.executeWithoutResult(status ->
+                submitBatch(submissions, batchResults, batchWorkflows));
+            results.putAll(batchResults);
+            workflowRequestIds.addAll(batchWorkflows);
+        } catch (RuntimeException e) {
+            log.warn("Bulk submission of {} requests failed as a batch, retrying individually", submissions.size(), e);
+            for (Submission submission : submissions) {
+                try {
+                    Map<Long, BulkAccessRequestResultDTO.ItemResultDTO> itemResults = new HashMap<>();
+                    List<Long> itemWorkflows = new ArrayList<>();
+                    transactionTemplate.executeWithoutResult(status ->
+                        submitBatch(List.of(submission), itemResults, itemWorkflows));
+                    results.putAll(itemResults);
+                    workflowRequestIds.addAll(itemWorkflows);
+                } catch (RuntimeException itemError) {
+                    results.put(submission.row(),
+                        BulkAccessRequestResultDTO.ItemResultDTO.failed(submission.row(), itemError.getMessage()));
+                }
+            }
+        }
+
+        if (!workflowRequestIds.isEmpty()) {
+            Map<Long, String> workflowFailures;
+            try {
+                workflowFailures = approvalWorkflowService.startWorkflows(workflowRequestIds);
+            } catch (RuntimeException e) {
+                log.error("Could not start workflows for {} submitted requests", workflowRequestIds.size(), e);
+                String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                workflowFailures = workflowRequestIds.stream().collect(Collectors.toMap(id -> id, id -> error));
+            }
+            // The requests are committed, so report their ids; their workflows can be started again one by one
+            for (BulkAccessRequestResultDTO.ItemResultDTO item : results.values()) {
+                String error = item.getRequestId() != null ? workflowFailures.get(item.getRequestId()) : null;
+                if (error != null) {
+                    item.setSuccess(false);
+                    item.setError("Request was submitted but its approval workflow could not start: " + error);
+                }
+            }
+        }
+
+        List<BulkAccessRequestResultDTO.ItemResultDTO> items = submissions.stream()
+            .map(submission -> results.getOrDefault(submission.row(),
+                BulkAccessRequestResultDTO.ItemResultDTO.failed(submission.row(), "Request could not be submitted")))
+            .collect(Collectors.toList());
+
+        BulkAccessRequestResultDTO result = new BulkAccessRequestResultDTO();
+        result.setRequested(items.size());
+        result.setSucceeded((int) items.stream().filter(BulkAccessRequestResultDTO.ItemResultDTO::isSuccess).count());
+        result.setFailed(result.getRequested() - result.getSucceeded());
+        result.setItems(items);
+        return result;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponseDTO<AccessRequestDTO> getPendingRequests(Pageable pageable) {
@@ -142,13 +274,9 @@ public class AccessRequestServiceImpl implements AccessRequestService {
     @Override
     @Transactional(readOnly = true)
     public PageResponseDTO<AccessRequestDTO> getRequestsByStatus(AccessRequestStatus status, Pageable pageable) {
-        Page<AccessRequest> requestPage = accessRequestRepository.findByStatus(status, pageable);
-        List<AccessRequestDTO> requests = requestPage.getContent().stream()
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
-
+        Page<AccessRequestDTO> requestPage = accessRequestRepository.findListItemsByStatus(status, pageable);
         return PageResponseDTO.of(
-            requests,
+            requestPage.getContent(),
             requestPage.getNumber(),
             requestPage.getSize(),
             requestPage.getTotalElements(),
@@ -159,13 +287,9 @@ public class AccessRequestServiceImpl implements AccessRequestService {
     @Override
     @Transactional(readOnly = true)
     public PageResponseDTO<AccessRequestDTO> getRequestsByRequester(Long requesterId, Pageable pageable) {
-        Page<AccessRequest> requestPage = accessRequestRepository.findByRequesterId(requesterId, pageable);
-        List<AccessRequestDTO> requests = requestPage.getContent().stream()
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
-
+        Page<AccessRequestDTO> requestPage = accessRequestRepository.findListItemsByRequesterId(requesterId, pageable);
         return PageResponseDTO.of(
-            requests,
+            requestPage.getContent(),
             requestPage.getNumber(),
             requestPage.getSize(),
             requestPage.getTotalElements(),
@@ -176,13 +300,9 @@ public class AccessRequestServiceImpl implements AccessRequestService {
     @Override
     @Transactional(readOnly = true)
     public PageResponseDTO<AccessRequestDTO> getRequestsByResource(Long resourceId, Pageable pageable) {
-        Page<AccessRequest> requestPage = accessRequestRepository.findByResourceId(resourceId, pageable);
-        List<AccessRequestDTO> requests = requestPage.getContent().stream()
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
-
+        Page<AccessRequestDTO> requestPage = accessRequestRepository.findListItemsByResourceId(resourceId, pageable);
         return PageResponseDTO.of(
-            requests,
+            requestPage.getContent(),
             requestPage.getNumber(),
             requestPage.getSize(),
             requestPage.getTotalElements(),
@@ -193,7 +313,7 @@ public class AccessRequestServiceImpl implements AccessRequestService {
     @Override
     @Transactional(readOnly = true)
     public long countPendingRequests() {
-        return accessRequestRepository.findByStatus(AccessRequestStatus.PENDING).size();
+        return accessRequestCounterService.countPending();
     }
 
     @Override
@@ -202,7 +322,25 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         log.debug("canApproveRequest called with userId: {}, requestId: {}", userId, requestId);
         AccessRequest request = accessRequestRepository.findById(requestId)
             .orElseThrow(() -> new EntityNotFoundException("Access request not found"));
-            
+
+        // Access policies come first: a matching DENY or PERMIT decides, otherwise the rules below apply
+        PolicyContext context = policyContext(request.getResource(),
+                PermissionType.fromPermissionId(request.getPermission().getId()),
+                request.getRequester().getId(), request.getJustification())
+            .set(PolicyAttribute.APPROVER_ID, userId);
+        addUserAttributes(context, PolicyAction.APPROVE_REQUEST, PolicyAttribute.REQUESTER_COUNTRY,
+            PolicyAttribute.REQUESTER_ROLES, request::getRequester);
+        addUserAttributes(context, PolicyAction.APPROVE_REQUEST, PolicyAttribute.APPROVER_COUNTRY,
+            PolicyAttribute.APPROVER_ROLES, () -> userRepository.findById(userId).orElse(null));
+        PolicyDecision decision = policyEngine.decide(PolicyAction.APPROVE_REQUEST, context);
+        if (decision.isDenied()) {
+            log.debug("Approval of request {} by user {} denied by policy {}", requestId, userId, decision.policyName());
+            return false;
+        }
+        if (decision.isPermitted()) {
+            return true;
+        }
+
         // Check if user is the resource creator
         if (request.getResource().getCreatedBy().equals(userId)) {
             return true;
@@ -232,6 +370,127 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         return request;
     }
 
+    private void submitBatch(List<Submission> batch, Map<Long, BulkAccessRequestResultDTO.ItemResultDTO> results,
+                             List<Long> workflowRequestIds) {
+        Map<Long, Resource> resources = resourceRepository.findAllById(batch.stream()
+                .map(submission -> submission.request().getResourceId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Resource::getId, resource -> resource));
+        Map<Long, User> requesters = new HashMap<>();
+        Supplier<Map<Long, User>> loadRequesters = () -> {
+            if (requesters.isEmpty()) {
+                userRepository.findAllById(batch.stream().map(Submission::requesterId).collect(Collectors.toSet()))
+                    .forEach(user -> requesters.put(user.getId(), user));
+            }
+            return requesters;
+        };
+
+        List<Submission> accepted = new ArrayList<>();
+        List<Resource> acceptedResources = new ArrayList<>();
+        List<WorkflowSnapshot> workflows = new ArrayList<>();
+        List<AccessRequestBatchWriter.NewRequest> rows = new ArrayList<>();
+        for (Submission submission : batch) {
+            AccessRequestDTO item = submission.request();
+            Resource resource = resources.get(item.getResourceId());
+            if (resource == null) {
+                results.put(submission.row(), BulkAccessRequestResultDTO.ItemResultDTO.failed(submission.row(), "Resource not found"));
+                continue;
+            }
+            if (item.getPermissionId() == null || item.getPermissionId() < 1
+                    || item.getPermissionId() > PermissionType.values().length) {
+                results.put(submission.row(), BulkAccessRequestResultDTO.ItemResultDTO.failed(submission.row(), "Unknown permission"));
+                continue;
+            }
+
+            PolicyContext context = policyContext(resource, PermissionType.fromPermissionId(item.getPermissionId()),
+                submission.requesterId(), item.getJustification());
+            addUserAttributes(context, PolicyAction.SUBMIT_REQUEST, PolicyAttribute.REQUESTER_COUNTRY,
+                PolicyAttribute.REQUESTER_ROLES, () -> loadRequesters.get().get(submission.requesterId()));
+            PolicyDecision decision = policyEngine.decide(PolicyAction.SUBMIT_REQUEST, context);
+            if (decision.isDenied()) {
+                results.put(submission.row(), BulkAccessRequestResultDTO.ItemResultDTO.failed(submission.row(),
+                    "Access request denied by policy: " + decision.policyName()));
+                continue;
+            }
+
+            WorkflowSnapshot workflow = resource.getApprovalWorkflow() != null
+                ? workflowDefinitionCache.getCurrent(resource.getApprovalWorkflow().getId())
+                : null;
+            accepted.add(submission);
+            acceptedResources.add(resource);
+            workflows.add(workflow);
+            rows.add(new AccessRequestBatchWriter.NewRequest(resource.getId(), item.getPermissionId(),
+                submission.requesterId(), item.getJustification(), item.getAccessDurationMinutes(),
+                workflow != null ? workflow.getWorkflowId() : null, workflow != null ? workflow.getVersion() : null));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = accessRequestBatchWriter.insertRequests(rows, now);
+
+        List<long[]> steps = new ArrayList<>();
+        Map<Long, Integer> createdByRequester = new TreeMap<>();
+        Map<Long, List<Integer>> acceptedByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Submission submission = accepted.get(i);
+            Long id = ids.get(i);
+            results.put(submission.row(), BulkAccessRequestResultDTO.ItemResultDTO.submitted(submission.row(), id));
+
+            WorkflowSnapshot workflow = workflows.get(i);
+            if (workflow != null) {
+                for (WorkflowSnapshot.Step step : workflow.getSteps()) {
+                    steps.add(new long[] {id, step.getStepId()});
+                }
+                workflowRequestIds.add(id);
+            }
+            createdByRequester.merge(submission.requesterId(), 1, Integer::sum);
+            Long ownerId = acceptedResources.get(i).getCreatedBy();
+            if (ownerId != null) {
+                acceptedByOwner.computeIfAbsent(ownerId, owner -> new ArrayList<>()).add(i);
+            }
+        }
+        accessRequestBatchWriter.insertStepExecutions(steps, now);
+
+        // Requester ids are sorted, so concurrent submissions lock counter rows in the same order
+        createdByRequester.forEach((requesterId, count) ->
+            accessRequestCounterService.requestsCreated(requesterId, now, count));
+
+        // Sent after commit, one notification per resource owner
+        acceptedByOwner.forEach((ownerId, indexes) -> eventPublisher.publishEvent(new AccessRequestDigestEvent(
+            ownerId,
+            indexes.stream().map(ids::get).collect(Collectors.toList()),
+            indexes.stream().map(i -> acceptedResources.get(i).getName())
+                .collect(Collectors.toCollection(LinkedHashSet::new)).stream().toList())));
+    }
+
+    private PolicyContext policyContext(Resource resource, PermissionType permission, Long requesterId,
+                                        String justification) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PolicyContext()
+            .set(PolicyAttribute.RESOURCE_ID, resource.getId())
+            .set(PolicyAttribute.RESOURCE_TYPE, resource.getType())
+            .set(PolicyAttribute.RESOURCE_PATH, resource.getPath())
+            .set(PolicyAttribute.PERMISSION, permission)
+            .set(PolicyAttribute.REQUESTER_ID, requesterId)
+            .set(PolicyAttribute.REQUEST_JUSTIFICATION_LENGTH, justification != null ? justification.length() : 0)
+            .set(PolicyAttribute.TIME_HOUR, now.getHour())
+            .set(PolicyAttribute.TIME_DAY_OF_WEEK, now.getDayOfWeek());
+    }
+
+    // Loads the user only when a policy for the action reads their country or roles
+    private void addUserAttributes(PolicyContext context, PolicyAction action, PolicyAttribute country,
+                                   PolicyAttribute roles, Supplier<User> user) {
+        if (!policyEngine.uses(action, country) && !policyEngine.uses(action, roles)) {
+            return;
+        }
+        User loaded = user.get();
+        if (loaded != null) {
+            context.set(country, loaded.getCountry())
+                .set(roles, loaded.getRoles().stream().map(Role::getName).collect(Collectors.toList()));
+        }
+    }
+
     private User getUserReference(Long userId) {
         User user = new User();
         user.setId(userId);
@@ -244,6 +503,7 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         dto.setResourceId(request.getResource().getId());
         dto.setPermissionId(request.getPermission().getId());
         dto.setJustification(request.getJustification());
+        dto.setAccessDurationMinutes(request.getAccessDurationMinutes());
         dto.setStatus(request.getStatus());
         dto.setApproverComment(request.getApproverComment());
         dto.setApprovedAt(request.getApprovedAt());
@@ -0,0 +1,191 @@
+package com.aura.auraid.service.impl;
+
+import com.aura.auraid.dto.LatencyStatsDTO;
+import com.aura.auraid.model.LatencyDimension;
+import com.aura.auraid.model.LatencySketchBucket;
+import com.aura.auraid.repository.LatencySketchBucketRepository;
+import com.aura.auraid.service.ApprovalLatencyService;
+import com.aura.auraid.service.QuantileSketch;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Time-in-step and time-to-approval percentiles from quantile sketches.
+ *
+ * Samples go into an in-memory sketch per dimension value and day, and are
+ * merged into the stored day bucket on each flush. Reads merge the day buckets
+ * of the period plus anything not flushed yet, so their cost depends on the
+ * number of days and the sketch size, never on how many requests went through.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApprovalLatencyServiceImpl implements ApprovalLatencyService {
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final LatencySketchBucketRepository bucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<BucketKey, QuantileSketch> unflushed = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(LatencyDimension dimension, Long dimensionId, LocalDateTime start, LocalDateTime end) {
+        if (dimensionId == null || start == null || end == null || end.isBefore(start)) {
+            return;
+        }
+        double seconds = Duration.between(start, end).toMillis() / 1000.0;
+        BucketKey key = new BucketKey(dimension, dimensionId, end.toLocalDate());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(key, seconds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(key, seconds);
+            }
+        });
+    }
+
+    @Override
+    public LatencyStatsDTO getStats(LatencyDimension dimension, Long dimensionId, LocalDateTime since) {
+        LocalDate sinceDay = since.toLocalDate();
+        QuantileSketch sketch = new QuantileSketch();
+        for (LatencySketchBucket bucket : bucketRepository
+                .findByDimensionAndDimensionIdAndBucketDateGreaterThanEqual(dimension, dimensionId, sinceDay)) {
+            sketch.merge(QuantileSketch.fromBytes(bucket.getDigest()));
+        }
+        for (BucketKey key : unflushed.keySet()) {
+            if (key.dimension() == dimension && key.dimensionId().equals(dimensionId) && !key.day().isBefore(sinceDay)) {
+                mergeUnflushed(key, sketch);
+            }
+        }
+        return toStats(dimension, dimensionId, sketch);
+    }
+
+    /**
+     * Ranks dimension values by p90, slowest first.
+     */
+    @Override
+    public List<LatencyStatsDTO> getSlowest(LatencyDimension dimension, LocalDateTime since, int limit) {
+        LocalDate sinceDay = since.toLocalDate();
+        Map<Long, QuantileSketch> sketches = new HashMap<>();
+        for (LatencySketchBucket bucket : bucketRepository.findByDimensionAndBucketDateGreaterThanEqual(dimension, sinceDay)) {
+            sketches.computeIfAbsent(bucket.getDimensionId(), id -> new QuantileSketch())
+                .merge(QuantileSketch.fromBytes(bucket.getDigest()));
+        }
+        for (BucketKey key : unflushed.keySet()) {
+            if (key.dimension() == dimension && !key.day().isBefore(sinceDay)) {
+                mergeUnflushed(key, sketches.computeIfAbsent(key.dimensionId(), id -> new QuantileSketch()));
+            }
+        }
+
+        return sketches.entrySet().stream()
+            .map(entry -> toStats(dimension, entry.getKey(), entry.getValue()))
+            .filter(stats -> stats.getCount() > 0)
+            .sorted(Comparator.comparingDouble(LatencyStatsDTO::getP90).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.analytics.latency-flush-millis:60000}")
+    public Map<String, Object> flush() {
+        int flushed = 0;
+        int failed = 0;
+        for (BucketKey key : new ArrayList<>(unflushed.keySet())) {
+            QuantileSketch delta = unflushed.remove(key);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(key, delta));
+                flushed++;
+            } catch (RuntimeException e) {
+                // Put the samples back for the next flush (e.g. another instance created the bucket first)
+                unflushed.merge(key, delta, (current, returned) -> {
+                    current.merge(returned);
+                    return current;
+                });
+                failed++;
+                log.warn("Failed to flush latency sketch {}", key, e);
+            }
+        }
+        return Map.of(
+            "flushedBuckets", flushed,
+            "failedBuckets", failed
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void persist(BucketKey key, QuantileSketch delta) {
+        LatencySketchBucket bucket = bucketRepository.findForUpdate(key.dimension(), key.dimensionId(), key.day())
+            .orElseGet(() -> {
+                LatencySketchBucket created = new LatencySketchBucket();
+                created.setDimension(key.dimension());
+                created.setDimensionId(key.dimensionId());
+                created.setBucketDate(key.day());
+                return created;
+            });
+
+        QuantileSketch merged = bucket.getDigest() != null
+            ? QuantileSketch.fromBytes(bucket.getDigest())
+            : new QuantileSketch();
+        merged.merge(delta);
+        bucket.setDigest(merged.toBytes());
+        bucket.setSampleCount(merged.count());
+        bucketRepository.save(bucket);
+    }
+
+    private void add(BucketKey key, double seconds) {
+        // compute holds the entry's lock, so adds never overlap a flush taking the sketch away
+        unflushed.compute(key, (k, sketch) -> {
+            QuantileSketch target = sketch != null ? sketch : new QuantileSketch();
+            target.add(seconds);
+            return target;
+        });
+    }
+
+    private void mergeUnflushed(BucketKey key, QuantileSketch into) {
+        unflushed.computeIfPresent(key, (k, sketch) -> {
+            into.merge(sketch);
+            return sketch;
+        });
+    }
+
+    private LatencyStatsDTO toStats(LatencyDimension dimension, Long dimensionId, QuantileSketch sketch) {
+        LatencyStatsDTO stats = new LatencyStatsDTO();
+        stats.setDimension(dimension);
+        stats.setDimensionId(dimensionId);
+        stats.setCount(sketch.count());
+        if (sketch.count() > 0) {
+            stats.setMean(sketch.mean() / SECONDS_PER_HOUR);
+            stats.setP50(sketch.quantile(0.5) / SECONDS_PER_HOUR);
+            stats.setP90(sketch.quantile(0.9) / SECONDS_PER_HOUR);
+            stats.setP99(sketch.quantile(0.99) / SECONDS_PER_HOUR);
+            stats.setMax(sketch.max() / SECONDS_PER_HOUR);
+        }
+        return stats;
+    }
+
+    private record BucketKey(LatencyDimension dimension, Long dimensionId, LocalDate day) {
+    }
+}
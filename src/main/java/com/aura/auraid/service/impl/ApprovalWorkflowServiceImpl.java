@@ -3,34 +3,67 @@ package com.aura.auraid.service.impl;
 import com.aura.auraid.dto.ApprovalWorkflowDTO;
 import com.aura.auraid.dto.ApprovalStepDTO;
 import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.dto.BulkApprovalResultDTO;
+import com.aura.auraid.event.ApprovalDigestEvent;
+import com.aura.auraid.event.ApprovalRequiredEvent;
+import com.aura.auraid.event.StepDeadlineEvent;
+import com.aura.auraid.event.StepDeadlineNotificationEvent;
 import com.aura.auraid.model.*;
 import com.aura.auraid.repository.*;
+import com.aura.auraid.service.ApprovalLatencyService;
 import com.aura.auraid.service.ApprovalWorkflowService;
-import com.aura.auraid.service.NotificationService;
+import com.aura.auraid.service.AccessRequestCounterService;
+import com.aura.auraid.service.ApproverInboxService;
+import com.aura.auraid.service.ResourceGrantService;
+import com.aura.auraid.service.StepDeadlineScheduler;
+import com.aura.auraid.service.WorkflowDefinitionCache;
+import com.aura.auraid.service.WorkflowEngine;
+import com.aura.auraid.service.WorkflowSnapshot;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
 
+    private static final String DUPLICATE_ACTION_CONSTRAINT = "uk_approval_actions_step_approver";
+
     private final ApprovalWorkflowRepository workflowRepository;
     private final ApprovalStepRepository stepRepository;
     private final ResourceRepository resourceRepository;
     private final AccessRequestRepository accessRequestRepository;
     private final ApprovalStepExecutionRepository stepExecutionRepository;
     private final ApprovalActionRepository actionRepository;
+    private final ApprovalActionBatchWriter approvalActionBatchWriter;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    private final WorkflowDefinitionCache workflowDefinitionCache;
+    private final WorkflowEngine workflowEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApproverInboxService approverInboxService;
+    private final StepDeadlineScheduler stepDeadlineScheduler;
+    private final ApprovalLatencyService approvalLatencyService;
+    private final ResourceGrantService resourceGrantService;
+    private final AccessRequestCounterService accessRequestCounterService;
 
     @Override
     @Transactional
@@ -53,6 +86,7 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
             savedWorkflow.setSteps(steps);
         }
 
+        workflowDefinitionCache.invalidateAfterCommit(savedWorkflow.getId());
         return mapToDTO(savedWorkflow);
     }
 
@@ -67,6 +101,7 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         workflow.setType(workflowDTO.getType());
         workflow.setUpdatedBy(updatedBy);
         workflow.setUpdatedAt(LocalDateTime.now());
+        definitionChanged(workflow);
 
         return mapToDTO(workflowRepository.save(workflow));
     }
@@ -83,6 +118,7 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         }
         
         workflowRepository.delete(workflow);
+        workflowDefinitionCache.invalidateAfterCommit(id);
     }
 
     @Override
@@ -124,6 +160,7 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
             .orElseThrow(() -> new EntityNotFoundException("Workflow not found"));
 
         ApprovalStep step = createStep(workflow, stepDTO);
+        definitionChanged(workflow);
         return mapToStepDTO(stepRepository.save(step));
     }
 
@@ -137,7 +174,11 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         step.setDescription(stepDTO.getDescription());
         step.setStepOrder(stepDTO.getStepOrder());
         step.setApprovalThreshold(stepDTO.getApprovalThreshold());
+        step.setSlaMinutes(stepDTO.getSlaMinutes());
+        step.setReminderMinutes(stepDTO.getReminderMinutes());
+        step.setSlaBreachAction(stepDTO.getSlaBreachAction());
         step.setApprovers(mapUserReferences(stepDTO.getApproverIds()));
+        definitionChanged(step.getWorkflow());
 
         return mapToStepDTO(stepRepository.save(step));
     }
@@ -148,12 +189,15 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         ApprovalStep step = stepRepository.findByWorkflowIdAndId(workflowId, stepId)
             .orElseThrow(() -> new EntityNotFoundException("Step not found"));
             
+        definitionChanged(step.getWorkflow());
         stepRepository.delete(step);
     }
 
     @Override
     @Transactional
     public void reorderSteps(Long workflowId, List<Long> stepIds) {
+        ApprovalWorkflow workflow = workflowRepository.findById(workflowId)
+            .orElseThrow(() -> new EntityNotFoundException("Workflow not found"));
         List<ApprovalStep> steps = stepRepository.findByWorkflowIdAndIdIn(workflowId, stepIds);
         Map<Long, ApprovalStep> stepMap = steps.stream()
             .collect(Collectors.toMap(ApprovalStep::getId, step -> step));
@@ -166,50 +210,200 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         }
 
         stepRepository.saveAll(steps);
+        definitionChanged(workflow);
     }
 
+    /**
+     * Runs on the request's workflow lane in its own transaction, so it must not
+     * be called from inside a transaction that still holds uncommitted changes
+     * to the request.
+     */
     @Override
-    @Transactional
     public void processAccessRequest(Long accessRequestId) {
-        AccessRequest request = accessRequestRepository.findById(accessRequestId)
-            .orElseThrow(() -> new EntityNotFoundException("Access request not found"));
+        workflowEngine.execute(accessRequestId, () -> transactionTemplate.execute(status -> {
+            AccessRequest request = accessRequestRepository.findById(accessRequestId)
+                .orElseThrow(() -> new EntityNotFoundException("Access request not found"));
 
-        ApprovalWorkflow workflow = request.getResource().getApprovalWorkflow();
-        if (workflow == null) {
-            throw new IllegalStateException("Resource has no approval workflow configured");
+            WorkflowSnapshot workflow = getWorkflowSnapshot(request);
+
+            // Initialize workflow execution if not started
+            if (request.getApprovalSteps() == null || request.getApprovalSteps().isEmpty()) {
+                initializeWorkflowExecution(request, workflow);
+            }
+
+            List<ApprovalRequiredEvent> activations = new ArrayList<>();
+            advance(request, workflow, activations);
+            activations.forEach(eventPublisher::publishEvent);
+            return null;
+        }));
+    }
+
+    /**
+     * Starts the workflows of requests submitted together. Requests are advanced
+     * with one transaction per workflow lane, and approvers of the first steps
+     * get one coalesced notification, as with bulk approvals. If a lane's
+     * transaction fails, its requests are retried one by one so each gets its
+     * own outcome.
+     */
+    @Override
+    public Map<Long, String> startWorkflows(List<Long> accessRequestIds) {
+        Map<Integer, List<Long>> requestsByLane = new HashMap<>();
+        for (Long requestId : accessRequestIds) {
+            requestsByLane.computeIfAbsent(workflowEngine.laneOf(requestId), lane -> new ArrayList<>()).add(requestId);
         }
 
-        // Initialize workflow execution if not started
-        if (request.getApprovalSteps() == null || request.getApprovalSteps().isEmpty()) {
-            initializeWorkflowExecution(request, workflow);
+        List<ApprovalRequiredEvent> activations = Collections.synchronizedList(new ArrayList<>());
+        Map<Long, String> failures = new ConcurrentHashMap<>();
+        Map<List<Long>, CompletableFuture<Void>> lanes = new LinkedHashMap<>();
+        for (List<Long> requestIds : requestsByLane.values()) {
+            lanes.put(requestIds, workflowEngine.submit(requestIds.get(0), () -> {
+                try {
+                    activations.addAll(startLane(requestIds));
+                } catch (RuntimeException e) {
+                    log.warn("Starting {} workflows failed as a batch, retrying individually", requestIds.size(), e);
+                    for (Long requestId : requestIds) {
+                        try {
+                            activations.addAll(startLane(List.of(requestId)));
+                        } catch (RuntimeException requestError) {
+                            log.error("Could not start the workflow of access request {}", requestId, requestError);
+                            failures.put(requestId, errorMessage(requestError));
+                        }
+                    }
+                }
+                return null;
+            }));
         }
+        lanes.forEach((requestIds, lane) -> {
+            try {
+                lane.join();
+            } catch (CompletionException e) {
+                log.error("Starting workflows failed for a lane", e.getCause());
+                requestIds.forEach(requestId -> failures.putIfAbsent(requestId, errorMessage(e.getCause())));
+            }
+        });
+        publishDigests(activations);
+        return failures;
+    }
+
+    private List<ApprovalRequiredEvent> startLane(List<Long> requestIds) {
+        List<ApprovalRequiredEvent> laneActivations = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (AccessRequest request : accessRequestRepository.findAllById(requestIds)) {
+                WorkflowSnapshot workflow = getWorkflowSnapshot(request);
+                if (request.getApprovalSteps() == null || request.getApprovalSteps().isEmpty()) {
+                    initializeWorkflowExecution(request, workflow);
+                }
+                advance(request, workflow, laneActivations);
+            }
+        });
+        return laneActivations;
+    }
 
-        // Process current step
-        processCurrentStep(request);
+    private static String errorMessage(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
     }
 
+    /**
+     * Approval actions are events on the request's workflow lane: actions for the
+     * same request apply one at a time in arrival order, while different requests
+     * proceed in parallel.
+     */
     @Override
-    @Transactional
     public void handleApprovalAction(Long stepExecutionId, Long approverId, ApprovalActionType action, String comment) {
-        ApprovalStepExecution stepExecution = stepExecutionRepository.findById(stepExecutionId)
+        Long accessRequestId = stepExecutionRepository.findAccessRequestIdById(stepExecutionId)
             .orElseThrow(() -> new EntityNotFoundException("Step execution not found"));
 
-        validateApprover(stepExecution, approverId);
+        workflowEngine.execute(accessRequestId, () -> transactionTemplate.execute(status -> {
+            List<ApprovalRequiredEvent> activations = new ArrayList<>();
+            applyApprovalAction(stepExecutionId, approverId, action, comment, activations);
+            activations.forEach(eventPublisher::publishEvent);
+            return null;
+        }));
+    }
 
-        // Record the action
-        ApprovalAction approvalAction = new ApprovalAction();
-        approvalAction.setStepExecution(stepExecution);
-        approvalAction.setApprover(getUserReference(approverId));
-        approvalAction.setAction(action);
-        approvalAction.setComment(comment);
-        actionRepository.save(approvalAction);
+    /**
+     * Validates every item with two batched queries, then applies the valid ones
+     * with one transaction per workflow lane: action rows go in as a single JDBC
+     * batch and workflows advance together. If a lane's transaction fails, its
+     * items are retried one by one so each gets its own outcome. Approvers of
+     * newly activated steps get one coalesced notification.
+     */
+    @Override
+    public BulkApprovalResultDTO handleBulkApprovalAction(List<Long> stepExecutionIds, Long approverId,
+                                                          ApprovalActionType action, String comment) {
+        List<Long> ids = stepExecutionIds.stream().distinct().collect(Collectors.toList());
+        Map<Long, BulkApprovalResultDTO.ItemResultDTO> results = new ConcurrentHashMap<>();
+
+        Map<Long, Object[]> contexts = stepExecutionRepository.findApprovalContextByIdIn(ids).stream()
+            .collect(Collectors.toMap(row -> (Long) row[0], row -> row));
+        Set<Long> alreadyActed = new HashSet<>(actionRepository.findStepExecutionIdsActedOnBy(ids, approverId));
+
+        Map<Long, List<Long>> itemsByRequest = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Object[] context = contexts.get(id);
+            String error = validateBulkItem(context, approverId, alreadyActed.contains(id));
+            if (error != null) {
+                results.put(id, BulkApprovalResultDTO.ItemResultDTO.failed(id, error));
+            } else {
+                itemsByRequest.computeIfAbsent((Long) context[1], requestId -> new ArrayList<>()).add(id);
+            }
+        }
+
+        Map<Integer, List<Long>> requestsByLane = new HashMap<>();
+        for (Long requestId : itemsByRequest.keySet()) {
+            requestsByLane.computeIfAbsent(workflowEngine.laneOf(requestId), lane -> new ArrayList<>()).add(requestId);
+        }
+
+        List<ApprovalRequiredEvent> activations = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (List<Long> requestIds : requestsByLane.values()) {
+            List<Long> laneItems = requestIds.stream()
+                .flatMap(requestId -> itemsByRequest.get(requestId).stream())
+                .collect(Collectors.toList());
+            lanes.add(workflowEngine.submit(requestIds.get(0), () -> {
+                applyBulkOnLane(laneItems, approverId, action, comment, results, activations);
+                return null;
+            }));
+        }
+        for (CompletableFuture<Void> lane : lanes) {
+            try {
+                lane.join();
+            } catch (CompletionException e) {
+                log.error("Bulk approval lane failed", e.getCause());
+            }
+        }
 
-        // Update step status based on workflow type
-        updateStepStatus(stepExecution);
+        publishDigests(activations);
 
-        // Process next step if current is complete
-        if (stepExecution.getStatus() == ApprovalStatus.APPROVED) {
-            processAccessRequest(stepExecution.getAccessRequest().getId());
+        List<BulkApprovalResultDTO.ItemResultDTO> items = ids.stream()
+            .map(id -> results.getOrDefault(id,
+                BulkApprovalResultDTO.ItemResultDTO.failed(id, "Action could not be applied")))
+            .collect(Collectors.toList());
+
+        BulkApprovalResultDTO result = new BulkApprovalResultDTO();
+        result.setRequested(items.size());
+        result.setSucceeded((int) items.stream().filter(BulkApprovalResultDTO.ItemResultDTO::isSuccess).count());
+        result.setFailed(result.getRequested() - result.getSucceeded());
+        result.setItems(items);
+        return result;
+    }
+
+    /**
+     * Deadlines come in on the scheduler's ticker thread and are handled on the
+     * request's lane like any other workflow event.
+     */
+    @EventListener
+    public void onStepDeadline(StepDeadlineEvent event) {
+        try {
+            workflowEngine.submit(event.getAccessRequestId(), () -> transactionTemplate.execute(status -> {
+                applyStepDeadline(event);
+                return null;
+            })).exceptionally(e -> {
+                log.error("Failed to handle {} for step execution {}", event.getType(), event.getStepExecutionId(), e);
+                return null;
+            });
+        } catch (IllegalStateException e) {
+            log.warn("Dropped {} for step execution {}: {}", event.getType(), event.getStepExecutionId(), e.getMessage());
         }
     }
 
@@ -219,8 +413,8 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         ApprovalStepExecution stepExecution = stepExecutionRepository.findById(stepExecutionId)
             .orElseThrow(() -> new EntityNotFoundException("Step execution not found"));
 
-        return stepExecution.getStep().getApprovers().stream()
-            .anyMatch(approver -> approver.getId().equals(userId));
+        WorkflowSnapshot workflow = getWorkflowSnapshot(stepExecution.getAccessRequest());
+        return getStepSnapshot(workflow, stepExecution).isApprover(userId);
     }
 
     @Override
@@ -252,66 +446,388 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         step.setDescription(stepDTO.getDescription());
         step.setStepOrder(stepDTO.getStepOrder());
         step.setApprovalThreshold(stepDTO.getApprovalThreshold());
+        step.setSlaMinutes(stepDTO.getSlaMinutes());
+        step.setReminderMinutes(stepDTO.getReminderMinutes());
+        step.setSlaBreachAction(stepDTO.getSlaBreachAction());
         step.setApprovers(mapUserReferences(stepDTO.getApproverIds()));
         step.setActive(true);
         return step;
     }
 
-    private void initializeWorkflowExecution(AccessRequest request, ApprovalWorkflow workflow) {
+    private void applyApprovalAction(Long stepExecutionId, Long approverId, ApprovalActionType action, String comment,
+                                     List<ApprovalRequiredEvent> activations) {
+        ApprovalStepExecution stepExecution = stepExecutionRepository.findById(stepExecutionId)
+            .orElseThrow(() -> new EntityNotFoundException("Step execution not found"));
+        AccessRequest request = stepExecution.getAccessRequest();
+
+        if (stepExecution.getStatus() != ApprovalStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Step is not awaiting approval");
+        }
+
+        WorkflowSnapshot workflow = getWorkflowSnapshot(request);
+        WorkflowSnapshot.Step step = getStepSnapshot(workflow, stepExecution);
+        validateApprover(stepExecution, step, approverId);
+
+        // Record the action
+        ApprovalAction approvalAction = new ApprovalAction();
+        approvalAction.setStepExecution(stepExecution);
+        approvalAction.setApprover(getUserReference(approverId));
+        approvalAction.setAction(action);
+        approvalAction.setComment(comment);
+        try {
+            approvalAction = actionRepository.save(approvalAction);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateAction(e);
+        }
+
+        // Evaluate the step with the new action included
+        List<ApprovalAction> actions = new ArrayList<>();
+        if (stepExecution.getApprovalActions() != null) {
+            actions.addAll(stepExecution.getApprovalActions());
+        }
+        actions.add(approvalAction);
+        updateStepStatus(stepExecution, workflow.getType(), step, actions);
+        completeAction(stepExecution, workflow, approverId, activations);
+    }
+
+    private void completeAction(ApprovalStepExecution stepExecution, WorkflowSnapshot workflow, Long approverId,
+                                List<ApprovalRequiredEvent> activations) {
+        AccessRequest request = stepExecution.getAccessRequest();
+        LocalDateTime now = LocalDateTime.now();
+        approvalLatencyService.record(LatencyDimension.APPROVER, approverId, activatedAt(stepExecution), now);
+        if (stepExecution.getStatus() == ApprovalStatus.IN_PROGRESS) {
+            approverInboxService.approverActed(stepExecution.getId(), approverId);
+            return;
+        }
+        approverInboxService.stepClosed(stepExecution.getId());
+        if (stepExecution.getDueAt() != null) {
+            stepDeadlineScheduler.cancelAfterCommit(stepExecution.getId());
+        }
+
+        // Saving the step bumps its version, so a concurrent writer of the same step fails and is retried
+        stepExecution.setCompletedAt(now);
+        stepExecutionRepository.save(stepExecution);
+        recordTimeInStep(stepExecution, workflow.getWorkflowId());
+
+        if (stepExecution.getStatus() == ApprovalStatus.REJECTED) {
+            AccessRequestStatus previous = request.getStatus();
+            request.setStatus(AccessRequestStatus.REJECTED);
+            accessRequestRepository.save(request);
+            accessRequestCounterService.statusChanged(request, previous);
+        } else if (stepExecution.getStatus() == ApprovalStatus.APPROVED) {
+            advance(request, workflow, activations);
+        }
+    }
+
+    /**
+     * The event may be stale or delivered more than once (every instance loads
+     * the same deadlines at startup), so the step is re-checked and the deadline
+     * it acted on is cleared.
+     */
+    private void applyStepDeadline(StepDeadlineEvent event) {
+        ApprovalStepExecution stepExecution = stepExecutionRepository.findById(event.getStepExecutionId()).orElse(null);
+        if (stepExecution == null || stepExecution.getStatus() != ApprovalStatus.IN_PROGRESS) {
+            return;
+        }
+        AccessRequest request = stepExecution.getAccessRequest();
+        if (request.getStatus() != AccessRequestStatus.PENDING) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        WorkflowSnapshot.Step step = getStepSnapshot(getWorkflowSnapshot(request), stepExecution);
+
+        if (event.getType() == StepDeadlineEvent.Type.REMINDER) {
+            if (stepExecution.getReminderAt() == null || stepExecution.getReminderAt().isAfter(now)) {
+                return;
+            }
+            stepExecution.setReminderAt(null);
+            stepExecutionRepository.save(stepExecution);
+            eventPublisher.publishEvent(deadlineNotification(StepDeadlineNotificationEvent.Kind.REMINDER,
+                stepExecution, pendingApproverIds(stepExecution, step).toArray()));
+            return;
+        }
+
+        if (stepExecution.getDueAt() == null || stepExecution.getDueAt().isAfter(now)) {
+            return;
+        }
+        stepExecution.setReminderAt(null);
+        stepExecution.setDueAt(null);
+
+        if (step.getSlaBreachAction() == SlaBreachAction.AUTO_REJECT) {
+            stepExecution.setStatus(ApprovalStatus.REJECTED);
+            stepExecution.setCompletedAt(now);
+            stepExecutionRepository.save(stepExecution);
+            approverInboxService.stepClosed(stepExecution.getId());
+            recordTimeInStep(stepExecution, request.getWorkflowId());
+
+            request.setStatus(AccessRequestStatus.REJECTED);
+            request.setApproverComment("Automatically rejected: approval deadline passed");
+            accessRequestRepository.save(request);
+            accessRequestCounterService.statusChanged(request, AccessRequestStatus.PENDING);
+            eventPublisher.publishEvent(deadlineNotification(StepDeadlineNotificationEvent.Kind.AUTO_REJECTED,
+                stepExecution, new long[] {request.getRequester().getId()}));
+        } else {
+            stepExecutionRepository.save(stepExecution);
+            Set<Long> recipients = pendingApproverIds(stepExecution, step).boxed()
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (request.getResource().getCreatedBy() != null) {
+                recipients.add(request.getResource().getCreatedBy());
+            }
+            eventPublisher.publishEvent(deadlineNotification(StepDeadlineNotificationEvent.Kind.ESCALATED,
+                stepExecution, recipients.stream().mapToLong(Long::longValue).toArray()));
+        }
+    }
+
+    // One notification per recipient for everything a bulk call activated
+    private void publishDigests(List<ApprovalRequiredEvent> activations) {
+        activations.stream()
+            .flatMap(event -> Arrays.stream(event.getApproverIds()).mapToObj(id -> Map.entry(id, event)))
+            .collect(Collectors.groupingBy(Map.Entry::getKey,
+                Collectors.mapping(Map.Entry::getValue, Collectors.toList())))
+            .forEach((recipientId, events) -> eventPublisher.publishEvent(new ApprovalDigestEvent(recipientId, events)));
+    }
+
+    private void applyBulkOnLane(List<Long> items, Long approverId, ApprovalActionType action, String comment,
+                                 Map<Long, BulkApprovalResultDTO.ItemResultDTO> results,
+                                 List<ApprovalRequiredEvent> activations) {
+        try {
+            List<ApprovalRequiredEvent> laneActivations = new ArrayList<>();
+            results.putAll(transactionTemplate.execute(status ->
+                applyBulkItems(items, approverId, action, comment, laneActivations)));
+            activations.addAll(laneActivations);
+        } catch (RuntimeException e) {
+            log.warn("Bulk approval of {} items failed as a batch, retrying individually", items.size(), e);
+            for (Long id : items) {
+                try {
+                    List<ApprovalRequiredEvent> itemActivations = new ArrayList<>();
+                    results.putAll(transactionTemplate.execute(status ->
+                        applyBulkItems(List.of(id), approverId, action, comment, itemActivations)));
+                    activations.addAll(itemActivations);
+                } catch (RuntimeException itemError) {
+                    results.put(id, BulkApprovalResultDTO.ItemResultDTO.failed(id, itemError.getMessage()));
+                }
+            }
+        }
+    }
+
+    private Map<Long, BulkApprovalResultDTO.ItemResultDTO> applyBulkItems(List<Long> ids, Long approverId,
+                                                                          ApprovalActionType action, String comment,
+                                                                          List<ApprovalRequiredEvent> activations) {
+        Map<Long, BulkApprovalResultDTO.ItemResultDTO> results = new HashMap<>();
+        Map<Long, List<ApprovalAction>> existingActions = actionRepository.findByStepExecutionIdIn(ids).stream()
+            .collect(Collectors.groupingBy(existing -> existing.getStepExecution().getId()));
+
+        // Re-check inside the lane: state may have moved on since the up-front validation
+        List<ApprovalStepExecution> accepted = new ArrayList<>();
+        for (ApprovalStepExecution stepExecution : stepExecutionRepository.findAllById(ids)) {
+            List<ApprovalAction> existing = existingActions.getOrDefault(stepExecution.getId(), List.of());
+            WorkflowSnapshot.Step step = getWorkflowSnapshot(stepExecution.getAccessRequest())
+                .getStep(stepExecution.getStep().getId());
+            if (stepExecution.getStatus() != ApprovalStatus.IN_PROGRESS) {
+                results.put(stepExecution.getId(),
+                    BulkApprovalResultDTO.ItemResultDTO.failed(stepExecution.getId(), "Step is not awaiting approval"));
+            } else if (step == null || !step.isApprover(approverId)) {
+                results.put(stepExecution.getId(), BulkApprovalResultDTO.ItemResultDTO.failed(
+                    stepExecution.getId(), "User is not authorized to approve this step"));
+            } else if (existing.stream().anyMatch(previous -> previous.getApprover().getId().equals(approverId))) {
+                results.put(stepExecution.getId(),
+                    BulkApprovalResultDTO.ItemResultDTO.failed(stepExecution.getId(), "User has already acted on this step"));
+            } else {
+                accepted.add(stepExecution);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            approvalActionBatchWriter.insert(
+                accepted.stream().map(ApprovalStepExecution::getId).collect(Collectors.toList()),
+                approverId, action, comment, now);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateAction(e);
+        }
+
+        for (ApprovalStepExecution stepExecution : accepted) {
+            WorkflowSnapshot workflow = getWorkflowSnapshot(stepExecution.getAccessRequest());
+            WorkflowSnapshot.Step step = getStepSnapshot(workflow, stepExecution);
+
+            ApprovalAction recorded = new ApprovalAction();
+            recorded.setStepExecution(stepExecution);
+            recorded.setApprover(getUserReference(approverId));
+            recorded.setAction(action);
+            recorded.setComment(comment);
+            recorded.setActionTime(now);
+
+            List<ApprovalAction> actions = new ArrayList<>(existingActions.getOrDefault(stepExecution.getId(), List.of()));
+            actions.add(recorded);
+            updateStepStatus(stepExecution, workflow.getType(), step, actions);
+            completeAction(stepExecution, workflow, approverId, activations);
+
+            results.put(stepExecution.getId(), BulkApprovalResultDTO.ItemResultDTO.applied(
+                stepExecution.getId(),
+                stepExecution.getStatus().name(),
+                stepExecution.getAccessRequest().getStatus().name()));
+        }
+        return results;
+    }
+
+    private String validateBulkItem(Object[] context, Long approverId, boolean alreadyActed) {
+        if (context == null) {
+            return "Step execution not found";
+        }
+        if (context[3] != ApprovalStatus.IN_PROGRESS || context[4] != AccessRequestStatus.PENDING) {
+            return "Step is not awaiting approval";
+        }
+        if (context[5] == null) {
+            return "Workflow has not started for this request";
+        }
+        WorkflowSnapshot.Step step = workflowDefinitionCache.get((Long) context[5], (Long) context[6])
+            .getStep((Long) context[2]);
+        if (step == null || !step.isApprover(approverId)) {
+            return "User is not authorized to approve this step";
+        }
+        if (alreadyActed) {
+            return "User has already acted on this step";
+        }
+        return null;
+    }
+
+    /**
+     * The request keeps the workflow version it starts with, even if the
+     * definition (or the resource's workflow) changes while it is in flight.
+     */
+    private WorkflowSnapshot getWorkflowSnapshot(AccessRequest request) {
+        if (request.getWorkflowId() != null) {
+            return workflowDefinitionCache.get(request.getWorkflowId(), request.getWorkflowVersion());
+        }
+
+        ApprovalWorkflow workflow = request.getResource().getApprovalWorkflow();
+        if (workflow == null) {
+            throw new IllegalStateException("Resource has no approval workflow configured");
+        }
+        return workflowDefinitionCache.getCurrent(workflow.getId());
+    }
+
+    private WorkflowSnapshot.Step getStepSnapshot(WorkflowSnapshot workflow, ApprovalStepExecution stepExecution) {
+        WorkflowSnapshot.Step step = workflow.getStep(stepExecution.getStep().getId());
+        if (step == null) {
+            throw new IllegalStateException("Step is not part of workflow version " + workflow.getVersion());
+        }
+        return step;
+    }
+
+    private void initializeWorkflowExecution(AccessRequest request, WorkflowSnapshot workflow) {
         List<ApprovalStepExecution> stepExecutions = workflow.getSteps().stream()
             .map(step -> {
                 ApprovalStepExecution execution = new ApprovalStepExecution();
                 execution.setAccessRequest(request);
-                execution.setStep(step);
+                execution.setStep(stepRepository.getReferenceById(step.getStepId()));
                 execution.setStatus(ApprovalStatus.PENDING);
                 return execution;
             })
             .collect(Collectors.toList());
 
-        request.setApprovalSteps(stepExecutions);
+        request.setApprovalSteps(stepExecutionRepository.saveAll(stepExecutions));
         request.setCurrentStepOrder(1);
+        request.setWorkflowId(workflow.getWorkflowId());
+        request.setWorkflowVersion(workflow.getVersion());
         accessRequestRepository.save(request);
     }
 
-    private void processCurrentStep(AccessRequest request) {
-        ApprovalStepExecution currentStep = request.getApprovalSteps().stream()
-            .filter(step -> step.getStep().getStepOrder() == request.getCurrentStepOrder())
-            .findFirst()
-            .orElse(null);
+    /**
+     * Moves the request forward until it reaches a step that needs approvers or
+     * the end of the workflow.
+     */
+    private void advance(AccessRequest request, WorkflowSnapshot workflow, List<ApprovalRequiredEvent> activations) {
+        while (request.getStatus() == AccessRequestStatus.PENDING) {
+            WorkflowSnapshot.Step step = workflow.getStepAt(request.getCurrentStepOrder());
+            if (step == null) {
+                return;
+            }
 
-        if (currentStep == null) {
-            return;
+            ApprovalStepExecution currentStep = request.getApprovalSteps().stream()
+                .filter(execution -> execution.getStep().getId() == step.getStepId())
+                .findFirst()
+                .orElse(null);
+
+            if (currentStep == null) {
+                return;
+            }
+
+            if (currentStep.getStatus() == ApprovalStatus.PENDING) {
+                currentStep.setStatus(ApprovalStatus.IN_PROGRESS);
+                currentStep.setActivatedAt(LocalDateTime.now());
+                startDeadlines(currentStep, step);
+                stepExecutionRepository.save(currentStep);
+                approverInboxService.stepActivated(currentStep, step.getApproverIds());
+                activations.add(approvalRequired(currentStep, step));
+                return;
+            }
+            if (currentStep.getStatus() != ApprovalStatus.APPROVED) {
+                return;
+            }
+
+            if (workflow.getStepAt(request.getCurrentStepOrder() + 1) != null) {
+                request.setCurrentStepOrder(request.getCurrentStepOrder() + 1);
+            } else {
+                // Workflow complete
+                request.setStatus(AccessRequestStatus.APPROVED);
+                request.setApprovedAt(LocalDateTime.now());
+                accessRequestCounterService.statusChanged(request, AccessRequestStatus.PENDING);
+                resourceGrantService.grant(request.getRequester().getId(), request.getResource().getId(),
+                    PermissionType.fromPermissionId(request.getPermission().getId()), request.getId(),
+                    request.accessExpiresAt());
+                approvalLatencyService.record(LatencyDimension.REQUEST, 0L, request.getCreatedAt(), request.getApprovedAt());
+                approvalLatencyService.record(LatencyDimension.REQUESTER, request.getRequester().getId(),
+                    request.getCreatedAt(), request.getApprovedAt());
+            }
+            accessRequestRepository.save(request);
         }
+    }
 
-        if (currentStep.getStatus() == ApprovalStatus.PENDING) {
-            currentStep.setStatus(ApprovalStatus.IN_PROGRESS);
-            stepExecutionRepository.save(currentStep);
-            notifyApprovers(currentStep);
-        } else if (currentStep.getStatus() == ApprovalStatus.APPROVED) {
-            moveToNextStep(request);
+    private void startDeadlines(ApprovalStepExecution stepExecution, WorkflowSnapshot.Step step) {
+        if (step.getSlaMinutes() == 0) {
+            return;
         }
+        LocalDateTime dueAt = stepExecution.getActivatedAt().plusMinutes(step.getSlaMinutes());
+        stepExecution.setDueAt(dueAt);
+        if (step.getReminderMinutes() > 0) {
+            stepExecution.setReminderAt(dueAt.minusMinutes(step.getReminderMinutes()));
+        }
+        stepDeadlineScheduler.scheduleAfterCommit(stepExecution.getId(), stepExecution.getAccessRequest().getId(),
+            stepExecution.getReminderAt(), dueAt);
     }
 
-    private void updateStepStatus(ApprovalStepExecution stepExecution) {
-        WorkflowType workflowType = stepExecution.getStep().getWorkflow().getType();
-        Set<ApprovalAction> actions = stepExecution.getApprovalActions();
-        
+    private void recordTimeInStep(ApprovalStepExecution stepExecution, Long workflowId) {
+        LocalDateTime activatedAt = activatedAt(stepExecution);
+        approvalLatencyService.record(LatencyDimension.STEP, stepExecution.getStep().getId(),
+            activatedAt, stepExecution.getCompletedAt());
+        approvalLatencyService.record(LatencyDimension.WORKFLOW, workflowId, activatedAt, stepExecution.getCompletedAt());
+    }
+
+    private LocalDateTime activatedAt(ApprovalStepExecution stepExecution) {
+        // Steps activated before activation was tracked only have their creation time
+        return stepExecution.getActivatedAt() != null ? stepExecution.getActivatedAt() : stepExecution.getStartedAt();
+    }
+
+    private void updateStepStatus(ApprovalStepExecution stepExecution, WorkflowType workflowType,
+                                  WorkflowSnapshot.Step step, List<ApprovalAction> actions) {
         switch (workflowType) {
             case SINGLE_APPROVER:
                 handleSingleApproverWorkflow(stepExecution, actions);
                 break;
             case UNANIMOUS_APPROVAL:
-                handleUnanimousApprovalWorkflow(stepExecution, actions);
+                handleUnanimousApprovalWorkflow(stepExecution, step, actions);
                 break;
             case PERCENTAGE_APPROVAL:
-                handlePercentageApprovalWorkflow(stepExecution, actions);
+                handlePercentageApprovalWorkflow(stepExecution, step, actions);
                 break;
             default:
                 handleDefaultWorkflow(stepExecution, actions);
         }
     }
 
-    private void handleSingleApproverWorkflow(ApprovalStepExecution stepExecution, Set<ApprovalAction> actions) {
+    private void handleSingleApproverWorkflow(ApprovalStepExecution stepExecution, List<ApprovalAction> actions) {
         Optional<ApprovalAction> lastAction = actions.stream()
             .max(Comparator.comparing(ApprovalAction::getActionTime));
             
@@ -324,68 +840,70 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         });
     }
 
-    private void handleUnanimousApprovalWorkflow(ApprovalStepExecution stepExecution, Set<ApprovalAction> actions) {
-        Set<Long> approvers = stepExecution.getStep().getApprovers().stream()
-            .map(User::getId)
-            .collect(Collectors.toSet());
-            
+    private void handleUnanimousApprovalWorkflow(ApprovalStepExecution stepExecution, WorkflowSnapshot.Step step,
+                                                 List<ApprovalAction> actions) {
         Set<Long> approvedBy = actions.stream()
             .filter(action -> action.getAction() == ApprovalActionType.APPROVE)
             .map(action -> action.getApprover().getId())
             .collect(Collectors.toSet());
 
-        if (approvedBy.containsAll(approvers)) {
+        boolean allApproved = Arrays.stream(step.getApproverIds()).allMatch(approvedBy::contains);
+        if (allApproved) {
             stepExecution.setStatus(ApprovalStatus.APPROVED);
         }
     }
 
-    private void handlePercentageApprovalWorkflow(ApprovalStepExecution stepExecution, Set<ApprovalAction> actions) {
-        int totalApprovers = stepExecution.getStep().getApprovers().size();
+    private void handlePercentageApprovalWorkflow(ApprovalStepExecution stepExecution, WorkflowSnapshot.Step step,
+                                                  List<ApprovalAction> actions) {
+        int totalApprovers = step.getApproverCount();
         long approvalCount = actions.stream()
             .filter(action -> action.getAction() == ApprovalActionType.APPROVE)
             .count();
 
-        int threshold = stepExecution.getStep().getApprovalThreshold();
-        if (threshold > 0 && (approvalCount * 100 / totalApprovers) >= threshold) {
+        int threshold = step.getApprovalThreshold();
+        if (threshold > 0 && totalApprovers > 0 && (approvalCount * 100 / totalApprovers) >= threshold) {
             stepExecution.setStatus(ApprovalStatus.APPROVED);
         }
     }
 
-    private void handleDefaultWorkflow(ApprovalStepExecution stepExecution, Set<ApprovalAction> actions) {
+    private void handleDefaultWorkflow(ApprovalStepExecution stepExecution, List<ApprovalAction> actions) {
         // Default to single approver behavior
         handleSingleApproverWorkflow(stepExecution, actions);
     }
 
-    private void moveToNextStep(AccessRequest request) {
-        int nextStepOrder = request.getCurrentStepOrder() + 1;
-        boolean hasNextStep = request.getApprovalSteps().stream()
-            .anyMatch(step -> step.getStep().getStepOrder() == nextStepOrder);
+    private ApprovalRequiredEvent approvalRequired(ApprovalStepExecution stepExecution, WorkflowSnapshot.Step step) {
+        AccessRequest request = stepExecution.getAccessRequest();
+        return new ApprovalRequiredEvent(
+            stepExecution.getId(),
+            step.getApproverIds(),
+            request.getResource().getName(),
+            request.getRequester().getUsername()
+        );
+    }
 
-        if (hasNextStep) {
-            request.setCurrentStepOrder(nextStepOrder);
-            accessRequestRepository.save(request);
-            processAccessRequest(request.getId());
-        } else {
-            // Workflow complete
-            request.setStatus(AccessRequestStatus.APPROVED);
-            accessRequestRepository.save(request);
-        }
+    private LongStream pendingApproverIds(ApprovalStepExecution stepExecution, WorkflowSnapshot.Step step) {
+        Set<Long> acted = stepExecution.getApprovalActions() == null ? Set.of() : stepExecution.getApprovalActions().stream()
+            .map(action -> action.getApprover().getId())
+            .collect(Collectors.toSet());
+        return Arrays.stream(step.getApproverIds()).filter(id -> !acted.contains(id));
     }
 
-    private void notifyApprovers(ApprovalStepExecution stepExecution) {
-        String resourceName = stepExecution.getAccessRequest().getResource().getName();
-        String requesterName = stepExecution.getAccessRequest().getRequester().getUsername();
+    private StepDeadlineNotificationEvent deadlineNotification(StepDeadlineNotificationEvent.Kind kind,
+                                                               ApprovalStepExecution stepExecution, long[] recipientIds) {
+        AccessRequest request = stepExecution.getAccessRequest();
+        return new StepDeadlineNotificationEvent(
+            kind,
+            stepExecution.getId(),
+            recipientIds,
+            request.getResource().getName(),
+            request.getRequester().getUsername()
+        );
+    }
 
-        for (User approver : stepExecution.getStep().getApprovers()) {
-            notificationService.createNotification(
-                approver.getId(),
-                "Approval Required",
-                String.format("Access request for %s by %s requires your approval", resourceName, requesterName),
-                NotificationType.ACCESS_REQUEST_SUBMITTED,
-                "STEP_EXECUTION",
-                stepExecution.getId()
-            );
-        }
+    private void definitionChanged(ApprovalWorkflow workflow) {
+        workflow.setDefinitionVersion(workflow.getDefinitionVersion() + 1);
+        workflowRepository.save(workflow);
+        workflowDefinitionCache.invalidateAfterCommit(workflow.getId());
     }
 
     private Set<User> mapUserReferences(Set<Long> userIds) {
@@ -422,6 +940,9 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         dto.setName(step.getName());
         dto.setDescription(step.getDescription());
         dto.setApprovalThreshold(step.getApprovalThreshold());
+        dto.setSlaMinutes(step.getSlaMinutes());
+        dto.setReminderMinutes(step.getReminderMinutes());
+        dto.setSlaBreachAction(step.getSlaBreachAction());
         dto.setActive(step.isActive());
         dto.setWorkflowId(step.getWorkflow().getId());
         dto.setWorkflowName(step.getWorkflow().getName());
@@ -434,15 +955,24 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         return dto;
     }
 
-    private void validateApprover(ApprovalStepExecution stepExecution, Long approverId) {
-        boolean isApprover = stepExecution.getStep().getApprovers().stream()
-            .anyMatch(approver -> approver.getId().equals(approverId));
-            
-        if (!isApprover) {
+    /**
+     * The in-lane check covers this instance; an action recorded by another
+     * instance in the meantime only shows up as a unique constraint violation.
+     */
+    private RuntimeException translateDuplicateAction(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message != null && message.contains(DUPLICATE_ACTION_CONSTRAINT)) {
+            return new IllegalStateException("User has already acted on this step", e);
+        }
+        return e;
+    }
+
+    private void validateApprover(ApprovalStepExecution stepExecution, WorkflowSnapshot.Step step, Long approverId) {
+        if (!step.isApprover(approverId)) {
             throw new AccessDeniedException("User is not authorized to approve this step");
         }
         
-        boolean hasAlreadyActed = stepExecution.getApprovalActions().stream()
+        boolean hasAlreadyActed = stepExecution.getApprovalActions() != null && stepExecution.getApprovalActions().stream()
             .anyMatch(action -> action.getApprover().getId().equals(approverId));
             
         if (hasAlreadyActed) {
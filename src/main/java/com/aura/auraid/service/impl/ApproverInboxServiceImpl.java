@@ -0,0 +1,149 @@
+package com.aura.auraid.service.impl;
+
+import com.aura.auraid.dto.ApproverInboxDTO;
+import com.aura.auraid.dto.CursorPageDTO;
+import com.aura.auraid.dto.PendingApprovalDTO;
+import com.aura.auraid.model.ApprovalStepExecution;
+import com.aura.auraid.model.PendingApproval;
+import com.aura.auraid.repository.PendingApprovalRepository;
+import com.aura.auraid.service.ApproverInboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApproverInboxServiceImpl implements ApproverInboxService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final PendingApprovalRepository pendingApprovalRepository;
+
+    @Override
+    @Transactional
+    public void stepActivated(ApprovalStepExecution stepExecution, long[] approverIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingApproval> rows = new ArrayList<>(approverIds.length);
+        for (long approverId : approverIds) {
+            PendingApproval row = new PendingApproval();
+            row.setUserId(approverId);
+            row.setAccessRequestId(stepExecution.getAccessRequest().getId());
+            row.setStepExecutionId(stepExecution.getId());
+            row.setCreatedAt(now);
+            rows.add(row);
+        }
+        pendingApprovalRepository.saveAll(rows);
+
+        // Approver ids are sorted, so concurrent transitions lock counter rows in the same order
+        for (long approverId : approverIds) {
+            pendingApprovalRepository.adjustUnreadCount(approverId, 1);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void approverActed(Long stepExecutionId, Long approverId) {
+        pendingApprovalRepository.findByStepExecutionIdAndUserId(stepExecutionId, approverId)
+            .ifPresent(row -> remove(List.of(row)));
+    }
+
+    @Override
+    @Transactional
+    public void stepClosed(Long stepExecutionId) {
+        remove(pendingApprovalRepository.findByStepExecutionId(stepExecutionId));
+    }
+
+    @Override
+    @Transactional
+    public void requestClosed(Long accessRequestId) {
+        remove(pendingApprovalRepository.findByAccessRequestId(accessRequestId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApproverInboxDTO getInbox(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<PendingApprovalDTO> rows = beforeCreatedAt == null || beforeId == null
+            ? pendingApprovalRepository.findInboxFirstPage(userId, limit)
+            : pendingApprovalRepository.findInboxAfter(userId, beforeCreatedAt, beforeId, limit);
+
+        CursorPageDTO<PendingApprovalDTO> page = CursorPageDTO.of(rows, pageSize,
+            last -> Map.of("beforeCreatedAt", last.getCreatedAt(), "beforeId", last.getId()));
+        return new ApproverInboxDTO(page, getUnreadCount(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PendingApproval> getPendingApprovals(Long userId, Pageable pageable) {
+        // Inbox order is fixed so the (user_id, created_at DESC, id DESC) index serves every page
+        Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+            Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        return pendingApprovalRepository.findByUserId(userId, newestFirst);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        return pendingApprovalRepository.findUnreadCount(userId).orElse(0);
+    }
+
+    @Override
+    @Transactional
+    public int markRead(Long userId, List<Long> pendingApprovalIds) {
+        if (pendingApprovalIds == null || pendingApprovalIds.isEmpty()) {
+            return 0;
+        }
+        List<PendingApproval> unread = pendingApprovalRepository.findByUserIdAndIdInAndReadFalse(userId, pendingApprovalIds);
+        unread.forEach(row -> row.setRead(true));
+        pendingApprovalRepository.saveAll(unread);
+        if (!unread.isEmpty()) {
+            pendingApprovalRepository.adjustUnreadCount(userId, -unread.size());
+        }
+        return unread.size();
+    }
+
+    @Override
+    @Scheduled(cron = "${app.inbox.rebuild-cron:0 30 2 * * ?}")
+    @Transactional
+    public Map<String, Object> rebuild() {
+        int removed = pendingApprovalRepository.deleteStale();
+        int added = pendingApprovalRepository.insertMissing();
+        int recounted = pendingApprovalRepository.recountUnread();
+        int reset = pendingApprovalRepository.resetEmptyUnreadCounts();
+
+        if (removed > 0 || added > 0) {
+            log.warn("Approver inbox drift repaired: {} stale rows removed, {} missing rows added", removed, added);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("removed", removed);
+        result.put("added", added);
+        result.put("countersUpdated", recounted + reset);
+        return result;
+    }
+
+    private void remove(List<PendingApproval> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        pendingApprovalRepository.deleteAllInBatch(rows);
+        rows.stream()
+            .filter(row -> !row.isRead())
+            .map(PendingApproval::getUserId)
+            .sorted()
+            .forEach(userId -> pendingApprovalRepository.adjustUnreadCount(userId, -1));
+    }
+}
@@ -0,0 +1,416 @@
+package com.aura.auraid.service.impl;
+
+import com.aura.auraid.dto.CertificationCampaignDTO;
+import com.aura.auraid.dto.CertificationDecisionDTO;
+import com.aura.auraid.dto.CertificationItemDTO;
+import com.aura.auraid.dto.CursorPageDTO;
+import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.model.CampaignStatus;
+import com.aura.auraid.model.CertificationCampaign;
+import com.aura.auraid.model.CertificationDecision;
+import com.aura.auraid.model.NotificationType;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.repository.CertificationBatchWriter;
+import com.aura.auraid.repository.CertificationCampaignRepository;
+import com.aura.auraid.repository.CertificationItemRepository;
+import com.aura.auraid.service.CertificationCampaignService;
+import com.aura.auraid.service.NotificationService;
+import com.aura.auraid.service.ResourceGrantService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Access certification campaigns.
+ *
+ * Starting a campaign snapshots every direct grant, optionally only on one
+ * resource type, into one review item per user, resource and permission, for
+ * the resource's owner to review (the campaign's creator reviews grants on
+ * resources without an owner, and owners' grants on their own resources).
+ * Generation splits the granted resource id range in a fork-join pool until a
+ * part spans at most {@code partition-size} ids. Each part streams its grants
+ * through a database cursor and inserts items in JDBC batches of
+ * {@code batch-size}, in a transaction of its own, so memory stays at one
+ * batch per worker however many items there are. A failed generation removes
+ * what it wrote.
+ *
+ * Reviewers page through their items by id and decide them in bulk. Closing a
+ * campaign applies the revocations in batches in id order, marking the items
+ * applied in the same transaction, so a close that stops part way can be run
+ * again without revoking anything twice.
+ */
+@Slf4j
+@Service
+public class CertificationCampaignServiceImpl implements CertificationCampaignService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final CertificationCampaignRepository campaignRepository;
+    private final CertificationItemRepository itemRepository;
+    private final CertificationBatchWriter batchWriter;
+    private final ResourceGrantService grantService;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final long partitionSize;
+    private final int batchSize;
+    private final int fetchSize;
+    private final ExecutorService campaignRunner;
+    // Items written so far by campaigns being generated on this instance
+    private final Map<Long, AtomicLong> generating = new ConcurrentHashMap<>();
+
+    public CertificationCampaignServiceImpl(CertificationCampaignRepository campaignRepository,
+                                            CertificationItemRepository itemRepository,
+                                            CertificationBatchWriter batchWriter,
+                                            ResourceGrantService grantService,
+                                            NotificationService notificationService,
+                                            TransactionTemplate transactionTemplate,
+                                            @Value("${app.certification.parallelism:4}") int parallelism,
+                                            @Value("${app.certification.partition-size:2000}") long partitionSize,
+                                            @Value("${app.certification.batch-size:5000}") int batchSize,
+                                            @Value("${app.certification.fetch-size:5000}") int fetchSize) {
+        this.campaignRepository = campaignRepository;
+        this.itemRepository = itemRepository;
+        this.batchWriter = batchWriter;
+        this.grantService = grantService;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+        this.partitionSize = partitionSize;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+        this.campaignRunner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "certification-campaign");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CertificationCampaignDTO startCampaign(CertificationCampaignDTO campaignDTO, Long createdBy) {
+        CertificationCampaign campaign = new CertificationCampaign();
+        campaign.setName(campaignDTO.getName());
+        campaign.setDescription(campaignDTO.getDescription());
+        campaign.setResourceType(campaignDTO.getResourceType());
+        campaign.setDueAt(campaignDTO.getDueAt());
+        campaign.setStatus(CampaignStatus.GENERATING);
+        campaign.setCreatedBy(createdBy);
+        CertificationCampaign saved = campaignRepository.save(campaign);
+
+        generating.put(saved.getId(), new AtomicLong());
+        campaignRunner.execute(() -> generate(saved));
+        return mapToDTO(saved, Map.of());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CertificationCampaignDTO getCampaign(Long id) {
+        CertificationCampaign campaign = getCampaignOrThrow(id);
+        Map<CertificationDecision, Long> decisions = campaign.getStatus() == CampaignStatus.GENERATING
+            ? Map.of()
+            : itemRepository.countByDecision(id).stream()
+                .collect(Collectors.toMap(row -> (CertificationDecision) row[0], row -> (Long) row[1]));
+        return mapToDTO(campaign, decisions);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<CertificationCampaignDTO> getCampaigns(Pageable pageable) {
+        Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+            Sort.by(Sort.Direction.DESC, "id"));
+        Page<CertificationCampaign> page = campaignRepository.findAll(newestFirst);
+        return PageResponseDTO.of(
+            page.getContent().stream().map(campaign -> mapToDTO(campaign, Map.of())).collect(Collectors.toList()),
+            page.getNumber(),
+            page.getSize(),
+            page.getTotalElements(),
+            page.getTotalPages()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CertificationItemDTO> getReviewerInbox(Long campaignId, Long reviewerId,
+                                                                CertificationDecision decision, Long afterId,
+                                                                int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a count query
+        List<CertificationItemDTO> rows = itemRepository.findInboxAfter(campaignId, reviewerId,
+            decision != null ? decision : CertificationDecision.PENDING, afterId != null ? afterId : 0L,
+            PageRequest.of(0, pageSize + 1));
+        return CursorPageDTO.of(rows, pageSize, last -> Map.of("afterId", last.getId()));
+    }
+
+    @Override
+    @Transactional
+    public int decide(Long campaignId, Long reviewerId, CertificationDecisionDTO decisionDTO) {
+        if (decisionDTO.getDecision() == CertificationDecision.PENDING) {
+            throw new IllegalStateException("Items can only be certified or revoked");
+        }
+        CertificationCampaign campaign = getCampaignOrThrow(campaignId);
+        if (campaign.getStatus() != CampaignStatus.ACTIVE) {
+            throw new IllegalStateException("Campaign is not open for review");
+        }
+        return itemRepository.decide(campaignId, reviewerId, decisionDTO.getItemIds(), decisionDTO.getDecision(),
+            decisionDTO.getComment(), LocalDateTime.now());
+    }
+
+    @Override
+    public CertificationCampaignDTO closeCampaign(Long id) {
+        CertificationCampaign campaign = getCampaignOrThrow(id);
+        if (campaign.getStatus() == CampaignStatus.ACTIVE) {
+            Integer moved = transactionTemplate.execute(status ->
+                campaignRepository.transition(id, CampaignStatus.ACTIVE, CampaignStatus.CLOSING));
+            if (moved == null || moved == 0) {
+                throw new IllegalStateException("Campaign is already closing");
+            }
+        } else if (campaign.getStatus() != CampaignStatus.CLOSING) {
+            throw new IllegalStateException("Only an active campaign can be closed");
+        }
+        campaignRunner.execute(() -> applyRevocations(id));
+        return getCampaign(id);
+    }
+
+    @PreDestroy
+    public void stop() {
+        campaignRunner.shutdownNow();
+    }
+
+    void generate(CertificationCampaign campaign) {
+        Long campaignId = campaign.getId();
+        AtomicLong written = generating.computeIfAbsent(campaignId, id -> new AtomicLong());
+        try {
+            long[] bounds = batchWriter.grantedResourceBounds(campaign.getResourceType());
+            if (bounds != null) {
+                // Closing waits for parts still running after another failed, so a cleanup cannot race their inserts
+                try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+                    pool.invoke(new Partition(campaign, bounds[0], bounds[1], LocalDateTime.now(), written));
+                } catch (RuntimeException e) {
+                    // A part failing on another worker is rethrown as a copy wrapping the original
+                    throw e.getCause() instanceof RuntimeException cause && cause.getClass() == e.getClass() ? cause : e;
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                CertificationCampaign current = getCampaignOrThrow(campaignId);
+                current.setStatus(CampaignStatus.ACTIVE);
+                current.setItemCount(written.get());
+                current.setGeneratedAt(LocalDateTime.now());
+                campaignRepository.save(current);
+            });
+            log.info("Certification campaign {} generated {} review items", campaignId, written.get());
+        } catch (RuntimeException e) {
+            log.error("Generating certification campaign {} failed after {} items", campaignId, written.get(), e);
+            fail(campaignId, e);
+            return;
+        } finally {
+            generating.remove(campaignId);
+        }
+        notifyReviewers(campaign);
+    }
+
+    void applyRevocations(Long campaignId) {
+        long afterId = 0;
+        try {
+            while (true) {
+                List<Object[]> rows = itemRepository.findUnappliedRevocations(campaignId, afterId, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                transactionTemplate.executeWithoutResult(status -> applyBatch(rows));
+                afterId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                CertificationCampaign campaign = getCampaignOrThrow(campaignId);
+                campaign.setStatus(CampaignStatus.CLOSED);
+                campaign.setClosedAt(LocalDateTime.now());
+                campaign.setRevokedCount(itemRepository.countByDecision(campaignId).stream()
+                    .filter(row -> row[0] == CertificationDecision.REVOKED)
+                    .mapToLong(row -> (Long) row[1])
+                    .sum());
+                campaignRepository.save(campaign);
+            });
+            log.info("Certification campaign {} closed", campaignId);
+        } catch (RuntimeException e) {
+            // The campaign stays CLOSING; closing it again picks up from the first unapplied revocation
+            log.error("Applying revocations of certification campaign {} stopped after item {}", campaignId, afterId, e);
+        }
+    }
+
+    // The permissions revoked on one grant are combined, so each grant is updated once
+    private void applyBatch(List<Object[]> rows) {
+        Map<GrantKey, Integer> masks = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add(((Number) row[0]).longValue());
+            GrantKey key = new GrantKey(((Number) row[1]).longValue(), ((Number) row[2]).longValue());
+            int mask = PermissionType.fromPermissionId(((Number) row[3]).longValue()).mask();
+            masks.merge(key, mask, (a, b) -> a | b);
+        }
+        List<ResourceGrantService.Revocation> revocations = new ArrayList<>(masks.size());
+        masks.forEach((key, mask) -> revocations.add(
+            new ResourceGrantService.Revocation(key.userId(), key.resourceId(), mask)));
+        grantService.revokeAll(revocations);
+        itemRepository.markApplied(ids, LocalDateTime.now());
+    }
+
+    private void fail(Long campaignId, RuntimeException error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.deleteByCampaignId(campaignId);
+                CertificationCampaign campaign = getCampaignOrThrow(campaignId);
+                campaign.setStatus(CampaignStatus.FAILED);
+                campaign.setItemCount(0);
+                String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+                campaign.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                campaignRepository.save(campaign);
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not mark certification campaign {} failed", campaignId, e);
+        }
+    }
+
+    // Each reviewer is told once, however many items they have
+    private void notifyReviewers(CertificationCampaign campaign) {
+        for (Object[] row : itemRepository.countByReviewer(campaign.getId())) {
+            Long reviewerId = (Long) row[0];
+            try {
+                notificationService.createNotification(reviewerId, "Access Review Assigned",
+                    String.format("%d access items in \"%s\" are waiting for your review", (Long) row[1],
+                        campaign.getName()),
+                    NotificationType.ACCESS_REVIEW_ASSIGNED, "CERTIFICATION_CAMPAIGN", campaign.getId());
+            } catch (RuntimeException e) {
+                log.warn("Could not notify reviewer {} of certification campaign {}", reviewerId, campaign.getId(), e);
+            }
+        }
+    }
+
+    private long writePartition(CertificationCampaign campaign, long fromResourceId, long toResourceId,
+                                LocalDateTime snapshotAt, AtomicLong written) {
+        Long count = transactionTemplate.execute(status -> {
+            List<CertificationBatchWriter.NewItem> batch = new ArrayList<>(batchSize);
+            long[] inserted = {0};
+            batchWriter.streamGrants(fromResourceId, toResourceId, campaign.getResourceType(), fetchSize, grant -> {
+                addItems(campaign, grant, snapshotAt, batch);
+                if (batch.size() >= batchSize) {
+                    batchWriter.insertItems(campaign.getId(), batch);
+                    inserted[0] += batch.size();
+                    written.addAndGet(batch.size());
+                    batch.clear();
+                }
+            });
+            batchWriter.insertItems(campaign.getId(), batch);
+            inserted[0] += batch.size();
+            written.addAndGet(batch.size());
+            return inserted[0];
+        });
+        return count != null ? count : 0;
+    }
+
+    // One item per permission held now; permissions whose expiry has passed are no longer held
+    private static void addItems(CertificationCampaign campaign, CertificationBatchWriter.GrantRow grant,
+                                 LocalDateTime snapshotAt, List<CertificationBatchWriter.NewItem> batch) {
+        boolean timeBoxed = grant.expiresAt() != null && grant.expiresAt().isAfter(snapshotAt);
+        int expiringMask = timeBoxed ? grant.expiringMask() : 0;
+        long reviewerId = grant.ownerId() != null && grant.ownerId() != grant.userId()
+            ? grant.ownerId()
+            : campaign.getCreatedBy();
+        for (PermissionType permission : PermissionType.values()) {
+            int permissionId = permission.ordinal() + 1;
+            if ((grant.permissionMask() & permission.mask()) != 0) {
+                batch.add(new CertificationBatchWriter.NewItem(grant.userId(), grant.resourceId(), permissionId,
+                    null, reviewerId));
+            } else if ((expiringMask & permission.mask()) != 0) {
+                batch.add(new CertificationBatchWriter.NewItem(grant.userId(), grant.resourceId(), permissionId,
+                    grant.expiresAt(), reviewerId));
+            }
+        }
+    }
+
+    private CertificationCampaign getCampaignOrThrow(Long id) {
+        return campaignRepository.findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Certification campaign not found"));
+    }
+
+    private CertificationCampaignDTO mapToDTO(CertificationCampaign campaign, Map<CertificationDecision, Long> decisions) {
+        CertificationCampaignDTO dto = new CertificationCampaignDTO();
+        dto.setId(campaign.getId());
+        dto.setName(campaign.getName());
+        dto.setDescription(campaign.getDescription());
+        dto.setResourceType(campaign.getResourceType());
+        dto.setDueAt(campaign.getDueAt());
+        dto.setStatus(campaign.getStatus());
+        AtomicLong written = generating.get(campaign.getId());
+        dto.setItemCount(campaign.getStatus() == CampaignStatus.GENERATING && written != null
+            ? written.get()
+            : campaign.getItemCount());
+        dto.setPendingCount(decisions.getOrDefault(CertificationDecision.PENDING, 0L));
+        dto.setCertifiedCount(decisions.getOrDefault(CertificationDecision.CERTIFIED, 0L));
+        dto.setRevokedCount(decisions.getOrDefault(CertificationDecision.REVOKED, 0L));
+        dto.setAppliedRevocations(campaign.getRevokedCount());
+        dto.setError(campaign.getError());
+        dto.setCreatedBy(campaign.getCreatedBy());
+        dto.setCreatedAt(campaign.getCreatedAt());
+        dto.setGeneratedAt(campaign.getGeneratedAt());
+        dto.setClosedAt(campaign.getClosedAt());
+        return dto;
+    }
+
+    private record GrantKey(long userId, long resourceId) {
+    }
+
+    /**
+     * A range of resource ids, split in halves until it spans at most
+     * {@code partitionSize} ids. Grants of one resource always fall in one part.
+     */
+    private final class Partition extends RecursiveTask<Long> {
+        private final CertificationCampaign campaign;
+        private final long fromResourceId;
+        private final long toResourceId;
+        private final LocalDateTime snapshotAt;
+        private final AtomicLong written;
+
+        Partition(CertificationCampaign campaign, long fromResourceId, long toResourceId, LocalDateTime snapshotAt,
+                  AtomicLong written) {
+            this.campaign = campaign;
+            this.fromResourceId = fromResourceId;
+            this.toResourceId = toResourceId;
+            this.snapshotAt = snapshotAt;
+            this.written = written;
+        }
+
+        @Override
+        protected Long compute() {
+            if (toResourceId - fromResourceId < partitionSize) {
+                return writePartition(campaign, fromResourceId, toResourceId, snapshotAt, written);
+            }
+            long middle = fromResourceId + (toResourceId - fromResourceId) / 2;
+            Partition lower = new Partition(campaign, fromResourceId, middle, snapshotAt, written);
+            Partition upper = new Partition(campaign, middle + 1, toResourceId, snapshotAt, written);
+            lower.fork();
+            long upperCount = upper.compute();
+            return upperCount + lower.join();
+        }
+    }
+}
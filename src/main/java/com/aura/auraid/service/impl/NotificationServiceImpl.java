@@ -1,9 +1,10 @@
 package com.aura.auraid.service.impl;
 
+import com.aura.auraid.dto.CursorPageDTO;
 import com.aura.auraid.dto.NotificationDTO;
-import com.aura.auraid.dto.PageResponseDTO;
 import com.aura.auraid.model.Notification;
 import com.aura.auraid.model.NotificationType;
+import com.aura.auraid.model.PermissionType;
 import com.aura.auraid.model.Resource;
 import com.aura.auraid.model.User;
 import com.aura.auraid.repository.NotificationRepository;
@@ -12,7 +13,7 @@ import com.aura.auraid.service.NotificationService;
 import com.aura.auraid.service.WebSocketNotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +22,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +32,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
     private final ResourceRepository resourceRepository;
     private final WebSocketNotificationService webSocketNotificationService;
@@ -93,38 +98,27 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDTO<NotificationDTO> getUserNotifications(Long userId, Pageable pageable) {
-        Page<Notification> notificationPage = notificationRepository.findAll(pageable);
-        List<NotificationDTO> notifications = notificationPage.getContent().stream()
-            .filter(notification -> notification.getUser().getId().equals(userId))
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
-
-        return PageResponseDTO.of(
-            notifications,
-            notificationPage.getNumber(),
-            notificationPage.getSize(),
-            notificationPage.getTotalElements(),
-            notificationPage.getTotalPages()
-        );
+    public CursorPageDTO<NotificationDTO> getUserNotifications(Long userId, LocalDateTime beforeCreatedAt,
+                                                               Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<NotificationDTO> notifications = beforeCreatedAt == null || beforeId == null
+            ? notificationRepository.findFirstPage(userId, limit)
+            : notificationRepository.findPageAfter(userId, beforeCreatedAt, beforeId, limit);
+        return toPage(notifications, pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDTO<NotificationDTO> getUnreadNotifications(Long userId, Pageable pageable) {
-        Page<Notification> notificationPage = notificationRepository.findAll(pageable);
-        List<NotificationDTO> notifications = notificationPage.getContent().stream()
-            .filter(notification -> notification.getUser().getId().equals(userId) && !notification.isRead())
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
-
-        return PageResponseDTO.of(
-            notifications,
-            notificationPage.getNumber(),
-            notificationPage.getSize(),
-            notificationPage.getTotalElements(),
-            notificationPage.getTotalPages()
-        );
+    public CursorPageDTO<NotificationDTO> getUnreadNotifications(Long userId, LocalDateTime beforeCreatedAt,
+                                                                 Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<NotificationDTO> notifications = beforeCreatedAt == null || beforeId == null
+            ? notificationRepository.findFirstPageByRead(userId, false, limit)
+            : notificationRepository.findPageAfterByRead(userId, false, beforeCreatedAt, beforeId, limit);
+        return toPage(notifications, pageSize);
     }
 
     @Override
@@ -176,6 +170,34 @@ public class NotificationServiceImpl implements NotificationService {
         );
     }
 
+    @Override
+    @Transactional
+    public void notifyPermissionExpired(Long userId, Long resourceId, int permissionMask) {
+        String resourceName = resourceRepository.findById(resourceId)
+            .map(Resource::getName)
+            .orElse("a resource");
+        String permissions = Arrays.stream(PermissionType.values())
+            .filter(permission -> (permissionMask & permission.mask()) != 0)
+            .map(PermissionType::name)
+            .collect(Collectors.joining(", "));
+
+        createNotification(
+            userId,
+            "Access Expired",
+            "Your time-limited " + permissions + " access to " + resourceName + " has expired",
+            NotificationType.PERMISSION_REVOKED,
+            "RESOURCE",
+            resourceId
+        );
+    }
+
+    private CursorPageDTO<NotificationDTO> toPage(List<NotificationDTO> notifications, int pageSize) {
+        CursorPageDTO<NotificationDTO> page = CursorPageDTO.of(notifications, pageSize,
+            last -> Map.of("beforeCreatedAt", last.getCreatedAt(), "beforeId", last.getId()));
+        page.getItems().forEach(this::addDisplayFields);
+        return page;
+    }
+
     private User getUserReference(Long userId) {
         User user = new User();
         user.setId(userId);
@@ -193,14 +215,16 @@ public class NotificationServiceImpl implements NotificationService {
         dto.setCreatedAt(notification.getCreatedAt());
         dto.setReferenceType(notification.getReferenceType());
         dto.setReferenceId(notification.getReferenceId());
-        
+        addDisplayFields(dto);
+        return dto;
+    }
+
+    private void addDisplayFields(NotificationDTO dto) {
         // Calculate time ago
-        dto.setTimeAgo(calculateTimeAgo(notification.getCreatedAt()));
+        dto.setTimeAgo(calculateTimeAgo(dto.getCreatedAt()));
         
         // Set icon based on notification type
-        dto.setIcon(getIconForNotificationType(notification.getType()));
-        
-        return dto;
+        dto.setIcon(getIconForNotificationType(dto.getType()));
     }
 
     private String calculateTimeAgo(LocalDateTime dateTime) {
@@ -0,0 +1,365 @@
+package com.aura.auraid.service.impl;
+
+import com.aura.auraid.model.PathGrant;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.repository.PathGrantRepository;
+import com.aura.auraid.repository.ResourceGrantBatchWriter;
+import com.aura.auraid.repository.ResourceGrantRepository;
+import com.aura.auraid.service.AccessibleResourceIndex;
+import com.aura.auraid.service.ResourceGrantService;
+import com.aura.auraid.service.ResourcePathTrie;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resource grants with an in-memory decision cache.
+ *
+ * The cache holds the effective {@link PermissionType} mask per (user, resource):
+ * every permission for the resource's creator, the granted mask together with
+ * any path grants on the resource's ancestors (from the {@link ResourcePathTrie})
+ * for anyone else, and 0 for a resource that does not exist. Time-boxed
+ * permissions are cached with their expiry and stop counting once the clock
+ * passes it, without waiting for the expiry sweeper or another query. Nothing
+ * is cached until the trie is built. A miss costs one query; a hit is a
+ * map lookup, a clock read and a bit test. Grants, revokes, path grant changes and resource
+ * moves and deletes drop the affected entries after their transaction commits, so a concurrent miss cannot
+ * reload the old mask into the cache. Other instances only see the change once
+ * their entry expires.
+ *
+ * Batch checks take what the cache has and load the rest with one query per
+ * {@value #BATCH_QUERY_SIZE} resources. A bulk load is not atomic with
+ * invalidation the way a single miss is, so it notes the invalidation count
+ * before querying and drops what it cached if that count moved meanwhile.
+ * Committed grant changes are also passed on to the {@link AccessibleResourceIndex}.
+ */
+@Slf4j
+@Service
+public class ResourceGrantServiceImpl implements ResourceGrantService {
+
+    static final int BATCH_QUERY_SIZE = 1000;
+
+    private final ResourceGrantRepository grantRepository;
+    private final ResourceGrantBatchWriter grantBatchWriter;
+    private final PathGrantRepository pathGrantRepository;
+    private final ResourcePathTrie pathTrie;
+    private final AccessibleResourceIndex accessIndex;
+    private final Cache<DecisionKey, Decision> decisions;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ResourceGrantServiceImpl(ResourceGrantRepository grantRepository,
+                                    ResourceGrantBatchWriter grantBatchWriter,
+                                    PathGrantRepository pathGrantRepository,
+                                    ResourcePathTrie pathTrie,
+                                    AccessibleResourceIndex accessIndex,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.authorization.cache.max-entries:100000}") long maxEntries,
+                                    @Value("${app.authorization.cache.ttl:PT10M}") Duration ttl) {
+        this.grantRepository = grantRepository;
+        this.grantBatchWriter = grantBatchWriter;
+        this.pathGrantRepository = pathGrantRepository;
+        this.pathTrie = pathTrie;
+        this.accessIndex = accessIndex;
+        this.decisions = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, "authorizationDecisions");
+    }
+
+    @Override
+    public boolean hasPermission(Long userId, Long resourceId, PermissionType permission) {
+        return (getPermissionMask(userId, resourceId) & permission.mask()) != 0;
+    }
+
+    @Override
+    public int getPermissionMask(Long userId, Long resourceId) {
+        if (userId == null || resourceId == null) {
+            return 0;
+        }
+        DecisionKey key = new DecisionKey(userId, resourceId);
+        Decision decision = pathTrie.isReady() ? decisions.get(key, this::loadDecision) : loadDecision(key);
+        return decision.maskAt(System.currentTimeMillis());
+    }
+
+    @Override
+    public Map<Long, Integer> getPermissionMasks(Long userId, Collection<Long> resourceIds) {
+        Map<Long, Integer> masks = new HashMap<>();
+        if (userId == null) {
+            resourceIds.forEach(resourceId -> masks.put(resourceId, 0));
+            return masks;
+        }
+        Set<DecisionKey> keys = new HashSet<>();
+        for (Long resourceId : resourceIds) {
+            keys.add(new DecisionKey(userId, resourceId));
+        }
+
+        long now = System.currentTimeMillis();
+        Map<DecisionKey, Decision> cached = decisions.getAllPresent(keys);
+        cached.forEach((key, decision) -> masks.put(key.resourceId(), decision.maskAt(now)));
+        List<Long> missing = new ArrayList<>(keys.size() - cached.size());
+        for (DecisionKey key : keys) {
+            if (!cached.containsKey(key)) {
+                missing.add(key.resourceId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            loadDecisions(userId, missing).forEach((key, decision) -> masks.put(key.resourceId(), decision.maskAt(now)));
+        }
+        return masks;
+    }
+
+    /**
+     * One query for the whole type. The result is not written to the cache: unlike
+     * a keyed load it cannot tell which entries a concurrent invalidation covered.
+     */
+    @Override
+    public Map<Long, Integer> getPermissionMasksForType(Long userId, ResourceType type) {
+        Map<Long, Integer> masks = new HashMap<>();
+        if (userId == null) {
+            return masks;
+        }
+        long now = System.currentTimeMillis();
+        for (Object[] row : grantRepository.findAccessibleByType(userId, type)) {
+            int mask = decisionOf(userId, (Long) row[0], row[1], row[2], row[3], row[4]).maskAt(now);
+            if (mask != 0) {
+                masks.put((Long) row[0], mask);
+            }
+        }
+        // The query only finds resources through a creator or direct grant; add those reached by a path grant
+        pathTrie.grantsOf(userId).forEach((prefix, mask) ->
+            pathTrie.forEachResourceUnder(prefix, (resourceId, resourceType) -> {
+                if (resourceType == type) {
+                    masks.merge(resourceId, mask, (granted, fromPath) -> granted | fromPath);
+                }
+            }));
+        return masks;
+    }
+
+    @Override
+    @Transactional
+    public void grant(Long userId, Long resourceId, PermissionType permission, Long accessRequestId) {
+        grant(userId, resourceId, permission, accessRequestId, null);
+    }
+
+    @Override
+    @Transactional
+    public void grant(Long userId, Long resourceId, PermissionType permission, Long accessRequestId,
+                      LocalDateTime expiresAt) {
+        if (expiresAt == null) {
+            grantRepository.addPermissions(userId, resourceId, permission.mask(), accessRequestId);
+        } else {
+            grantRepository.addExpiringPermissions(userId, resourceId, permission.mask(), accessRequestId, expiresAt);
+        }
+        grantChangedAfterCommit(userId, resourceId);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(Long userId, Long resourceId, PermissionType permission) {
+        if (grantRepository.removePermissions(userId, resourceId, permission.mask()) > 0) {
+            grantRepository.deleteIfEmpty(userId, resourceId);
+        }
+        grantChangedAfterCommit(userId, resourceId);
+    }
+
+    /**
+     * Grants are updated in (user, resource) order, so concurrent bulk revokes lock rows in the same order.
+     */
+    @Override
+    @Transactional
+    public void revokeAll(List<Revocation> revocations) {
+        List<long[]> rows = revocations.stream()
+            .sorted(Comparator.comparing(Revocation::userId).thenComparing(Revocation::resourceId))
+            .map(revocation -> new long[] {revocation.userId(), revocation.resourceId(), revocation.permissionMask()})
+            .toList();
+        grantBatchWriter.removePermissions(rows);
+        revocations.forEach(revocation -> grantChangedAfterCommit(revocation.userId(), revocation.resourceId()));
+    }
+
+    @Override
+    @Transactional
+    public void grantPath(Long userId, String pathPrefix, PermissionType permission) {
+        String prefix = ResourcePathTrie.normalize(pathPrefix);
+        pathGrantRepository.addPermissions(userId, prefix, permission.mask());
+        pathGrantChangedAfterCommit(userId, prefix);
+    }
+
+    @Override
+    @Transactional
+    public void revokePath(Long userId, String pathPrefix, PermissionType permission) {
+        String prefix = ResourcePathTrie.normalize(pathPrefix);
+        if (pathGrantRepository.removePermissions(userId, prefix, permission.mask()) > 0) {
+            pathGrantRepository.deleteIfEmpty(userId, prefix);
+        }
+        pathGrantChangedAfterCommit(userId, prefix);
+    }
+
+    /**
+     * Only users with a path grant over the old or new location can see their
+     * permissions change, so only their decisions on the resource are dropped.
+     */
+    @Override
+    public void resourceSaved(Long resourceId, String path, ResourceType type) {
+        afterCommit(() -> {
+            Set<Long> affected = pathTrie.put(resourceId, path, type);
+            if (!affected.isEmpty()) {
+                invalidations.incrementAndGet();
+                affected.forEach(userId -> decisions.invalidate(new DecisionKey(userId, resourceId)));
+                accessIndex.usersChanged(affected);
+            }
+        });
+    }
+
+    /**
+     * The rows go with the resource (cascading foreign key); this drops the cached decisions.
+     * Deletes are rare, so a scan of the cache is fine.
+     */
+    @Override
+    public void resourceDeleted(Long resourceId) {
+        afterCommit(() -> pathTrie.remove(resourceId));
+        invalidateAfterCommit(() -> decisions.asMap().keySet().removeIf(key -> key.resourceId() == resourceId));
+    }
+
+    /**
+     * Checks already ignore these permissions; clearing them takes them out of
+     * the table and the accessible resource index. Rows left with no permission go.
+     */
+    @Override
+    @Transactional
+    public List<ExpiredGrant> expireDueGrants(int limit) {
+        List<Object[]> rows = grantRepository.lockDueExpiries(LocalDateTime.now(), limit);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<ExpiredGrant> expired = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add(((Number) row[0]).longValue());
+            expired.add(new ExpiredGrant(((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+                ((Number) row[3]).intValue(), row[4] != null ? ((Number) row[4]).longValue() : null));
+        }
+        grantRepository.clearExpiry(ids);
+        grantRepository.deleteEmpty(ids);
+        expired.forEach(grant -> grantChangedAfterCommit(grant.userId(), grant.resourceId()));
+        return expired;
+    }
+
+    private void grantChangedAfterCommit(Long userId, Long resourceId) {
+        invalidateAfterCommit(() -> decisions.invalidate(new DecisionKey(userId, resourceId)));
+        afterCommit(() -> accessIndex.grantChanged(userId, resourceId, () -> getPermissionMask(userId, resourceId)));
+    }
+
+    // A path grant can reach any number of resources, so all of the user's decisions go
+    private void pathGrantChangedAfterCommit(Long userId, String prefix) {
+        afterCommit(() -> pathTrie.refreshGrant(userId, prefix, () -> pathGrantRepository
+            .findByUserIdAndPathPrefix(userId, prefix)
+            .map(PathGrant::getPermissionMask)
+            .orElse(0)));
+        invalidateAfterCommit(() -> decisions.asMap().keySet().removeIf(key -> key.userId() == userId));
+        afterCommit(() -> accessIndex.usersChanged(Set.of(userId)));
+    }
+
+    private Decision loadDecision(DecisionKey key) {
+        List<Object[]> rows = grantRepository.findDecisionInputs(key.userId(), key.resourceId());
+        if (rows.isEmpty()) {
+            return Decision.NONE;
+        }
+        Object[] row = rows.get(0);
+        return decisionOf(key.userId(), key.resourceId(), row[0], row[1], row[2], row[3]);
+    }
+
+    private Map<DecisionKey, Decision> loadDecisions(long userId, List<Long> resourceIds) {
+        long generation = invalidations.get();
+        Map<DecisionKey, Decision> loaded = new HashMap<>();
+        for (int from = 0; from < resourceIds.size(); from += BATCH_QUERY_SIZE) {
+            List<Long> chunk = resourceIds.subList(from, Math.min(from + BATCH_QUERY_SIZE, resourceIds.size()));
+            for (Object[] row : grantRepository.findDecisionInputsIn(userId, chunk)) {
+                loaded.put(new DecisionKey(userId, (Long) row[0]),
+                    decisionOf(userId, (Long) row[0], row[1], row[2], row[3], row[4]));
+            }
+        }
+        // Resources that do not exist get 0, as with a single check
+        for (Long resourceId : resourceIds) {
+            loaded.putIfAbsent(new DecisionKey(userId, resourceId), Decision.NONE);
+        }
+
+        if (!pathTrie.isReady()) {
+            return loaded;
+        }
+        decisions.putAll(loaded);
+        if (invalidations.get() != generation) {
+            decisions.invalidateAll(loaded.keySet());
+        }
+        return loaded;
+    }
+
+    private Decision decisionOf(long userId, long resourceId, Object createdBy, Object grantMask,
+                                Object expiringMask, Object expiresAt) {
+        if (createdBy != null && ((Long) createdBy) == userId) {
+            return Decision.ALL;
+        }
+        int mask = (grantMask != null ? (Integer) grantMask : 0) | pathTrie.maskFor(userId, resourceId);
+        if (expiresAt == null || expiringMask == null || (Integer) expiringMask == 0) {
+            return new Decision(mask, 0, 0);
+        }
+        long expiresAtMillis = ((LocalDateTime) expiresAt).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new Decision(mask, (Integer) expiringMask, expiresAtMillis);
+    }
+
+    // Counted before the entries go, so a bulk load that overlaps it discards what it cached
+    private void invalidateAfterCommit(Runnable invalidation) {
+        afterCommit(() -> {
+            invalidations.incrementAndGet();
+            invalidation.run();
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record DecisionKey(long userId, long resourceId) {
+    }
+
+    // Permissions held for good, and those held until expiresAtMillis
+    private record Decision(int mask, int expiringMask, long expiresAtMillis) {
+        static final Decision NONE = new Decision(0, 0, 0);
+        static final Decision ALL = new Decision(PermissionType.allMask(), 0, 0);
+
+        int maskAt(long nowMillis) {
+            return nowMillis < expiresAtMillis ? mask | expiringMask : mask;
+        }
+    }
+}
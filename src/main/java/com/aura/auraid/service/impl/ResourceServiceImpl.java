@@ -1,23 +1,36 @@
 package com.aura.auraid.service.impl;
 
+import com.aura.auraid.dto.BatchAccessCheckRequestDTO;
+import com.aura.auraid.dto.BatchAccessCheckResultDTO;
 import com.aura.auraid.dto.ResourceDTO;
 import com.aura.auraid.dto.PageResponseDTO;
 import com.aura.auraid.model.Resource;
 import com.aura.auraid.model.ResourceType;
 import com.aura.auraid.model.PermissionType;
-import com.aura.auraid.model.ResourcePermission;
 import com.aura.auraid.repository.ResourceRepository;
-import com.aura.auraid.repository.ResourcePermissionRepository;
+import com.aura.auraid.service.AccessibleResourceIndex;
+import com.aura.auraid.service.ResourceGrantService;
 import com.aura.auraid.service.ResourceService;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityNotFoundException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,7 +38,8 @@ import java.util.stream.Collectors;
 public class ResourceServiceImpl implements ResourceService {
     
     private final ResourceRepository resourceRepository;
-    private final ResourcePermissionRepository permissionRepository;
+    private final ResourceGrantService resourceGrantService;
+    private final AccessibleResourceIndex accessIndex;
 
     @Override
     @Transactional
@@ -39,6 +53,8 @@ public class ResourceServiceImpl implements ResourceService {
         resource.setUpdatedBy(createdBy);
         
         Resource savedResource = resourceRepository.save(resource);
+        accessIndex.resourceSavedAfterCommit(savedResource.getId(), savedResource.getType(), createdBy);
+        resourceGrantService.resourceSaved(savedResource.getId(), savedResource.getPath(), savedResource.getType());
         return mapToDTO(savedResource);
     }
 
@@ -56,6 +72,8 @@ public class ResourceServiceImpl implements ResourceService {
         resource.setUpdatedAt(LocalDateTime.now());
         
         Resource updatedResource = resourceRepository.save(resource);
+        accessIndex.resourceSavedAfterCommit(updatedResource.getId(), updatedResource.getType(), updatedResource.getCreatedBy());
+        resourceGrantService.resourceSaved(updatedResource.getId(), updatedResource.getPath(), updatedResource.getType());
         return mapToDTO(updatedResource);
     }
 
@@ -66,6 +84,8 @@ public class ResourceServiceImpl implements ResourceService {
             throw new EntityNotFoundException("Resource not found with id: " + id);
         }
         resourceRepository.deleteById(id);
+        resourceGrantService.resourceDeleted(id);
+        accessIndex.resourceDeletedAfterCommit(id);
     }
 
     @Override
@@ -109,30 +129,104 @@ public class ResourceServiceImpl implements ResourceService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Pages through matching ids in the accessible resource index and loads only
+     * that page; falls back to a join on the grants while the index is not built.
+     * Resources come in id order; the pageable's sort is not applied.
+     */
     @Override
     @Transactional(readOnly = true)
-    public boolean hasAccess(Long userId, Long resourceId, String permissionName) {
-        // First check if the resource exists
-        if (!resourceRepository.existsById(resourceId)) {
-            return false;
+    public PageResponseDTO<ResourceDTO> getAccessibleResources(Long userId, PermissionType permission,
+                                                               ResourceType type, Pageable pageable) {
+        int page = pageable.getPageNumber();
+        int size = pageable.getPageSize();
+        Optional<RoaringBitmap> indexed = accessIndex.accessible(userId, permission, type);
+        if (indexed.isEmpty()) {
+            Page<Resource> resourcePage = resourceRepository.findAccessible(
+                userId, permission.mask(), type != null ? type.name() : null, PageRequest.of(page, size));
+            return PageResponseDTO.of(
+                resourcePage.getContent().stream().map(this::mapToDTO).collect(Collectors.toList()),
+                resourcePage.getNumber(),
+                resourcePage.getSize(),
+                resourcePage.getTotalElements(),
+                resourcePage.getTotalPages()
+            );
         }
 
-        // Check if the user is the creator of the resource (creators have all permissions)
-        Resource resource = resourceRepository.findById(resourceId).get();
-        if (resource.getCreatedBy().equals(userId)) {
-            return true;
+        RoaringBitmap ids = indexed.get();
+        long total = ids.getLongCardinality();
+        long offset = (long) page * size;
+        List<Long> pageIds = new ArrayList<>(size);
+        if (offset < total) {
+            PeekableIntIterator iterator = ids.getIntIterator();
+            iterator.advanceIfNeeded(ids.select((int) offset));
+            while (iterator.hasNext() && pageIds.size() < size) {
+                pageIds.add(Integer.toUnsignedLong(iterator.next()));
+            }
         }
 
-        // Check if the permission exists and is enabled
+        Map<Long, Resource> byId = resourceRepository.findAllById(pageIds).stream()
+            .collect(Collectors.toMap(Resource::getId, resource -> resource));
+        List<ResourceDTO> resources = pageIds.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .map(this::mapToDTO)
+            .collect(Collectors.toList());
+        return PageResponseDTO.of(resources, page, size, total, (int) ((total + size - 1) / size));
+    }
+
+    /**
+     * Answered from the grant decision cache, without a transaction, so a warm
+     * check never touches the database. Creators hold every permission.
+     */
+    @Override
+    public boolean hasAccess(Long userId, Long resourceId, String permissionName) {
+        PermissionType requestedPermission;
         try {
-            PermissionType requestedPermission = PermissionType.valueOf(permissionName);
-            Long permissionId = (long) (requestedPermission.ordinal() + 1);
-            return permissionRepository.findById(permissionId)
-                .map(ResourcePermission::isEnabled)
-                .orElse(false);
+            requestedPermission = PermissionType.valueOf(permissionName);
         } catch (IllegalArgumentException e) {
             return false; // Invalid permission name
         }
+        return resourceGrantService.hasPermission(userId, resourceId, requestedPermission);
+    }
+
+    /**
+     * Each distinct resource is looked up once, whatever the number of permissions
+     * asked about it, and misses are loaded together rather than one by one.
+     */
+    @Override
+    public BatchAccessCheckResultDTO checkAccess(Long userId, BatchAccessCheckRequestDTO request) {
+        BatchAccessCheckResultDTO result = new BatchAccessCheckResultDTO();
+        result.setUserId(userId);
+
+        if (request.getResourceType() != null) {
+            Map<Long, Integer> masks = resourceGrantService.getPermissionMasksForType(userId, request.getResourceType());
+            if (request.getPermission() != null) {
+                int required = request.getPermission().mask();
+                masks.values().removeIf(mask -> (mask & required) == 0);
+            }
+            result.setChecked(masks.size());
+            result.setAllowed(masks.size());
+            result.setPermissions(masks);
+            return result;
+        }
+
+        List<BatchAccessCheckRequestDTO.CheckDTO> checks = request.getChecks();
+        Set<Long> resourceIds = new LinkedHashSet<>();
+        checks.forEach(check -> resourceIds.add(check.getResourceId()));
+        Map<Long, Integer> masks = resourceGrantService.getPermissionMasks(userId, resourceIds);
+
+        BitSet allowed = new BitSet(checks.size());
+        for (int i = 0; i < checks.size(); i++) {
+            BatchAccessCheckRequestDTO.CheckDTO check = checks.get(i);
+            if ((masks.getOrDefault(check.getResourceId(), 0) & check.getPermission().mask()) != 0) {
+                allowed.set(i);
+            }
+        }
+        result.setChecked(checks.size());
+        result.setAllowed(allowed.cardinality());
+        result.setResults(Base64.getEncoder().encodeToString(allowed.toByteArray()));
+        return result;
     }
 
     private ResourceDTO mapToDTO(Resource resource) {
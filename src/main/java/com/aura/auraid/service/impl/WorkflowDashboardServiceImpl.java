@@ -1,12 +1,18 @@
 package com.aura.auraid.service.impl;
 
+import com.aura.auraid.dto.LatencyStatsDTO;
 import com.aura.auraid.dto.WorkflowDashboardDTO;
 import com.aura.auraid.dto.PageResponseDTO;
+import com.aura.auraid.dto.RequestSummaryRowDTO;
 import com.aura.auraid.model.*;
 import com.aura.auraid.repository.*;
+import com.aura.auraid.service.AccessRequestCounterService;
+import com.aura.auraid.service.ApprovalLatencyService;
+import com.aura.auraid.service.ApproverInboxService;
 import com.aura.auraid.service.WorkflowDashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,8 +21,12 @@ import jakarta.persistence.EntityNotFoundException;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,6 +39,11 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
     private final ApprovalActionRepository actionRepository;
     private final UserRepository userRepository;
     private final ResourceRepository resourceRepository;
+    private final ApproverInboxService approverInboxService;
+    private final ApprovalLatencyService approvalLatencyService;
+    private final AccessRequestCounterService accessRequestCounterService;
+    private final ApprovalStepRepository stepRepository;
+    private final ApprovalWorkflowRepository workflowRepository;
 
     @Override
     @Transactional(readOnly = true)
@@ -43,27 +58,26 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
     @Override
     @Transactional(readOnly = true)
     public PageResponseDTO<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> getAdminPendingRequests(Pageable pageable) {
-        Page<AccessRequest> requests = accessRequestRepository.findByStatus(AccessRequestStatus.PENDING, pageable);
-        return createRequestSummaryPage(requests);
+        return createRequestSummaryPage(accessRequestRepository.findSummaryRowsByStatus(AccessRequestStatus.PENDING, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponseDTO<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> getAllRequests(
             String status, String resourceType, Pageable pageable) {
-        Page<AccessRequest> requests;
+        Page<RequestSummaryRowDTO> requests;
         if (status != null && resourceType != null) {
-            requests = accessRequestRepository.findByStatusAndResourceType(
+            requests = accessRequestRepository.findSummaryRowsByStatusAndResourceType(
                 AccessRequestStatus.valueOf(status),
                 ResourceType.valueOf(resourceType),
                 pageable
             );
         } else if (status != null) {
-            requests = accessRequestRepository.findByStatus(AccessRequestStatus.valueOf(status), pageable);
+            requests = accessRequestRepository.findSummaryRowsByStatus(AccessRequestStatus.valueOf(status), pageable);
         } else if (resourceType != null) {
-            requests = accessRequestRepository.findByResourceType(ResourceType.valueOf(resourceType), pageable);
+            requests = accessRequestRepository.findSummaryRowsByResourceType(ResourceType.valueOf(resourceType), pageable);
         } else {
-            requests = accessRequestRepository.findAll(pageable);
+            requests = accessRequestRepository.findSummaryRows(pageable);
         }
         return createRequestSummaryPage(requests);
     }
@@ -81,11 +95,8 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
         LocalDateTime startDate = getStartDateForPeriod(period);
         
         WorkflowDashboardDTO.DashboardStatsDTO stats = new WorkflowDashboardDTO.DashboardStatsDTO();
-        stats.setPendingRequests(accessRequestRepository.countByStatus(AccessRequestStatus.PENDING));
-        stats.setApprovedRequests(accessRequestRepository.countByStatusAndCreatedAtAfter(AccessRequestStatus.APPROVED, startDate));
-        stats.setRejectedRequests(accessRequestRepository.countByStatusAndCreatedAtAfter(AccessRequestStatus.REJECTED, startDate));
-        stats.setTotalRequests(accessRequestRepository.countByCreatedAtAfter(startDate));
-        stats.setAverageApprovalTime(calculateAverageApprovalTime(startDate));
+        setRequestCounts(stats, accessRequestCounterService.getCounts(startDate));
+        setApprovalTimes(stats, approvalLatencyService.getStats(LatencyDimension.REQUEST, 0L, startDate));
         
         return stats;
     }
@@ -104,15 +115,15 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
     @Transactional(readOnly = true)
     public PageResponseDTO<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> getUserRequests(
             Long userId, String status, Pageable pageable) {
-        Page<AccessRequest> requests;
+        Page<RequestSummaryRowDTO> requests;
         if (status != null) {
-            requests = accessRequestRepository.findByRequesterIdAndStatus(
+            requests = accessRequestRepository.findSummaryRowsByRequesterIdAndStatus(
                 userId,
                 AccessRequestStatus.valueOf(status),
                 pageable
             );
         } else {
-            requests = accessRequestRepository.findByRequesterId(userId, pageable);
+            requests = accessRequestRepository.findSummaryRowsByRequesterId(userId, pageable);
         }
         return createRequestSummaryPage(requests);
     }
@@ -121,8 +132,25 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
     @Transactional(readOnly = true)
     public PageResponseDTO<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> getUserPendingApprovals(
             Long userId, Pageable pageable) {
-        Page<AccessRequest> requests = accessRequestRepository.findPendingApprovalsByUserId(userId, pageable);
-        return createRequestSummaryPage(requests);
+        // Page over the approver's inbox, then load just that page of requests
+        Page<PendingApproval> inbox = approverInboxService.getPendingApprovals(userId, pageable);
+        Map<Long, RequestSummaryRowDTO> rowsById = accessRequestRepository.findSummaryRowsByIdIn(
+                inbox.getContent().stream().map(PendingApproval::getAccessRequestId).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(RequestSummaryRowDTO::getRequestId, row -> row));
+
+        List<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> summaries = createRequestSummaries(inbox.getContent().stream()
+            .map(row -> rowsById.get(row.getAccessRequestId()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+
+        return PageResponseDTO.of(
+            summaries,
+            inbox.getNumber(),
+            inbox.getSize(),
+            inbox.getTotalElements(),
+            inbox.getTotalPages()
+        );
     }
 
     @Override
@@ -139,17 +167,28 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
         LocalDateTime startDate = getStartDateForPeriod(period);
         
         WorkflowDashboardDTO.DashboardStatsDTO stats = new WorkflowDashboardDTO.DashboardStatsDTO();
-        stats.setPendingRequests(accessRequestRepository.countByRequesterIdAndStatus(userId, AccessRequestStatus.PENDING));
-        stats.setApprovedRequests(accessRequestRepository.countByRequesterIdAndStatusAndCreatedAtAfter(
-            userId, AccessRequestStatus.APPROVED, startDate));
-        stats.setRejectedRequests(accessRequestRepository.countByRequesterIdAndStatusAndCreatedAtAfter(
-            userId, AccessRequestStatus.REJECTED, startDate));
-        stats.setTotalRequests(accessRequestRepository.countByRequesterIdAndCreatedAtAfter(userId, startDate));
-        stats.setAverageApprovalTime(calculateUserAverageApprovalTime(userId, startDate));
+        setRequestCounts(stats, accessRequestCounterService.getCounts(userId, startDate));
+        setApprovalTimes(stats, approvalLatencyService.getStats(LatencyDimension.REQUESTER, userId, startDate));
         
         return stats;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public LatencyStatsDTO getLatencyStats(LatencyDimension dimension, Long dimensionId, String period) {
+        LatencyStatsDTO stats = approvalLatencyService.getStats(dimension, dimensionId, getStartDateForPeriod(period));
+        resolveNames(dimension, List.of(stats));
+        return stats;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LatencyStatsDTO> getBottlenecks(LatencyDimension dimension, String period, int limit) {
+        List<LatencyStatsDTO> slowest = approvalLatencyService.getSlowest(dimension, getStartDateForPeriod(period), limit);
+        resolveNames(dimension, slowest);
+        return slowest;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public WorkflowDashboardDTO.WorkflowRequestSummaryDTO getRequestDetails(Long requestId, Long userId) {
@@ -162,7 +201,7 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
             throw new AccessDeniedException("You don't have access to this request");
         }
         
-        return createRequestSummary(request);
+        return createRequestSummaries(accessRequestRepository.findSummaryRowsByIdIn(List.of(requestId))).get(0);
     }
 
     @Override
@@ -174,9 +213,7 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
     }
 
     private List<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> getRecentRequests(int limit) {
-        return accessRequestRepository.findTop10ByOrderByCreatedAtDesc().stream()
-            .map(this::createRequestSummary)
-            .collect(Collectors.toList());
+        return createRequestSummaries(accessRequestRepository.findRecentSummaryRows(PageRequest.of(0, limit)));
     }
 
     private List<WorkflowDashboardDTO.WorkflowActivityDTO> getRecentAdminActivities(int limit) {
@@ -186,9 +223,8 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
     }
 
     private List<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> getUserRecentRequests(Long userId, int limit) {
-        return accessRequestRepository.findTop10ByRequesterIdOrderByCreatedAtDesc(userId).stream()
-            .map(this::createRequestSummary)
-            .collect(Collectors.toList());
+        return createRequestSummaries(
+            accessRequestRepository.findRecentSummaryRowsByRequesterId(userId, PageRequest.of(0, limit)));
     }
 
     private List<WorkflowDashboardDTO.WorkflowActivityDTO> getUserRecentActivities(Long userId, int limit) {
@@ -197,28 +233,79 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
             .collect(Collectors.toList());
     }
 
-    private WorkflowDashboardDTO.WorkflowRequestSummaryDTO createRequestSummary(AccessRequest request) {
-        WorkflowDashboardDTO.WorkflowRequestSummaryDTO summary = new WorkflowDashboardDTO.WorkflowRequestSummaryDTO();
-        summary.setRequestId(request.getId());
-        summary.setResourceName(request.getResource().getName());
-        summary.setResourceType(request.getResource().getType().toString());
-        summary.setRequesterName(request.getRequester().getUsername());
-        summary.setWorkflowName(request.getResource().getApprovalWorkflow().getName());
-        
-        ApprovalStepExecution currentStep = getCurrentStep(request);
-        if (currentStep != null) {
-            summary.setCurrentStepName(currentStep.getStep().getName());
-            summary.setCurrentStepOrder(currentStep.getStep().getStepOrder());
-            summary.setTotalSteps(request.getApprovalSteps().size());
-            summary.setPendingApprovers(getPendingApprovers(currentStep));
+    /**
+     * Builds summaries for a page of rows with three more queries, however long
+     * the page: the rows' step executions, the approvers of their current steps,
+     * and their approval actions.
+     */
+    private List<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> createRequestSummaries(List<RequestSummaryRowDTO> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
         }
-        
-        summary.setStatus(request.getStatus().toString());
-        summary.setCreatedAt(request.getCreatedAt().toString());
-        summary.setTimeAgo(calculateTimeAgo(request.getCreatedAt()));
-        summary.setRecentActions(getRecentActions(request));
-        
-        return summary;
+        List<Long> requestIds = rows.stream().map(RequestSummaryRowDTO::getRequestId).collect(Collectors.toList());
+
+        // [access request id, step execution id, step id, step name, step order]
+        Map<Long, List<Object[]>> stepsByRequest = stepExecutionRepository.findSummaryRowsByAccessRequestIdIn(requestIds)
+            .stream()
+            .collect(Collectors.groupingBy(step -> (Long) step[0]));
+
+        Map<Long, Object[]> currentSteps = new HashMap<>();
+        for (RequestSummaryRowDTO row : rows) {
+            stepsByRequest.getOrDefault(row.getRequestId(), List.of()).stream()
+                .filter(step -> Objects.equals(step[4], row.getCurrentStepOrder()))
+                .findFirst()
+                .ifPresent(step -> currentSteps.put(row.getRequestId(), step));
+        }
+
+        // [step id, approver id, approver username]
+        Map<Long, List<Object[]>> approversByStep = currentSteps.isEmpty() ? Map.of() : stepRepository
+            .findApproverNamesByStepIdIn(currentSteps.values().stream().map(step -> (Long) step[2]).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.groupingBy(approver -> (Long) approver[0]));
+
+        // [access request id, step execution id, approver id, approver username, action, comment, action time], newest first
+        Map<Long, List<Object[]>> actionsByRequest = actionRepository.findSummaryRowsByAccessRequestIdIn(requestIds)
+            .stream()
+            .collect(Collectors.groupingBy(action -> (Long) action[0], LinkedHashMap::new, Collectors.toList()));
+
+        List<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> summaries = new ArrayList<>(rows.size());
+        for (RequestSummaryRowDTO row : rows) {
+            List<Object[]> actions = actionsByRequest.getOrDefault(row.getRequestId(), List.of());
+
+            WorkflowDashboardDTO.WorkflowRequestSummaryDTO summary = new WorkflowDashboardDTO.WorkflowRequestSummaryDTO();
+            summary.setRequestId(row.getRequestId());
+            summary.setResourceName(row.getResourceName());
+            summary.setResourceType(row.getResourceType().toString());
+            summary.setRequesterName(row.getRequesterName());
+            summary.setWorkflowName(row.getWorkflowName());
+
+            Object[] currentStep = currentSteps.get(row.getRequestId());
+            if (currentStep != null) {
+                Long stepExecutionId = (Long) currentStep[1];
+                Set<Long> actedBy = actions.stream()
+                    .filter(action -> stepExecutionId.equals(action[1]))
+                    .map(action -> (Long) action[2])
+                    .collect(Collectors.toSet());
+
+                summary.setCurrentStepName((String) currentStep[3]);
+                summary.setCurrentStepOrder((Integer) currentStep[4]);
+                summary.setTotalSteps(stepsByRequest.get(row.getRequestId()).size());
+                summary.setPendingApprovers(approversByStep.getOrDefault((Long) currentStep[2], List.of()).stream()
+                    .filter(approver -> !actedBy.contains((Long) approver[1]))
+                    .map(approver -> (String) approver[2])
+                    .collect(Collectors.toList()));
+            }
+
+            summary.setStatus(row.getStatus().toString());
+            summary.setCreatedAt(row.getCreatedAt().toString());
+            summary.setTimeAgo(calculateTimeAgo(row.getCreatedAt()));
+            summary.setRecentActions(actions.stream()
+                .limit(5)
+                .map(this::createApproverActionDTO)
+                .collect(Collectors.toList()));
+            summaries.add(summary);
+        }
+        return summaries;
     }
 
     private WorkflowDashboardDTO.WorkflowActivityDTO createActivityDTO(ApprovalAction action) {
@@ -252,33 +339,14 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
         };
     }
 
-    private List<String> getPendingApprovers(ApprovalStepExecution step) {
-        Set<Long> approvedBy = step.getApprovalActions().stream()
-            .map(action -> action.getApprover().getId())
-            .collect(Collectors.toSet());
-            
-        return step.getStep().getApprovers().stream()
-            .filter(approver -> !approvedBy.contains(approver.getId()))
-            .map(User::getUsername)
-            .collect(Collectors.toList());
-    }
-
-    private List<WorkflowDashboardDTO.ApproverActionDTO> getRecentActions(AccessRequest request) {
-        return request.getApprovalSteps().stream()
-            .flatMap(step -> step.getApprovalActions().stream())
-            .sorted((a1, a2) -> a2.getActionTime().compareTo(a1.getActionTime()))
-            .limit(5)
-            .map(this::createApproverActionDTO)
-            .collect(Collectors.toList());
-    }
-
-    private WorkflowDashboardDTO.ApproverActionDTO createApproverActionDTO(ApprovalAction action) {
+    private WorkflowDashboardDTO.ApproverActionDTO createApproverActionDTO(Object[] action) {
+        ApprovalActionType type = (ApprovalActionType) action[4];
         WorkflowDashboardDTO.ApproverActionDTO dto = new WorkflowDashboardDTO.ApproverActionDTO();
-        dto.setApproverName(action.getApprover().getUsername());
-        dto.setAction(action.getAction().toString());
-        dto.setComment(action.getComment());
-        dto.setTimeAgo(calculateTimeAgo(action.getActionTime()));
-        dto.setIcon(getActionIcon(action.getAction()));
+        dto.setApproverName((String) action[3]);
+        dto.setAction(type.toString());
+        dto.setComment((String) action[5]);
+        dto.setTimeAgo(calculateTimeAgo((LocalDateTime) action[6]));
+        dto.setIcon(getActionIcon(type));
         return dto;
     }
 
@@ -293,13 +361,6 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
         };
     }
 
-    private ApprovalStepExecution getCurrentStep(AccessRequest request) {
-        return request.getApprovalSteps().stream()
-            .filter(step -> step.getStep().getStepOrder() == request.getCurrentStepOrder())
-            .findFirst()
-            .orElse(null);
-    }
-
     private boolean isUserApprover(Long userId, AccessRequest request) {
         return request.getApprovalSteps().stream()
             .anyMatch(step -> step.getStep().getApprovers().stream()
@@ -317,36 +378,33 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
         };
     }
 
-    private double calculateAverageApprovalTime(LocalDateTime since) {
-        List<AccessRequest> approvedRequests = accessRequestRepository
-            .findByStatusAndCreatedAtAfter(AccessRequestStatus.APPROVED, since);
-            
-        if (approvedRequests.isEmpty()) {
-            return 0.0;
-        }
-        
-        double totalHours = approvedRequests.stream()
-            .mapToDouble(request -> 
-                ChronoUnit.HOURS.between(request.getCreatedAt(), request.getApprovedAt()))
-            .sum();
-            
-        return totalHours / approvedRequests.size();
+    private void setRequestCounts(WorkflowDashboardDTO.DashboardStatsDTO stats,
+                                  AccessRequestCounterService.RequestCounts counts) {
+        stats.setPendingRequests(counts.pending());
+        stats.setApprovedRequests(counts.approved());
+        stats.setRejectedRequests(counts.rejected());
+        stats.setTotalRequests(counts.total());
     }
 
-    private double calculateUserAverageApprovalTime(Long userId, LocalDateTime since) {
-        List<AccessRequest> approvedRequests = accessRequestRepository
-            .findByRequesterIdAndStatusAndCreatedAtAfter(userId, AccessRequestStatus.APPROVED, since);
-            
-        if (approvedRequests.isEmpty()) {
-            return 0.0;
-        }
-        
-        double totalHours = approvedRequests.stream()
-            .mapToDouble(request -> 
-                ChronoUnit.HOURS.between(request.getCreatedAt(), request.getApprovedAt()))
-            .sum();
-            
-        return totalHours / approvedRequests.size();
+    private void setApprovalTimes(WorkflowDashboardDTO.DashboardStatsDTO stats, LatencyStatsDTO approvalTime) {
+        stats.setAverageApprovalTime(approvalTime.getMean());
+        stats.setApprovalTimeP50(approvalTime.getP50());
+        stats.setApprovalTimeP90(approvalTime.getP90());
+        stats.setApprovalTimeP99(approvalTime.getP99());
+    }
+
+    private void resolveNames(LatencyDimension dimension, List<LatencyStatsDTO> stats) {
+        Set<Long> ids = stats.stream().map(LatencyStatsDTO::getDimensionId).collect(Collectors.toSet());
+        Map<Long, String> names = switch (dimension) {
+            case REQUEST -> Map.of(0L, "All requests");
+            case WORKFLOW -> workflowRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ApprovalWorkflow::getId, ApprovalWorkflow::getName));
+            case STEP -> stepRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ApprovalStep::getId, ApprovalStep::getName));
+            case REQUESTER, APPROVER -> userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, User::getUsername));
+        };
+        stats.forEach(entry -> entry.setName(names.get(entry.getDimensionId())));
     }
 
     private String calculateTimeAgo(LocalDateTime dateTime) {
@@ -376,13 +434,9 @@ public class WorkflowDashboardServiceImpl implements WorkflowDashboardService {
     }
 
     private PageResponseDTO<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> createRequestSummaryPage(
-            Page<AccessRequest> requests) {
-        List<WorkflowDashboardDTO.WorkflowRequestSummaryDTO> summaries = requests.getContent().stream()
-            .map(this::createRequestSummary)
-            .collect(Collectors.toList());
-            
+            Page<RequestSummaryRowDTO> requests) {
         return PageResponseDTO.of(
-            summaries,
+            createRequestSummaries(requests.getContent()),
             requests.getNumber(),
             requests.getSize(),
             requests.getTotalElements(),
@@ -0,0 +1,56 @@
+package com.aura.auraid.benchmark;
+
+import org.junit.jupiter.api.function.Executable;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs JMH benchmarks from {@code -Pbenchmark} tests. JMH prints its own
+ * summary, and the results of each class are also written to
+ * {@code target/benchmarks/<class>.json}.
+ */
+public final class JmhBenchmarks {
+
+    private static final String RESULTS_DIR = "target/benchmarks";
+
+    private JmhBenchmarks() {
+    }
+
+    /**
+     * Runs every benchmark of the class and fails if any whose method name
+     * matches {@code limited} averages {@code maxNanos} per operation or more.
+     */
+    public static void runWithLimit(Class<?> benchmarks, Predicate<String> limited, double maxNanos)
+            throws RunnerException {
+        new File(RESULTS_DIR).mkdirs();
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(benchmarks.getName())
+            .resultFormat(ResultFormatType.JSON)
+            .result(RESULTS_DIR + "/" + benchmarks.getSimpleName() + ".json")
+            .build()).run();
+        assertFalse(results.isEmpty(), "No benchmarks ran for " + benchmarks.getName());
+
+        List<Executable> checks = new ArrayList<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            double nanos = result.getPrimaryResult().getScore();
+            if (limited.test(benchmark.substring(benchmark.lastIndexOf('.') + 1))) {
+                checks.add(() -> assertTrue(nanos < maxNanos,
+                    () -> benchmark + " took " + nanos + " ns/op, limit " + maxNanos));
+            }
+        }
+        assertFalse(checks.isEmpty(), "No benchmark of " + benchmarks.getName() + " is limited");
+        assertAll(checks);
+    }
+}
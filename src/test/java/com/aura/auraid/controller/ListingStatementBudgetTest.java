@@ -0,0 +1,251 @@
+package com.aura.auraid.controller;
+
+import com.aura.auraid.filter.SqlStatementBudgetFilter;
+import com.aura.auraid.model.*;
+import com.aura.auraid.repository.*;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Regression tests for N+1 loads on listing endpoints. Every listing is run over
+ * a full page of rows that each reference different entities, steps and
+ * actions; the budget filter runs in fail mode, so a per-row query fails the
+ * request. Access request listings are a projection plus its count; dashboard
+ * summaries add one query each for steps, current-step approvers and actions.
+ * Runs against an embedded Postgres, migrated by Liquibase like production.
+ */
+@SpringBootTest(properties = {
+    "app.sql-budget.fail-on-violation=true",
+    "app.sql-budget.budgets[/api/v1/access-requests/pending]=" + ListingStatementBudgetTest.ACCESS_REQUEST_BUDGET,
+    "app.sql-budget.budgets[/api/v1/access-requests/status/{status}]=" + ListingStatementBudgetTest.ACCESS_REQUEST_BUDGET,
+    "app.sql-budget.budgets[/api/v1/access-requests/my-requests]=" + ListingStatementBudgetTest.ACCESS_REQUEST_BUDGET,
+    "app.sql-budget.budgets[/api/v1/access-requests/resource/{resourceId}]=" + ListingStatementBudgetTest.ACCESS_REQUEST_BUDGET,
+    "app.sql-budget.budgets[/api/v1/workflows]=" + ListingStatementBudgetTest.WORKFLOW_BUDGET,
+    "app.sql-budget.budgets[/api/v1/workflow-dashboard/admin/pending-requests]=" + ListingStatementBudgetTest.DASHBOARD_BUDGET,
+    "app.sql-budget.budgets[/api/v1/workflow-dashboard/admin/all-requests]=" + ListingStatementBudgetTest.DASHBOARD_BUDGET,
+    "app.sql-budget.budgets[/api/v1/workflow-dashboard/user/my-requests]=" + ListingStatementBudgetTest.DASHBOARD_BUDGET
+})
+@AutoConfigureMockMvc
+@Transactional
+class ListingStatementBudgetTest {
+
+    static final int ACCESS_REQUEST_BUDGET = 2;
+    static final int DASHBOARD_BUDGET = 5;
+    static final int WORKFLOW_BUDGET = 8;
+    private static final int ROWS = 50;
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ResourcePermissionRepository permissionRepository;
+
+    @Autowired
+    private AccessRequestRepository accessRequestRepository;
+
+    @Autowired
+    private ApprovalWorkflowRepository workflowRepository;
+
+    @Autowired
+    private ApprovalStepExecutionRepository stepExecutionRepository;
+
+    @Autowired
+    private ApprovalActionRepository actionRepository;
+
+    private User requester;
+    private Resource sharedResource;
+
+    @DynamicPropertySource
+    static void embeddedPostgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        requester = userRepository.save(newUser("budget-requester"));
+        List<ResourcePermission> permissions = permissionRepository.findAll();
+
+        for (int i = 0; i < ROWS; i++) {
+            User approver = userRepository.save(newUser("budget-approver-" + i));
+            ApprovalWorkflow workflow = workflowRepository.save(newWorkflow("budget-workflow-" + i, approver));
+            Resource resource = newResource("budget-resource-" + i);
+            resource.setApprovalWorkflow(workflow);
+            resource = resourceRepository.save(resource);
+            if (sharedResource == null) {
+                sharedResource = resource;
+            }
+
+            AccessRequest request = new AccessRequest();
+            request.setResource(i % 2 == 0 ? resource : sharedResource);
+            request.setPermission(permissions.get(i % permissions.size()));
+            request.setRequester(requester);
+            request.setApprover(approver);
+            request.setStatus(AccessRequestStatus.PENDING);
+            request.setJustification("Statement budget regression test");
+            request.setCurrentStepOrder(1);
+            accessRequestRepository.save(request);
+
+            // Every request waits on its first step, which already has one action on it
+            for (ApprovalStep step : request.getResource().getApprovalWorkflow().getSteps()) {
+                ApprovalStepExecution execution = new ApprovalStepExecution();
+                execution.setAccessRequest(request);
+                execution.setStep(step);
+                execution.setStatus(step.getStepOrder() == 1 ? ApprovalStatus.IN_PROGRESS : ApprovalStatus.PENDING);
+                stepExecutionRepository.save(execution);
+
+                if (step.getStepOrder() == 1) {
+                    ApprovalAction action = new ApprovalAction();
+                    action.setStepExecution(execution);
+                    action.setApprover(approver);
+                    action.setAction(ApprovalActionType.COMMENT);
+                    action.setComment("Looking into it");
+                    actionRepository.save(action);
+                }
+            }
+        }
+
+        // Start the requests with an empty persistence context so nothing is served from it
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getPendingRequests_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/access-requests/pending"), ACCESS_REQUEST_BUDGET);
+    }
+
+    @Test
+    void getRequestsByStatus_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/access-requests/status/PENDING"), ACCESS_REQUEST_BUDGET);
+    }
+
+    @Test
+    void getMyRequests_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/access-requests/my-requests"), ACCESS_REQUEST_BUDGET);
+    }
+
+    @Test
+    void getRequestsByResource_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/access-requests/resource/" + sharedResource.getId()), ACCESS_REQUEST_BUDGET);
+    }
+
+    @Test
+    void getDashboardPendingRequests_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/workflow-dashboard/admin/pending-requests"), DASHBOARD_BUDGET);
+    }
+
+    @Test
+    void getDashboardAllRequests_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/workflow-dashboard/admin/all-requests").param("status", "PENDING"), DASHBOARD_BUDGET);
+    }
+
+    @Test
+    void getDashboardUserRequests_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/workflow-dashboard/user/my-requests"), DASHBOARD_BUDGET);
+    }
+
+    @Test
+    void getAllWorkflows_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/workflows"), WORKFLOW_BUDGET);
+    }
+
+    private void assertWithinBudget(MockHttpServletRequestBuilder request, int budget) throws Exception {
+        mockMvc.perform(request
+                .param("size", String.valueOf(ROWS))
+                .requestAttr("userId", requester.getId())
+                .with(user("admin").roles("ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(request().attribute(SqlStatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE,
+                lessThanOrEqualTo(budget)));
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setFirstName("Budget");
+        user.setLastName("Test");
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setCountry("LT");
+        return user;
+    }
+
+    private Resource newResource(String name) {
+        Resource resource = new Resource();
+        resource.setName(name);
+        resource.setDescription("Statement budget regression test");
+        resource.setType(ResourceType.APPLICATION);
+        resource.setPath("/budget/" + name);
+        resource.setCreatedBy(requester.getId());
+        return resource;
+    }
+
+    private ApprovalWorkflow newWorkflow(String name, User approver) {
+        ApprovalWorkflow workflow = new ApprovalWorkflow();
+        workflow.setName(name);
+        workflow.setType(WorkflowType.SEQUENTIAL_MULTI_LEVEL);
+        workflow.setCreatedBy(requester.getId());
+        workflow.setUpdatedBy(requester.getId());
+
+        List<ApprovalStep> steps = new ArrayList<>();
+        for (int order = 1; order <= 2; order++) {
+            ApprovalStep step = new ApprovalStep();
+            step.setWorkflow(workflow);
+            step.setStepOrder(order);
+            step.setName(name + "-step-" + order);
+            step.setApprovers(new HashSet<>(Set.of(approver)));
+            steps.add(step);
+        }
+        workflow.setSteps(steps);
+        return workflow;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded Postgres", e);
+        }
+    }
+}
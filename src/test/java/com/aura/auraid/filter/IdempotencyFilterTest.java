@@ -0,0 +1,168 @@
+package com.aura.auraid.filter;
+
+import com.aura.auraid.config.IdempotencyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private static final String ROUTE = "/api/v1/access-requests";
+
+    private SimpleMeterRegistry registry;
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(new IdempotencyProperties(), new ObjectMapper().findAndRegisterModules(), registry);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void doFilter_ShouldReplayResponseForRepeatedKey() throws Exception {
+        // Act
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"resourceId\":1}"), first, chainCreating(201));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"resourceId\":1}"), retry, chainCreating(201));
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1.0, registry.get("http.idempotency.replays").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldPassBodyThroughToHandler() throws Exception {
+        // Arrange
+        StringBuilder seen = new StringBuilder();
+        FilterChain chain = (req, res) -> seen.append(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        // Act
+        filter.doFilter(request("key-1", "{\"resourceId\":1}"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals("{\"resourceId\":1}", seen.toString());
+    }
+
+    @Test
+    void doFilter_ShouldRejectKeyReusedForDifferentRequest() throws Exception {
+        // Arrange
+        filter.doFilter(request("key-1", "{\"resourceId\":1}"), new MockHttpServletResponse(), chainCreating(201));
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"resourceId\":2}"), response, chainCreating(201));
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldScopeKeysPerUser() throws Exception {
+        // Arrange
+        MockHttpServletRequest other = request("key-1", "{\"resourceId\":1}");
+        other.setAttribute("userId", 2L);
+
+        // Act
+        filter.doFilter(request("key-1", "{\"resourceId\":1}"), new MockHttpServletResponse(), chainCreating(201));
+        filter.doFilter(other, new MockHttpServletResponse(), chainCreating(201));
+
+        // Assert
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void doFilter_ShouldNotKeepServerErrors() throws Exception {
+        // Act
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), chainCreating(500));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{}"), retry, chainCreating(201));
+
+        // Assert
+        assertEquals(2, executions.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldRejectRetryWhileFirstRequestIsRunning() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = new Thread(() -> {
+            try {
+                filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), (req, res) -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    ((HttpServletResponse) res).setStatus(200);
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        first.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{}"), retry, chainCreating(201));
+        release.countDown();
+        first.join();
+
+        // Assert
+        assertEquals(409, retry.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreRequestsWithoutKey() throws Exception {
+        // Act
+        filter.doFilter(request(null, "{}"), new MockHttpServletResponse(), chainCreating(201));
+        filter.doFilter(request(null, "{}"), new MockHttpServletResponse(), chainCreating(201));
+
+        // Assert
+        assertEquals(2, executions.get());
+    }
+
+    private MockHttpServletRequest request(String idempotencyKey, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", ROUTE);
+        request.setAttribute("userId", 1L);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return request;
+    }
+
+    private FilterChain chainCreating(int status) {
+        return (req, res) -> {
+            int id = executions.incrementAndGet();
+            HttpServletResponse response = (HttpServletResponse) res;
+            response.setStatus(status);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"id\":" + id + "}");
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.aura.auraid.filter;
+
+import com.aura.auraid.config.SqlStatementBudgetProperties;
+import com.aura.auraid.metrics.SqlStatementTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementBudgetFilterTest {
+
+    private static final String ROUTE = "/api/v1/access-requests/pending";
+
+    private SqlStatementTracker tracker;
+    private SqlStatementBudgetProperties properties;
+    private SimpleMeterRegistry registry;
+    private SqlStatementBudgetFilter filter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new SqlStatementTracker();
+        properties = new SqlStatementBudgetProperties();
+        registry = new SimpleMeterRegistry();
+        filter = new SqlStatementBudgetFilter(tracker, properties, registry);
+        request = new MockHttpServletRequest("GET", ROUTE);
+    }
+
+    @Test
+    void doFilter_ShouldTagRequestAndRecordMetrics() throws Exception {
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chainRunning("select 1", "select 2"));
+
+        // Assert
+        assertEquals(2, request.getAttribute(SqlStatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE));
+        assertEquals(1, request.getAttribute(SqlStatementBudgetFilter.REPEATED_STATEMENT_ATTRIBUTE));
+        assertEquals(2.0, registry.get("http.request.sql.statements").tags("uri", ROUTE)
+            .summary().totalAmount());
+    }
+
+    @Test
+    void doFilter_ShouldTagNonStandardMethodsAsOther() throws Exception {
+        // Arrange
+        request.setMethod("FOO");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chainRunning("select 1"));
+
+        // Assert
+        assertEquals(1L, registry.get("http.request.sql.statements").tags("method", "OTHER").summary().count());
+        assertTrue(registry.find("http.request.sql.statements").tags("method", "FOO").meters().isEmpty());
+    }
+
+    @Test
+    void doFilter_ShouldFailOnRepeatedStatementsInTestMode() {
+        // Arrange
+        properties.setFailOnViolation(true);
+        String[] nPlusOne = new String[properties.getRepeatedStatementThreshold()];
+        Arrays.fill(nPlusOne, "select r.name from resources r where r.id=?");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> filter.doFilter(request, new MockHttpServletResponse(), chainRunning(nPlusOne)));
+        assertTrue(exception.getMessage().contains(ROUTE));
+        assertEquals(1.0, registry.get("http.request.sql.n_plus_one").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldApplyPerEndpointBudget() {
+        // Arrange
+        properties.setFailOnViolation(true);
+        properties.getBudgets().put(ROUTE, 2);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(),
+            chainRunning("select 1", "select 2", "select 3")));
+    }
+
+    @Test
+    void doFilter_ShouldOnlyWarnOutsideTestMode() {
+        // Arrange
+        properties.getBudgets().put(ROUTE, 1);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> filter.doFilter(request, new MockHttpServletResponse(),
+            chainRunning("select 1", "select 2")));
+    }
+
+    private FilterChain chainRunning(String... statements) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+            for (String sql : statements) {
+                tracker.inspect(sql);
+            }
+        };
+    }
+}
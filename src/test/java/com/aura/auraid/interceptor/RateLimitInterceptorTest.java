@@ -0,0 +1,59 @@
+package com.aura.auraid.interceptor;
+
+import com.aura.auraid.metrics.CustomMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new RateLimitInterceptor(registry, new CustomMetrics(registry));
+    }
+
+    @Test
+    void preHandle_ShouldCountRejectionsWhenLimitExceeded() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/check-username");
+        request.setRemoteAddr("10.0.0.1");
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        boolean allowed = interceptor.preHandle(request, rejected, null);
+
+        // Assert
+        assertFalse(allowed);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals(1.0, registry.get("http.rate_limit.rejections").counter().count());
+    }
+
+    @Test
+    void preHandle_ShouldPublishCounterCacheStatistics() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/resources");
+        request.setRemoteAddr("10.0.0.2");
+
+        // Act
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "rateLimitCounters", "result", "miss")
+            .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "rateLimitCounters", "result", "hit")
+            .functionCounter().count());
+    }
+}
@@ -0,0 +1,95 @@
+package com.aura.auraid.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedMetricHistoryTest {
+
+    private static final String[] NAMES = {"cpu", "heap", "threads"};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_ShouldDecodeExactValuesIncludingNaN() {
+        MappedMetricHistory history = new MappedMetricHistory(tempDir.resolve("h.dat"), NAMES, 100, 4096);
+        history.append(1_000, new double[]{12.5, 1024, 40});
+        history.append(2_003, new double[]{13.25, 1024, Double.NaN});
+        history.append(3_001, new double[]{0.1, 2048, 41});
+
+        List<double[]> samples = readAll(history, 0);
+
+        assertEquals(3, samples.size());
+        assertArrayEquals(new double[]{2_003, 13.25, 1024, Double.NaN}, samples.get(1));
+        assertArrayEquals(new double[]{3_001, 0.1, 2048, 41}, samples.get(2));
+        assertEquals(2, readAll(history, 1_000).size());
+    }
+
+    @Test
+    void append_ShouldKeepRetentionWithConstantFileSize() {
+        Path file = tempDir.resolve("h.dat");
+        MappedMetricHistory history = new MappedMetricHistory(file, NAMES, 500, 1024);
+        Random random = new Random(42);
+        long timestamp = 0;
+        for (int i = 0; i < 5_000; i++) {
+            timestamp += 1_000 + random.nextInt(200) - 100;
+            history.append(timestamp, new double[]{random.nextDouble(), i % 7, i});
+        }
+        history.close();
+
+        List<double[]> samples = readAll(history, 0);
+
+        assertTrue(samples.size() >= 500);
+        assertEquals(4_999.0, samples.get(samples.size() - 1)[3]);
+        assertEquals(history.fileSize(), file.toFile().length());
+    }
+
+    @Test
+    void append_ShouldResumeAfterReopen() throws Exception {
+        Path file = tempDir.resolve("h.dat");
+        MappedMetricHistory first = new MappedMetricHistory(file, NAMES, 100, 4096);
+        first.append(1_000, new double[]{1, 2, 3});
+        first.append(2_000, new double[]{4, 5, 6});
+        first.close();
+
+        MappedMetricHistory reopened = new MappedMetricHistory(file, NAMES, 100, 4096);
+        reopened.append(3_000, new double[]{7, 8, 9});
+
+        List<double[]> samples = readAll(reopened, 0);
+        assertEquals(3, samples.size());
+        assertArrayEquals(new double[]{2_000, 4, 5, 6}, samples.get(1));
+        assertArrayEquals(new double[]{3_000, 7, 8, 9}, samples.get(2));
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void read_ShouldDiscardFileWrittenWithDifferentMetrics() {
+        Path file = tempDir.resolve("h.dat");
+        MappedMetricHistory old = new MappedMetricHistory(file, NAMES, 100, 4096);
+        old.append(1_000, new double[]{1, 2, 3});
+        old.close();
+
+        MappedMetricHistory changed = new MappedMetricHistory(file, new String[]{"cpu", "heap"}, 100, 4096);
+
+        assertTrue(readAll(changed, 0).isEmpty());
+    }
+
+    private static List<double[]> readAll(MappedMetricHistory history, long afterMillis) {
+        List<double[]> samples = new ArrayList<>();
+        history.read(afterMillis, (timestamp, values) -> {
+            double[] row = new double[values.length + 1];
+            row[0] = timestamp;
+            System.arraycopy(values, 0, row, 1, values.length);
+            samples.add(row);
+        });
+        return samples;
+    }
+}
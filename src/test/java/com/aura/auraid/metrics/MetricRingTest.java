@@ -0,0 +1,62 @@
+package com.aura.auraid.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricRingTest {
+
+    private static final String[] NAMES = {"cpu", "heap"};
+
+    @Test
+    void snapshot_ShouldReturnSamplesOldestFirst() {
+        MetricRing ring = new MetricRing(NAMES, 4);
+        ring.append(1000, new double[]{1, 10});
+        ring.append(2000, new double[]{2, 20});
+
+        MetricRing.Snapshot snapshot = ring.snapshot();
+
+        assertEquals(2, snapshot.size());
+        assertEquals(1000, snapshot.timestamp(0));
+        assertEquals(2.0, snapshot.value(0, 1));
+        assertEquals(20.0, snapshot.value(ring.indexOf("heap"), 1));
+    }
+
+    @Test
+    void append_ShouldOverwriteOldestWhenFull() {
+        MetricRing ring = new MetricRing(NAMES, 3);
+        for (int i = 1; i <= 5; i++) {
+            ring.append(i * 1000L, new double[]{i, i * 10});
+        }
+
+        MetricRing.Snapshot snapshot = ring.snapshot();
+
+        assertEquals(3, snapshot.size());
+        assertArrayEquals(new double[]{3, 4, 5}, snapshot.column(0));
+        assertEquals(5000, snapshot.timestamp(2));
+    }
+
+    @Test
+    void snapshot_ShouldFilterByTimestamp() {
+        MetricRing ring = new MetricRing(NAMES, 10);
+        for (int i = 1; i <= 5; i++) {
+            ring.append(i * 1000L, new double[]{i, 0});
+        }
+
+        MetricRing.Snapshot snapshot = ring.snapshot(3000);
+
+        assertEquals(2, snapshot.size());
+        assertEquals(4.0, snapshot.value(0, 0));
+    }
+
+    @Test
+    void append_ShouldCopySampleSoCallersCanReuseIt() {
+        MetricRing ring = new MetricRing(NAMES, 2);
+        double[] sample = {1, 1};
+        ring.append(1000, sample);
+        sample[0] = 99;
+
+        assertEquals(1.0, ring.snapshot().value(0, 0));
+        assertEquals(-1, ring.indexOf("unknown"));
+    }
+}
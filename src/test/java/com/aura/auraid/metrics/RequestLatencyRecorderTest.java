@@ -0,0 +1,88 @@
+package com.aura.auraid.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLatencyRecorderTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestLatencyRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        recorder = new RequestLatencyRecorder(registry);
+    }
+
+    @Test
+    void rotate_ShouldExposeLastIntervalPercentiles() {
+        for (int i = 1; i <= 100; i++) {
+            recorder.record("GET", "/api/v1/resources/{id}", 200, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        // Nothing is visible until the interval is rotated
+        assertEquals(0L, recorder.getLatencySummary().get("count"));
+
+        recorder.rotate();
+        Map<String, Object> summary = recorder.getLatencySummary();
+
+        assertEquals(100L, summary.get("count"));
+        assertEquals(50.0, (double) summary.get("p50"), 0.1);
+        assertEquals(99.0, (double) summary.get("p99"), 0.1);
+        assertEquals(100.0, (double) summary.get("max"), 0.1);
+    }
+
+    @Test
+    void record_ShouldSeparateSeriesByStatusClass() {
+        recorder.record("POST", "/api/v1/access-requests", 201, 1_000_000);
+        recorder.record("POST", "/api/v1/access-requests", 500, 5_000_000);
+        recorder.record("GET", null, 404, 1_000_000);
+        recorder.rotate();
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> endpoints = (List<Map<String, Object>>) recorder.getLatencySummary().get("endpoints");
+
+        assertEquals(3, endpoints.size());
+        assertTrue(endpoints.stream().anyMatch(e -> "5xx".equals(e.get("status"))));
+        assertTrue(endpoints.stream().anyMatch(e -> "UNMAPPED".equals(e.get("endpoint"))));
+    }
+
+    @Test
+    void record_ShouldPublishPrometheusSummaryMeters() {
+        recorder.record("GET", "/api/v1/resources", 200, 2_000_000);
+        recorder.rotate();
+
+        double p50 = registry.get("http.request.latency")
+            .tags("uri", "/api/v1/resources", "status", "2xx", "quantile", "0.5")
+            .gauge()
+            .value();
+        double count = registry.get("http.request.latency.count")
+            .tags("uri", "/api/v1/resources")
+            .functionCounter()
+            .count();
+
+        assertEquals(2.0, p50, 0.01);
+        assertEquals(1.0, count);
+    }
+
+    @Test
+    void record_ShouldGroupNonStandardMethodsAsOther() {
+        recorder.record("FOO", "/api/v1/resources", 405, 1_000_000);
+        recorder.record("BAR", "/api/v1/resources", 405, 1_000_000);
+
+        double count = registry.get("http.request.latency.count")
+            .tags("method", "OTHER", "uri", "/api/v1/resources")
+            .functionCounter()
+            .count();
+
+        assertEquals(2.0, count);
+        assertTrue(registry.find("http.request.latency.count").tags("method", "FOO").meters().isEmpty());
+    }
+}
@@ -0,0 +1,42 @@
+package com.aura.auraid.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementTrackerTest {
+
+    private final SqlStatementTracker tracker = new SqlStatementTracker();
+
+    @Test
+    void inspect_ShouldGroupStatementsByShape() {
+        // Arrange
+        tracker.begin();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            tracker.inspect("select r.id from resources r where r.id=?");
+        }
+        tracker.inspect("select u.id from users u where u.id in (?, ?, ?)");
+        tracker.inspect("select u.id from users u  where u.id in (?,?)");
+        SqlStatementTracker.RequestStatements statements = tracker.end();
+
+        // Assert
+        assertEquals(5, statements.total());
+        assertEquals(2, statements.distinctShapes());
+        assertEquals("select r.id from resources r where r.id=?", statements.mostRepeatedShape());
+        assertEquals(3, statements.repeatCount(statements.mostRepeatedShape()));
+    }
+
+    @Test
+    void inspect_ShouldIgnoreStatementsOutsideARequest() {
+        // Act
+        String sql = tracker.inspect("select 1");
+        SqlStatementTracker.RequestStatements statements = tracker.end();
+
+        // Assert
+        assertEquals("select 1", sql);
+        assertEquals(0, statements.total());
+        assertNull(statements.mostRepeatedShape());
+    }
+}
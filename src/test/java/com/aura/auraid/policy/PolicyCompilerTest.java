@@ -0,0 +1,94 @@
+package com.aura.auraid.policy;
+
+import com.aura.auraid.enums.ERole;
+import com.aura.auraid.exception.PolicySyntaxException;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyCompilerTest {
+
+    @Test
+    void compile_ShouldEvaluateComparisonsAgainstContext() {
+        // Arrange
+        PolicyContext context = new PolicyContext()
+            .set(PolicyAttribute.RESOURCE_TYPE, ResourceType.DATABASE)
+            .set(PolicyAttribute.RESOURCE_PATH, "/prod/db/billing")
+            .set(PolicyAttribute.PERMISSION, PermissionType.WRITE)
+            .set(PolicyAttribute.REQUEST_JUSTIFICATION_LENGTH, 12)
+            .set(PolicyAttribute.REQUESTER_ROLES, List.of(ERole.USER));
+
+        // Act & Assert
+        assertTrue(test("resource.type == 'DATABASE'", context));
+        assertFalse(test("resource.type != 'DATABASE'", context));
+        assertTrue(test("permission in ['WRITE', 'ADMIN']", context));
+        assertTrue(test("resource.path startsWith '/prod/'", context));
+        assertTrue(test("request.justificationLength < 20 and request.justificationLength >= 12", context));
+        assertFalse(test("request.justificationLength > 12", context));
+        assertTrue(test("requester.roles contains 'USER' and not requester.roles contains 'ADMIN'", context));
+        assertTrue(test("false or (true and resource.type == 'DATABASE')", context));
+    }
+
+    @Test
+    void compile_ShouldCompareTwoAttributes() {
+        // Arrange
+        PolicyCompiler.Condition condition = PolicyCompiler.compile("requester.id == approver.id");
+
+        // Act & Assert
+        assertTrue(condition.test(new PolicyContext()
+            .set(PolicyAttribute.REQUESTER_ID, 5L).set(PolicyAttribute.APPROVER_ID, 5L)));
+        assertFalse(condition.test(new PolicyContext()
+            .set(PolicyAttribute.REQUESTER_ID, 5L).set(PolicyAttribute.APPROVER_ID, 6L)));
+        assertEquals(Set.of(PolicyAttribute.REQUESTER_ID, PolicyAttribute.APPROVER_ID), condition.attributes());
+    }
+
+    @Test
+    void compile_ShouldTreatComparisonWithMissingAttributeAsFalse() {
+        // Arrange
+        PolicyContext context = new PolicyContext();
+
+        // Act & Assert
+        assertFalse(test("requester.country == 'LT'", context));
+        assertFalse(test("requester.country != 'LT'", context));
+        assertFalse(test("time.hour < 8", context));
+        assertTrue(test("not requester.country == 'LT'", context));
+    }
+
+    @Test
+    void compile_ShouldUnescapeDoubledQuotes() {
+        // Arrange
+        PolicyContext context = new PolicyContext().set(PolicyAttribute.RESOURCE_PATH, "/o'brien");
+
+        // Act & Assert
+        assertTrue(test("resource.path == '/o''brien'", context));
+    }
+
+    @Test
+    void compile_ShouldRejectInvalidConditions() {
+        assertSyntaxError("", "empty");
+        assertSyntaxError("resource.owner == 'x'", "Unknown attribute 'resource.owner'");
+        assertSyntaxError("resource.type == 'DATABSE'", "'DATABSE' is not a value of 'resource.type'");
+        assertSyntaxError("resource.type < 'DATABASE'", "does not apply to STRING");
+        assertSyntaxError("time.hour == '8'", "Expected a number");
+        assertSyntaxError("requester.roles == 'ADMIN'", "does not apply to STRING_SET");
+        assertSyntaxError("requester.id == approver.country", "Cannot compare NUMBER with STRING");
+        assertSyntaxError("(time.hour < 8", "Expected ')'");
+        assertSyntaxError("time.hour < 8 time.hour > 2", "Unexpected 'time.hour' at position 14");
+        assertSyntaxError("resource.path == 'open", "Unterminated string");
+        assertSyntaxError("time.hour < 8 && true", "Unexpected character '&'");
+    }
+
+    private static boolean test(String source, PolicyContext context) {
+        return PolicyCompiler.compile(source).test(context);
+    }
+
+    private static void assertSyntaxError(String source, String expectedMessage) {
+        PolicySyntaxException exception = assertThrows(PolicySyntaxException.class, () -> PolicyCompiler.compile(source));
+        assertTrue(exception.getMessage().contains(expectedMessage), exception.getMessage());
+    }
+}
@@ -0,0 +1,105 @@
+package com.aura.auraid.policy;
+
+import com.aura.auraid.enums.ERole;
+import com.aura.auraid.model.AccessPolicy;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.PolicyAction;
+import com.aura.auraid.model.PolicyEffect;
+import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.repository.AccessPolicyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Access request decisions against a thousand compiled policies, none of which
+ * match the probes, so an uncached decision runs every condition. The cached
+ * decision is what repeated requests with the same relevant attributes pay.
+ *
+ * Run through {@link PolicyEngineBenchmarkTest} with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyEngineBenchmark {
+
+    static final int PROBES = 64;
+
+    @Param({"1000"})
+    public int policies;
+
+    private PolicyEngine engine;
+    private PolicyContext[] probes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ResourceType[] types = ResourceType.values();
+        List<AccessPolicy> rows = new ArrayList<>(policies);
+        for (int i = 0; i < policies; i++) {
+            AccessPolicy policy = new AccessPolicy();
+            policy.setId((long) i + 1);
+            policy.setName("policy-" + i);
+            policy.setAction(PolicyAction.SUBMIT_REQUEST);
+            if (i % 2 == 0) {
+                policy.setEffect(PolicyEffect.DENY);
+                policy.setCondition("resource.path startsWith '/team" + i + "/' and permission == 'ADMIN'"
+                    + " and not requester.roles contains 'ADMIN'");
+            } else {
+                policy.setEffect(PolicyEffect.PERMIT);
+                policy.setCondition("resource.type == '" + types[i % types.length] + "'"
+                    + " and request.justificationLength < " + (i % 50)
+                    + " and requester.country in ['LT', 'DE'] and (time.hour < 6 or time.hour > 22)");
+            }
+            rows.add(policy);
+        }
+        AccessPolicyRepository repository = mock(AccessPolicyRepository.class);
+        when(repository.count()).thenReturn((long) rows.size());
+        when(repository.findLatestUpdate()).thenReturn(Optional.of(LocalDateTime.now()));
+        when(repository.findByEnabledTrueOrderById()).thenReturn(rows);
+        engine = new PolicyEngine(repository, new SimpleMeterRegistry(), 100_000);
+
+        SplittableRandom random = new SplittableRandom(42);
+        probes = new PolicyContext[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = new PolicyContext()
+                .set(PolicyAttribute.RESOURCE_ID, (long) random.nextInt(1_000_000))
+                .set(PolicyAttribute.RESOURCE_TYPE, types[random.nextInt(types.length)])
+                .set(PolicyAttribute.RESOURCE_PATH, "/svc" + random.nextInt(100) + "/db")
+                .set(PolicyAttribute.PERMISSION, PermissionType.READ)
+                .set(PolicyAttribute.REQUESTER_COUNTRY, "US")
+                .set(PolicyAttribute.REQUESTER_ROLES, List.of(ERole.USER))
+                .set(PolicyAttribute.REQUEST_JUSTIFICATION_LENGTH, 80)
+                .set(PolicyAttribute.TIME_HOUR, 12);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Probe {
+        private int next;
+
+        int nextIndex() {
+            return next++ & (PROBES - 1);
+        }
+    }
+
+    @Benchmark
+    public PolicyDecision decideCached(Probe probe) {
+        return engine.decide(PolicyAction.SUBMIT_REQUEST, probes[probe.nextIndex()]);
+    }
+
+    @Benchmark
+    public PolicyDecision evaluateUncached(Probe probe) {
+        return engine.evaluate(PolicyAction.SUBMIT_REQUEST, probes[probe.nextIndex()]);
+    }
+}
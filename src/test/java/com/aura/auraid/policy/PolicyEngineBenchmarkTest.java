@@ -0,0 +1,21 @@
+package com.aura.auraid.policy;
+
+import com.aura.auraid.benchmark.JmhBenchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs {@link PolicyEngineBenchmark} with {@code mvn test -Pbenchmark} and
+ * fails if a memoized decision at a thousand policies costs more than a cache
+ * lookup should.
+ */
+@Tag("benchmark")
+class PolicyEngineBenchmarkTest {
+
+    private static final double MAX_CACHED_DECISION_NANOS = 2_000;
+
+    @Test
+    void decisions_ShouldBeAnsweredFromCacheAtOneThousandPolicies() throws Exception {
+        JmhBenchmarks.runWithLimit(PolicyEngineBenchmark.class, "decideCached"::equals, MAX_CACHED_DECISION_NANOS);
+    }
+}
@@ -0,0 +1,128 @@
+package com.aura.auraid.policy;
+
+import com.aura.auraid.model.AccessPolicy;
+import com.aura.auraid.model.PolicyAction;
+import com.aura.auraid.model.PolicyEffect;
+import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.repository.AccessPolicyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyEngineTest {
+
+    private static final LocalDateTime LOADED_AT = LocalDateTime.of(2024, 3, 22, 9, 0);
+
+    @Mock private AccessPolicyRepository policyRepository;
+
+    private PolicyEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PolicyEngine(policyRepository, new SimpleMeterRegistry(), 1000);
+    }
+
+    @Test
+    void decide_ShouldLetDenyOverridePermit() {
+        // Arrange
+        loadPolicies(
+            policy(1L, PolicyAction.APPROVE_REQUEST, PolicyEffect.PERMIT, "resource.type == 'DATABASE'"),
+            policy(2L, PolicyAction.APPROVE_REQUEST, PolicyEffect.DENY, "requester.id == approver.id"));
+
+        // Act
+        PolicyDecision ownRequest = engine.decide(PolicyAction.APPROVE_REQUEST, context(5L, 5L, ResourceType.DATABASE));
+        PolicyDecision otherRequest = engine.decide(PolicyAction.APPROVE_REQUEST, context(5L, 6L, ResourceType.DATABASE));
+        PolicyDecision otherType = engine.decide(PolicyAction.APPROVE_REQUEST, context(5L, 6L, ResourceType.API));
+
+        // Assert
+        assertTrue(ownRequest.isDenied());
+        assertEquals(2L, ownRequest.policyId());
+        assertTrue(otherRequest.isPermitted());
+        assertEquals(PolicyDecision.NOT_APPLICABLE, otherType);
+        assertEquals(PolicyDecision.NOT_APPLICABLE,
+            engine.decide(PolicyAction.SUBMIT_REQUEST, context(5L, 5L, ResourceType.DATABASE)));
+    }
+
+    @Test
+    void decide_ShouldShareCacheEntryAcrossAttributesNoPolicyReads() {
+        // Arrange
+        loadPolicies(policy(1L, PolicyAction.SUBMIT_REQUEST, PolicyEffect.DENY, "resource.type == 'DATABASE'"));
+
+        // Act
+        for (long requester = 1; requester <= 100; requester++) {
+            assertTrue(engine.decide(PolicyAction.SUBMIT_REQUEST, context(requester, null, ResourceType.DATABASE)).isDenied());
+        }
+
+        // Assert
+        assertTrue(engine.uses(PolicyAction.SUBMIT_REQUEST, PolicyAttribute.RESOURCE_TYPE));
+        assertFalse(engine.uses(PolicyAction.SUBMIT_REQUEST, PolicyAttribute.REQUESTER_ID));
+        verify(policyRepository, times(1)).findByEnabledTrueOrderById();
+    }
+
+    @Test
+    void reloadIfChanged_ShouldReplacePoliciesOnlyWhenTableChanged() {
+        // Arrange
+        loadPolicies(policy(1L, PolicyAction.SUBMIT_REQUEST, PolicyEffect.DENY, "resource.type == 'DATABASE'"));
+        assertTrue(engine.decide(PolicyAction.SUBMIT_REQUEST, context(5L, null, ResourceType.DATABASE)).isDenied());
+
+        // Act
+        engine.reloadIfChanged();
+        when(policyRepository.findLatestUpdate()).thenReturn(Optional.of(LOADED_AT.plusMinutes(1)));
+        when(policyRepository.findByEnabledTrueOrderById()).thenReturn(List.of());
+        engine.reloadIfChanged();
+
+        // Assert
+        assertEquals(PolicyDecision.NOT_APPLICABLE,
+            engine.decide(PolicyAction.SUBMIT_REQUEST, context(5L, null, ResourceType.DATABASE)));
+        verify(policyRepository, times(2)).findByEnabledTrueOrderById();
+    }
+
+    @Test
+    void reload_ShouldSkipPolicyThatNoLongerCompiles() {
+        // Arrange
+        loadPolicies(
+            policy(1L, PolicyAction.SUBMIT_REQUEST, PolicyEffect.DENY, "resource.kind == 'DATABASE'"),
+            policy(2L, PolicyAction.SUBMIT_REQUEST, PolicyEffect.PERMIT, "true"));
+
+        // Act
+        PolicyDecision decision = engine.decide(PolicyAction.SUBMIT_REQUEST, context(5L, null, ResourceType.DATABASE));
+
+        // Assert
+        assertTrue(decision.isPermitted());
+        assertEquals(2L, decision.policyId());
+    }
+
+    private void loadPolicies(AccessPolicy... policies) {
+        when(policyRepository.count()).thenReturn((long) policies.length);
+        when(policyRepository.findLatestUpdate()).thenReturn(Optional.of(LOADED_AT));
+        when(policyRepository.findByEnabledTrueOrderById()).thenReturn(List.of(policies));
+    }
+
+    private static PolicyContext context(Long requesterId, Long approverId, ResourceType type) {
+        return new PolicyContext()
+            .set(PolicyAttribute.REQUESTER_ID, requesterId)
+            .set(PolicyAttribute.APPROVER_ID, approverId)
+            .set(PolicyAttribute.RESOURCE_TYPE, type);
+    }
+
+    private static AccessPolicy policy(Long id, PolicyAction action, PolicyEffect effect, String condition) {
+        AccessPolicy policy = new AccessPolicy();
+        policy.setId(id);
+        policy.setName("policy-" + id);
+        policy.setAction(action);
+        policy.setEffect(effect);
+        policy.setCondition(condition);
+        return policy;
+    }
+}
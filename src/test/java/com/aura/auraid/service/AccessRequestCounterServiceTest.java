@@ -0,0 +1,124 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.AccessRequest;
+import com.aura.auraid.model.AccessRequestStatus;
+import com.aura.auraid.model.User;
+import com.aura.auraid.repository.AccessRequestRepository;
+import com.aura.auraid.service.impl.AccessRequestCounterServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccessRequestCounterServiceTest {
+
+    private static final Long REQUESTER_ID = 5L;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 20, 14, 30);
+
+    @Mock
+    private AccessRequestRepository accessRequestRepository;
+
+    @InjectMocks
+    private AccessRequestCounterServiceImpl counterService;
+
+    @Test
+    void requestCreated_ShouldCountRequestOnItsCreationDay() {
+        // Act
+        counterService.requestCreated(request(AccessRequestStatus.PENDING));
+
+        // Assert
+        verify(accessRequestRepository).adjustStatusCount(REQUESTER_ID, "PENDING", CREATED_AT.toLocalDate(), 1);
+    }
+
+    @Test
+    void statusChanged_ShouldMoveCountBetweenStatusesInStatusOrder() {
+        // Act
+        counterService.statusChanged(request(AccessRequestStatus.APPROVED), AccessRequestStatus.PENDING);
+        counterService.statusChanged(request(AccessRequestStatus.PENDING), AccessRequestStatus.REJECTED);
+
+        // Assert
+        LocalDate day = CREATED_AT.toLocalDate();
+        InOrder inOrder = inOrder(accessRequestRepository);
+        inOrder.verify(accessRequestRepository).adjustStatusCount(REQUESTER_ID, "PENDING", day, -1);
+        inOrder.verify(accessRequestRepository).adjustStatusCount(REQUESTER_ID, "APPROVED", day, 1);
+        inOrder.verify(accessRequestRepository).adjustStatusCount(REQUESTER_ID, "PENDING", day, 1);
+        inOrder.verify(accessRequestRepository).adjustStatusCount(REQUESTER_ID, "REJECTED", day, -1);
+    }
+
+    @Test
+    void statusChanged_ShouldIgnoreUnchangedStatus() {
+        // Act
+        counterService.statusChanged(request(AccessRequestStatus.PENDING), AccessRequestStatus.PENDING);
+
+        // Assert
+        verifyNoInteractions(accessRequestRepository);
+    }
+
+    @Test
+    void getCounts_ShouldCountPendingOverallAndOthersSinceDay() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2024, 3, 14, 9, 0);
+        when(accessRequestRepository.sumStatusCounts(since.toLocalDate())).thenReturn(List.of(
+            new Object[] {"PENDING", 2L, 7L},
+            new Object[] {"APPROVED", 10L, 40L},
+            new Object[] {"REJECTED", 3L, 3L},
+            new Object[] {"CANCELLED", 1L, 4L}));
+
+        // Act
+        AccessRequestCounterService.RequestCounts counts = counterService.getCounts(since);
+
+        // Assert
+        assertEquals(new AccessRequestCounterService.RequestCounts(7, 10, 3, 16), counts);
+    }
+
+    @Test
+    void getCounts_ShouldBeZeroForRequesterWithoutRequests() {
+        // Arrange
+        when(accessRequestRepository.sumStatusCountsByRequester(eq(REQUESTER_ID), any(LocalDate.class)))
+            .thenReturn(List.of());
+
+        // Act
+        AccessRequestCounterService.RequestCounts counts = counterService.getCounts(REQUESTER_ID, CREATED_AT);
+
+        // Assert
+        assertEquals(new AccessRequestCounterService.RequestCounts(0, 0, 0, 0), counts);
+    }
+
+    @Test
+    void rebuild_ShouldRecountAndRemoveStaleCounters() {
+        // Arrange
+        when(accessRequestRepository.recountStatuses()).thenReturn(2);
+        when(accessRequestRepository.deleteStaleStatusCounts()).thenReturn(1);
+
+        // Act
+        Map<String, Object> result = counterService.rebuild();
+
+        // Assert
+        assertEquals(2, result.get("recounted"));
+        assertEquals(1, result.get("removed"));
+        InOrder order = inOrder(accessRequestRepository);
+        order.verify(accessRequestRepository).lockStatusCounts();
+        order.verify(accessRequestRepository).recountStatuses();
+    }
+
+    private AccessRequest request(AccessRequestStatus status) {
+        User requester = new User();
+        requester.setId(REQUESTER_ID);
+        AccessRequest request = new AccessRequest();
+        request.setRequester(requester);
+        request.setStatus(status);
+        request.setCreatedAt(CREATED_AT);
+        return request;
+    }
+}
@@ -0,0 +1,135 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.AccessRequestImportDTO;
+import com.aura.auraid.dto.BulkAccessRequestResultDTO;
+import com.aura.auraid.exception.ImportFormatException;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.repository.UserRepository;
+import com.aura.auraid.service.impl.AccessRequestImportServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccessRequestImportServiceTest {
+
+    @Mock private AccessRequestService accessRequestService;
+    @Mock private UserRepository userRepository;
+
+    private AccessRequestImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new AccessRequestImportServiceImpl(accessRequestService, userRepository,
+            Validation.buildDefaultValidatorFactory().getValidator(), 2, 2, Duration.ofHours(1));
+        lenient().when(userRepository.findIdsByLowerUsernameIn(anyCollection())).thenReturn(List.of(
+            new Object[] {"alice", 1L}, new Object[] {"bob", 2L}));
+        lenient().when(accessRequestService.submitRequests(anyList())).thenAnswer(invocation -> {
+            List<AccessRequestService.Submission> submissions = invocation.getArgument(0);
+            BulkAccessRequestResultDTO result = new BulkAccessRequestResultDTO();
+            result.setItems(submissions.stream()
+                .map(submission -> BulkAccessRequestResultDTO.ItemResultDTO.submitted(submission.row(), submission.row()))
+                .collect(Collectors.toList()));
+            return result;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.stop();
+    }
+
+    @Test
+    void startImport_ShouldSubmitValidRowsInChunks() throws Exception {
+        // Arrange
+        String csv = "username,resource_id,permission,justification\n"
+            + "Alice,10,read,\"Quarterly report, \"\"finance\"\"\"\n"
+            + "bob,11,2,\n"
+            + "alice,12,ADMIN,\"two\nlines\"\n";
+
+        // Act
+        AccessRequestImportDTO finished = awaitFinished(importService.startImport(file(csv), 1L).getImportId());
+
+        // Assert
+        assertEquals("COMPLETED", finished.getStatus());
+        assertEquals(3, finished.getRowsRead());
+        assertEquals(3, finished.getSubmitted());
+        assertTrue(finished.getRowErrors().isEmpty());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AccessRequestService.Submission>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accessRequestService, times(2)).submitRequests(captor.capture());
+        List<AccessRequestService.Submission> submitted = captor.getAllValues().stream()
+            .flatMap(List::stream).toList();
+        assertEquals(List.of(2L, 3L, 4L), submitted.stream().map(AccessRequestService.Submission::row).toList());
+        assertEquals("Quarterly report, \"finance\"", submitted.get(0).request().getJustification());
+        assertEquals(1L, submitted.get(0).request().getPermissionId());
+        assertEquals(2L, submitted.get(1).requesterId());
+        assertEquals((long) PermissionType.ADMIN.ordinal() + 1, submitted.get(2).request().getPermissionId());
+        assertEquals("two\nlines", submitted.get(2).request().getJustification());
+    }
+
+    @Test
+    void startImport_ShouldReportInvalidRowsAndCapErrors() throws Exception {
+        // Arrange
+        String csv = "username,resource_id,permission,access_duration_minutes\n"
+            + "carol,10,READ,\n"
+            + "alice,abc,READ,\n"
+            + "alice,10,EXECUTE,\n"
+            + "alice,10,READ,-5\n"
+            + "alice,10,READ,60\n";
+
+        // Act
+        AccessRequestImportDTO finished = awaitFinished(importService.startImport(file(csv), 1L).getImportId());
+
+        // Assert
+        assertEquals("COMPLETED", finished.getStatus());
+        assertEquals(5, finished.getRowsRead());
+        assertEquals(1, finished.getSubmitted());
+        assertEquals(4, finished.getFailed());
+        assertEquals(2, finished.getRowErrors().size());
+        assertTrue(finished.isRowErrorsTruncated());
+        assertEquals("Unknown user: carol", finished.getRowErrors().get(0).getError());
+        assertEquals("Invalid resource_id: abc", finished.getRowErrors().get(1).getError());
+    }
+
+    @Test
+    void startImport_ShouldRejectFileWithoutRequiredColumns() {
+        // Act & Assert
+        ImportFormatException error = assertThrows(ImportFormatException.class,
+            () -> importService.startImport(file("username,permission\nalice,READ\n"), 1L));
+        assertEquals("Missing required columns: resource_id", error.getMessage());
+        verifyNoInteractions(accessRequestService);
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "requests.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private AccessRequestImportDTO awaitFinished(String importId) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            AccessRequestImportDTO status = importService.getImport(importId);
+            if (!"RUNNING".equals(status.getStatus())) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Import did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,120 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.repository.ResourceGrantRepository;
+import com.aura.auraid.repository.ResourceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccessibleResourceIndexTest {
+
+    private static final Long USER_ID = 5L;
+    private static final Long CREATOR_ID = 9L;
+
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private ResourceGrantRepository grantRepository;
+    @Mock private ResourcePathTrie pathTrie;
+
+    private AccessibleResourceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AccessibleResourceIndex(resourceRepository, grantRepository, pathTrie, new SimpleMeterRegistry(),
+            true, 1024 * 1024, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void accessible_ShouldBeEmptyUntilBuilt() {
+        // Act & Assert
+        assertFalse(index.isReady());
+        assertTrue(index.accessible(USER_ID, PermissionType.READ, null).isEmpty());
+        verifyNoInteractions(resourceRepository, grantRepository);
+    }
+
+    @Test
+    void accessible_ShouldIntersectUserPermissionWithType() {
+        // Arrange
+        buildWith(
+            List.of(
+                new Object[] {1L, ResourceType.APPLICATION, CREATOR_ID},
+                new Object[] {2L, ResourceType.DATABASE, CREATOR_ID},
+                new Object[] {3L, ResourceType.APPLICATION, USER_ID}),
+            List.of(
+                new Object[] {10L, USER_ID, 1L, PermissionType.READ.mask()},
+                new Object[] {11L, USER_ID, 2L, PermissionType.READ.mask() | PermissionType.WRITE.mask()}));
+
+        // Act & Assert
+        assertTrue(index.isReady());
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), index.accessible(USER_ID, PermissionType.READ, null).orElseThrow());
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), index.accessible(USER_ID, PermissionType.READ, ResourceType.APPLICATION).orElseThrow());
+        assertEquals(RoaringBitmap.bitmapOf(3), index.accessible(USER_ID, PermissionType.WRITE, ResourceType.APPLICATION).orElseThrow());
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), index.accessible(CREATOR_ID, PermissionType.ADMIN, null).orElseThrow());
+        verify(grantRepository, never()).findByUserId(anyLong());
+    }
+
+    @Test
+    void resourceChanges_ShouldUpdateIndexIncrementally() {
+        // Arrange
+        buildWith(
+            List.<Object[]>of(new Object[] {1L, ResourceType.APPLICATION, CREATOR_ID}),
+            List.<Object[]>of(new Object[] {10L, USER_ID, 1L, PermissionType.READ.mask()}));
+
+        // Act
+        index.resourceSavedAfterCommit(2L, ResourceType.APPLICATION, CREATOR_ID);
+        index.grantChanged(USER_ID, 2L, PermissionType.READ::mask);
+        index.resourceSavedAfterCommit(1L, ResourceType.DATABASE, CREATOR_ID);
+        index.resourceDeletedAfterCommit(2L);
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1), index.accessible(USER_ID, PermissionType.READ, null).orElseThrow());
+        assertEquals(RoaringBitmap.bitmapOf(1), index.accessible(USER_ID, PermissionType.READ, ResourceType.DATABASE).orElseThrow());
+        assertTrue(index.accessible(USER_ID, PermissionType.READ, ResourceType.APPLICATION).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void grantChanged_ShouldApplyCurrentMask() {
+        // Arrange
+        buildWith(
+            List.<Object[]>of(new Object[] {1L, ResourceType.APPLICATION, CREATOR_ID}),
+            List.<Object[]>of(new Object[] {10L, USER_ID, 1L, PermissionType.READ.mask() | PermissionType.WRITE.mask()}));
+
+        // Act
+        index.grantChanged(USER_ID, 1L, PermissionType.WRITE::mask);
+
+        // Assert
+        assertTrue(index.accessible(USER_ID, PermissionType.READ, null).orElseThrow().isEmpty());
+        assertEquals(RoaringBitmap.bitmapOf(1), index.accessible(USER_ID, PermissionType.WRITE, null).orElseThrow());
+    }
+
+    @Test
+    void accessible_ShouldLoadUserMissingFromIndex() {
+        // Arrange
+        buildWith(List.<Object[]>of(new Object[] {1L, ResourceType.APPLICATION, CREATOR_ID}), List.of());
+        when(resourceRepository.findIdsByCreatedBy(USER_ID)).thenReturn(List.of());
+        when(grantRepository.findByUserId(USER_ID)).thenReturn(List.of());
+
+        // Act & Assert
+        assertTrue(index.accessible(USER_ID, PermissionType.READ, null).orElseThrow().isEmpty());
+        index.accessible(USER_ID, PermissionType.READ, null);
+        verify(grantRepository, times(1)).findByUserId(USER_ID);
+    }
+
+    private void buildWith(List<Object[]> resources, List<Object[]> grants) {
+        when(resourceRepository.findIndexRowsAfter(eq(0L), any())).thenReturn(resources);
+        when(grantRepository.findIndexRowsAfter(eq(0L), any())).thenReturn(grants);
+        index.build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.LatencyStatsDTO;
+import com.aura.auraid.model.LatencyDimension;
+import com.aura.auraid.model.LatencySketchBucket;
+import com.aura.auraid.repository.LatencySketchBucketRepository;
+import com.aura.auraid.service.impl.ApprovalLatencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApprovalLatencyServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock private LatencySketchBucketRepository bucketRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ApprovalLatencyServiceImpl latencyService;
+
+    @BeforeEach
+    void setUp() {
+        latencyService = new ApprovalLatencyServiceImpl(bucketRepository, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void getStats_ShouldMergeStoredBucketsWithUnflushedSamples() {
+        // Arrange: one stored hour-long sample plus three recorded since the last flush
+        QuantileSketch stored = new QuantileSketch();
+        stored.add(3600);
+        when(bucketRepository.findByDimensionAndDimensionIdAndBucketDateGreaterThanEqual(
+                LatencyDimension.STEP, 12L, NOW.toLocalDate().minusDays(7)))
+            .thenReturn(List.of(bucket(LatencyDimension.STEP, 12L, stored)));
+        for (int hours = 1; hours <= 3; hours++) {
+            latencyService.record(LatencyDimension.STEP, 12L, NOW.minusHours(hours), NOW);
+        }
+        latencyService.record(LatencyDimension.STEP, 99L, NOW.minusHours(50), NOW);
+
+        // Act
+        LatencyStatsDTO stats = latencyService.getStats(LatencyDimension.STEP, 12L, NOW.minusDays(7));
+
+        // Assert
+        assertEquals(4, stats.getCount());
+        assertEquals(1.75, stats.getMean(), 1e-9);
+        assertEquals(3.0, stats.getMax(), 1e-9);
+        assertTrue(stats.getP50() >= 1.0 && stats.getP50() <= 2.0);
+    }
+
+    @Test
+    void flush_ShouldMergeSamplesIntoDayBucket() {
+        // Arrange
+        QuantileSketch stored = new QuantileSketch();
+        stored.add(60);
+        LatencySketchBucket existing = bucket(LatencyDimension.APPROVER, 5L, stored);
+        when(bucketRepository.findForUpdate(LatencyDimension.APPROVER, 5L, NOW.toLocalDate()))
+            .thenReturn(Optional.of(existing));
+        latencyService.record(LatencyDimension.APPROVER, 5L, NOW.minusMinutes(2), NOW);
+
+        // Act
+        Map<String, Object> result = latencyService.flush();
+
+        // Assert
+        assertEquals(1, result.get("flushedBuckets"));
+        ArgumentCaptor<LatencySketchBucket> saved = ArgumentCaptor.forClass(LatencySketchBucket.class);
+        verify(bucketRepository).save(saved.capture());
+        assertEquals(2, saved.getValue().getSampleCount());
+        assertEquals(120, QuantileSketch.fromBytes(saved.getValue().getDigest()).max(), 1e-9);
+
+        // Nothing left to flush
+        assertEquals(0, latencyService.flush().get("flushedBuckets"));
+    }
+
+    @Test
+    void flush_ShouldKeepSamplesWhenBucketWriteFails() {
+        // Arrange
+        when(bucketRepository.findForUpdate(any(), anyLong(), any())).thenReturn(Optional.empty());
+        when(bucketRepository.save(any(LatencySketchBucket.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        latencyService.record(LatencyDimension.WORKFLOW, 1L, NOW.minusHours(1), NOW);
+
+        // Act
+        Map<String, Object> first = latencyService.flush();
+        Map<String, Object> second = latencyService.flush();
+
+        // Assert
+        assertEquals(1, first.get("failedBuckets"));
+        assertEquals(1, second.get("flushedBuckets"));
+        ArgumentCaptor<LatencySketchBucket> saved = ArgumentCaptor.forClass(LatencySketchBucket.class);
+        verify(bucketRepository, times(2)).save(saved.capture());
+        assertEquals(1, saved.getValue().getSampleCount());
+    }
+
+    @Test
+    void getSlowest_ShouldRankByP90() {
+        // Arrange
+        QuantileSketch slow = new QuantileSketch();
+        QuantileSketch fast = new QuantileSketch();
+        for (int i = 1; i <= 100; i++) {
+            slow.add(i * 3600);
+            fast.add(i * 60);
+        }
+        when(bucketRepository.findByDimensionAndBucketDateGreaterThanEqual(eq(LatencyDimension.STEP), any(LocalDate.class)))
+            .thenReturn(List.of(bucket(LatencyDimension.STEP, 1L, fast), bucket(LatencyDimension.STEP, 2L, slow)));
+        latencyService.record(LatencyDimension.STEP, 3L, NOW.minusHours(30), NOW);
+
+        // Act
+        List<LatencyStatsDTO> slowest = latencyService.getSlowest(LatencyDimension.STEP, NOW.minusDays(1), 2);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), slowest.stream().map(LatencyStatsDTO::getDimensionId).toList());
+    }
+
+    private static LatencySketchBucket bucket(LatencyDimension dimension, Long dimensionId, QuantileSketch sketch) {
+        LatencySketchBucket bucket = new LatencySketchBucket();
+        bucket.setDimension(dimension);
+        bucket.setDimensionId(dimensionId);
+        bucket.setBucketDate(NOW.toLocalDate());
+        bucket.setSampleCount(sketch.count());
+        bucket.setDigest(sketch.toBytes());
+        return bucket;
+    }
+}
@@ -0,0 +1,250 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.BulkApprovalResultDTO;
+import com.aura.auraid.event.ApprovalDigestEvent;
+import com.aura.auraid.model.*;
+import com.aura.auraid.repository.*;
+import com.aura.auraid.service.impl.ApprovalWorkflowServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApprovalWorkflowBulkActionTest {
+
+    private static final Long APPROVER_ID = 5L;
+    private static final long FIRST_STEP_ID = 11L;
+    private static final long SECOND_STEP_ID = 12L;
+
+    @Mock private ApprovalWorkflowRepository workflowRepository;
+    @Mock private ApprovalStepRepository stepRepository;
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private AccessRequestRepository accessRequestRepository;
+    @Mock private ApprovalStepExecutionRepository stepExecutionRepository;
+    @Mock private ApprovalActionRepository actionRepository;
+    @Mock private ApprovalActionBatchWriter approvalActionBatchWriter;
+    @Mock private UserRepository userRepository;
+    @Mock private WorkflowDefinitionCache workflowDefinitionCache;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private ApproverInboxService approverInboxService;
+    @Mock private StepDeadlineScheduler stepDeadlineScheduler;
+    @Mock private ApprovalLatencyService approvalLatencyService;
+    @Mock private ResourceGrantService resourceGrantService;
+    @Mock private AccessRequestCounterService accessRequestCounterService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private WorkflowEngine workflowEngine;
+    private ApprovalWorkflowServiceImpl workflowService;
+    private final Map<Long, ApprovalStepExecution> executions = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        workflowEngine = new WorkflowEngine(1, 100, new SimpleMeterRegistry());
+        workflowService = new ApprovalWorkflowServiceImpl(workflowRepository, stepRepository, resourceRepository,
+            accessRequestRepository, stepExecutionRepository, actionRepository, approvalActionBatchWriter,
+            userRepository, workflowDefinitionCache, workflowEngine, new TransactionTemplate(transactionManager),
+            eventPublisher, approverInboxService, stepDeadlineScheduler, approvalLatencyService, resourceGrantService,
+            accessRequestCounterService);
+
+        WorkflowSnapshot workflow = new WorkflowSnapshot(1L, 1L, WorkflowType.SINGLE_APPROVER, true, List.of(
+            new WorkflowSnapshot.Step(FIRST_STEP_ID, 1, "Manager", null, new long[]{APPROVER_ID}),
+            new WorkflowSnapshot.Step(SECOND_STEP_ID, 2, "Security", null, new long[]{7L, 8L})));
+        lenient().when(workflowDefinitionCache.get(1L, 1L)).thenReturn(workflow);
+
+        User approver = new User();
+        approver.setId(APPROVER_ID);
+        lenient().when(userRepository.getReferenceById(APPROVER_ID)).thenReturn(approver);
+
+        // Requests 1000 and 1001 wait on the first step (executions 100 and 104)
+        createRequest(1000L, 100L);
+        createRequest(1001L, 104L);
+
+        lenient().when(stepExecutionRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<ApprovalStepExecution> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                if (executions.containsKey(id)) {
+                    found.add(executions.get(id));
+                }
+            }
+            return found;
+        });
+        lenient().when(actionRepository.findByStepExecutionIdIn(anyCollection())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        workflowEngine.shutdown();
+    }
+
+    @Test
+    void handleBulkApprovalAction_ShouldReportStatusPerItem() {
+        // Arrange
+        List<Long> ids = List.of(100L, 101L, 102L, 103L, 104L, 100L);
+        when(stepExecutionRepository.findApprovalContextByIdIn(List.of(100L, 101L, 102L, 103L, 104L))).thenReturn(List.of(
+            context(100L, 1000L, ApprovalStatus.IN_PROGRESS),
+            context(102L, 1002L, ApprovalStatus.APPROVED),
+            context(103L, 1003L, ApprovalStatus.IN_PROGRESS),
+            context(104L, 1001L, ApprovalStatus.IN_PROGRESS)));
+        when(actionRepository.findStepExecutionIdsActedOnBy(anyList(), eq(APPROVER_ID))).thenReturn(List.of(103L));
+
+        // Act
+        BulkApprovalResultDTO result = workflowService.handleBulkApprovalAction(
+            ids, APPROVER_ID, ApprovalActionType.APPROVE, "routine");
+
+        // Assert
+        assertEquals(5, result.getRequested());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+
+        Map<Long, BulkApprovalResultDTO.ItemResultDTO> items = result.getItems().stream()
+            .collect(Collectors.toMap(BulkApprovalResultDTO.ItemResultDTO::getStepExecutionId, item -> item));
+        assertTrue(items.get(100L).isSuccess());
+        assertEquals("APPROVED", items.get(100L).getStepStatus());
+        assertEquals("PENDING", items.get(100L).getRequestStatus());
+        assertEquals("Step execution not found", items.get(101L).getError());
+        assertEquals("Step is not awaiting approval", items.get(102L).getError());
+        assertEquals("User has already acted on this step", items.get(103L).getError());
+        assertTrue(items.get(104L).isSuccess());
+
+        // Both valid actions go in as one batch
+        verify(approvalActionBatchWriter).insert(eq(List.of(100L, 104L)), eq(APPROVER_ID),
+            eq(ApprovalActionType.APPROVE), eq("routine"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void handleBulkApprovalAction_ShouldCoalesceNotificationsPerRecipient() {
+        // Arrange
+        when(stepExecutionRepository.findApprovalContextByIdIn(List.of(100L, 104L))).thenReturn(List.of(
+            context(100L, 1000L, ApprovalStatus.IN_PROGRESS),
+            context(104L, 1001L, ApprovalStatus.IN_PROGRESS)));
+
+        // Act
+        workflowService.handleBulkApprovalAction(List.of(100L, 104L), APPROVER_ID, ApprovalActionType.APPROVE, null);
+
+        // Assert: both requests moved to the security step, each of its approvers is told once
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        Map<Long, Integer> approvalsPerRecipient = events.getAllValues().stream()
+            .map(ApprovalDigestEvent.class::cast)
+            .collect(Collectors.toMap(ApprovalDigestEvent::getRecipientId, digest -> digest.getApprovals().size()));
+        assertEquals(Map.of(7L, 2, 8L, 2), approvalsPerRecipient);
+        verify(approverInboxService, times(2)).stepActivated(any(ApprovalStepExecution.class), eq(new long[]{7L, 8L}));
+    }
+
+    @Test
+    void handleBulkApprovalAction_ShouldRetryItemsIndividuallyWhenBatchFails() {
+        // Arrange
+        when(stepExecutionRepository.findApprovalContextByIdIn(List.of(100L, 104L))).thenReturn(List.of(
+            context(100L, 1000L, ApprovalStatus.IN_PROGRESS),
+            context(104L, 1001L, ApprovalStatus.IN_PROGRESS)));
+        doThrow(new IllegalStateException("constraint violation"))
+            .when(approvalActionBatchWriter).insert(argThat(list -> list.contains(104L)), any(), any(), any(), any());
+
+        // Act
+        BulkApprovalResultDTO result = workflowService.handleBulkApprovalAction(
+            List.of(100L, 104L), APPROVER_ID, ApprovalActionType.APPROVE, null);
+
+        // Assert
+        assertEquals(1, result.getSucceeded());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertFalse(result.getItems().get(1).isSuccess());
+        assertEquals("constraint violation", result.getItems().get(1).getError());
+    }
+
+    @Test
+    void handleBulkApprovalAction_ShouldReportDuplicateActionCaughtByConstraint() {
+        // Arrange: another instance recorded this approver's action after the up-front check
+        when(stepExecutionRepository.findApprovalContextByIdIn(List.of(100L))).thenReturn(List.<Object[]>of(
+            context(100L, 1000L, ApprovalStatus.IN_PROGRESS)));
+        doThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"uk_approval_actions_step_approver\""))
+            .when(approvalActionBatchWriter).insert(anyList(), any(), any(), any(), any());
+
+        // Act
+        BulkApprovalResultDTO result = workflowService.handleBulkApprovalAction(
+            List.of(100L), APPROVER_ID, ApprovalActionType.APPROVE, null);
+
+        // Assert
+        assertEquals(0, result.getSucceeded());
+        assertEquals("User has already acted on this step", result.getItems().get(0).getError());
+    }
+
+    @Test
+    void startWorkflows_ShouldRetryRequestsOneByOneAndReportFailures() {
+        // Arrange: request 2000's resource lost its workflow, which fails the lane's batch
+        AccessRequest started = createRequest(1000L, 100L);
+        AccessRequest broken = createRequest(2000L, 200L);
+        broken.setWorkflowId(null);
+        Map<Long, AccessRequest> requests = Map.of(1000L, started, 2000L, broken);
+        when(accessRequestRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<AccessRequest> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                found.add(requests.get(id));
+            }
+            return found;
+        });
+
+        // Act
+        Map<Long, String> failures = workflowService.startWorkflows(List.of(1000L, 2000L));
+
+        // Assert
+        assertEquals(Map.of(2000L, "Resource has no approval workflow configured"), failures);
+        verify(accessRequestRepository).findAllById(List.of(1000L, 2000L));
+        verify(accessRequestRepository).findAllById(List.of(1000L));
+        verify(accessRequestRepository).findAllById(List.of(2000L));
+    }
+
+    private AccessRequest createRequest(Long requestId, Long firstExecutionId) {
+        Resource resource = new Resource();
+        resource.setName("billing-db");
+        User requester = new User();
+        requester.setUsername("alice");
+
+        AccessRequest request = new AccessRequest();
+        request.setId(requestId);
+        request.setResource(resource);
+        request.setRequester(requester);
+        request.setStatus(AccessRequestStatus.PENDING);
+        request.setCurrentStepOrder(1);
+        request.setWorkflowId(1L);
+        request.setWorkflowVersion(1L);
+
+        ApprovalStepExecution first = execution(firstExecutionId, request, FIRST_STEP_ID, ApprovalStatus.IN_PROGRESS);
+        ApprovalStepExecution second = execution(firstExecutionId + 1000, request, SECOND_STEP_ID, ApprovalStatus.PENDING);
+        request.setApprovalSteps(List.of(first, second));
+        executions.put(firstExecutionId, first);
+        return request;
+    }
+
+    private ApprovalStepExecution execution(Long id, AccessRequest request, long stepId, ApprovalStatus status) {
+        ApprovalStep step = new ApprovalStep();
+        step.setId(stepId);
+        ApprovalStepExecution execution = new ApprovalStepExecution();
+        execution.setId(id);
+        execution.setAccessRequest(request);
+        execution.setStep(step);
+        execution.setStatus(status);
+        return execution;
+    }
+
+    private Object[] context(Long stepExecutionId, Long requestId, ApprovalStatus status) {
+        return new Object[]{stepExecutionId, requestId, FIRST_STEP_ID, status, AccessRequestStatus.PENDING, 1L, 1L};
+    }
+}
@@ -0,0 +1,157 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.ApproverInboxDTO;
+import com.aura.auraid.dto.PendingApprovalDTO;
+import com.aura.auraid.model.AccessRequest;
+import com.aura.auraid.model.ApprovalStepExecution;
+import com.aura.auraid.model.PendingApproval;
+import com.aura.auraid.repository.PendingApprovalRepository;
+import com.aura.auraid.service.impl.ApproverInboxServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApproverInboxServiceTest {
+
+    @Mock
+    private PendingApprovalRepository pendingApprovalRepository;
+
+    @InjectMocks
+    private ApproverInboxServiceImpl inboxService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stepActivated_ShouldAddRowAndUnreadCountPerApprover() {
+        // Arrange
+        AccessRequest request = new AccessRequest();
+        request.setId(10L);
+        ApprovalStepExecution execution = new ApprovalStepExecution();
+        execution.setId(100L);
+        execution.setAccessRequest(request);
+
+        // Act
+        inboxService.stepActivated(execution, new long[]{3L, 7L});
+
+        // Assert
+        ArgumentCaptor<List<PendingApproval>> rows = ArgumentCaptor.forClass(List.class);
+        verify(pendingApprovalRepository).saveAll(rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertTrue(rows.getValue().stream().allMatch(row ->
+            row.getAccessRequestId() == 10L && row.getStepExecutionId() == 100L && !row.isRead()));
+        verify(pendingApprovalRepository).adjustUnreadCount(3L, 1);
+        verify(pendingApprovalRepository).adjustUnreadCount(7L, 1);
+    }
+
+    @Test
+    void stepClosed_ShouldOnlyDecrementUnreadRows() {
+        // Arrange
+        PendingApproval unread = row(1L, 3L, false);
+        PendingApproval read = row(2L, 7L, true);
+        when(pendingApprovalRepository.findByStepExecutionId(100L)).thenReturn(List.of(unread, read));
+
+        // Act
+        inboxService.stepClosed(100L);
+
+        // Assert
+        verify(pendingApprovalRepository).deleteAllInBatch(List.of(unread, read));
+        verify(pendingApprovalRepository).adjustUnreadCount(3L, -1);
+        verify(pendingApprovalRepository, never()).adjustUnreadCount(eq(7L), anyInt());
+    }
+
+    @Test
+    void approverActed_ShouldIgnoreMissingRow() {
+        // Arrange
+        when(pendingApprovalRepository.findByStepExecutionIdAndUserId(100L, 3L)).thenReturn(Optional.empty());
+
+        // Act
+        inboxService.approverActed(100L, 3L);
+
+        // Assert
+        verify(pendingApprovalRepository, never()).deleteAllInBatch(any());
+        verify(pendingApprovalRepository, never()).adjustUnreadCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void markRead_ShouldDecrementCounterByRowsChanged() {
+        // Arrange
+        PendingApproval first = row(1L, 3L, false);
+        PendingApproval second = row(2L, 3L, false);
+        when(pendingApprovalRepository.findByUserIdAndIdInAndReadFalse(3L, List.of(1L, 2L, 9L)))
+            .thenReturn(List.of(first, second));
+
+        // Act
+        int marked = inboxService.markRead(3L, List.of(1L, 2L, 9L));
+
+        // Assert
+        assertEquals(2, marked);
+        assertTrue(first.isRead() && second.isRead());
+        verify(pendingApprovalRepository).adjustUnreadCount(3L, -2);
+    }
+
+    @Test
+    void getInbox_ShouldReturnCursorWhenMoreRowsExist() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingApprovalDTO> rows = new ArrayList<>();
+        for (long id = 3; id >= 1; id--) {
+            rows.add(new PendingApprovalDTO(id, 10L + id, 100L + id, "db", "alice", false, now.minusMinutes(3 - id)));
+        }
+        when(pendingApprovalRepository.findInboxFirstPage(eq(5L), any(Pageable.class))).thenReturn(rows);
+        when(pendingApprovalRepository.findUnreadCount(5L)).thenReturn(Optional.of(3));
+
+        // Act
+        ApproverInboxDTO inbox = inboxService.getInbox(5L, null, null, 2);
+
+        // Assert
+        assertEquals(2, inbox.getPage().getItems().size());
+        assertTrue(inbox.getPage().isHasMore());
+        assertEquals(3L, inbox.getUnreadCount());
+        assertEquals(Map.of("beforeCreatedAt", now.minusMinutes(1), "beforeId", 2L), inbox.getPage().getNextCursor());
+    }
+
+    @Test
+    void getInbox_ShouldUseKeysetQueryForLaterPages() {
+        // Arrange
+        LocalDateTime cursor = LocalDateTime.now();
+        when(pendingApprovalRepository.findInboxAfter(eq(5L), eq(cursor), eq(42L), any(Pageable.class)))
+            .thenReturn(List.of());
+        when(pendingApprovalRepository.findUnreadCount(5L)).thenReturn(Optional.empty());
+
+        // Act
+        ApproverInboxDTO inbox = inboxService.getInbox(5L, cursor, 42L, 20);
+
+        // Assert
+        assertFalse(inbox.getPage().isHasMore());
+        assertEquals(0L, inbox.getUnreadCount());
+        assertNull(inbox.getPage().getNextCursor());
+        verify(pendingApprovalRepository, never()).findInboxFirstPage(anyLong(), any());
+    }
+
+    private PendingApproval row(Long id, Long userId, boolean read) {
+        PendingApproval row = new PendingApproval();
+        row.setId(id);
+        row.setUserId(userId);
+        row.setAccessRequestId(10L);
+        row.setStepExecutionId(100L);
+        row.setRead(read);
+        return row;
+    }
+}
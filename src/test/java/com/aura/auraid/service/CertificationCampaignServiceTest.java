@@ -0,0 +1,226 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.CertificationCampaignDTO;
+import com.aura.auraid.dto.CertificationDecisionDTO;
+import com.aura.auraid.dto.CertificationItemDTO;
+import com.aura.auraid.dto.CursorPageDTO;
+import com.aura.auraid.model.CampaignStatus;
+import com.aura.auraid.model.CertificationCampaign;
+import com.aura.auraid.model.CertificationDecision;
+import com.aura.auraid.model.NotificationType;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.repository.CertificationBatchWriter;
+import com.aura.auraid.repository.CertificationCampaignRepository;
+import com.aura.auraid.repository.CertificationItemRepository;
+import com.aura.auraid.service.impl.CertificationCampaignServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CertificationCampaignServiceTest {
+
+    private static final long CAMPAIGN_ID = 1L;
+    private static final long ADMIN_ID = 100L;
+    private static final long OWNER_ID = 3L;
+    private static final int READ = PermissionType.READ.mask();
+    private static final int WRITE = PermissionType.WRITE.mask();
+    private static final int DELETE = PermissionType.DELETE.mask();
+    private static final int ADMIN = PermissionType.ADMIN.mask();
+
+    @Mock private CertificationCampaignRepository campaignRepository;
+    @Mock private CertificationItemRepository itemRepository;
+    @Mock private CertificationBatchWriter batchWriter;
+    @Mock private ResourceGrantService grantService;
+    @Mock private NotificationService notificationService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private CertificationCampaignServiceImpl campaignService;
+    private CertificationCampaign campaign;
+
+    @BeforeEach
+    void setUp() {
+        // Partitions of at most 3 resource ids, batches of 2 items
+        campaignService = new CertificationCampaignServiceImpl(campaignRepository, itemRepository, batchWriter,
+            grantService, notificationService, new TransactionTemplate(transactionManager), 2, 3, 2, 100);
+
+        campaign = new CertificationCampaign();
+        campaign.setId(CAMPAIGN_ID);
+        campaign.setName("Q3 review");
+        campaign.setCreatedBy(ADMIN_ID);
+        lenient().when(campaignRepository.findById(CAMPAIGN_ID)).thenAnswer(invocation -> Optional.of(campaign));
+        lenient().when(campaignRepository.save(any())).thenAnswer(invocation -> {
+            CertificationCampaign saved = invocation.getArgument(0);
+            saved.setId(CAMPAIGN_ID);
+            return saved;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        campaignService.stop();
+    }
+
+    @Test
+    void startCampaign_ShouldWriteOneItemPerHeldPermissionAcrossPartitions() {
+        // Arrange
+        LocalDateTime later = LocalDateTime.now().plusDays(1);
+        List<long[]> ranges = Collections.synchronizedList(new ArrayList<>());
+        List<CertificationBatchWriter.NewItem> items = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        when(batchWriter.grantedResourceBounds(null)).thenReturn(new long[] {1L, 10L});
+        doAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            Consumer<CertificationBatchWriter.GrantRow> consumer = invocation.getArgument(4);
+            ranges.add(new long[] {from, to});
+            List.of(
+                new CertificationBatchWriter.GrantRow(7L, 2L, READ | WRITE, 0, null, OWNER_ID),
+                new CertificationBatchWriter.GrantRow(8L, 5L, 0, ADMIN, later, null),
+                new CertificationBatchWriter.GrantRow(9L, 6L, 0, DELETE, LocalDateTime.now().minusDays(1), OWNER_ID),
+                new CertificationBatchWriter.GrantRow(OWNER_ID, 9L, READ, 0, null, OWNER_ID)
+            ).stream().filter(grant -> grant.resourceId() >= from && grant.resourceId() <= to).forEach(consumer);
+            return null;
+        }).when(batchWriter).streamGrants(anyLong(), anyLong(), isNull(), eq(100), any());
+        doAnswer(invocation -> {
+            List<CertificationBatchWriter.NewItem> batch = invocation.getArgument(1);
+            items.addAll(batch);
+            batchSizes.add(batch.size());
+            return null;
+        }).when(batchWriter).insertItems(eq(CAMPAIGN_ID), anyList());
+        when(itemRepository.countByReviewer(CAMPAIGN_ID)).thenReturn(List.of(
+            new Object[] {OWNER_ID, 2L}, new Object[] {ADMIN_ID, 2L}));
+
+        CertificationCampaignDTO request = new CertificationCampaignDTO();
+        request.setName("Q3 review");
+
+        // Act
+        CertificationCampaignDTO started = campaignService.startCampaign(request, ADMIN_ID);
+
+        // Assert
+        assertEquals(CampaignStatus.GENERATING, started.getStatus());
+        verify(notificationService, timeout(5000)).createNotification(eq(ADMIN_ID), eq("Access Review Assigned"),
+            anyString(), eq(NotificationType.ACCESS_REVIEW_ASSIGNED), eq("CERTIFICATION_CAMPAIGN"), eq(CAMPAIGN_ID));
+        verify(notificationService, timeout(5000)).createNotification(eq(OWNER_ID), anyString(), anyString(),
+            any(), anyString(), eq(CAMPAIGN_ID));
+
+        // Every resource id is read exactly once, in parts of at most 3 ids
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        long next = 1;
+        for (long[] range : ranges) {
+            assertEquals(next, range[0]);
+            assertTrue(range[1] - range[0] < 3);
+            next = range[1] + 1;
+        }
+        assertEquals(11, next);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 2));
+
+        items.sort(Comparator.comparingLong(CertificationBatchWriter.NewItem::resourceId)
+            .thenComparingInt(CertificationBatchWriter.NewItem::permissionId));
+        assertEquals(List.of(
+            new CertificationBatchWriter.NewItem(7L, 2L, 1, null, OWNER_ID),
+            new CertificationBatchWriter.NewItem(7L, 2L, 2, null, OWNER_ID),
+            new CertificationBatchWriter.NewItem(8L, 5L, 4, later, ADMIN_ID),
+            new CertificationBatchWriter.NewItem(OWNER_ID, 9L, 1, null, ADMIN_ID)), items);
+
+        assertEquals(CampaignStatus.ACTIVE, campaign.getStatus());
+        assertEquals(4, campaign.getItemCount());
+        assertNotNull(campaign.getGeneratedAt());
+    }
+
+    @Test
+    void startCampaign_ShouldRemoveItemsWhenGenerationFails() {
+        // Arrange
+        when(batchWriter.grantedResourceBounds(null)).thenReturn(new long[] {1L, 10L});
+        doThrow(new IllegalStateException("connection lost"))
+            .when(batchWriter).streamGrants(anyLong(), anyLong(), any(), anyInt(), any());
+        CertificationCampaignDTO request = new CertificationCampaignDTO();
+        request.setName("Q3 review");
+
+        // Act
+        campaignService.startCampaign(request, ADMIN_ID);
+
+        // Assert
+        verify(itemRepository, timeout(5000)).deleteByCampaignId(CAMPAIGN_ID);
+        verify(campaignRepository, timeout(5000)).save(campaign);
+        assertEquals(CampaignStatus.FAILED, campaign.getStatus());
+        assertEquals("connection lost", campaign.getError());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void closeCampaign_ShouldRevokeCombinedPermissionsOncePerGrant() {
+        // Arrange
+        campaign.setStatus(CampaignStatus.ACTIVE);
+        when(campaignRepository.transition(CAMPAIGN_ID, CampaignStatus.ACTIVE, CampaignStatus.CLOSING)).thenReturn(1);
+        when(itemRepository.findUnappliedRevocations(CAMPAIGN_ID, 0L, 2)).thenReturn(List.of(
+            new Object[] {10L, 7L, 2L, (short) 1}, new Object[] {11L, 7L, 2L, (short) 2}));
+        when(itemRepository.findUnappliedRevocations(CAMPAIGN_ID, 11L, 2)).thenReturn(List.<Object[]>of(
+            new Object[] {12L, 8L, 5L, (short) 4}));
+        when(itemRepository.findUnappliedRevocations(CAMPAIGN_ID, 12L, 2)).thenReturn(List.of());
+        when(itemRepository.countByDecision(CAMPAIGN_ID)).thenReturn(List.of(
+            new Object[] {CertificationDecision.REVOKED, 3L}, new Object[] {CertificationDecision.CERTIFIED, 5L}));
+
+        // Act
+        campaignService.closeCampaign(CAMPAIGN_ID);
+
+        // Assert
+        verify(campaignRepository, timeout(5000)).save(campaign);
+        verify(grantService).revokeAll(List.of(new ResourceGrantService.Revocation(7L, 2L, READ | WRITE)));
+        verify(grantService).revokeAll(List.of(new ResourceGrantService.Revocation(8L, 5L, ADMIN)));
+        verify(itemRepository).markApplied(eq(List.of(10L, 11L)), any());
+        verify(itemRepository).markApplied(eq(List.of(12L)), any());
+        assertEquals(CampaignStatus.CLOSED, campaign.getStatus());
+        assertEquals(3, campaign.getRevokedCount());
+    }
+
+    @Test
+    void decide_ShouldRejectWhenCampaignIsNotActive() {
+        // Arrange
+        campaign.setStatus(CampaignStatus.CLOSED);
+        CertificationDecisionDTO decision = new CertificationDecisionDTO();
+        decision.setItemIds(List.of(10L));
+        decision.setDecision(CertificationDecision.REVOKED);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> campaignService.decide(CAMPAIGN_ID, OWNER_ID, decision));
+        verify(itemRepository, never()).decide(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getReviewerInbox_ShouldReturnCursorWhenMoreItemsExist() {
+        // Arrange
+        when(itemRepository.findInboxAfter(eq(CAMPAIGN_ID), eq(OWNER_ID), eq(CertificationDecision.PENDING), eq(0L), any()))
+            .thenReturn(List.of(
+                new CertificationItemDTO(10L, 7L, "alice", 2L, "billing-db", (short) 1, null,
+                    CertificationDecision.PENDING, null, null),
+                new CertificationItemDTO(11L, 7L, "alice", 2L, "billing-db", (short) 2, null,
+                    CertificationDecision.PENDING, null, null)));
+
+        // Act
+        CursorPageDTO<CertificationItemDTO> inbox = campaignService.getReviewerInbox(CAMPAIGN_ID, OWNER_ID, null, null, 1);
+
+        // Assert
+        assertTrue(inbox.isHasMore());
+        assertEquals(Map.of("afterId", 10L), inbox.getNextCursor());
+        assertEquals(1, inbox.getItems().size());
+    }
+}
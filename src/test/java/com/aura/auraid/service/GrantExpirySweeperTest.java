@@ -0,0 +1,82 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.PermissionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GrantExpirySweeperTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock private ResourceGrantService grantService;
+    @Mock private NotificationService notificationService;
+
+    private GrantExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new GrantExpirySweeper(grantService, notificationService, new SimpleMeterRegistry(),
+            false, 60_000, BATCH_SIZE, 2, 0);
+    }
+
+    @Test
+    void sweep_ShouldClearBatchesUntilOneComesBackShort() throws InterruptedException {
+        // Arrange
+        when(grantService.expireDueGrants(BATCH_SIZE)).thenReturn(expired(1, 3), expired(4, 1));
+
+        // Act
+        int swept = sweeper.sweep();
+
+        // Assert
+        assertEquals(4, swept);
+        verify(grantService, times(2)).expireDueGrants(BATCH_SIZE);
+        verify(notificationService).notifyPermissionExpired(4L, 400L, PermissionType.READ.mask());
+        verify(notificationService, times(4)).notifyPermissionExpired(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void sweep_ShouldLeaveBacklogBeyondMaxBatchesToNextRun() throws InterruptedException {
+        // Arrange
+        when(grantService.expireDueGrants(BATCH_SIZE)).thenReturn(expired(1, 3), expired(4, 3), expired(7, 3));
+
+        // Act
+        int swept = sweeper.sweep();
+
+        // Assert
+        assertEquals(6, swept);
+        verify(grantService, times(2)).expireDueGrants(BATCH_SIZE);
+    }
+
+    @Test
+    void sweep_ShouldKeepGoingWhenNotificationFails() throws InterruptedException {
+        // Arrange
+        when(grantService.expireDueGrants(BATCH_SIZE)).thenReturn(expired(1, 2));
+        doThrow(new IllegalStateException("mail down"))
+            .when(notificationService).notifyPermissionExpired(eq(1L), anyLong(), anyInt());
+
+        // Act
+        int swept = sweeper.sweep();
+
+        // Assert
+        assertEquals(2, swept);
+        verify(notificationService).notifyPermissionExpired(2L, 200L, PermissionType.READ.mask());
+    }
+
+    private static List<ResourceGrantService.ExpiredGrant> expired(long firstUserId, int count) {
+        return LongStream.range(firstUserId, firstUserId + count)
+            .mapToObj(userId -> new ResourceGrantService.ExpiredGrant(userId, userId * 100, PermissionType.READ.mask(), null))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,97 @@
+package com.aura.auraid.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advanceTo_ShouldFireOnFirstTickAfterDeadline() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 1_000);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(1_250, "a");
+        wheel.schedule(1_300, "b");
+
+        // Act & Assert
+        wheel.advanceTo(1_299, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(1_300, fired::add);
+        assertEquals(List.of("a"), fired);
+        wheel.advanceTo(1_400, fired::add);
+        assertEquals(List.of("a", "b"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_ShouldReturnNullForPastDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 1_000);
+
+        assertNull(wheel.schedule(999, "late"));
+        assertNotNull(wheel.schedule(1_000, "now"));
+    }
+
+    @Test
+    void cancel_ShouldPreventFiring() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule(50_000, "far");
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        assertTrue(timeout.cancel());
+        wheel.advanceTo(100_000, fired::add);
+
+        // Assert
+        assertFalse(timeout.cancel());
+        assertTrue(fired.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_ShouldMatchReferenceAcrossLevels() {
+        // Arrange: deadlines from sub-tick to several wheel spans away, some cancelled
+        long tick = 10;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(tick, 16, 0);
+        Random random = new Random(42);
+        TreeMap<Long, List<Long>> expected = new TreeMap<>();
+        Map<Long, HierarchicalTimingWheel.Timeout<Long>> handles = new HashMap<>();
+        long id = 0;
+        long now = 0;
+
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 50; i++) {
+                long deadline = wheel.getCurrentTime() + (long) (Math.pow(random.nextDouble(), 3) * 100_000);
+                long key = id++;
+                HierarchicalTimingWheel.Timeout<Long> timeout = wheel.schedule(deadline, key);
+                assertNotNull(timeout);
+                handles.put(key, timeout);
+                expected.computeIfAbsent(deadline, d -> new ArrayList<>()).add(key);
+            }
+            // Cancel a few random pending timeouts
+            for (int i = 0; i < 10 && !handles.isEmpty(); i++) {
+                Long victim = handles.keySet().iterator().next();
+                HierarchicalTimingWheel.Timeout<Long> timeout = handles.remove(victim);
+                assertTrue(timeout.cancel());
+                expected.get(timeout.getDeadline()).remove(victim);
+            }
+
+            // Act
+            now += random.nextInt(500);
+            Set<Long> fired = new HashSet<>();
+            wheel.advanceTo(now, fired::add);
+
+            // Assert: exactly the deadlines before the current tick boundary fired
+            Set<Long> due = new HashSet<>();
+            NavigableMap<Long, List<Long>> passed = expected.headMap(now - Math.floorMod(now, tick), false);
+            passed.values().forEach(due::addAll);
+            passed.clear();
+            assertEquals(due, fired);
+            fired.forEach(handles::remove);
+            assertEquals(handles.size(), wheel.size());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.dto.CursorPageDTO;
+import com.aura.auraid.dto.NotificationDTO;
+import com.aura.auraid.model.NotificationType;
+import com.aura.auraid.repository.NotificationRepository;
+import com.aura.auraid.repository.ResourceRepository;
+import com.aura.auraid.service.impl.NotificationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    private static final Long USER_ID = 5L;
+
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private WebSocketNotificationService webSocketNotificationService;
+
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new NotificationServiceImpl(notificationRepository, resourceRepository,
+            webSocketNotificationService);
+    }
+
+    @Test
+    void getUserNotifications_ShouldReturnCursorWhenMoreNotificationsExist() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        when(notificationRepository.findFirstPage(USER_ID, PageRequest.of(0, 3))).thenReturn(List.of(
+            notification(30L, now), notification(29L, now), notification(28L, now.minusHours(2))));
+
+        // Act
+        CursorPageDTO<NotificationDTO> page = notificationService.getUserNotifications(USER_ID, null, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(Map.of("beforeCreatedAt", now, "beforeId", 29L), page.getNextCursor());
+        assertEquals("request_new", page.getItems().get(0).getIcon());
+        assertNotNull(page.getItems().get(0).getTimeAgo());
+    }
+
+    @Test
+    void getUnreadNotifications_ShouldContinueAfterCursorWithoutMorePages() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.now().minusHours(1);
+        when(notificationRepository.findPageAfterByRead(USER_ID, false, before, 29L, PageRequest.of(0, 21)))
+            .thenReturn(List.of(notification(12L, before.minusMinutes(5))));
+
+        // Act
+        CursorPageDTO<NotificationDTO> page = notificationService.getUnreadNotifications(USER_ID, before, 29L, 20);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getUserNotifications_ShouldCapPageSize() {
+        // Arrange
+        when(notificationRepository.findFirstPage(USER_ID, PageRequest.of(0, 101))).thenReturn(List.of());
+
+        // Act
+        CursorPageDTO<NotificationDTO> page = notificationService.getUserNotifications(USER_ID, null, null, 10_000);
+
+        // Assert
+        assertEquals(List.of(), page.getItems());
+        assertFalse(page.isHasMore());
+    }
+
+    private static NotificationDTO notification(Long id, LocalDateTime createdAt) {
+        return new NotificationDTO(id, "New Access Request", "A new access request has been submitted",
+            NotificationType.ACCESS_REQUEST_SUBMITTED, false, null, createdAt, "ACCESS_REQUEST", 1L);
+    }
+}
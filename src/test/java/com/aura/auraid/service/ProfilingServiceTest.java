@@ -0,0 +1,64 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.exception.DuplicateResourceException;
+import com.aura.auraid.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfilingServiceTest {
+
+    private final ProfilingService profilingService = new ProfilingService(1, 5, 2);
+
+    @AfterEach
+    void tearDown() {
+        profilingService.shutdown();
+    }
+
+    @Test
+    void startRecording_ShouldProduceReportAndJfrFile() throws Exception {
+        // Act
+        String id = (String) profilingService.startRecording(1, "default", 5).get("id");
+        Map<String, Object> recording = awaitCompletion(id);
+
+        // Assert
+        assertEquals("COMPLETED", recording.get("status"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> report = (Map<String, Object>) recording.get("report");
+        assertTrue(report.keySet().containsAll(Set.of("cpu", "allocations", "locks", "gc")));
+        assertTrue(Files.size(profilingService.getRecordingFile(id)) > 0);
+    }
+
+    @Test
+    void startRecording_ShouldRejectWhenConcurrencyCapReached() throws Exception {
+        // Arrange
+        String id = (String) profilingService.startRecording(1, "default", 5).get("id");
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> profilingService.startRecording(1, "default", 5));
+        awaitCompletion(id);
+    }
+
+    @Test
+    void getRecording_ShouldThrowForUnknownId() {
+        assertThrows(ResourceNotFoundException.class, () -> profilingService.getRecording("missing"));
+        assertThrows(IllegalArgumentException.class, () -> profilingService.startRecording(1, "verbose", 5));
+    }
+
+    private Map<String, Object> awaitCompletion(String id) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Map<String, Object> recording = profilingService.getRecording(id);
+            if (!"RUNNING".equals(recording.get("status"))) {
+                return recording;
+            }
+            Thread.sleep(100);
+        }
+        fail("Recording did not complete");
+        return null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.aura.auraid.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    @Test
+    void quantile_ShouldStayWithinRankErrorOnSkewedData() {
+        // Arrange: log-normal durations, like time spent waiting on approvers
+        Random random = new Random(42);
+        double[] values = new double[200_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 1.5) * 3600;
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // Act & Assert
+        for (double q : new double[] {0.01, 0.5, 0.9, 0.99, 0.999}) {
+            assertEquals(q, rank(values, sketch.quantile(q)), 0.005, "rank error at q=" + q);
+        }
+        assertEquals(values.length, sketch.count());
+        assertEquals(values[0], sketch.min());
+        assertEquals(values[values.length - 1], sketch.max());
+    }
+
+    @Test
+    void merge_ShouldMatchSketchOfCombinedStream() {
+        // Arrange
+        Random random = new Random(7);
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch[] parts = {new QuantileSketch(), new QuantileSketch(), new QuantileSketch()};
+        double[] values = new double[90_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1000;
+            whole.add(values[i]);
+            parts[i % 3].add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // Act
+        QuantileSketch merged = new QuantileSketch();
+        for (QuantileSketch part : parts) {
+            merged.merge(part);
+        }
+
+        // Assert
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.mean(), merged.mean(), 1e-6);
+        for (double q : new double[] {0.5, 0.9, 0.99}) {
+            assertEquals(q, rank(values, merged.quantile(q)), 0.005);
+        }
+    }
+
+    @Test
+    void toBytes_ShouldRoundTripAndStayBounded() {
+        // Arrange
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(i);
+        }
+
+        // Act
+        byte[] bytes = sketch.toBytes();
+        QuantileSketch restored = QuantileSketch.fromBytes(bytes);
+
+        // Assert
+        assertTrue(bytes.length < 16 * 1024, "sketch size must not grow with the input");
+        assertEquals(sketch.count(), restored.count());
+        assertEquals(sketch.quantile(0.9), restored.quantile(0.9));
+        assertEquals(sketch.max(), restored.max());
+    }
+
+    @Test
+    void quantile_ShouldBeNaNWhenEmpty() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertEquals(0, sketch.count());
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    }
+
+    private static double rank(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return (double) (index < 0 ? -index - 1 : index) / sorted.length;
+    }
+}
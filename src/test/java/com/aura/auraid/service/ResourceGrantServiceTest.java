@@ -0,0 +1,305 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.PathGrant;
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.repository.PathGrantRepository;
+import com.aura.auraid.repository.ResourceGrantBatchWriter;
+import com.aura.auraid.repository.ResourceGrantRepository;
+import com.aura.auraid.repository.ResourceRepository;
+import com.aura.auraid.service.impl.ResourceGrantServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceGrantServiceTest {
+
+    private static final Long USER_ID = 5L;
+    private static final Long CREATOR_ID = 9L;
+    private static final Long RESOURCE_ID = 100L;
+    // Larger than any test's working set, so nothing a test loads is evicted
+    private static final long CACHE_ENTRIES = 10_000;
+
+    @Mock private ResourceGrantRepository grantRepository;
+    @Mock private PathGrantRepository pathGrantRepository;
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private AccessibleResourceIndex accessIndex;
+    @Mock private ResourceGrantBatchWriter grantBatchWriter;
+
+    private ResourceGrantService grantService;
+
+    @BeforeEach
+    void setUp() {
+        when(resourceRepository.findPathRowsAfter(eq(0L), any())).thenReturn(List.of());
+        when(pathGrantRepository.findTrieRowsAfter(eq(0L), any())).thenReturn(List.of());
+        ResourcePathTrie pathTrie = new ResourcePathTrie(resourceRepository, pathGrantRepository);
+        pathTrie.build();
+        grantService = new ResourceGrantServiceImpl(grantRepository, grantBatchWriter, pathGrantRepository, pathTrie,
+            accessIndex, new SimpleMeterRegistry(), CACHE_ENTRIES, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void hasPermission_ShouldAnswerRepeatedChecksFromCache() {
+        // Arrange
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, PermissionType.READ.mask(), 0, null}));
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ));
+            assertFalse(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.WRITE));
+        }
+
+        // Assert
+        verify(grantRepository, times(1)).findDecisionInputs(USER_ID, RESOURCE_ID);
+    }
+
+    @Test
+    void hasPermission_ShouldGiveCreatorEveryPermission() {
+        // Arrange
+        when(grantRepository.findDecisionInputs(CREATOR_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, null, null, null}));
+
+        // Act & Assert
+        for (PermissionType permission : PermissionType.values()) {
+            assertTrue(grantService.hasPermission(CREATOR_ID, RESOURCE_ID, permission));
+        }
+    }
+
+    @Test
+    void hasPermission_ShouldDenyWithoutGrantOrResource() {
+        // Arrange
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, null, null, null}));
+        when(grantRepository.findDecisionInputs(USER_ID, 404L)).thenReturn(List.of());
+
+        // Act & Assert
+        assertFalse(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ));
+        assertFalse(grantService.hasPermission(USER_ID, 404L, PermissionType.READ));
+        assertFalse(grantService.hasPermission(null, RESOURCE_ID, PermissionType.READ));
+    }
+
+    @Test
+    void grant_ShouldReplaceCachedDecision() {
+        // Arrange
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, null, null, null}))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, PermissionType.WRITE.mask(), 0, null}));
+        assertFalse(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.WRITE));
+
+        // Act
+        grantService.grant(USER_ID, RESOURCE_ID, PermissionType.WRITE, 42L);
+
+        // Assert
+        verify(grantRepository).addPermissions(USER_ID, RESOURCE_ID, PermissionType.WRITE.mask(), 42L);
+        assertTrue(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.WRITE));
+    }
+
+    @Test
+    void revoke_ShouldDropEmptyGrantAndCachedDecision() {
+        // Arrange
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, PermissionType.READ.mask(), 0, null}))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, null, null, null}));
+        when(grantRepository.removePermissions(USER_ID, RESOURCE_ID, PermissionType.READ.mask())).thenReturn(1);
+        assertTrue(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ));
+
+        // Act
+        grantService.revoke(USER_ID, RESOURCE_ID, PermissionType.READ);
+
+        // Assert
+        verify(grantRepository).deleteIfEmpty(USER_ID, RESOURCE_ID);
+        assertFalse(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ));
+    }
+
+    @Test
+    void resourceDeleted_ShouldDropDecisionsForResourceOnly() {
+        // Arrange
+        when(grantRepository.findDecisionInputs(anyLong(), anyLong()))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, PermissionType.READ.mask(), 0, null}));
+        grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ);
+        grantService.hasPermission(USER_ID, 200L, PermissionType.READ);
+
+        // Act
+        grantService.resourceDeleted(RESOURCE_ID);
+        grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ);
+        grantService.hasPermission(USER_ID, 200L, PermissionType.READ);
+
+        // Assert
+        verify(grantRepository, times(2)).findDecisionInputs(USER_ID, RESOURCE_ID);
+        verify(grantRepository, times(1)).findDecisionInputs(USER_ID, 200L);
+    }
+
+    @Test
+    void getPermissionMasks_ShouldLoadMissesTogetherAndCacheThem() {
+        // Arrange
+        List<Long> resourceIds = LongStream.rangeClosed(1, 2500).boxed().collect(Collectors.toList());
+        when(grantRepository.findDecisionInputsIn(eq(USER_ID), anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(1);
+            return ids.stream()
+                .filter(id -> id % 2 == 0)
+                .map(id -> new Object[] {id, id == 2 ? USER_ID : CREATOR_ID, PermissionType.READ.mask(), 0, null})
+                .collect(Collectors.toList());
+        });
+
+        // Act
+        Map<Long, Integer> masks = grantService.getPermissionMasks(USER_ID, resourceIds);
+        grantService.getPermissionMasks(USER_ID, resourceIds);
+
+        // Assert
+        assertEquals(2500, masks.size());
+        assertEquals(PermissionType.allMask(), masks.get(2L));
+        assertEquals(PermissionType.READ.mask(), masks.get(4L));
+        assertEquals(0, masks.get(3L));
+        assertTrue(grantService.hasPermission(USER_ID, 4L, PermissionType.READ));
+        verify(grantRepository, times(3)).findDecisionInputsIn(eq(USER_ID), anyCollection());
+        verify(grantRepository, never()).findDecisionInputs(anyLong(), anyLong());
+    }
+
+    @Test
+    void getPermissionMasks_ShouldNotKeepLoadOverlappingInvalidation() {
+        // Arrange
+        when(grantRepository.findDecisionInputsIn(eq(USER_ID), anyCollection())).thenAnswer(invocation -> {
+            grantService.grant(USER_ID, RESOURCE_ID, PermissionType.WRITE, 42L);
+            return List.<Object[]>of(new Object[] {RESOURCE_ID, CREATOR_ID, null, null, null});
+        });
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, PermissionType.WRITE.mask(), 0, null}));
+
+        // Act
+        Map<Long, Integer> masks = grantService.getPermissionMasks(USER_ID, List.of(RESOURCE_ID));
+
+        // Assert
+        assertEquals(0, masks.get(RESOURCE_ID));
+        assertTrue(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.WRITE));
+    }
+
+    @Test
+    void hasPermission_ShouldStopAllowingExpiringPermissionAtExpiryWithoutQuery() throws InterruptedException {
+        // Arrange
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID)).thenReturn(List.<Object[]>of(new Object[] {
+            CREATOR_ID, PermissionType.READ.mask(), PermissionType.WRITE.mask(), LocalDateTime.now().plusNanos(300_000_000)}));
+
+        // Act
+        boolean beforeExpiry = grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.WRITE);
+        Thread.sleep(400);
+        boolean afterExpiry = grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.WRITE);
+
+        // Assert
+        assertTrue(beforeExpiry);
+        assertFalse(afterExpiry);
+        assertTrue(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ));
+        verify(grantRepository, times(1)).findDecisionInputs(USER_ID, RESOURCE_ID);
+    }
+
+    @Test
+    void getPermissionMasks_ShouldLeaveOutExpiredPermissions() {
+        // Arrange
+        when(grantRepository.findDecisionInputsIn(eq(USER_ID), anyCollection())).thenReturn(List.of(
+            new Object[] {1L, CREATOR_ID, 0, PermissionType.READ.mask(), LocalDateTime.now().minusMinutes(1)},
+            new Object[] {2L, CREATOR_ID, 0, PermissionType.READ.mask(), LocalDateTime.now().plusHours(8)}));
+
+        // Act
+        Map<Long, Integer> masks = grantService.getPermissionMasks(USER_ID, List.of(1L, 2L));
+
+        // Assert
+        assertEquals(0, masks.get(1L));
+        assertEquals(PermissionType.READ.mask(), masks.get(2L));
+    }
+
+    @Test
+    void grant_ShouldAddExpiringPermissionsWhenTimeBoxed() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(8);
+
+        // Act
+        grantService.grant(USER_ID, RESOURCE_ID, PermissionType.WRITE, 42L, expiresAt);
+
+        // Assert
+        verify(grantRepository).addExpiringPermissions(USER_ID, RESOURCE_ID, PermissionType.WRITE.mask(), 42L, expiresAt);
+        verify(grantRepository, never()).addPermissions(anyLong(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void expireDueGrants_ShouldClearDueRowsAndDropTheirDecisions() {
+        // Arrange
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, PermissionType.READ.mask(), 0, null}));
+        grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ);
+        when(grantRepository.lockDueExpiries(any(), eq(500))).thenReturn(List.<Object[]>of(
+            new Object[] {7L, USER_ID, RESOURCE_ID, PermissionType.WRITE.mask(), 42L}));
+
+        // Act
+        List<ResourceGrantService.ExpiredGrant> expired = grantService.expireDueGrants(500);
+        grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ);
+
+        // Assert
+        assertEquals(List.of(new ResourceGrantService.ExpiredGrant(USER_ID, RESOURCE_ID, PermissionType.WRITE.mask(), 42L)),
+            expired);
+        verify(grantRepository).clearExpiry(List.of(7L));
+        verify(grantRepository).deleteEmpty(List.of(7L));
+        verify(grantRepository, times(2)).findDecisionInputs(USER_ID, RESOURCE_ID);
+        verify(accessIndex).grantChanged(eq(USER_ID), eq(RESOURCE_ID), any());
+    }
+
+    @Test
+    void resourceSaved_ShouldDropDecisionWhenRenameMovesResourceUnderPathGrant() {
+        // Arrange
+        when(pathGrantRepository.findByUserIdAndPathPrefix(USER_ID, "/staging"))
+            .thenReturn(Optional.of(new PathGrant(1L, USER_ID, "/staging", PermissionType.READ.mask(), null, null)));
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, null, null, null}));
+        grantService.resourceSaved(RESOURCE_ID, "/prod/db/billing", ResourceType.DATABASE);
+        grantService.grantPath(USER_ID, "/staging/", PermissionType.READ);
+        assertFalse(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ));
+
+        // Act
+        grantService.resourceSaved(RESOURCE_ID, "/staging/db/billing", ResourceType.DATABASE);
+        boolean afterRename = grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ);
+        grantService.resourceSaved(RESOURCE_ID, "/prod/db/billing", ResourceType.DATABASE);
+        boolean afterRenameBack = grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ);
+
+        // Assert
+        assertTrue(afterRename);
+        assertFalse(afterRenameBack);
+        verify(pathGrantRepository).addPermissions(USER_ID, "/staging", PermissionType.READ.mask());
+        verify(grantRepository, times(3)).findDecisionInputs(USER_ID, RESOURCE_ID);
+        verify(accessIndex, times(3)).usersChanged(Set.of(USER_ID));
+    }
+
+    @Test
+    void resourceSaved_ShouldKeepDecisionsWhenPathIsUnchanged() {
+        // Arrange
+        when(pathGrantRepository.findByUserIdAndPathPrefix(USER_ID, "/prod"))
+            .thenReturn(Optional.of(new PathGrant(1L, USER_ID, "/prod", PermissionType.READ.mask(), null, null)));
+        when(grantRepository.findDecisionInputs(USER_ID, RESOURCE_ID))
+            .thenReturn(List.<Object[]>of(new Object[] {CREATOR_ID, null, null, null}));
+        grantService.resourceSaved(RESOURCE_ID, "/prod/db/billing", ResourceType.DATABASE);
+        grantService.grantPath(USER_ID, "/prod", PermissionType.READ);
+        assertTrue(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ));
+
+        // Act
+        grantService.resourceSaved(RESOURCE_ID, "/prod//db/billing/", ResourceType.DATABASE);
+
+        // Assert
+        assertTrue(grantService.hasPermission(USER_ID, RESOURCE_ID, PermissionType.READ));
+        verify(grantRepository, times(1)).findDecisionInputs(USER_ID, RESOURCE_ID);
+    }
+}
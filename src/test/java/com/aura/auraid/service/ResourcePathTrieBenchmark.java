@@ -0,0 +1,86 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path checks and renames against a trie of one million resource paths, four
+ * segments deep ({@code /env/region/service/database}), with path grants at
+ * several depths. A check should cost the same whatever the number of paths.
+ *
+ * Run through {@link ResourcePathTrieBenchmarkTest} with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ResourcePathTrieBenchmark {
+
+    static final long GRANTED_USER = 1L;
+    static final long UNGRANTED_USER = 2L;
+
+    @Param({"1000000"})
+    public int paths;
+
+    private ResourcePathTrie trie;
+    private String[] resourcePaths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trie = new ResourcePathTrie(null, null);
+        int regions = 10;
+        int services = 100;
+        int databases = paths / (4 * regions * services);
+        resourcePaths = new String[4 * regions * services * databases];
+        int id = 0;
+        for (int env = 0; env < 4; env++) {
+            for (int region = 0; region < regions; region++) {
+                for (int service = 0; service < services; service++) {
+                    for (int database = 0; database < databases; database++) {
+                        String path = "/env" + env + "/region" + region + "/svc" + service + "/db" + database;
+                        resourcePaths[id] = path;
+                        trie.put(++id, path, ResourceType.DATABASE);
+                    }
+                }
+            }
+        }
+        trie.setGrant(GRANTED_USER, "/env1", PermissionType.READ.mask());
+        trie.setGrant(GRANTED_USER, "/env1/region3", PermissionType.WRITE.mask());
+        trie.setGrant(GRANTED_USER, "/env2/region5/svc7", PermissionType.ADMIN.mask());
+        trie.setGrant(UNGRANTED_USER + 1, "/", PermissionType.READ.mask());
+    }
+
+    @State(Scope.Thread)
+    public static class Probe {
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        long nextResource(int resources) {
+            return 1 + random.nextInt(resources);
+        }
+    }
+
+    @Benchmark
+    public int checkGrantedUser(Probe probe) {
+        return trie.maskFor(GRANTED_USER, probe.nextResource(resourcePaths.length));
+    }
+
+    @Benchmark
+    public int checkUserWithoutGrants(Probe probe) {
+        return trie.maskFor(UNGRANTED_USER, probe.nextResource(resourcePaths.length));
+    }
+
+    // Moves a resource under another prefix and back, the rename path of a resource update
+    @Benchmark
+    public int renameAndBack(Probe probe) {
+        long resourceId = probe.nextResource(resourcePaths.length);
+        int affected = trie.put(resourceId, "/renamed/db" + resourceId, ResourceType.DATABASE).size();
+        trie.put(resourceId, resourcePaths[(int) resourceId - 1], ResourceType.DATABASE);
+        return affected;
+    }
+}
@@ -0,0 +1,21 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.benchmark.JmhBenchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs {@link ResourcePathTrieBenchmark} with {@code mvn test -Pbenchmark} and
+ * fails if a path check at one million paths drifts away from a handful of
+ * map lookups.
+ */
+@Tag("benchmark")
+class ResourcePathTrieBenchmarkTest {
+
+    private static final double MAX_CHECK_NANOS = 2_000;
+
+    @Test
+    void checks_ShouldStayWithinPathDepthAtOneMillionPaths() throws Exception {
+        JmhBenchmarks.runWithLimit(ResourcePathTrieBenchmark.class, name -> name.startsWith("check"), MAX_CHECK_NANOS);
+    }
+}
@@ -0,0 +1,160 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.PermissionType;
+import com.aura.auraid.model.ResourceType;
+import com.aura.auraid.repository.PathGrantRepository;
+import com.aura.auraid.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResourcePathTrieTest {
+
+    private static final long USER_ID = 5L;
+    private static final int READ = PermissionType.READ.mask();
+    private static final int WRITE = PermissionType.WRITE.mask();
+
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private PathGrantRepository pathGrantRepository;
+
+    private ResourcePathTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new ResourcePathTrie(resourceRepository, pathGrantRepository);
+    }
+
+    @Test
+    void build_ShouldLoadResourcesAndGrants() {
+        // Arrange
+        when(resourceRepository.findPathRowsAfter(eq(0L), any())).thenReturn(List.of(
+            new Object[] {1L, "/prod/db/billing", ResourceType.DATABASE},
+            new Object[] {2L, "/prod/api", ResourceType.API}));
+        when(pathGrantRepository.findTrieRowsAfter(eq(0L), any())).thenReturn(List.<Object[]>of(
+            new Object[] {10L, USER_ID, "/prod/db", READ}));
+
+        // Act
+        trie.build();
+
+        // Assert
+        assertTrue(trie.isReady());
+        assertEquals(READ, trie.maskFor(USER_ID, 1L));
+        assertEquals(0, trie.maskFor(USER_ID, 2L));
+        assertEquals(Map.of("/prod/db", READ), trie.grantsOf(USER_ID));
+    }
+
+    @Test
+    void maskFor_ShouldCombineGrantsAlongThePath() {
+        // Arrange
+        trie.put(1L, "/prod/db/billing", ResourceType.DATABASE);
+        trie.setGrant(USER_ID, "/prod", READ);
+        trie.setGrant(USER_ID, "/prod/db/billing", WRITE);
+        trie.setGrant(7L, "/", PermissionType.ADMIN.mask());
+
+        // Act & Assert
+        assertEquals(READ | WRITE, trie.maskFor(USER_ID, 1L));
+        assertEquals(PermissionType.ADMIN.mask(), trie.maskFor(7L, 1L));
+        assertEquals(0, trie.maskFor(USER_ID, 404L));
+    }
+
+    @Test
+    void maskFor_ShouldMatchWholeSegmentsOnly() {
+        // Arrange
+        trie.put(1L, "/prod/dbx", ResourceType.DATABASE);
+        trie.put(2L, "prod//db/", ResourceType.DATABASE);
+        trie.setGrant(USER_ID, "/prod/db", READ);
+
+        // Act & Assert
+        assertEquals(0, trie.maskFor(USER_ID, 1L));
+        assertEquals(READ, trie.maskFor(USER_ID, 2L));
+    }
+
+    @Test
+    void put_ShouldReportGranteesOfOldAndNewPathOnRename() {
+        // Arrange
+        trie.put(1L, "/prod/db/billing", ResourceType.DATABASE);
+        trie.setGrant(USER_ID, "/prod", READ);
+        trie.setGrant(7L, "/staging", READ);
+
+        // Act
+        Set<Long> unchanged = trie.put(1L, "/prod/db/billing/", ResourceType.DATABASE);
+        Set<Long> renamed = trie.put(1L, "/staging/db/billing", ResourceType.DATABASE);
+
+        // Assert
+        assertTrue(unchanged.isEmpty());
+        assertEquals(Set.of(USER_ID, 7L), renamed);
+        assertEquals(0, trie.maskFor(USER_ID, 1L));
+        assertEquals(READ, trie.maskFor(7L, 1L));
+    }
+
+    @Test
+    void put_ShouldKeepTargetWhenMovingUpToAnEmptyAncestor() {
+        // Arrange
+        trie.put(1L, "/a/b/c", ResourceType.FOLDER);
+        trie.setGrant(USER_ID, "/a/b", READ);
+        trie.setGrant(USER_ID, "/a/b", 0);
+
+        // Act
+        trie.put(1L, "/a/b", ResourceType.FOLDER);
+        trie.setGrant(USER_ID, "/a", WRITE);
+
+        // Assert
+        assertEquals(WRITE, trie.maskFor(USER_ID, 1L));
+        assertEquals(Set.of(1L), resourcesUnder("/a"));
+        assertTrue(resourcesUnder("/a/b/c").isEmpty());
+    }
+
+    @Test
+    void remove_ShouldDropResourceAndReportGrantees() {
+        // Arrange
+        trie.put(1L, "/prod/db", ResourceType.DATABASE);
+        trie.put(2L, "/prod/db/replica", ResourceType.DATABASE);
+        trie.setGrant(USER_ID, "/prod", READ);
+
+        // Act
+        Set<Long> affected = trie.remove(2L);
+
+        // Assert
+        assertEquals(Set.of(USER_ID), affected);
+        assertEquals(0, trie.maskFor(USER_ID, 2L));
+        assertEquals(Set.of(1L), resourcesUnder("/prod"));
+    }
+
+    @Test
+    void setGrant_ShouldRemoveGrantWithEmptyMask() {
+        // Arrange
+        trie.put(1L, "/prod/db", ResourceType.DATABASE);
+        trie.setGrant(USER_ID, "/prod", READ);
+
+        // Act
+        trie.setGrant(USER_ID, "/prod/", 0);
+
+        // Assert
+        assertEquals(0, trie.maskFor(USER_ID, 1L));
+        assertTrue(trie.grantsOf(USER_ID).isEmpty());
+    }
+
+    @Test
+    void normalize_ShouldCollapseSlashes() {
+        assertEquals("/", ResourcePathTrie.normalize("/"));
+        assertEquals("/", ResourcePathTrie.normalize(""));
+        assertEquals("/a/b", ResourcePathTrie.normalize("a//b/"));
+    }
+
+    private Set<Long> resourcesUnder(String prefix) {
+        Set<Long> ids = new HashSet<>();
+        trie.forEachResourceUnder(prefix, (id, type) -> ids.add(id));
+        return ids;
+    }
+}
@@ -0,0 +1,100 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.event.StepDeadlineEvent;
+import com.aura.auraid.repository.ApprovalStepExecutionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StepDeadlineSchedulerTest {
+
+    @Mock private ApprovalStepExecutionRepository stepExecutionRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private StepDeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new StepDeadlineScheduler(stepExecutionRepository, eventPublisher, new SimpleMeterRegistry(), 10, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void schedule_ShouldPublishReminderThenDeadline() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        scheduler.schedule(1L, 10L, now.plusNanos(50_000_000), now.plusNanos(150_000_000));
+
+        // Assert
+        verify(eventPublisher, timeout(2000)).publishEvent(new StepDeadlineEvent(1L, 10L, StepDeadlineEvent.Type.REMINDER));
+        verify(eventPublisher, timeout(2000)).publishEvent(new StepDeadlineEvent(1L, 10L, StepDeadlineEvent.Type.DUE));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void schedule_ShouldFireOverdueDeadlinesImmediately() {
+        // Act
+        scheduler.schedule(2L, 20L, null, LocalDateTime.now().minusHours(1));
+
+        // Assert
+        verify(eventPublisher, timeout(2000)).publishEvent(new StepDeadlineEvent(2L, 20L, StepDeadlineEvent.Type.DUE));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void cancel_ShouldRemovePendingDeadlines() throws InterruptedException {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().plusNanos(100_000_000);
+        scheduler.schedule(3L, 30L, dueAt.minusNanos(50_000_000), dueAt);
+        assertEquals(2, scheduler.size());
+
+        // Act
+        scheduler.cancel(3L);
+        Thread.sleep(300);
+
+        // Assert
+        assertEquals(0, scheduler.size());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void rebuild_ShouldPageThroughInFlightSteps() {
+        // Arrange: a full first page forces a keyset query for the next one
+        LocalDateTime dueAt = LocalDateTime.now().plusHours(1);
+        List<Object[]> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            firstPage.add(new Object[] {id, id + 1000, null, dueAt});
+        }
+        when(stepExecutionRepository.findDeadlinesFirstPage(any(Pageable.class))).thenReturn(firstPage);
+        when(stepExecutionRepository.findDeadlinesAfter(eq(dueAt), eq(10_000L), any(Pageable.class)))
+            .thenReturn(List.<Object[]>of(new Object[] {10_001L, 11_001L, dueAt.minusMinutes(5), dueAt}));
+
+        // Act
+        scheduler.rebuild();
+
+        // Assert
+        assertEquals(10_002, scheduler.size());
+        verifyNoInteractions(eventPublisher);
+    }
+}
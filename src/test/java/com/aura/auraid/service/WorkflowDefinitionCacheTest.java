@@ -0,0 +1,119 @@
+package com.aura.auraid.service;
+
+import com.aura.auraid.model.ApprovalStep;
+import com.aura.auraid.model.ApprovalWorkflow;
+import com.aura.auraid.model.WorkflowType;
+import com.aura.auraid.repository.ApprovalStepRepository;
+import com.aura.auraid.repository.ApprovalWorkflowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowDefinitionCacheTest {
+
+    private static final Long WORKFLOW_ID = 7L;
+
+    @Mock
+    private ApprovalWorkflowRepository workflowRepository;
+
+    @Mock
+    private ApprovalStepRepository stepRepository;
+
+    private WorkflowDefinitionCache cache;
+    private ApprovalWorkflow workflow;
+
+    @BeforeEach
+    void setUp() {
+        cache = new WorkflowDefinitionCache(workflowRepository, stepRepository, new SimpleMeterRegistry());
+
+        workflow = new ApprovalWorkflow();
+        workflow.setId(WORKFLOW_ID);
+        workflow.setType(WorkflowType.UNANIMOUS_APPROVAL);
+
+        ApprovalStep first = new ApprovalStep();
+        first.setId(1L);
+        first.setStepOrder(1);
+        first.setName("Manager");
+        ApprovalStep second = new ApprovalStep();
+        second.setId(2L);
+        second.setStepOrder(2);
+        second.setName("Security");
+        second.setApprovalThreshold(50);
+
+        when(workflowRepository.findById(WORKFLOW_ID)).thenAnswer(invocation -> Optional.of(workflow));
+        when(stepRepository.findByWorkflowIdOrderByStepOrder(WORKFLOW_ID)).thenReturn(List.of(first, second));
+        when(stepRepository.findApproverIdsByWorkflowId(WORKFLOW_ID)).thenReturn(List.of(
+            new Object[]{1L, 10L}, new Object[]{2L, 20L}, new Object[]{2L, 21L}));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getCurrent_ShouldCompileWorkflowOnce() {
+        // Act
+        WorkflowSnapshot snapshot = cache.getCurrent(WORKFLOW_ID);
+        cache.getCurrent(WORKFLOW_ID);
+
+        // Assert
+        verify(workflowRepository, times(1)).findById(WORKFLOW_ID);
+        assertEquals(WorkflowType.UNANIMOUS_APPROVAL, snapshot.getType());
+        assertEquals(2, snapshot.getSteps().size());
+        assertTrue(snapshot.getStepAt(2).isApprover(21L));
+        assertFalse(snapshot.getStep(1L).isApprover(20L));
+        assertEquals(50, snapshot.getStep(2L).getApprovalThreshold());
+    }
+
+    @Test
+    void get_ShouldKeepPinnedVersionAfterDefinitionChange() {
+        // Arrange
+        WorkflowSnapshot original = cache.getCurrent(WORKFLOW_ID);
+        workflow.setDefinitionVersion(2);
+        workflow.setType(WorkflowType.SINGLE_APPROVER);
+
+        // Act
+        cache.invalidateAfterCommit(WORKFLOW_ID);
+        WorkflowSnapshot pinned = cache.get(WORKFLOW_ID, original.getVersion());
+        WorkflowSnapshot latest = cache.get(WORKFLOW_ID, null);
+
+        // Assert
+        assertSame(original, pinned);
+        assertEquals(2, latest.getVersion());
+        assertEquals(WorkflowType.SINGLE_APPROVER, latest.getType());
+    }
+
+    @Test
+    void invalidateAfterCommit_ShouldWaitForCommit() {
+        // Arrange
+        WorkflowSnapshot original = cache.getCurrent(WORKFLOW_ID);
+        workflow.setDefinitionVersion(2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.invalidateAfterCommit(WORKFLOW_ID);
+        WorkflowSnapshot beforeCommit = cache.getCurrent(WORKFLOW_ID);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        WorkflowSnapshot afterCommit = cache.getCurrent(WORKFLOW_ID);
+
+        // Assert
+        assertSame(original, beforeCommit);
+        assertEquals(2, afterCommit.getVersion());
+    }
+}
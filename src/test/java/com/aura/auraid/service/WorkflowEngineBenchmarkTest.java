@@ -0,0 +1,129 @@
+package com.aura.auraid.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of the workflow lanes with thousands of concurrent approvals across
+ * multi-step workflows. Each event does a small, fixed amount of work against
+ * unsynchronized per-request state, so any event for a request running off its
+ * lane shows up as a lost update or an overlap.
+ *
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class WorkflowEngineBenchmarkTest {
+
+    private static final int REQUESTS = 5_000;
+    private static final int STEPS = 3;
+    private static final int APPROVERS_PER_STEP = 2;
+    private static final int CLIENT_THREADS = 64;
+    private static final long EVENT_WORK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    @Test
+    void approvals_ShouldCompleteEveryWorkflowInOrder() throws Exception {
+        WorkflowEngine engine = new WorkflowEngine(
+            Runtime.getRuntime().availableProcessors() * 2, REQUESTS * STEPS * APPROVERS_PER_STEP,
+            new SimpleMeterRegistry());
+        RequestState[] requests = new RequestState[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = new RequestState();
+        }
+
+        // Every approver slot of every request is its own client; the slots of one
+        // request race each other through different client threads
+        List<Callable<Void>> clients = new ArrayList<>();
+        for (int r = 0; r < REQUESTS; r++) {
+            for (int a = 0; a < APPROVERS_PER_STEP; a++) {
+                long requestId = r;
+                int approver = a;
+                clients.add(() -> {
+                    for (int s = 0; s < STEPS; s++) {
+                        engine.execute(requestId, () -> requests[(int) requestId].approve(approver));
+                    }
+                    return null;
+                });
+            }
+        }
+
+        ExecutorService clientPool = Executors.newFixedThreadPool(CLIENT_THREADS);
+        long start = System.nanoTime();
+        try {
+            for (Future<Void> future : clientPool.invokeAll(clients)) {
+                future.get();
+            }
+        } finally {
+            clientPool.shutdown();
+            engine.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        int events = REQUESTS * STEPS * APPROVERS_PER_STEP;
+        for (RequestState request : requests) {
+            assertEquals(STEPS, request.completedSteps);
+            assertEquals(STEPS * APPROVERS_PER_STEP, request.actions);
+            assertEquals(0, request.overlaps.get());
+        }
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("workflow engine: %d approvals over %d requests (%d lanes, %d clients) in %.2fs = %.0f approvals/s%n",
+            events, REQUESTS, engine.getLaneCount(), CLIENT_THREADS, seconds, events / seconds);
+    }
+
+    /** Deliberately unsynchronized; only the lane serializes access. */
+    private static final class RequestState {
+        private final boolean[][] approvals = new boolean[STEPS][APPROVERS_PER_STEP];
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger overlaps = new AtomicInteger();
+        private int completedSteps;
+        private int actions;
+
+        Void approve(int approver) {
+            if (running.incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+            try {
+                // Approve the earliest step this approver has not acted on yet
+                int step = 0;
+                while (approvals[step][approver]) {
+                    step++;
+                }
+                int seenActions = actions;
+                busyWork();
+                approvals[step][approver] = true;
+                actions = seenActions + 1;
+
+                while (completedSteps < STEPS && allApproved(approvals[completedSteps])) {
+                    completedSteps++;
+                }
+                return null;
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        private static boolean allApproved(boolean[] step) {
+            for (boolean approved : step) {
+                if (!approved) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static void busyWork() {
+            long until = System.nanoTime() + EVENT_WORK_NANOS;
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
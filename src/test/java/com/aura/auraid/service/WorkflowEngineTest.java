@@ -0,0 +1,122 @@
+package com.aura.auraid.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkflowEngineTest {
+
+    private SimpleMeterRegistry registry;
+    private WorkflowEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        engine = new WorkflowEngine(4, 100, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void submit_ShouldRunEventsForSameRequestInOrder() {
+        // Arrange
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            int event = i;
+            futures.add(engine.submit(7L, () -> {
+                seen.add(event);
+                return event;
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // Assert
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void submit_ShouldRunDifferentLanesInParallel() throws Exception {
+        // Arrange
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        AtomicInteger completed = new AtomicInteger();
+
+        // Act: requests 0 and 1 map to different lanes, each waits for the other
+        CompletableFuture<Boolean> first = engine.submit(0L, () -> awaitOther(bothRunning, completed));
+        CompletableFuture<Boolean> second = engine.submit(1L, () -> awaitOther(bothRunning, completed));
+
+        // Assert
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, completed.get());
+    }
+
+    @Test
+    void execute_ShouldRetryOptimisticLockConflicts() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = engine.execute(3L, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "done";
+        });
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, registry.get("workflow.engine.retries").counter().count());
+    }
+
+    @Test
+    void execute_ShouldRethrowEventException() {
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> engine.execute(3L, () -> {
+                throw new IllegalStateException("Step is not awaiting approval");
+            }));
+        assertEquals("Step is not awaiting approval", exception.getMessage());
+    }
+
+    @Test
+    void execute_ShouldRunNestedEventsInline() {
+        // Act
+        Integer result = engine.execute(5L, () -> engine.execute(5L, () -> 42));
+
+        // Assert
+        assertEquals(42, result);
+    }
+
+    private boolean awaitOther(CountDownLatch bothRunning, AtomicInteger completed) {
+        bothRunning.countDown();
+        try {
+            boolean parallel = bothRunning.await(5, TimeUnit.SECONDS);
+            completed.incrementAndGet();
+            return parallel;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
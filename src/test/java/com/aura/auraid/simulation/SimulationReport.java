@@ -0,0 +1,136 @@
+package com.aura.auraid.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collects what a load simulation run measured: per-operation latency histograms,
+ * outcome and error counts and lock wait samples, and writes them out as JSON so
+ * runs can be diffed across versions.
+ */
+final class SimulationReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Histogram> latencies = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> outcomes = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder lockWaitSamples = new LongAdder();
+    private final LongAdder lockWaitSessions = new LongAdder();
+    private final LongAdder samplesWithLockWaits = new LongAdder();
+    private final AtomicInteger maxLockWaitSessions = new AtomicInteger();
+
+    <T> T time(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            latencies.computeIfAbsent(operation, key -> new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+        }
+    }
+
+    void time(String operation, Runnable call) {
+        time(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    void count(String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    long countOf(String outcome) {
+        LongAdder counter = outcomes.get(outcome);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    void error(String operation, Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        errors.computeIfAbsent(operation + ": " + cause.getClass().getSimpleName() + ": " + cause.getMessage(),
+            key -> new LongAdder()).increment();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    void lockWaitSample(int waitingSessions) {
+        lockWaitSamples.increment();
+        lockWaitSessions.add(waitingSessions);
+        if (waitingSessions > 0) {
+            samplesWithLockWaits.increment();
+        }
+        maxLockWaitSessions.accumulateAndGet(waitingSessions, Math::max);
+    }
+
+    long operationCount(String operation) {
+        Histogram histogram = latencies.get(operation);
+        return histogram != null ? histogram.getTotalCount() : 0;
+    }
+
+    Map<String, Object> latencyMillis() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        latencies.forEach((operation, histogram) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.getTotalCount());
+            stats.put("mean", histogram.getMean() / 1000.0);
+            stats.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+            stats.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+            stats.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+            stats.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+            stats.put("max", histogram.getMaxValue() / 1000.0);
+            result.put(operation, stats);
+        });
+        return result;
+    }
+
+    Map<String, Object> outcomes() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        outcomes.forEach((outcome, counter) -> result.put(outcome, counter.sum()));
+        return result;
+    }
+
+    Map<String, Object> errors() {
+        Map<String, Object> result = new ConcurrentSkipListMap<>();
+        errors.forEach((error, counter) -> result.put(error, counter.sum()));
+        return result;
+    }
+
+    Map<String, Object> lockWaits() {
+        long samples = lockWaitSamples.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("samples", samples);
+        result.put("samplesWithWaits", samplesWithLockWaits.sum());
+        result.put("meanWaitingSessions", samples == 0 ? 0.0 : (double) lockWaitSessions.sum() / samples);
+        result.put("maxWaitingSessions", maxLockWaitSessions.get());
+        return result;
+    }
+
+    static Path write(Path directory, String fileName, Map<String, Object> report) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName);
+        new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(file.toFile(), report);
+        return file;
+    }
+}
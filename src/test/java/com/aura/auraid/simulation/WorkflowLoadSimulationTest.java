@@ -0,0 +1,385 @@
+package com.aura.auraid.simulation;
+
+import com.aura.auraid.dto.AccessRequestDTO;
+import com.aura.auraid.model.*;
+import com.aura.auraid.repository.*;
+import com.aura.auraid.service.AccessRequestService;
+import com.aura.auraid.service.ApprovalWorkflowService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load simulation of the access request and approval workflow services on an
+ * embedded Postgres.
+ *
+ * Seeds resources with multi-step workflows of every {@link WorkflowType} (plus
+ * resources without a workflow, which are decided directly), requesters and
+ * approvers, then has concurrent clients create requests and drive them to a
+ * decision through the service layer. The approvals a step needs are sent at the
+ * same time, so they contend on the request's workflow lane and rows like real
+ * approvers would. Throughput, latency percentiles per operation, SQL statement
+ * counts, optimistic lock retries and Postgres lock waits are written to
+ * {@code target/simulation/workflow-load-<timestamp>.json}.
+ *
+ * Run with {@code mvn test -Psimulation}, scaling with e.g.
+ * {@code -Dsimulation.requests=20000 -Dsimulation.clients=64 -Dsimulation.label=$(git rev-parse --short HEAD)}.
+ */
+@Tag("simulation")
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.sql-budget.enabled=false"
+})
+class WorkflowLoadSimulationTest {
+
+    private static final Settings SETTINGS = Settings.fromSystemProperties();
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+    private static final int PERCENTAGE_THRESHOLD = 60;
+    private static final long LOCK_SAMPLE_MILLIS = 50;
+
+    @Autowired private AccessRequestService accessRequestService;
+    @Autowired private ApprovalWorkflowService workflowService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ResourceRepository resourceRepository;
+    @Autowired private ResourcePermissionRepository permissionRepository;
+    @Autowired private ApprovalWorkflowRepository workflowRepository;
+    @Autowired private AccessRequestRepository accessRequestRepository;
+    @Autowired private ApprovalStepExecutionRepository stepExecutionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final List<SeededResource> resources = new ArrayList<>();
+    private final Map<Long, SeededStep> steps = new HashMap<>();
+    private final List<Long> requesterIds = new ArrayList<>();
+    private final List<Long> approverIds = new ArrayList<>();
+    private final List<Long> permissionIds = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void embeddedPostgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        // Requester and approver clients plus the workflow lanes all hold connections
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> SETTINGS.clients() * 2 + 16);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Test
+    void simulateWorkflowTraffic() throws Exception {
+        seed();
+
+        SimulationReport report = new SimulationReport();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        double retriesBefore = engineRetries();
+        long deadlocksBefore = deadlocks();
+
+        ScheduledExecutorService lockSampler = Executors.newSingleThreadScheduledExecutor();
+        lockSampler.scheduleAtFixedRate(() -> report.lockWaitSample(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND datname = current_database()",
+                Integer.class)),
+            0, LOCK_SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+
+        ExecutorService requesters = Executors.newFixedThreadPool(SETTINGS.clients());
+        ExecutorService approvers = Executors.newFixedThreadPool(SETTINGS.clients());
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (long sequence = 0; sequence < SETTINGS.requests(); sequence++) {
+                long seq = sequence;
+                runs.add(requesters.submit(() -> runRequest(seq, report, approvers)));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            requesters.shutdown();
+            approvers.shutdown();
+            lockSampler.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long actions = report.operationCount("approve") + report.operationCount("reject");
+        long decided = report.countOf("request.APPROVED") + report.countOf("request.REJECTED");
+
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("requestsPerSecond", decided / seconds);
+        throughput.put("workflowActionsPerSecond", actions / seconds);
+
+        Map<String, Object> database = new LinkedHashMap<>();
+        database.put("statements", statistics.getPrepareStatementCount());
+        database.put("statementsPerRequest", (double) statistics.getPrepareStatementCount() / SETTINGS.requests());
+        database.put("transactions", statistics.getTransactionCount());
+        database.put("optimisticLockFailures", statistics.getOptimisticFailureCount());
+        database.put("workflowEngineRetries", engineRetries() - retriesBefore);
+        database.put("deadlocks", deadlocks() - deadlocksBefore);
+        database.put("lockWaits", report.lockWaits());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", SETTINGS.label());
+        result.put("startedAt", startedAt.toString());
+        result.put("javaVersion", Runtime.version().toString());
+        result.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        result.put("settings", SETTINGS);
+        result.put("durationSeconds", seconds);
+        result.put("throughput", throughput);
+        result.put("outcomes", report.outcomes());
+        result.put("latencyMillis", report.latencyMillis());
+        result.put("database", database);
+        result.put("errors", report.errors());
+
+        Path file = SimulationReport.write(Path.of(SETTINGS.outputDir()),
+            "workflow-load-" + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json", result);
+        System.out.printf("Workflow load simulation: %d requests in %.1fs (%.1f req/s, %.1f actions/s), report at %s%n",
+            decided, seconds, decided / seconds, actions / seconds, file.toAbsolutePath());
+
+        assertEquals(0, report.errorCount(), () -> "Operations failed: " + report.errors());
+        assertEquals(SETTINGS.requests(), decided, "Every request should reach a decision");
+    }
+
+    private void runRequest(long sequence, SimulationReport report, ExecutorService approvers) {
+        SplittableRandom random = new SplittableRandom(SETTINGS.seed() + sequence);
+        SeededResource resource = resources.get(random.nextInt(resources.size()));
+        Long requesterId = requesterIds.get(random.nextInt(requesterIds.size()));
+        boolean reject = random.nextDouble() < SETTINGS.rejectRate();
+
+        AccessRequestDTO dto = new AccessRequestDTO();
+        dto.setResourceId(resource.id());
+        dto.setPermissionId(permissionIds.get(random.nextInt(permissionIds.size())));
+        dto.setJustification("Load simulation request " + sequence);
+
+        try {
+            Long requestId = report.time("create", () -> accessRequestService.createRequest(dto, requesterId)).getId();
+            if (resource.type() == null) {
+                Long approverId = approverIds.get(random.nextInt(approverIds.size()));
+                if (reject) {
+                    report.time("direct-reject", () -> accessRequestService.rejectRequest(requestId, "Denied", approverId));
+                } else {
+                    report.time("direct-approve", () -> accessRequestService.approveRequest(requestId, "Granted", approverId));
+                }
+            } else {
+                report.time("start", () -> workflowService.processAccessRequest(requestId));
+                driveWorkflow(requestId, reject && decidedByOneAction(resource.type()), report, approvers);
+            }
+            report.count("request." + accessRequestRepository.findById(requestId).orElseThrow().getStatus());
+        } catch (RuntimeException e) {
+            report.error("request", e);
+        }
+    }
+
+    /**
+     * Acts on every active step until the request is decided. A step that is
+     * still active after all of its required actions went in stops the loop, so
+     * a stuck workflow shows up as an undecided request instead of hanging.
+     */
+    private void driveWorkflow(Long requestId, boolean reject, SimulationReport report, ExecutorService approvers) {
+        Set<Long> actedOn = new HashSet<>();
+        boolean rejectNext = reject;
+        while (true) {
+            List<ApprovalStepExecution> active = stepExecutionRepository
+                .findByAccessRequestIdAndStatus(requestId, ApprovalStatus.IN_PROGRESS);
+            active.removeIf(execution -> !actedOn.add(execution.getId()));
+            if (active.isEmpty()) {
+                return;
+            }
+
+            List<Future<?>> actions = new ArrayList<>();
+            for (ApprovalStepExecution execution : active) {
+                SeededStep step = steps.get(execution.getStep().getId());
+                if (rejectNext) {
+                    rejectNext = false;
+                    actions.add(approvers.submit(() -> act(execution.getId(), step.approverIds()[0],
+                        ApprovalActionType.REJECT, report)));
+                    continue;
+                }
+                for (int i = 0; i < step.requiredApprovals(); i++) {
+                    Long approverId = step.approverIds()[i];
+                    actions.add(approvers.submit(() -> act(execution.getId(), approverId,
+                        ApprovalActionType.APPROVE, report)));
+                }
+            }
+            for (Future<?> action : actions) {
+                try {
+                    action.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
+    private void act(Long stepExecutionId, Long approverId, ApprovalActionType action, SimulationReport report) {
+        String operation = action == ApprovalActionType.REJECT ? "reject" : "approve";
+        try {
+            report.time(operation, () -> workflowService.handleApprovalAction(stepExecutionId, approverId, action, null));
+        } catch (RuntimeException e) {
+            report.error(operation, e);
+        }
+    }
+
+    // Unanimous and percentage steps only close on approvals, so their requests are never rejected here
+    private boolean decidedByOneAction(WorkflowType type) {
+        return type != WorkflowType.UNANIMOUS_APPROVAL && type != WorkflowType.PERCENTAGE_APPROVAL;
+    }
+
+    private void seed() {
+        for (int i = 0; i < SETTINGS.requesters(); i++) {
+            requesterIds.add(userRepository.save(newUser("sim-requester-" + i)).getId());
+        }
+        List<User> approverUsers = new ArrayList<>();
+        for (int i = 0; i < SETTINGS.approvers(); i++) {
+            User approver = userRepository.save(newUser("sim-approver-" + i));
+            approverUsers.add(approver);
+            approverIds.add(approver.getId());
+        }
+        permissionRepository.findAll().stream()
+            .map(ResourcePermission::getId)
+            .filter(id -> id <= PermissionType.values().length)
+            .forEach(permissionIds::add);
+        assertFalse(permissionIds.isEmpty(), "No permissions seeded by the migrations");
+
+        // One slot per workflow type, plus one for resources decided without a workflow
+        WorkflowType[] types = WorkflowType.values();
+        int nextApprover = 0;
+        for (int i = 0; i < SETTINGS.resources(); i++) {
+            WorkflowType type = i % (types.length + 1) < types.length ? types[i % (types.length + 1)] : null;
+            Resource resource = new Resource();
+            resource.setName("sim-resource-" + i);
+            resource.setDescription("Load simulation resource");
+            resource.setType(ResourceType.APPLICATION);
+            resource.setPath("/simulation/" + i);
+            resource.setCreatedBy(requesterIds.get(0));
+
+            if (type != null) {
+                int stepCount = type == WorkflowType.SINGLE_APPROVER ? 1 : SETTINGS.steps();
+                int approversPerStep = type == WorkflowType.SINGLE_APPROVER ? 1 : SETTINGS.approversPerStep();
+                ApprovalWorkflow workflow = new ApprovalWorkflow();
+                workflow.setName("sim-workflow-" + i);
+                workflow.setType(type);
+                workflow.setCreatedBy(requesterIds.get(0));
+                workflow.setUpdatedBy(requesterIds.get(0));
+                List<ApprovalStep> workflowSteps = new ArrayList<>();
+                for (int order = 1; order <= stepCount; order++) {
+                    ApprovalStep step = new ApprovalStep();
+                    step.setWorkflow(workflow);
+                    step.setStepOrder(order);
+                    step.setName("sim-step-" + i + "-" + order);
+                    if (type == WorkflowType.PERCENTAGE_APPROVAL) {
+                        step.setApprovalThreshold(PERCENTAGE_THRESHOLD);
+                    }
+                    Set<User> stepApprovers = new HashSet<>();
+                    for (int a = 0; a < approversPerStep; a++) {
+                        stepApprovers.add(approverUsers.get(nextApprover++ % approverUsers.size()));
+                    }
+                    step.setApprovers(stepApprovers);
+                    workflowSteps.add(step);
+                }
+                workflow.setSteps(workflowSteps);
+                workflow = workflowRepository.save(workflow);
+                resource.setApprovalWorkflow(workflow);
+
+                for (ApprovalStep step : workflow.getSteps()) {
+                    long[] ids = step.getApprovers().stream().mapToLong(User::getId).sorted().toArray();
+                    steps.put(step.getId(), new SeededStep(ids, requiredApprovals(type, ids.length)));
+                }
+            }
+            resources.add(new SeededResource(resourceRepository.save(resource).getId(), type));
+        }
+    }
+
+    private int requiredApprovals(WorkflowType type, int approvers) {
+        return switch (type) {
+            case UNANIMOUS_APPROVAL -> approvers;
+            case PERCENTAGE_APPROVAL -> (int) Math.ceil(PERCENTAGE_THRESHOLD * approvers / 100.0);
+            default -> 1;
+        };
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setFirstName("Load");
+        user.setLastName("Simulation");
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setCountry("LT");
+        return user;
+    }
+
+    private double engineRetries() {
+        Counter retries = meterRegistry.find("workflow.engine.retries").counter();
+        return retries != null ? retries.count() : 0;
+    }
+
+    private long deadlocks() {
+        Long deadlocks = jdbcTemplate.queryForObject(
+            "SELECT deadlocks FROM pg_stat_database WHERE datname = current_database()", Long.class);
+        return deadlocks != null ? deadlocks : 0;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded Postgres", e);
+        }
+    }
+
+    private record SeededResource(Long id, WorkflowType type) {
+    }
+
+    private record SeededStep(long[] approverIds, int requiredApprovals) {
+    }
+
+    /**
+     * Scale of a run, from {@code -Dsimulation.*} system properties.
+     */
+    record Settings(int resources, int requesters, int approvers, int requests, int clients, int steps,
+                    int approversPerStep, double rejectRate, long seed, String label, String outputDir) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                Integer.getInteger("simulation.resources", 60),
+                Integer.getInteger("simulation.requesters", 200),
+                Integer.getInteger("simulation.approvers", 40),
+                Integer.getInteger("simulation.requests", 2_000),
+                Integer.getInteger("simulation.clients", 32),
+                Integer.getInteger("simulation.steps", 3),
+                Integer.getInteger("simulation.approvers-per-step", 3),
+                Double.parseDouble(System.getProperty("simulation.reject-rate", "0.1")),
+                Long.getLong("simulation.seed", 42L),
+                System.getProperty("simulation.label", "unlabelled"),
+                System.getProperty("simulation.output-dir", "target/simulation"));
+        }
+    }
+}